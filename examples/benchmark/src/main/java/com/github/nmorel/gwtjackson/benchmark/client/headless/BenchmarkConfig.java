@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmark.client.headless;
+
+import java.util.List;
+
+/**
+ * Parameters of a headless run.
+ *
+ * @author Nicolas Morel
+ */
+public class BenchmarkConfig {
+
+    private List<Integer> sizes;
+
+    private int nbWarmupIterations;
+
+    private int nbIterations;
+
+    public List<Integer> getSizes() {
+        return sizes;
+    }
+
+    public void setSizes( List<Integer> sizes ) {
+        this.sizes = sizes;
+    }
+
+    public int getNbWarmupIterations() {
+        return nbWarmupIterations;
+    }
+
+    public void setNbWarmupIterations( int nbWarmupIterations ) {
+        this.nbWarmupIterations = nbWarmupIterations;
+    }
+
+    public int getNbIterations() {
+        return nbIterations;
+    }
+
+    public void setNbIterations( int nbIterations ) {
+        this.nbIterations = nbIterations;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmark.client.headless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Results of a headless run.
+ *
+ * @author Nicolas Morel
+ */
+public class BenchmarkReport {
+
+    private String userAgent;
+
+    private BenchmarkConfig config;
+
+    private List<BenchmarkResult> results = new ArrayList<>();
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent( String userAgent ) {
+        this.userAgent = userAgent;
+    }
+
+    public BenchmarkConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig( BenchmarkConfig config ) {
+        this.config = config;
+    }
+
+    public List<BenchmarkResult> getResults() {
+        return results;
+    }
+
+    public void setResults( List<BenchmarkResult> results ) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmark.client.headless;
+
+/**
+ * Time taken by one operation of a mechanism, for a number of items and a mapper mode.
+ *
+ * @author Nicolas Morel
+ */
+public class BenchmarkResult {
+
+    private String mechanism;
+
+    private String operation;
+
+    private String mapper;
+
+    private int nbItems;
+
+    private int nbIterations;
+
+    private long totalMillis;
+
+    private double averageMillis;
+
+    public String getMechanism() {
+        return mechanism;
+    }
+
+    public void setMechanism( String mechanism ) {
+        this.mechanism = mechanism;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation( String operation ) {
+        this.operation = operation;
+    }
+
+    public String getMapper() {
+        return mapper;
+    }
+
+    public void setMapper( String mapper ) {
+        this.mapper = mapper;
+    }
+
+    public int getNbItems() {
+        return nbItems;
+    }
+
+    public void setNbItems( int nbItems ) {
+        this.nbItems = nbItems;
+    }
+
+    public int getNbIterations() {
+        return nbIterations;
+    }
+
+    public void setNbIterations( int nbIterations ) {
+        this.nbIterations = nbIterations;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis( long totalMillis ) {
+        this.totalMillis = totalMillis;
+    }
+
+    public double getAverageMillis() {
+        return averageMillis;
+    }
+
+    public void setAverageMillis( double averageMillis ) {
+        this.averageMillis = averageMillis;
+    }
+}
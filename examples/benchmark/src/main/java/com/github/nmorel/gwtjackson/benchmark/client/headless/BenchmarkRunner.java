@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmark.client.headless;
+
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.benchmark.client.data.DataContainer;
+import com.github.nmorel.gwtjackson.benchmark.client.data.DataProvider;
+import com.github.nmorel.gwtjackson.benchmark.client.mechanism.Mechanism;
+import com.github.nmorel.gwtjackson.benchmark.client.mechanism.Mechanism.ObjectMapperProvider;
+import com.github.nmorel.gwtjackson.client.ObjectReader;
+import com.github.nmorel.gwtjackson.client.ObjectWriter;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Runs the benchmark without any widget. Every mechanism serializes and deserializes the data at each size, with a singleton and a
+ * prototype mapper. The iterations are run synchronously so the results are not affected by the scheduler.
+ *
+ * @author Nicolas Morel
+ */
+public class BenchmarkRunner {
+
+    public static interface BenchmarkConfigReader extends ObjectReader<BenchmarkConfig> {}
+
+    public static interface BenchmarkReportWriter extends ObjectWriter<BenchmarkReport> {}
+
+    public static final String SERIALIZATION = "serialization";
+
+    public static final String DESERIALIZATION = "deserialization";
+
+    public static final String SINGLETON = "singleton";
+
+    public static final String PROTOTYPE = "prototype";
+
+    private final List<Mechanism> mechanisms;
+
+    public BenchmarkRunner( List<Mechanism> mechanisms ) {
+        this.mechanisms = mechanisms;
+    }
+
+    public BenchmarkReport run( BenchmarkConfig config ) {
+        BenchmarkReport report = new BenchmarkReport();
+        report.setConfig( config );
+
+        for ( int nbItems : config.getSizes() ) {
+            DataContainer datas = DataProvider.generateData( nbItems );
+            for ( Mechanism mechanism : mechanisms ) {
+                for ( boolean singletonMapper : new boolean[]{true, false} ) {
+                    ObjectMapperProvider mapperProvider = mechanism.newMapperProvider( singletonMapper );
+                    report.getResults().add( runSerialization( mechanism, mapperProvider, singletonMapper, datas, config ) );
+                    report.getResults().add( runDeserialization( mechanism, mapperProvider, singletonMapper, datas, config ) );
+                }
+            }
+        }
+
+        return report;
+    }
+
+    private BenchmarkResult runSerialization( Mechanism mechanism, ObjectMapperProvider mapperProvider, boolean singletonMapper,
+                                              DataContainer datas, BenchmarkConfig config ) {
+        for ( int i = 0; i < config.getNbWarmupIterations(); i++ ) {
+            mapperProvider.getMapper().write( datas );
+        }
+
+        long startTime = System.currentTimeMillis();
+        for ( int i = 0; i < config.getNbIterations(); i++ ) {
+            mapperProvider.getMapper().write( datas );
+        }
+        long totalTime = System.currentTimeMillis() - startTime;
+
+        return newResult( mechanism, SERIALIZATION, singletonMapper, datas, config, totalTime );
+    }
+
+    private BenchmarkResult runDeserialization( Mechanism mechanism, ObjectMapperProvider mapperProvider, boolean singletonMapper,
+                                                DataContainer datas, BenchmarkConfig config ) {
+        String jsonInput = mapperProvider.getMapper().write( datas );
+
+        // a mechanism losing data would be faster, we check it reads everything back
+        DataContainer read = mapperProvider.getMapper().read( jsonInput );
+        if ( read.getPersons().size() != datas.getPersons().size() ) {
+            throw new IllegalStateException( mechanism.getTitle() + " read " + read.getPersons().size() + " persons instead of " + datas
+                    .getPersons().size() );
+        }
+
+        for ( int i = 0; i < config.getNbWarmupIterations(); i++ ) {
+            mapperProvider.getMapper().read( jsonInput );
+        }
+
+        long startTime = System.currentTimeMillis();
+        for ( int i = 0; i < config.getNbIterations(); i++ ) {
+            mapperProvider.getMapper().read( jsonInput );
+        }
+        long totalTime = System.currentTimeMillis() - startTime;
+
+        return newResult( mechanism, DESERIALIZATION, singletonMapper, datas, config, totalTime );
+    }
+
+    private BenchmarkResult newResult( Mechanism mechanism, String operation, boolean singletonMapper, DataContainer datas,
+                                       BenchmarkConfig config, long totalTime ) {
+        BenchmarkResult result = new BenchmarkResult();
+        result.setMechanism( mechanism.getTitle() );
+        result.setOperation( operation );
+        result.setMapper( singletonMapper ? SINGLETON : PROTOTYPE );
+        result.setNbItems( datas.getPersons().size() );
+        result.setNbIterations( config.getNbIterations() );
+        result.setTotalMillis( totalTime );
+        result.setAverageMillis( config.getNbIterations() == 0 ? 0 : (double) totalTime / config.getNbIterations() );
+        return result;
+    }
+
+    public static BenchmarkConfig readConfig( String json ) {
+        BenchmarkConfigReader reader = GWT.create( BenchmarkConfigReader.class );
+        return reader.read( json );
+    }
+
+    public static String writeReport( BenchmarkReport report ) {
+        BenchmarkReportWriter writer = GWT.create( BenchmarkReportWriter.class );
+        return writer.write( report );
+    }
+}
@@ -14,7 +14,7 @@ import com.github.nmorel.gwtjackson.client.ObjectMapper;
  */
 public abstract class Mechanism {
 
-    interface ObjectMapperProvider {
+    public interface ObjectMapperProvider {
 
         ObjectMapper<DataContainer> getMapper();
     }
@@ -37,20 +37,30 @@ public abstract class Mechanism {
         }
     }
 
+    private final String title;
+
     private ResultWidget result;
 
     protected Mechanism( String title ) {
-        this.result = new ResultWidget( title );
+        this.title = title;
     }
 
-    public List<Operation> prepare( final DataContainer datas, Criteria criteria ) {
-        final ObjectMapperProvider mapperProvider;
-        if ( criteria.isSingletonMapper() ) {
-            mapperProvider = new ObjectMapperProviderSingleton();
+    public String getTitle() {
+        return title;
+    }
+
+    public ObjectMapperProvider newMapperProvider( boolean singletonMapper ) {
+        if ( singletonMapper ) {
+            return new ObjectMapperProviderSingleton();
         } else {
-            mapperProvider = new ObjectMapperProviderPrototype();
+            return new ObjectMapperProviderPrototype();
         }
+    }
+
+    public List<Operation> prepare( final DataContainer datas, Criteria criteria ) {
+        final ObjectMapperProvider mapperProvider = newMapperProvider( criteria.isSingletonMapper() );
 
+        ResultWidget result = getResult();
         result.getResultSer().setVisible( criteria.isSerialization() );
         result.getResultDeser().setVisible( criteria.isDeserialization() );
 
@@ -83,10 +93,15 @@ public abstract class Mechanism {
     }
 
     public ResultWidget getResult() {
+        // created on first use so the mechanism can run without any widget
+        if ( null == result ) {
+            result = new ResultWidget( title );
+        }
         return result;
     }
 
     public void clear() {
+        ResultWidget result = getResult();
         result.getResultSer().setResult( null );
         result.getResultDeser().setResult( null );
     }
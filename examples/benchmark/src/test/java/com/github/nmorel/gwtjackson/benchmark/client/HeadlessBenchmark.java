@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmark.client;
+
+import java.util.Arrays;
+
+import com.github.nmorel.gwtjackson.benchmark.client.headless.BenchmarkConfig;
+import com.github.nmorel.gwtjackson.benchmark.client.headless.BenchmarkReport;
+import com.github.nmorel.gwtjackson.benchmark.client.headless.BenchmarkRunner;
+import com.github.nmorel.gwtjackson.benchmark.client.mechanism.GwtJackson;
+import com.github.nmorel.gwtjackson.benchmark.client.mechanism.Mechanism;
+import com.github.nmorel.gwtjackson.benchmark.client.mechanism.RestyGwt;
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.http.client.Request;
+import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.http.client.RequestCallback;
+import com.google.gwt.http.client.RequestException;
+import com.google.gwt.http.client.Response;
+import com.google.gwt.junit.client.GWTTestCase;
+import com.google.gwt.user.client.Window;
+
+/**
+ * Runs the benchmark headless with the GWT test infrastructure. The parameters are read from
+ * {@link com.github.nmorel.gwtjackson.benchmark.server.HeadlessBenchmarkServlet} and the JSON report is sent back to it.
+ * <p>It is named so surefire ignores it, the gwt-maven-plugin runs it in production mode.</p>
+ *
+ * @author Nicolas Morel
+ */
+public class HeadlessBenchmark extends GWTTestCase {
+
+    private static final int TIMEOUT = 30 * 60 * 1000;
+
+    @Override
+    public String getModuleName() {
+        return "com.github.nmorel.gwtjackson.benchmark.BenchmarkHeadless";
+    }
+
+    public void testBenchmark() throws RequestException {
+        delayTestFinish( TIMEOUT );
+
+        final String url = GWT.getModuleBaseURL() + "headless";
+        new RequestBuilder( RequestBuilder.GET, url ).sendRequest( null, new Callback() {
+            @Override
+            protected void onSuccess( Response response ) throws RequestException {
+                BenchmarkConfig config = BenchmarkRunner.readConfig( response.getText() );
+
+                BenchmarkReport report = new BenchmarkRunner( Arrays.<Mechanism>asList( new GwtJackson(), new RestyGwt() ) ).run( config );
+                report.setUserAgent( Window.Navigator.getUserAgent() );
+
+                RequestBuilder post = new RequestBuilder( RequestBuilder.POST, url );
+                post.setHeader( "Content-Type", "application/json" );
+                post.sendRequest( BenchmarkRunner.writeReport( report ), new Callback() {
+                    @Override
+                    protected void onSuccess( Response response ) {
+                        finishTest();
+                    }
+                } );
+            }
+        } );
+    }
+
+    private abstract static class Callback implements RequestCallback {
+
+        @Override
+        public void onResponseReceived( Request request, Response response ) {
+            if ( Response.SC_OK != response.getStatusCode() ) {
+                fail( "Unexpected status " + response.getStatusCode() + " : " + response.getText() );
+            }
+            try {
+                onSuccess( response );
+            } catch ( RequestException e ) {
+                fail( e.getMessage() );
+            }
+        }
+
+        @Override
+        public void onError( Request request, Throwable exception ) {
+            fail( exception.getMessage() );
+        }
+
+        protected abstract void onSuccess( Response response ) throws RequestException;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmark.server;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet used by {@link com.github.nmorel.gwtjackson.benchmark.client.HeadlessBenchmark}. A GET returns the parameters of the run,
+ * read from the system properties. A POST receives the JSON report and writes it to the file given by the
+ * <code>benchmark.output</code> system property.
+ *
+ * @author Nicolas Morel
+ */
+public class HeadlessBenchmarkServlet extends HttpServlet {
+
+    private static final Logger logger = Logger.getLogger( HeadlessBenchmarkServlet.class.getName() );
+
+    public static final String SIZES = "benchmark.sizes";
+
+    public static final String WARMUP_ITERATIONS = "benchmark.warmupIterations";
+
+    public static final String ITERATIONS = "benchmark.iterations";
+
+    public static final String OUTPUT = "benchmark.output";
+
+    @Override
+    protected void doGet( HttpServletRequest req, HttpServletResponse resp ) throws IOException {
+        StringBuilder sizes = new StringBuilder();
+        for ( String size : System.getProperty( SIZES, "10,100,1000" ).split( "," ) ) {
+            if ( sizes.length() > 0 ) {
+                sizes.append( ',' );
+            }
+            sizes.append( Integer.parseInt( size.trim() ) );
+        }
+        int nbWarmupIterations = Integer.getInteger( WARMUP_ITERATIONS, 5 );
+        int nbIterations = Integer.getInteger( ITERATIONS, 20 );
+
+        resp.setContentType( "application/json" );
+        resp.setCharacterEncoding( "UTF-8" );
+        resp.getWriter().write( "{\"sizes\":[" + sizes + "],\"nbWarmupIterations\":" + nbWarmupIterations + "," +
+                "\"nbIterations\":" + nbIterations + "}" );
+    }
+
+    @Override
+    protected void doPost( HttpServletRequest req, HttpServletResponse resp ) throws IOException {
+        StringBuilder report = new StringBuilder();
+        BufferedReader reader = req.getReader();
+        char[] buffer = new char[8192];
+        int read;
+        while ( (read = reader.read( buffer )) != -1 ) {
+            report.append( buffer, 0, read );
+        }
+
+        File output = new File( System.getProperty( OUTPUT, "target/benchmark-results.json" ) );
+        if ( null != output.getParentFile() ) {
+            output.getParentFile().mkdirs();
+        }
+        try ( Writer writer = new OutputStreamWriter( new FileOutputStream( output ), "UTF-8" ) ) {
+            writer.write( report.toString() );
+        }
+        logger.log( Level.INFO, "Benchmark results written to " + output.getAbsolutePath() );
+        logger.log( Level.FINE, report.toString() );
+
+        resp.setStatus( HttpServletResponse.SC_OK );
+    }
+}
@@ -16,6 +16,9 @@
 
 package com.github.nmorel.gwtjackson.guava.client.deser;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
@@ -64,16 +67,23 @@ public abstract class BaseMultimapJsonDeserializer<M extends Multimap<K, V>, K,
     public M doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
         M result = newMultimap();
 
+        // the values of a key are collected first and added at once so the multimap looks up the key and grows its collection only
+        // once. The list is reused for all the keys.
+        List<V> values = new ArrayList<V>();
+
         reader.beginObject();
         while ( JsonToken.END_OBJECT != reader.peek() ) {
             String name = reader.nextName();
             K key = keyDeserializer.deserialize( name, ctx );
             reader.beginArray();
             while ( JsonToken.END_ARRAY != reader.peek() ) {
-                V value = valueDeserializer.deserialize( reader, ctx, params );
-                result.put( key, value );
+                values.add( valueDeserializer.deserialize( reader, ctx, params ) );
             }
             reader.endArray();
+            if ( !values.isEmpty() ) {
+                result.putAll( key, values );
+                values.clear();
+            }
         }
         reader.endObject();
 
@@ -17,7 +17,9 @@
 package com.github.nmorel.gwtjackson.guava.client.ser;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.RandomAccess;
 
 import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
@@ -74,16 +76,26 @@ public class MultimapJsonSerializer<M extends Multimap<K, V>, K, V> extends Json
 
         if ( !multimap.isEmpty() ) {
 
+            boolean mustBeEscaped = keySerializer.mustBeEscaped( ctx );
             for ( Entry<K, Collection<V>> entry : multimap.asMap().entrySet() ) {
                 String name = keySerializer.serialize( entry.getKey(), ctx );
-                if ( keySerializer.mustBeEscaped( ctx ) ) {
+                if ( mustBeEscaped ) {
                     writer.name( name );
                 } else {
                     writer.unescapeName( name );
                 }
                 writer.beginArray();
-                for ( V value : entry.getValue() ) {
-                    valueSerializer.serialize( writer, value, ctx, params );
+                Collection<V> values = entry.getValue();
+                if ( values instanceof RandomAccess && values instanceof List ) {
+                    // the values of the list multimaps are iterated by index, without an iterator
+                    List<V> list = (List<V>) values;
+                    for ( int i = 0, size = list.size(); i < size; i++ ) {
+                        valueSerializer.serialize( writer, list.get( i ), ctx, params );
+                    }
+                } else {
+                    for ( V value : values ) {
+                        valueSerializer.serialize( writer, value, ctx, params );
+                    }
                 }
                 writer.endArray();
             }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.guava.jvm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.IntegerJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.ArrayListJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.map.LinkedHashMapJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.map.key.StringKeyDeserializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.IntegerJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.CollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.map.MapJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.map.key.ToStringKeySerializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.guava.client.deser.ArrayListMultimapJsonDeserializer;
+import com.github.nmorel.gwtjackson.guava.client.deser.ImmutableListJsonDeserializer;
+import com.github.nmorel.gwtjackson.guava.client.deser.ImmutableListMultimapJsonDeserializer;
+import com.github.nmorel.gwtjackson.guava.client.ser.MultimapJsonSerializer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+
+/**
+ * Compares the Guava collection (de)serializers with the core collection ones on the JVM, for a large list and a large lookup table
+ * (a map of lists against a list multimap).
+ * <p>It is not run by surefire. Run it with its main method, the arguments are the number of keys, the number of values per key and
+ * the number of iterations.</p>
+ *
+ * @author Nicolas Morel
+ */
+public class GuavaCollectionsBenchmark {
+
+    private static final JsonDeserializationContext.Builder DESERIALIZATION_CONTEXT = new JsonDeserializationContext.Builder() {};
+
+    private static final JsonSerializationContext.Builder SERIALIZATION_CONTEXT = new JsonSerializationContext.Builder() {};
+
+    private static volatile Object sink;
+
+    public static void main( String[] args ) {
+        int nbKeys = args.length > 0 ? Integer.parseInt( args[0] ) : 2000;
+        int nbValuesPerKey = args.length > 1 ? Integer.parseInt( args[1] ) : 50;
+        int nbIterations = args.length > 2 ? Integer.parseInt( args[2] ) : 50;
+
+        Map<String, List<Integer>> table = new LinkedHashMap<String, List<Integer>>();
+        ImmutableListMultimap.Builder<String, Integer> multimapBuilder = ImmutableListMultimap.builder();
+        List<Integer> list = new ArrayList<Integer>();
+        for ( int i = 0; i < nbKeys; i++ ) {
+            List<Integer> values = new ArrayList<Integer>( nbValuesPerKey );
+            for ( int j = 0; j < nbValuesPerKey; j++ ) {
+                values.add( i * nbValuesPerKey + j );
+            }
+            table.put( "key" + i, values );
+            multimapBuilder.putAll( "key" + i, values );
+            list.addAll( values );
+        }
+        ImmutableListMultimap<String, Integer> multimap = multimapBuilder.build();
+        ImmutableList<Integer> immutableList = ImmutableList.copyOf( list );
+
+        JsonSerializer<Map<String, List<Integer>>> tableSerializer = (JsonSerializer) MapJsonSerializer
+                .newInstance( ToStringKeySerializer.getInstance(), CollectionJsonSerializer.newInstance( IntegerJsonSerializer
+                        .getInstance() ) );
+        JsonSerializer<ImmutableListMultimap<String, Integer>> multimapSerializer = (JsonSerializer) MultimapJsonSerializer
+                .newInstance( ToStringKeySerializer.getInstance(), IntegerJsonSerializer.getInstance() );
+        JsonSerializer<List<Integer>> listSerializer = (JsonSerializer) CollectionJsonSerializer.newInstance( IntegerJsonSerializer
+                .getInstance() );
+
+        String tableJson = write( tableSerializer, table );
+        String listJson = write( listSerializer, list );
+        if ( !tableJson.equals( write( multimapSerializer, multimap ) ) || !listJson.equals( write( listSerializer, immutableList ) ) ) {
+            throw new IllegalStateException( "The serializers do not write the same JSON" );
+        }
+
+        System.out.println( nbKeys + " keys, " + nbValuesPerKey + " values per key, " + nbIterations + " iterations" );
+
+        run( "serialize LinkedHashMap<String, ArrayList>", nbIterations, tableSerializer, table );
+        run( "serialize ImmutableListMultimap", nbIterations, multimapSerializer, multimap );
+        run( "serialize ArrayList", nbIterations, listSerializer, list );
+        run( "serialize ImmutableList", nbIterations, listSerializer, immutableList );
+
+        run( "deserialize LinkedHashMap<String, ArrayList>", nbIterations, LinkedHashMapJsonDeserializer
+                .newInstance( StringKeyDeserializer.getInstance(), ArrayListJsonDeserializer.newInstance( IntegerJsonDeserializer
+                        .getInstance() ) ), tableJson );
+        run( "deserialize ArrayListMultimap", nbIterations, ArrayListMultimapJsonDeserializer
+                .newInstance( StringKeyDeserializer.getInstance(), IntegerJsonDeserializer.getInstance() ), tableJson );
+        run( "deserialize ImmutableListMultimap", nbIterations, ImmutableListMultimapJsonDeserializer
+                .newInstance( StringKeyDeserializer.getInstance(), IntegerJsonDeserializer.getInstance() ), tableJson );
+        run( "deserialize ArrayList", nbIterations, ArrayListJsonDeserializer.newInstance( IntegerJsonDeserializer.getInstance() ),
+                listJson );
+        run( "deserialize ImmutableList", nbIterations, ImmutableListJsonDeserializer.newInstance( IntegerJsonDeserializer
+                .getInstance() ), listJson );
+    }
+
+    private static <T> String write( JsonSerializer<T> serializer, T value ) {
+        JsonSerializationContext ctx = SERIALIZATION_CONTEXT.build();
+        JsonWriter writer = ctx.newJsonWriter();
+        serializer.serialize( writer, value, ctx );
+        return writer.getOutput();
+    }
+
+    private static <T> void run( String name, int nbIterations, JsonSerializer<T> serializer, T value ) {
+        // the same number of iterations is used to warm up
+        for ( int i = 0; i < nbIterations; i++ ) {
+            sink = write( serializer, value );
+        }
+        long start = System.nanoTime();
+        for ( int i = 0; i < nbIterations; i++ ) {
+            sink = write( serializer, value );
+        }
+        report( name, nbIterations, System.nanoTime() - start );
+    }
+
+    private static void run( String name, int nbIterations, JsonDeserializer<?> deserializer, String json ) {
+        for ( int i = 0; i < nbIterations; i++ ) {
+            sink = read( deserializer, json );
+        }
+        long start = System.nanoTime();
+        for ( int i = 0; i < nbIterations; i++ ) {
+            sink = read( deserializer, json );
+        }
+        report( name, nbIterations, System.nanoTime() - start );
+    }
+
+    private static Object read( JsonDeserializer<?> deserializer, String json ) {
+        JsonDeserializationContext ctx = DESERIALIZATION_CONTEXT.build();
+        return deserializer.deserialize( ctx.newJsonReader( json ), ctx );
+    }
+
+    private static void report( String name, int nbIterations, long totalNanos ) {
+        System.out.println( String.format( "%-48s %10.3f ms/op", name, totalNanos / 1e6 / nbIterations ) );
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.apt;
+
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic.Kind;
+
+import com.google.gwt.core.ext.TreeLogger;
+
+/**
+ * {@link TreeLogger} reporting the warnings and errors of the GWT module loading and of the generators to javac.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class MessagerTreeLogger extends TreeLogger {
+
+    private final Messager messager;
+
+    MessagerTreeLogger( Messager messager ) {
+        this.messager = messager;
+    }
+
+    @Override
+    public TreeLogger branch( Type type, String msg, Throwable caught, HelpInfo helpInfo ) {
+        log( type, msg, caught, helpInfo );
+        return this;
+    }
+
+    @Override
+    public boolean isLoggable( Type type ) {
+        return !type.isLowerPriorityThan( Type.WARN );
+    }
+
+    @Override
+    public void log( Type type, String msg, Throwable caught, HelpInfo helpInfo ) {
+        if ( !isLoggable( type ) ) {
+            return;
+        }
+        Kind kind = Type.ERROR == type ? Kind.ERROR : Kind.WARNING;
+        messager.printMessage( kind, null == caught ? msg : msg + " : " + caught );
+    }
+}
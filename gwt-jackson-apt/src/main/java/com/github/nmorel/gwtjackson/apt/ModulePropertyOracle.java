@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.apt;
+
+import com.google.gwt.core.ext.BadPropertyValueException;
+import com.google.gwt.core.ext.ConfigurationProperty;
+import com.google.gwt.core.ext.DefaultConfigurationProperty;
+import com.google.gwt.core.ext.PropertyOracle;
+import com.google.gwt.core.ext.SelectionProperty;
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.dev.cfg.ModuleDef;
+import com.google.gwt.dev.cfg.Property;
+
+/**
+ * {@link PropertyOracle} reading the configuration properties declared in a module. The mappers are generated once for all the
+ * permutations so no selection property is available.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class ModulePropertyOracle implements PropertyOracle {
+
+    private final ModuleDef module;
+
+    ModulePropertyOracle( ModuleDef module ) {
+        this.module = module;
+    }
+
+    @Override
+    public ConfigurationProperty getConfigurationProperty( String propertyName ) throws BadPropertyValueException {
+        Property property = module.getProperties().find( propertyName );
+        if ( property instanceof com.google.gwt.dev.cfg.ConfigurationProperty ) {
+            return new DefaultConfigurationProperty( propertyName, ((com.google.gwt.dev.cfg.ConfigurationProperty) property)
+                    .getValues() );
+        }
+        throw new BadPropertyValueException( propertyName );
+    }
+
+    @Override
+    public SelectionProperty getSelectionProperty( TreeLogger logger, String propertyName ) throws BadPropertyValueException {
+        throw new BadPropertyValueException( propertyName );
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.apt;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.github.nmorel.gwtjackson.client.annotation.GenerateMapper;
+import com.github.nmorel.gwtjackson.rebind.ObjectMapperGenerator;
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.core.ext.UnableToCompleteException;
+import com.google.gwt.dev.CompilerContext;
+import com.google.gwt.dev.cfg.ModuleDef;
+import com.google.gwt.dev.cfg.ModuleDefLoader;
+import com.google.gwt.dev.javac.CompilationState;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+/**
+ * Annotation processor generating the implementation of the interfaces annotated with {@link GenerateMapper}.
+ * <p>The processor loads the GWT module given by the option <code>-Agwtjackson.module</code>, builds its type model and runs the
+ * same creators as the GWT generator. The classes are emitted in the javac output, so the mappers can be used on the JVM without GWT
+ * and produce exactly the same JSON.</p>
+ * <p>The source roots of the annotated interfaces are added to the module source path. Other source roots can be given with the
+ * option <code>-Agwtjackson.sourcepath</code>.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+@SupportedAnnotationTypes( "com.github.nmorel.gwtjackson.client.annotation.GenerateMapper" )
+@SupportedOptions( {ObjectMapperProcessor.MODULE_OPTION, ObjectMapperProcessor.SOURCE_PATH_OPTION} )
+public class ObjectMapperProcessor extends AbstractProcessor {
+
+    /**
+     * Name of the GWT module containing the mapped types
+     */
+    public static final String MODULE_OPTION = "gwtjackson.module";
+
+    /**
+     * Additional source roots, separated by the platform path separator
+     */
+    public static final String SOURCE_PATH_OPTION = "gwtjackson.sourcepath";
+
+    /** {@inheritDoc} */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean process( Set<? extends TypeElement> annotations, RoundEnvironment roundEnv ) {
+        Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith( GenerateMapper.class );
+        if ( elements.isEmpty() ) {
+            return false;
+        }
+
+        Messager messager = processingEnv.getMessager();
+        String moduleName = processingEnv.getOptions().get( MODULE_OPTION );
+        if ( null == moduleName || moduleName.isEmpty() ) {
+            messager.printMessage( Kind.ERROR, "The option -A" + MODULE_OPTION + " must give the name of the GWT module containing the " +
+                    "mapped types" );
+            return true;
+        }
+
+        List<TypeElement> mappers = new ArrayList<TypeElement>();
+        for ( Element element : elements ) {
+            if ( ElementKind.INTERFACE != element.getKind() ) {
+                messager.printMessage( Kind.ERROR, "@" + GenerateMapper.class.getSimpleName() + " can only be used on an interface",
+                        element );
+            } else {
+                mappers.add( (TypeElement) element );
+            }
+        }
+        if ( mappers.isEmpty() ) {
+            return true;
+        }
+
+        TreeLogger logger = new MessagerTreeLogger( messager );
+
+        // GWT looks for the module and its sources with the context classloader
+        Thread thread = Thread.currentThread();
+        ClassLoader previousClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader( new URLClassLoader( getSourceRoots( mappers ), ObjectMapperProcessor.class.getClassLoader() ) );
+        try {
+            ModuleDef module = ModuleDefLoader.loadFromClassPath( logger, new CompilerContext.Builder().build(), moduleName );
+            CompilerContext compilerContext = new CompilerContext.Builder().module( module ).build();
+            CompilationState compilationState = module.getCompilationState( logger, compilerContext );
+            ProcessorGeneratorContext context = new ProcessorGeneratorContext( compilationState.getTypeOracle(), new
+                    ModulePropertyOracle( module ), processingEnv.getFiler(), messager );
+
+            for ( TypeElement mapper : mappers ) {
+                generate( logger, context, mapper );
+            }
+        } catch ( UnableToCompleteException e ) {
+            messager.printMessage( Kind.ERROR, "Cannot load the GWT module " + moduleName );
+        } finally {
+            thread.setContextClassLoader( previousClassLoader );
+        }
+
+        return true;
+    }
+
+    /**
+     * Generates the implementation of the mapper and all the serializers and deserializers it needs, then writes them in the javac
+     * output.
+     *
+     * @param logger logger
+     * @param context context collecting the generated sources
+     * @param mapper interface to implement
+     */
+    private void generate( TreeLogger logger, ProcessorGeneratorContext context, TypeElement mapper ) {
+        Messager messager = processingEnv.getMessager();
+        try {
+            new ObjectMapperGenerator().generate( logger, context, mapper.getQualifiedName().toString() );
+        } catch ( UnableToCompleteException e ) {
+            messager.printMessage( Kind.ERROR, "Cannot generate the implementation of " + mapper.getQualifiedName(), mapper );
+            return;
+        }
+
+        for ( Entry<String, String> generated : context.drainCommittedSources().entrySet() ) {
+            String typeName = generated.getKey();
+            String source = generated.getValue();
+            if ( source.contains( "/*-{" ) ) {
+                // JSNI methods are native methods on the JVM
+                messager.printMessage( Kind.ERROR, "The generated class " + typeName + " accesses a private member with JSNI and " +
+                        "cannot run on the JVM. Make the member visible to the generated class or add an accessible getter/setter.", mapper );
+                continue;
+            }
+
+            try {
+                Writer writer = processingEnv.getFiler().createSourceFile( typeName, mapper ).openWriter();
+                try {
+                    writer.write( source );
+                } finally {
+                    writer.close();
+                }
+            } catch ( IOException e ) {
+                messager.printMessage( Kind.ERROR, "Cannot write the generated class " + typeName + " : " + e.getMessage(), mapper );
+            }
+        }
+    }
+
+    /**
+     * @param mappers the annotated interfaces
+     *
+     * @return the source roots containing the annotated interfaces and the ones given with the option {@link #SOURCE_PATH_OPTION}
+     */
+    private URL[] getSourceRoots( List<TypeElement> mappers ) {
+        Set<File> roots = new LinkedHashSet<File>();
+
+        Trees trees = Trees.instance( processingEnv );
+        for ( TypeElement mapper : mappers ) {
+            TreePath path = trees.getPath( mapper );
+            if ( null == path ) {
+                continue;
+            }
+            CompilationUnitTree unit = path.getCompilationUnit();
+            if ( !"file".equals( unit.getSourceFile().toUri().getScheme() ) ) {
+                continue;
+            }
+            File root = new File( unit.getSourceFile().toUri() ).getParentFile();
+            String packageName = processingEnv.getElementUtils().getPackageOf( mapper ).getQualifiedName().toString();
+            if ( !packageName.isEmpty() ) {
+                for ( int i = packageName.split( "\\." ).length; i > 0 && null != root; i-- ) {
+                    root = root.getParentFile();
+                }
+            }
+            if ( null != root ) {
+                roots.add( root );
+            }
+        }
+
+        String sourcePath = processingEnv.getOptions().get( SOURCE_PATH_OPTION );
+        if ( null != sourcePath ) {
+            for ( String root : sourcePath.split( File.pathSeparator ) ) {
+                if ( !root.isEmpty() ) {
+                    roots.add( new File( root ) );
+                }
+            }
+        }
+
+        List<URL> urls = new ArrayList<URL>();
+        for ( File root : roots ) {
+            try {
+                urls.add( root.toURI().toURL() );
+            } catch ( MalformedURLException e ) {
+                processingEnv.getMessager().printMessage( Kind.WARNING, "Ignoring the source root " + root + " : " + e.getMessage() );
+            }
+        }
+        return urls.toArray( new URL[urls.size()] );
+    }
+}
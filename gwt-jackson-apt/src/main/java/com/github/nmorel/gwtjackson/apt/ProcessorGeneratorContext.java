@@ -0,0 +1,211 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.apt;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gwt.core.ext.CachedGeneratorResult;
+import com.google.gwt.core.ext.GeneratorContext;
+import com.google.gwt.core.ext.PropertyOracle;
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.core.ext.linker.Artifact;
+import com.google.gwt.core.ext.linker.GeneratedResource;
+import com.google.gwt.core.ext.typeinfo.TypeOracle;
+import com.google.gwt.dev.resource.ResourceOracle;
+
+/**
+ * {@link GeneratorContext} used by {@link ObjectMapperProcessor}. The committed sources are kept in memory until the processor writes
+ * them with the javac {@link Filer}. The resources are written directly in the class output with the {@link Filer}.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class ProcessorGeneratorContext implements GeneratorContext {
+
+    private final TypeOracle typeOracle;
+
+    private final PropertyOracle propertyOracle;
+
+    private final Filer filer;
+
+    private final Messager messager;
+
+    /**
+     * Name of all the types created with this context
+     */
+    private final Set<String> createdTypes = new HashSet<String>();
+
+    private final Map<PrintWriter, String> uncommittedTypes = new IdentityHashMap<PrintWriter, String>();
+
+    private final Map<PrintWriter, StringWriter> uncommittedSources = new IdentityHashMap<PrintWriter, StringWriter>();
+
+    private Map<String, String> committedSources = new LinkedHashMap<String, String>();
+
+    /**
+     * Streams of the resources created and not yet committed
+     */
+    private final Set<OutputStream> uncommittedResources = new HashSet<OutputStream>();
+
+    ProcessorGeneratorContext( TypeOracle typeOracle, PropertyOracle propertyOracle, Filer filer, Messager messager ) {
+        this.typeOracle = typeOracle;
+        this.propertyOracle = propertyOracle;
+        this.filer = filer;
+        this.messager = messager;
+    }
+
+    /**
+     * @return the sources committed since the last call, indexed by the qualified name of the type
+     */
+    Map<String, String> drainCommittedSources() {
+        Map<String, String> result = committedSources;
+        committedSources = new LinkedHashMap<String, String>();
+        return result;
+    }
+
+    @Override
+    public PrintWriter tryCreate( TreeLogger logger, String packageName, String simpleName ) {
+        String typeName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        if ( null != typeOracle.findType( typeName ) || !createdTypes.add( typeName ) ) {
+            return null;
+        }
+
+        StringWriter source = new StringWriter();
+        PrintWriter printWriter = new PrintWriter( source );
+        uncommittedTypes.put( printWriter, typeName );
+        uncommittedSources.put( printWriter, source );
+        return printWriter;
+    }
+
+    @Override
+    public void commit( TreeLogger logger, PrintWriter pw ) {
+        String typeName = uncommittedTypes.remove( pw );
+        if ( null == typeName ) {
+            logger.log( TreeLogger.Type.ERROR, "The PrintWriter has not been created by this context or is already committed" );
+            return;
+        }
+        pw.flush();
+        committedSources.put( typeName, uncommittedSources.remove( pw ).toString() );
+    }
+
+    @Override
+    public TypeOracle getTypeOracle() {
+        return typeOracle;
+    }
+
+    @Override
+    public PropertyOracle getPropertyOracle() {
+        return propertyOracle;
+    }
+
+    @Override
+    public boolean isProdMode() {
+        return true;
+    }
+
+    @Override
+    public boolean checkRebindRuleAvailable( String sourceTypeName ) {
+        return false;
+    }
+
+    @Override
+    public boolean isGeneratorResultCachingEnabled() {
+        return false;
+    }
+
+    @Override
+    public CachedGeneratorResult getCachedGeneratorResult() {
+        return null;
+    }
+
+    @Override
+    public boolean tryReuseTypeFromCache( String typeName ) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The module resources are not loaded during annotation processing. The error is reported to javac and null is returned.
+     */
+    @Override
+    public ResourceOracle getResourcesOracle() {
+        messager.printMessage( Kind.ERROR, "The resources of the GWT module are not available during annotation processing" );
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * No linker runs during annotation processing so the artifact is dropped and reported to javac.
+     */
+    @Override
+    public void commitArtifact( TreeLogger logger, Artifact<?> artifact ) {
+        logger.log( TreeLogger.Type.WARN, "The artifact " + artifact + " is ignored, no linker runs during annotation processing" );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The resource is created in the class output of javac.
+     */
+    @Override
+    public OutputStream tryCreateResource( TreeLogger logger, String partialPath ) {
+        try {
+            OutputStream os = filer.createResource( StandardLocation.CLASS_OUTPUT, "", partialPath ).openOutputStream();
+            uncommittedResources.add( os );
+            return os;
+        } catch ( FilerException e ) {
+            // the resource has already been created
+            return null;
+        } catch ( IOException e ) {
+            logger.log( TreeLogger.Type.ERROR, "Cannot create the resource " + partialPath, e );
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The stream is closed. No linker runs during annotation processing so no {@link GeneratedResource} is returned.
+     */
+    @Override
+    public GeneratedResource commitResource( TreeLogger logger, OutputStream os ) {
+        if ( !uncommittedResources.remove( os ) ) {
+            logger.log( TreeLogger.Type.ERROR, "The OutputStream has not been created by this context or is already committed" );
+            return null;
+        }
+        try {
+            os.close();
+        } catch ( IOException e ) {
+            logger.log( TreeLogger.Type.ERROR, "Cannot write the resource", e );
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.apt;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Shares a generated mapper between threads. A new mapper is used for each round so the threads also race on the lazy
+ * initialization of the serializers and deserializers. The dates with a pattern also share the parsers cached by DateFormat.
+ *
+ * @author Nicolas Morel
+ */
+public class ConcurrentMapperTest {
+
+    private static final int ROUNDS = 20;
+
+    private static final int THREADS = 8;
+
+    private static final int ITERATIONS = 500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String pad( int value ) {
+        return value < 10 ? "0" + value : String.valueOf( value );
+    }
+
+    private static String json( int thread, int iteration ) {
+        String payment;
+        if ( iteration % 2 == 0 ) {
+            payment = "{\"type\":\"card\",\"number\":\"4970-" + thread + "\"}";
+        } else {
+            payment = "{\"type\":\"transfer\",\"iban\":\"FR76-" + iteration + "\"}";
+        }
+        // the dates go through the parsers cached per pattern, shared by the threads
+        String created = "2016-" + pad( thread % 12 + 1 ) + "-" + pad( iteration % 28 + 1 ) + " " + pad( iteration % 24 ) + ":" +
+                pad( iteration % 60 ) + ":" + pad( thread );
+        String delivery = pad( iteration % 28 + 1 ) + "/" + pad( thread % 12 + 1 ) + "/2017";
+        return "{\"id\":" + (thread * 1000000000000L + iteration) + ",\"status\":\"" + (iteration % 3 == 0 ? "OPEN" : "PAID") +
+                "\",\"created\":\"" + created + "\",\"delivery\":\"" + delivery + "\",\"lines\":[{\"product\":\"p" + thread +
+                "\",\"quantity\":" + iteration + ",\"price\":12.5},{\"product\":\"q\",\"quantity\":1,\"price\":0.5}]," +
+                "\"attributes\":{\"thread\":" + thread + ",\"iteration\":" + iteration + "},\"payment\":" + payment + "}";
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void testSharedMapper() throws Exception {
+        ClassLoader classLoader = TestCompiler.compile( folder.newFolder(), "Order.java", "OrderMapper.java" );
+        Class<?> mapperClass = classLoader.loadClass( "com.github.nmorel.gwtjackson.apt.test.OrderMapperImpl" );
+
+        for ( int round = 0; round < ROUNDS; round++ ) {
+            final ObjectMapper<Object> mapper = (ObjectMapper<Object>) mapperClass.newInstance();
+            final CountDownLatch start = new CountDownLatch( 1 );
+            final Queue<Throwable> failures = new ConcurrentLinkedQueue<Throwable>();
+
+            Thread[] threads = new Thread[THREADS];
+            for ( int t = 0; t < THREADS; t++ ) {
+                final int thread = t;
+                threads[t] = new Thread( new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            for ( int i = 0; i < ITERATIONS; i++ ) {
+                                String json = json( thread, i );
+                                assertEquals( json, mapper.write( mapper.read( json ) ) );
+                            }
+                        } catch ( Throwable e ) {
+                            failures.add( e );
+                        }
+                    }
+                } );
+                threads[t].start();
+            }
+
+            start.countDown();
+            for ( Thread thread : threads ) {
+                thread.join();
+            }
+            assertTrue( "Round " + round + " failed : " + failures, failures.isEmpty() );
+        }
+    }
+}
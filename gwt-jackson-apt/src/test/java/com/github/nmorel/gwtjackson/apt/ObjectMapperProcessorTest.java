@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.apt;
+
+import java.io.File;
+
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles a mapper with {@link ObjectMapperProcessor} and uses the generated implementation on the JVM.
+ *
+ * @author Nicolas Morel
+ */
+public class ObjectMapperProcessorTest {
+
+    private static final String JSON = "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"age\":42,\"nicknames\":[\"Johnny\",\"JD\"]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void testGeneratedMapper() throws Exception {
+        File output = folder.newFolder();
+        ClassLoader classLoader = TestCompiler.compile( output, "Person.java", "PersonMapper.java" );
+        assertTrue( new File( output, "com/github/nmorel/gwtjackson/apt/test/PersonMapperImpl.java" ).exists() );
+
+        ObjectMapper<Object> mapper = (ObjectMapper<Object>) classLoader.loadClass( "com.github.nmorel.gwtjackson.apt.test" +
+                ".PersonMapperImpl" ).newInstance();
+
+        Object person = mapper.read( JSON );
+        assertEquals( "com.github.nmorel.gwtjackson.apt.test.Person", person.getClass().getName() );
+        assertEquals( JSON, mapper.write( person ) );
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.apt;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles the sources of the package <code>com.github.nmorel.gwtjackson.apt.test</code> with {@link ObjectMapperProcessor}.
+ *
+ * @author Nicolas Morel
+ */
+final class TestCompiler {
+
+    static final String MODULE = "com.github.nmorel.gwtjackson.apt.AptTest";
+
+    private TestCompiler() {}
+
+    /**
+     * @param output directory receiving the generated sources and the classes
+     * @param sources simple names of the source files to compile
+     *
+     * @return a classloader loading the compiled classes
+     */
+    static ClassLoader compile( File output, String... sources ) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager( diagnostics, null, null );
+        fileManager.setLocation( StandardLocation.CLASS_OUTPUT, Collections.singleton( output ) );
+        fileManager.setLocation( StandardLocation.SOURCE_OUTPUT, Collections.singleton( output ) );
+
+        List<File> files = new ArrayList<File>();
+        for ( String source : sources ) {
+            files.add( new File( TestCompiler.class.getResource( "test/" + source ).toURI() ) );
+        }
+
+        CompilationTask task = compiler.getTask( null, fileManager, diagnostics, Arrays.asList( "-classpath", System
+                .getProperty( "java.class.path" ), "-A" + ObjectMapperProcessor.MODULE_OPTION + "=" + MODULE ), null, fileManager
+                .getJavaFileObjectsFromFiles( files ) );
+        task.setProcessors( Collections.singleton( new ObjectMapperProcessor() ) );
+
+        boolean success = task.call();
+        fileManager.close();
+        StringBuilder messages = new StringBuilder();
+        for ( Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics() ) {
+            messages.append( diagnostic ).append( '\n' );
+        }
+        assertTrue( messages.toString(), success );
+
+        return new URLClassLoader( new URL[]{output.toURI().toURL()}, TestCompiler.class.getClassLoader() );
+    }
+}
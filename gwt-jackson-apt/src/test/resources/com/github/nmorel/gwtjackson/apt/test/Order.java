@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.apt.test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
+
+@JsonPropertyOrder( {"id", "status", "created", "delivery", "lines", "attributes", "payment"} )
+public class Order {
+
+    public enum Status {
+        OPEN, PAID, SHIPPED
+    }
+
+    @JsonPropertyOrder( {"product", "quantity", "price"} )
+    public static class Line {
+
+        public String product;
+
+        public int quantity;
+
+        public double price;
+    }
+
+    @JsonTypeInfo( use = Id.NAME, include = As.PROPERTY, property = "type" )
+    @JsonSubTypes( {@Type( value = Card.class, name = "card" ), @Type( value = Transfer.class, name = "transfer" )} )
+    public abstract static class Payment {}
+
+    public static class Card extends Payment {
+
+        public String number;
+    }
+
+    public static class Transfer extends Payment {
+
+        public String iban;
+    }
+
+    public long id;
+
+    public Status status;
+
+    @JsonFormat( shape = Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss" )
+    public Date created;
+
+    @JsonFormat( shape = Shape.STRING, pattern = "dd/MM/yyyy" )
+    public Date delivery;
+
+    public List<Line> lines;
+
+    public Map<String, Integer> attributes;
+
+    public Payment payment;
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.Callback;
+
+/**
+ * Base implementation of {@link AsyncObjectMapper}. The generated subclass loads the mapper behind its split point, the calls made
+ * while it is loading are queued.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public abstract class AbstractAsyncObjectMapper<T> implements AsyncObjectMapper<T> {
+
+    private ObjectMapper<T> mapper;
+
+    /**
+     * Callbacks waiting for the mapper. Null when no load is in progress.
+     */
+    private List<Callback<ObjectMapper<T>, Throwable>> pendingCallbacks;
+
+    /**
+     * <p>Constructor for AbstractAsyncObjectMapper.</p>
+     */
+    protected AbstractAsyncObjectMapper() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void read( String input, Callback<T, Throwable> callback ) {
+        read( input, JsonDeserializationContext.builder().build(), callback );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void read( final String input, final JsonDeserializationContext ctx, final Callback<T, Throwable> callback ) {
+        getMapper( new Callback<ObjectMapper<T>, Throwable>() {
+            @Override
+            public void onSuccess( ObjectMapper<T> mapper ) {
+                T result;
+                try {
+                    result = mapper.read( input, ctx );
+                } catch ( RuntimeException e ) {
+                    callback.onFailure( e );
+                    return;
+                }
+                callback.onSuccess( result );
+            }
+
+            @Override
+            public void onFailure( Throwable reason ) {
+                callback.onFailure( reason );
+            }
+        } );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write( T value, Callback<String, Throwable> callback ) {
+        write( value, JsonSerializationContext.builder().build(), callback );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write( final T value, final JsonSerializationContext ctx, final Callback<String, Throwable> callback ) {
+        getMapper( new Callback<ObjectMapper<T>, Throwable>() {
+            @Override
+            public void onSuccess( ObjectMapper<T> mapper ) {
+                String result;
+                try {
+                    result = mapper.write( value, ctx );
+                } catch ( RuntimeException e ) {
+                    callback.onFailure( e );
+                    return;
+                }
+                callback.onSuccess( result );
+            }
+
+            @Override
+            public void onFailure( Throwable reason ) {
+                callback.onFailure( reason );
+            }
+        } );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void getMapper( Callback<ObjectMapper<T>, Throwable> callback ) {
+        if ( null != mapper ) {
+            callback.onSuccess( mapper );
+            return;
+        }
+
+        if ( null != pendingCallbacks ) {
+            // a load is already in progress
+            pendingCallbacks.add( callback );
+            return;
+        }
+
+        pendingCallbacks = new ArrayList<Callback<ObjectMapper<T>, Throwable>>();
+        pendingCallbacks.add( callback );
+        loadMapper( new Callback<ObjectMapper<T>, Throwable>() {
+            @Override
+            public void onSuccess( ObjectMapper<T> result ) {
+                mapper = result;
+                List<Callback<ObjectMapper<T>, Throwable>> callbacks = pendingCallbacks;
+                pendingCallbacks = null;
+                for ( Callback<ObjectMapper<T>, Throwable> pendingCallback : callbacks ) {
+                    pendingCallback.onSuccess( result );
+                }
+            }
+
+            @Override
+            public void onFailure( Throwable reason ) {
+                // the next call will try to load the mapper again
+                List<Callback<ObjectMapper<T>, Throwable>> callbacks = pendingCallbacks;
+                pendingCallbacks = null;
+                for ( Callback<ObjectMapper<T>, Throwable> pendingCallback : callbacks ) {
+                    pendingCallback.onFailure( reason );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Loads the mapper behind the split point. Implemented by the generated class.
+     *
+     * @param callback called with the mapper loaded
+     */
+    protected abstract void loadMapper( Callback<ObjectMapper<T>, Throwable> callback );
+}
@@ -114,6 +114,8 @@ public abstract class AbstractConfiguration {
 
     private JsonAutoDetect.Visibility creatorVisibility = JsonAutoDetect.Visibility.DEFAULT;
 
+    private boolean compactGeneration = false;
+
     /**
      * <p>Constructor for AbstractConfiguration.</p>
      */
@@ -248,6 +250,22 @@ public abstract class AbstractConfiguration {
         return this;
     }
 
+    /**
+     * Enables the compact generation of the bean serializers and deserializers. Instead of a class per property, each bean gets a few
+     * methods switching on the property index and its properties share the same runtime classes. It reduces the size of the compiled
+     * script and its startup time at the cost of an additional dispatch per property.
+     * <br>
+     * <br>
+     * Disabled by default. It is enabled if any of the configurations enables it.
+     *
+     * @param compactGeneration true to enable the compact generation
+     * @return a {@link com.github.nmorel.gwtjackson.client.AbstractConfiguration} object.
+     */
+    protected AbstractConfiguration compactGeneration( boolean compactGeneration ) {
+        this.compactGeneration = compactGeneration;
+        return this;
+    }
+
     /**
      * <p>configure</p>
      */
@@ -351,4 +369,13 @@ public abstract class AbstractConfiguration {
     public Visibility getCreatorVisibility() {
         return creatorVisibility;
     }
+
+    /**
+     * <p>isCompactGeneration</p>
+     *
+     * @return a boolean.
+     */
+    public boolean isCompactGeneration() {
+        return compactGeneration;
+    }
 }
@@ -16,25 +16,33 @@
 
 package com.github.nmorel.gwtjackson.client;
 
+import com.github.nmorel.gwtjackson.client.deser.JsonNodeJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
 import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+import com.github.nmorel.gwtjackson.client.ser.bean.AbstractBeanJsonSerializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException;
+import com.github.nmorel.gwtjackson.client.tree.JsonNode;
 
 /**
  * Base implementation of {@link ObjectMapper}. It delegates the serialization/deserialization to a serializer/deserializer.
+ * <p>On the JVM, an instance can be shared between threads without locking. The serializer and deserializer graph is created lazily
+ * and published through volatile fields, all the state of a call is kept in the context, reader and writer. The contexts themselves
+ * must not be shared between concurrent calls.</p>
  *
  * @author Nicolas Morel
  * @version $Id: $
  */
-public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
+public abstract class AbstractObjectMapper<T> implements ObjectMapper<T>, ObjectUpdatingReader<T>, ObjectTreeReader,
+        ObjectDiffWriter<T> {
 
     private final String rootName;
 
-    private JsonDeserializer<T> deserializer;
+    private volatile JsonDeserializer<T> deserializer;
 
-    private JsonSerializer<T> serializer;
+    private volatile JsonSerializer<T> serializer;
 
     /**
      * <p>Constructor for AbstractObjectMapper.</p>
@@ -54,8 +62,54 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
     /** {@inheritDoc} */
     @Override
     public T read( String in, JsonDeserializationContext ctx ) throws JsonDeserializationException {
-        JsonReader reader = ctx.newJsonReader( in );
+        JsonMappingListener listener = ctx.getListener();
+        if ( null == listener ) {
+            return doRead( in, null, ctx );
+        }
+        listener.onReadStart( in );
+        T result = doRead( in, null, ctx );
+        listener.onReadEnd( in, result );
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T readForUpdating( String in, T value ) throws JsonDeserializationException {
+        return readForUpdating( in, value, JsonDeserializationContext.builder().build() );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T readForUpdating( String in, T value, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        JsonMappingListener listener = ctx.getListener();
+        if ( null == listener ) {
+            return doRead( in, value, ctx );
+        }
+        listener.onReadStart( in );
+        T result = doRead( in, value, ctx );
+        listener.onReadEnd( in, result );
+        return result;
+    }
+
+    private T doRead( String in, T value, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        return doRead( ctx.newJsonReader( in ), value, ctx );
+    }
+
+    /**
+     * Reads the value from the given reader. It can be used with a {@link JsonReader} that does not read from a {@link String}. The
+     * listener of the context is not called.
+     *
+     * @param reader the reader
+     * @param ctx Context for the full deserialization process
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T read( JsonReader reader, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        return doRead( reader, null, ctx );
+    }
 
+    private T doRead( JsonReader reader, T value, JsonDeserializationContext ctx ) throws JsonDeserializationException {
         try {
 
             if ( ctx.isUnwrapRootValue() ) {
@@ -72,13 +126,13 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
                     throw ctx.traceError( "Unwrap root value is enabled but the name '" + name + "' don't match the expected rootName " +
                             "'" + rootName + "'", reader );
                 }
-                T result = getDeserializer().deserialize( reader, ctx );
+                T result = deserialize( reader, value, ctx );
                 reader.endObject();
                 return result;
 
             } else {
 
-                return getDeserializer().deserialize( reader, ctx );
+                return deserialize( reader, value, ctx );
 
             }
 
@@ -90,14 +144,64 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
         }
     }
 
+    private T deserialize( JsonReader reader, T value, JsonDeserializationContext ctx ) {
+        if ( null == value ) {
+            return getDeserializer().deserialize( reader, ctx );
+        }
+        return getDeserializer().deserializeForUpdating( reader, value, ctx, JsonDeserializerParameters.DEFAULT );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JsonNode readTree( String in ) throws JsonDeserializationException {
+        return readTree( in, JsonDeserializationContext.builder().build() );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JsonNode readTree( String in, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        JsonMappingListener listener = ctx.getListener();
+        if ( null == listener ) {
+            return doReadTree( in, ctx );
+        }
+        listener.onReadStart( in );
+        JsonNode result = doReadTree( in, ctx );
+        listener.onReadEnd( in, result );
+        return result;
+    }
+
+    private JsonNode doReadTree( String in, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        if ( !ctx.isLenient() ) {
+            try {
+                // the nodes are directly backed by the input
+                return JsonNode.parse( in );
+            } catch ( MalformedJsonException e ) {
+                throw ctx.traceError( e );
+            }
+        }
+
+        // the reader normalizes the lenient syntax
+        JsonReader reader = ctx.newJsonReader( in );
+        try {
+            return JsonNodeJsonDeserializer.getInstance().deserialize( reader, ctx );
+        } catch ( JsonDeserializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( e, reader );
+        }
+    }
+
     /**
      * <p>Getter for the field <code>deserializer</code>.</p>
      *
      * @return the {@link JsonDeserializer} used by this mapper
      */
     public JsonDeserializer<T> getDeserializer() {
+        JsonDeserializer<T> deserializer = this.deserializer;
         if ( null == deserializer ) {
             deserializer = newDeserializer();
+            this.deserializer = deserializer;
         }
         return deserializer;
     }
@@ -118,7 +222,33 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
     /** {@inheritDoc} */
     @Override
     public String write( T value, JsonSerializationContext ctx ) throws JsonSerializationException {
+        JsonMappingListener listener = ctx.getListener();
+        if ( null == listener ) {
+            return doWrite( value, ctx );
+        }
+        listener.onWriteStart( value );
+        String result = doWrite( value, ctx );
+        listener.onWriteEnd( value, result );
+        return result;
+    }
+
+    private String doWrite( T value, JsonSerializationContext ctx ) throws JsonSerializationException {
         JsonWriter writer = ctx.newJsonWriter();
+        write( value, writer, ctx );
+        return writer.getOutput();
+    }
+
+    /**
+     * Writes the value into the given writer. It can be used with a {@link JsonWriter} that does not write into a {@link String}. The
+     * writer is neither flushed nor closed and the listener of the context is not called.
+     *
+     * @param value the object to serialize
+     * @param writer the writer
+     * @param ctx Context for the full serialization process
+     *
+     * @throws JsonSerializationException if an error occurs
+     */
+    public void write( T value, JsonWriter writer, JsonSerializationContext ctx ) throws JsonSerializationException {
         try {
             if ( ctx.isWrapRootValue() ) {
                 writer.beginObject();
@@ -128,6 +258,33 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
             } else {
                 getSerializer().serialize( writer, value, ctx );
             }
+        } catch ( JsonSerializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( value, e, writer );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String writeDiff( T previous, T value ) throws JsonSerializationException {
+        return writeDiff( previous, value, JsonSerializationContext.builder().build() );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String writeDiff( T previous, T value, JsonSerializationContext ctx ) throws JsonSerializationException {
+        JsonWriter writer = ctx.newJsonWriter();
+        try {
+            if ( ctx.isWrapRootValue() ) {
+                writer.beginObject();
+                writer.name( rootName );
+                doWriteDiff( writer, previous, value, ctx );
+                writer.endObject();
+            } else {
+                doWriteDiff( writer, previous, value, ctx );
+            }
             return writer.getOutput();
         } catch ( JsonSerializationException e ) {
             // already logged, we just throw it
@@ -137,14 +294,26 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
         }
     }
 
+    private void doWriteDiff( JsonWriter writer, T previous, T value, JsonSerializationContext ctx ) {
+        JsonSerializer<T> serializer = getSerializer();
+        if ( serializer instanceof AbstractBeanJsonSerializer ) {
+            ((AbstractBeanJsonSerializer<T>) serializer).serializeDiff( writer, previous, value, ctx, JsonSerializerParameters.DEFAULT );
+        } else {
+            // not a bean, the value replaces the previous one
+            serializer.serialize( writer, value, ctx );
+        }
+    }
+
     /**
      * <p>Getter for the field <code>serializer</code>.</p>
      *
      * @return the {@link JsonSerializer} used by this mapper
      */
     public JsonSerializer<T> getSerializer() {
+        JsonSerializer<T> serializer = this.serializer;
         if ( null == serializer ) {
             serializer = (JsonSerializer<T>) newSerializer();
+            this.serializer = serializer;
         }
         return serializer;
     }
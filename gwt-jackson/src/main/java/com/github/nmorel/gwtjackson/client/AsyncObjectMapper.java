@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import com.google.gwt.core.client.Callback;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Reads and writes objects like an {@link ObjectMapper} but the serializers and deserializers are loaded behind a
+ * {@link GWT#runAsync(Class, com.google.gwt.core.client.RunAsyncCallback)} split point. They are fetched on first use and are kept
+ * out of the initial download.
+ * <p>To generate an implementation, use {@link GWT#create(Class)}.</p>
+ * <p>Example : </p>
+ * <pre>
+ * public interface ReportMapper extends AsyncObjectMapper&lt;Report&gt; {}
+ *
+ * ReportMapper mapper = GWT.create(ReportMapper.class);
+ * mapper.read(json, new Callback&lt;Report, Throwable&gt;() {
+ *     public void onSuccess(Report report) { ... }
+ *     public void onFailure(Throwable reason) { ... }
+ * });
+ * </pre>
+ * The split point is named after the interface so each async mapper gets its own fragment.
+ *
+ * @param <T> Type of the mapped object
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public interface AsyncObjectMapper<T> {
+
+    /**
+     * Reads a JSON input into an object once the mapper is loaded.
+     *
+     * @param input JSON input to read
+     * @param callback called with the read object, or with the error if the mapper cannot be loaded or the input cannot be read
+     */
+    void read( String input, Callback<T, Throwable> callback );
+
+    /**
+     * Reads a JSON input into an object once the mapper is loaded.
+     *
+     * @param input JSON input to read
+     * @param ctx Context for the full reading process
+     * @param callback called with the read object, or with the error if the mapper cannot be loaded or the input cannot be read
+     */
+    void read( String input, JsonDeserializationContext ctx, Callback<T, Throwable> callback );
+
+    /**
+     * Writes an object to JSON once the mapper is loaded.
+     *
+     * @param value Object to write
+     * @param callback called with the JSON output, or with the error if the mapper cannot be loaded or the value cannot be written
+     */
+    void write( T value, Callback<String, Throwable> callback );
+
+    /**
+     * Writes an object to JSON once the mapper is loaded.
+     *
+     * @param value Object to write
+     * @param ctx Context for the full writing process
+     * @param callback called with the JSON output, or with the error if the mapper cannot be loaded or the value cannot be written
+     */
+    void write( T value, JsonSerializationContext ctx, Callback<String, Throwable> callback );
+
+    /**
+     * Loads the mapper if it's not already done and gives it to the callback. The mapper returned can then be used synchronously.
+     *
+     * @param callback called with the mapper, or with the error if it cannot be loaded
+     */
+    void getMapper( Callback<ObjectMapper<T>, Throwable> callback );
+}
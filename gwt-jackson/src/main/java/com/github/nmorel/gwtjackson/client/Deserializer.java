@@ -26,9 +26,9 @@ import com.github.nmorel.gwtjackson.client.deser.map.key.KeyDeserializer;
  */
 public abstract class Deserializer<T> {
 
-    private KeyDeserializer<T> key;
+    private volatile KeyDeserializer<T> key;
 
-    private JsonDeserializer<T> json;
+    private volatile JsonDeserializer<T> json;
 
     /**
      * <p>key</p>
@@ -36,8 +36,10 @@ public abstract class Deserializer<T> {
      * @return a {@link com.github.nmorel.gwtjackson.client.deser.map.key.KeyDeserializer} object.
      */
     public KeyDeserializer<T> key() {
+        KeyDeserializer<T> key = this.key;
         if ( null == key ) {
             key = createKeyDeserializer();
+            this.key = key;
         }
         return key;
     }
@@ -55,8 +57,10 @@ public abstract class Deserializer<T> {
      * @return a {@link com.github.nmorel.gwtjackson.client.JsonDeserializer} object.
      */
     public JsonDeserializer<T> json() {
+        JsonDeserializer<T> json = this.json;
         if ( null == json ) {
             json = createJsonDeserializer();
+            this.json = json;
         }
         return json;
     }
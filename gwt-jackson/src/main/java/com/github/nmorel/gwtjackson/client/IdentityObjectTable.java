@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+/**
+ * Open-addressed table mapping an object, compared by identity, to a non-null value. Replaces an {@link java.util.IdentityHashMap}
+ * without allocating an entry per mapping.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class IdentityObjectTable<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * A null key marks an empty slot.
+     */
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    private int size;
+
+    private static int hash( Object key ) {
+        return IntObjectTable.spread( System.identityHashCode( key ) );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    V get( Object key ) {
+        int mask = keys.length - 1;
+        int i = hash( key ) & mask;
+        Object current;
+        while ( null != (current = keys[i]) ) {
+            if ( current == key ) {
+                return (V) values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    void put( Object key, V value ) {
+        if ( (size + 1) * 4 > keys.length * 3 ) {
+            resize();
+        }
+        if ( insert( keys, values, key, value ) ) {
+            size++;
+        }
+    }
+
+    private static boolean insert( Object[] keys, Object[] values, Object key, Object value ) {
+        int mask = keys.length - 1;
+        int i = hash( key ) & mask;
+        Object current;
+        while ( null != (current = keys[i]) ) {
+            if ( current == key ) {
+                values[i] = value;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        return true;
+    }
+
+    private void resize() {
+        Object[] newKeys = new Object[keys.length * 2];
+        Object[] newValues = new Object[values.length * 2];
+        for ( int i = 0; i < keys.length; i++ ) {
+            if ( null != keys[i] ) {
+                insert( newKeys, newValues, keys[i], values[i] );
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+}
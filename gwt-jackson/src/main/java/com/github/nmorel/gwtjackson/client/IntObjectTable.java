@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+/**
+ * Open-addressed table mapping a primitive int to a non-null value. Used to store the objects by identifier without boxing the
+ * identifier on lookup.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class IntObjectTable<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+
+    /**
+     * A null value marks an empty slot.
+     */
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    private int size;
+
+    static int spread( int h ) {
+        // only shifts and xors so the result is the same in javascript
+        h ^= (h >>> 20) ^ (h >>> 12);
+        return h ^ (h >>> 7) ^ (h >>> 4);
+    }
+
+    @SuppressWarnings( "unchecked" )
+    V get( int key ) {
+        int mask = values.length - 1;
+        int i = spread( key ) & mask;
+        Object value;
+        while ( null != (value = values[i]) ) {
+            if ( keys[i] == key ) {
+                return (V) value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    void put( int key, V value ) {
+        if ( (size + 1) * 4 > values.length * 3 ) {
+            resize();
+        }
+        if ( insert( keys, values, key, value ) ) {
+            size++;
+        }
+    }
+
+    private static boolean insert( int[] keys, Object[] values, int key, Object value ) {
+        int mask = values.length - 1;
+        int i = spread( key ) & mask;
+        while ( null != values[i] ) {
+            if ( keys[i] == key ) {
+                values[i] = value;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        return true;
+    }
+
+    private void resize() {
+        int[] newKeys = new int[keys.length * 2];
+        Object[] newValues = new Object[values.length * 2];
+        for ( int i = 0; i < values.length; i++ ) {
+            if ( null != values[i] ) {
+                insert( newKeys, newValues, keys[i], values[i] );
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+}
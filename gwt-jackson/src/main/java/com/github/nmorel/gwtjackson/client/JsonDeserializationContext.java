@@ -16,15 +16,19 @@
 
 package com.github.nmorel.gwtjackson.client;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.ObjectIdGenerator.IdKey;
+import com.github.nmorel.gwtjackson.client.deser.bean.CanonicalInstanceCache;
 import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 import com.github.nmorel.gwtjackson.client.stream.impl.NonBufferedJsonReader;
+import com.github.nmorel.gwtjackson.client.stream.impl.StringCache;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsonUtils;
@@ -66,6 +70,16 @@ public class JsonDeserializationContext extends JsonMappingContext {
 
         protected boolean useBrowserTimezone = false;
 
+        protected Class<?> activeView = null;
+
+        protected boolean deduplicateStrings = false;
+
+        protected boolean updateCollectionsInPlace = false;
+
+        protected boolean lenient = true;
+
+        protected JsonMappingListener listener = null;
+
         /**
          * @deprecated Use {@link JsonDeserializationContext#builder()} instead. This constructor will be made protected in v1.0.
          */
@@ -202,9 +216,97 @@ public class JsonDeserializationContext extends JsonMappingContext {
             return this;
         }
 
+        /**
+         * Sets the view used to filter the deserialized properties. Only the properties annotated with
+         * {@link com.fasterxml.jackson.annotation.JsonView} matching this view (or one of its supertypes)
+         * and the properties without any view are read. The values of the other properties are skipped.
+         * <br>
+         * <br>
+         * Default is null, meaning all the properties are read.
+         *
+         * @param activeView the view class
+         *
+         * @return the builder
+         */
+        public Builder activeView( Class<?> activeView ) {
+            this.activeView = activeView;
+            return this;
+        }
+
+        /**
+         * Feature that determines whether the strings read are deduplicated. The short strings are looked up in a bounded cache
+         * before being allocated so all the equal values share the same instance. It reduces the memory retained by the
+         * deserialized objects when the same values are repeated a lot.
+         * <br>
+         * <br>
+         * Strings can also be deduplicated per property with {@link com.github.nmorel.gwtjackson.client.annotation.JsonDeduplicate}.
+         * <br>
+         * <br>
+         * Feature is disabled by default.
+         *
+         * @param deduplicateStrings true if should deduplicate the strings read
+         *
+         * @return the builder
+         */
+        public Builder deduplicateStrings( boolean deduplicateStrings ) {
+            this.deduplicateStrings = deduplicateStrings;
+            return this;
+        }
+
+        /**
+         * Feature that determines whether the existing collections and maps are reused when reading into an existing object with
+         * {@link ObjectUpdatingReader#readForUpdating(String, Object)}. The collection or map is cleared and filled with the elements
+         * read instead of being replaced by a new instance. Only their identity is preserved : the elements are still read into a new
+         * instance first so an invalid input leaves them untouched. The unmodifiable collections and maps are still replaced.
+         * <br>
+         * <br>
+         * Feature is disabled by default.
+         *
+         * @param updateCollectionsInPlace true if should update the existing collections and maps
+         *
+         * @return the builder
+         */
+        public Builder updateCollectionsInPlace( boolean updateCollectionsInPlace ) {
+            this.updateCollectionsInPlace = updateCollectionsInPlace;
+            return this;
+        }
+
+        /**
+         * Determines whether the readers accept a JSON input that does not strictly follow the specification : comments, unquoted or
+         * single-quoted names and strings, NaN and infinities... A strict reader also requires the root value to be an object or an
+         * array.
+         * <br>
+         * <br>
+         * Feature is enabled by default.
+         *
+         * @param lenient true if the readers accept a lenient syntax
+         *
+         * @return the builder
+         */
+        public Builder lenient( boolean lenient ) {
+            this.lenient = lenient;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified of the mapping operations done with this context, for example a {@link JsonMetricsCollector}.
+         * <br>
+         * <br>
+         * Default is null, meaning no notification.
+         *
+         * @param listener the listener
+         *
+         * @return the builder
+         */
+        public Builder listener( JsonMappingListener listener ) {
+            this.listener = listener;
+            return this;
+        }
+
         public final JsonDeserializationContext build() {
             return new JsonDeserializationContext( failOnUnknownProperties, unwrapRootValue, acceptSingleValueAsArray, wrapExceptions,
-                    useSafeEval, readUnknownEnumValuesAsNull, useBrowserTimezone );
+                    useSafeEval, readUnknownEnumValuesAsNull, useBrowserTimezone, activeView, deduplicateStrings,
+                    updateCollectionsInPlace, lenient, listener );
         }
     }
 
@@ -225,7 +327,25 @@ public class JsonDeserializationContext extends JsonMappingContext {
 
     private static final Logger logger = Logger.getLogger( "JsonDeserialization" );
 
-    private Map<IdKey, Object> idToObject;
+    /**
+     * Objects read with an identifier, one entry per generator type and scope
+     */
+    private List<ObjectIdScope> idScopes;
+
+    /**
+     * Last scope used. Most of the time, all the identifiers come from the same scope.
+     */
+    private ObjectIdScope lastIdScope;
+
+    /**
+     * Cache used to deduplicate the strings read, created on first use
+     */
+    private StringCache stringCache;
+
+    /**
+     * Canonical instances read with this context, one cache per type, created on first use
+     */
+    private Map<Class<?>, CanonicalInstanceCache> canonicalCaches;
 
     /*
      * Deserialization options
@@ -244,9 +364,20 @@ public class JsonDeserializationContext extends JsonMappingContext {
 
     private final boolean useBrowserTimezone;
 
+    private final Class<?> activeView;
+
+    private final boolean deduplicateStrings;
+
+    private final boolean updateCollectionsInPlace;
+
+    private final boolean lenient;
+
+    private final JsonMappingListener listener;
+
     private JsonDeserializationContext( boolean failOnUnknownProperties, boolean unwrapRootValue, boolean acceptSingleValueAsArray,
                                         boolean wrapExceptions, boolean useSafeEval, boolean readUnknownEnumValuesAsNull,
-                                        boolean useBrowserTimezone ) {
+                                        boolean useBrowserTimezone, Class<?> activeView, boolean deduplicateStrings,
+                                        boolean updateCollectionsInPlace, boolean lenient, JsonMappingListener listener ) {
         this.failOnUnknownProperties = failOnUnknownProperties;
         this.unwrapRootValue = unwrapRootValue;
         this.acceptSingleValueAsArray = acceptSingleValueAsArray;
@@ -254,6 +385,11 @@ public class JsonDeserializationContext extends JsonMappingContext {
         this.useSafeEval = useSafeEval;
         this.readUnknownEnumValuesAsNull = readUnknownEnumValuesAsNull;
         this.useBrowserTimezone = useBrowserTimezone;
+        this.activeView = activeView;
+        this.deduplicateStrings = deduplicateStrings;
+        this.updateCollectionsInPlace = updateCollectionsInPlace;
+        this.lenient = lenient;
+        this.listener = listener;
     }
 
     /**
@@ -324,6 +460,88 @@ public class JsonDeserializationContext extends JsonMappingContext {
         return useBrowserTimezone;
     }
 
+    /**
+     * <p>getActiveView</p>
+     *
+     * @return the active view or null if all the properties are deserialized.
+     * @see Builder#activeView(Class)
+     */
+    public Class<?> getActiveView() {
+        return activeView;
+    }
+
+    /**
+     * <p>isDeduplicateStrings</p>
+     *
+     * @return a boolean.
+     * @see Builder#deduplicateStrings(boolean)
+     */
+    public boolean isDeduplicateStrings() {
+        return deduplicateStrings;
+    }
+
+    /**
+     * <p>isUpdateCollectionsInPlace</p>
+     *
+     * @return a boolean.
+     * @see Builder#updateCollectionsInPlace(boolean)
+     */
+    public boolean isUpdateCollectionsInPlace() {
+        return updateCollectionsInPlace;
+    }
+
+    /**
+     * <p>isLenient</p>
+     *
+     * @return a boolean.
+     * @see Builder#lenient(boolean)
+     */
+    public boolean isLenient() {
+        return lenient;
+    }
+
+    /**
+     * <p>getListener</p>
+     *
+     * @return the listener notified of the mapping operations or null if there is none.
+     * @see Builder#listener(JsonMappingListener)
+     */
+    public JsonMappingListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Returns the cache used to deduplicate the strings read with this context.
+     *
+     * @return the cache, never null
+     */
+    public StringCache getStringCache() {
+        if ( null == stringCache ) {
+            stringCache = new StringCache();
+        }
+        return stringCache;
+    }
+
+    /**
+     * Returns the cache of the canonical instances of the given type read with this context.
+     *
+     * @param type the type
+     * @param maxSize maximum number of cached instances, used when the cache is created
+     *
+     * @return the cache, never null
+     */
+    public CanonicalInstanceCache getCanonicalCache( Class<?> type, int maxSize ) {
+        if ( null == canonicalCaches ) {
+            canonicalCaches = new HashMap<Class<?>, CanonicalInstanceCache>();
+        }
+        CanonicalInstanceCache cache = canonicalCaches.get( type );
+        if ( null == cache ) {
+            cache = new CanonicalInstanceCache( maxSize );
+            canonicalCaches.put( type, cache );
+        }
+        return cache;
+    }
+
     /**
      * <p>newJsonReader</p>
      *
@@ -332,8 +550,30 @@ public class JsonDeserializationContext extends JsonMappingContext {
      * @return a {@link com.github.nmorel.gwtjackson.client.stream.JsonReader} object.
      */
     public JsonReader newJsonReader( String input ) {
-        JsonReader reader = new NonBufferedJsonReader( input );
-        reader.setLenient( true );
+        NonBufferedJsonReader reader = new NonBufferedJsonReader( input );
+        reader.setLenient( lenient );
+        if ( deduplicateStrings ) {
+            reader.setStringCache( getStringCache() );
+        }
+        return reader;
+    }
+
+    /**
+     * Returns a reader positioned inside a JSON array, reading the elements found in the input between start and end.
+     *
+     * @param input the input containing the array
+     * @param start index of the first character of the first element
+     * @param end index after the last character of the last element
+     *
+     * @return the reader
+     * @see NonBufferedJsonReader#NonBufferedJsonReader(String, int, int)
+     */
+    public JsonReader newArrayElementsReader( String input, int start, int end ) {
+        NonBufferedJsonReader reader = new NonBufferedJsonReader( input, start, end );
+        reader.setLenient( lenient );
+        if ( deduplicateStrings ) {
+            reader.setStringCache( getStringCache() );
+        }
         return reader;
     }
 
@@ -409,10 +649,28 @@ public class JsonDeserializationContext extends JsonMappingContext {
      * @param instance a {@link java.lang.Object} object.
      */
     public void addObjectId( IdKey id, Object instance ) {
-        if ( null == idToObject ) {
-            idToObject = new HashMap<IdKey, Object>();
-        }
-        idToObject.put( id, instance );
+        addObjectId( id.type, id.scope, id.key, instance );
+    }
+
+    /**
+     * Registers an instance with its identifier. Unlike {@link #addObjectId(IdKey, Object)}, no {@link IdKey} is allocated.
+     *
+     * @param type type of the {@link com.fasterxml.jackson.annotation.ObjectIdGenerator} used for the identifier
+     * @param scope scope of the identifier
+     * @param id the identifier
+     * @param instance the instance
+     */
+    public void addObjectId( Class<?> type, Class<?> scope, Object id, Object instance ) {
+        getIdScope( type, scope, true ).put( id, instance );
+    }
+
+    /**
+     * <p>hasObjectIds</p>
+     *
+     * @return true if an instance has been registered with an identifier during the deserialization
+     */
+    public boolean hasObjectIds() {
+        return null != idScopes;
     }
 
     /**
@@ -423,9 +681,48 @@ public class JsonDeserializationContext extends JsonMappingContext {
      * @return a {@link java.lang.Object} object.
      */
     public Object getObjectWithId( IdKey id ) {
-        if ( null != idToObject ) {
-            return idToObject.get( id );
+        return getObjectWithId( id.type, id.scope, id.key );
+    }
+
+    /**
+     * Returns the instance registered with the given identifier. Unlike {@link #getObjectWithId(IdKey)}, no {@link IdKey} is
+     * allocated.
+     *
+     * @param type type of the {@link com.fasterxml.jackson.annotation.ObjectIdGenerator} used for the identifier
+     * @param scope scope of the identifier
+     * @param id the identifier
+     *
+     * @return the instance or null if there is no instance with this identifier
+     */
+    public Object getObjectWithId( Class<?> type, Class<?> scope, Object id ) {
+        ObjectIdScope idScope = getIdScope( type, scope, false );
+        if ( null != idScope ) {
+            return idScope.get( id );
         }
         return null;
     }
+
+    private ObjectIdScope getIdScope( Class<?> type, Class<?> scope, boolean create ) {
+        if ( null != lastIdScope && lastIdScope.matches( type, scope ) ) {
+            return lastIdScope;
+        }
+        if ( null != idScopes ) {
+            for ( ObjectIdScope idScope : idScopes ) {
+                if ( idScope.matches( type, scope ) ) {
+                    lastIdScope = idScope;
+                    return idScope;
+                }
+            }
+        }
+        if ( !create ) {
+            return null;
+        }
+        if ( null == idScopes ) {
+            idScopes = new ArrayList<ObjectIdScope>();
+        }
+        ObjectIdScope idScope = new ObjectIdScope( type, scope );
+        idScopes.add( idScope );
+        lastIdScope = idScope;
+        return idScope;
+    }
 }
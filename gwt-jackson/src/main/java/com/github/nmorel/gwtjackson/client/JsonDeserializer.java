@@ -57,6 +57,39 @@ public abstract class JsonDeserializer<T> {
         return doDeserialize( reader, ctx, params );
     }
 
+    /**
+     * Deserializes a JSON input into an existing object. If the object is null or the input is null, it behaves like
+     * {@link #deserialize(JsonReader, JsonDeserializationContext, JsonDeserializerParameters)}.
+     *
+     * @param reader {@link JsonReader} used to read the JSON input
+     * @param value existing object to update
+     * @param ctx Context for the full deserialization process
+     * @param params Parameters for this deserialization
+     * @return the updated object or a new object if the existing one cannot be updated
+     * @throws com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException if an error occurs during the deserialization
+     */
+    public T deserializeForUpdating( JsonReader reader, T value, JsonDeserializationContext ctx, JsonDeserializerParameters params ) throws
+            JsonDeserializationException {
+        if ( null == value || JsonToken.NULL.equals( reader.peek() ) ) {
+            return deserialize( reader, ctx, params );
+        }
+        return doDeserializeForUpdating( reader, value, ctx, params );
+    }
+
+    /**
+     * Deserializes a non-null JSON input into an existing object. By default, a new object is deserialized. The deserializers of beans,
+     * collections and maps override it to update the existing object.
+     *
+     * @param reader {@link JsonReader} used to read the JSON input
+     * @param value existing object to update, not null
+     * @param ctx Context for the full deserialization process
+     * @param params Parameters for this deserialization
+     * @return the updated object or a new object if the existing one cannot be updated
+     */
+    protected T doDeserializeForUpdating( JsonReader reader, T value, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        return doDeserialize( reader, ctx, params );
+    }
+
     /**
      * Deserialize the null value. This method allows children to override the default behaviour.
      *
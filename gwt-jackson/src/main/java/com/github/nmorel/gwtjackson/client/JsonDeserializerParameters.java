@@ -87,6 +87,11 @@ public final class JsonDeserializerParameters {
      */
     private TypeDeserializationInfo typeInfo;
 
+    /**
+     * Property that defines whether the strings read are shared with the other equal strings read through the same context.
+     */
+    private boolean deduplicate = false;
+
     /**
      * <p>Getter for the field <code>pattern</code>.</p>
      *
@@ -229,4 +234,24 @@ public final class JsonDeserializerParameters {
         this.typeInfo = typeInfo;
         return this;
     }
+
+    /**
+     * <p>isDeduplicate</p>
+     *
+     * @return a boolean.
+     */
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    /**
+     * <p>Setter for the field <code>deduplicate</code>.</p>
+     *
+     * @param deduplicate a boolean.
+     * @return a {@link com.github.nmorel.gwtjackson.client.JsonDeserializerParameters} object.
+     */
+    public JsonDeserializerParameters setDeduplicate( boolean deduplicate ) {
+        this.deduplicate = deduplicate;
+        return this;
+    }
 }
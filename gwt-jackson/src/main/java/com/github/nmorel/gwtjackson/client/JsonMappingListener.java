@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+/**
+ * Listener notified of the mapping operations. It is installed on a {@link JsonSerializationContext} or a
+ * {@link JsonDeserializationContext} with their builder. When no listener is installed, the hooks are skipped.
+ * <br>
+ * <br>
+ * The start and end notifications are nested the same way the beans are. An end notification is not sent when the operation fails.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ * @see JsonMetricsCollector
+ */
+public interface JsonMappingListener {
+
+    /**
+     * Called before a root value is serialized by an {@link ObjectMapper} or an {@link ObjectWriter}.
+     *
+     * @param value the value to serialize
+     */
+    void onWriteStart( Object value );
+
+    /**
+     * Called after a root value has been serialized by an {@link ObjectMapper} or an {@link ObjectWriter}.
+     *
+     * @param value the value serialized
+     * @param output the json produced
+     */
+    void onWriteEnd( Object value, String output );
+
+    /**
+     * Called before a json input is deserialized by an {@link ObjectMapper} or an {@link ObjectReader}.
+     *
+     * @param input the json to deserialize
+     */
+    void onReadStart( String input );
+
+    /**
+     * Called after a json input has been deserialized by an {@link ObjectMapper} or an {@link ObjectReader}.
+     *
+     * @param input the json deserialized
+     * @param result the value produced
+     */
+    void onReadEnd( String input, Object result );
+
+    /**
+     * Called before a bean is serialized.
+     *
+     * @param bean the bean
+     */
+    void onBeanSerializationStart( Object bean );
+
+    /**
+     * Called after a bean has been serialized.
+     *
+     * @param bean the bean
+     */
+    void onBeanSerializationEnd( Object bean );
+
+    /**
+     * Called each time a property of the current bean is serialized.
+     *
+     * @param propertyName name of the property
+     */
+    void onPropertySerialized( String propertyName );
+
+    /**
+     * Called before a bean is deserialized.
+     *
+     * @param type the type declared for the bean. The bean deserialized can be a subtype.
+     */
+    void onBeanDeserializationStart( Class<?> type );
+
+    /**
+     * Called after a bean has been deserialized.
+     *
+     * @param bean the bean
+     */
+    void onBeanDeserializationEnd( Object bean );
+
+    /**
+     * Called each time a property of the current bean is deserialized. The parameters of a creator are not notified.
+     *
+     * @param propertyName name of the property
+     */
+    void onPropertyDeserialized( String propertyName );
+}
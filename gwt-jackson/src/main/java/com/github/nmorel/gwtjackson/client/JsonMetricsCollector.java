@@ -0,0 +1,380 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+
+/**
+ * {@link JsonMappingListener} aggregating, for each class, the number of root reads and writes with their elapsed time and json
+ * length, and the number of beans and properties (de)serialized with their elapsed time. The time of a bean includes the time of the
+ * beans nested inside it.
+ * <br>
+ * <br>
+ * A collector can be shared between several contexts but is not thread-safe.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public class JsonMetricsCollector implements JsonMappingListener {
+
+    /**
+     * Metrics collected for one class.
+     */
+    public static final class TypeMetrics {
+
+        private int writeCount;
+
+        private double writeTime;
+
+        private long writeChars;
+
+        private int readCount;
+
+        private double readTime;
+
+        private long readChars;
+
+        private int serializedBeans;
+
+        private double serializationTime;
+
+        private int serializedProperties;
+
+        private int deserializedBeans;
+
+        private double deserializationTime;
+
+        private int deserializedProperties;
+
+        private TypeMetrics() { }
+
+        /**
+         * @return the number of root values of this class written
+         */
+        public int getWriteCount() {
+            return writeCount;
+        }
+
+        /**
+         * @return the time spent writing the root values of this class, in milliseconds
+         */
+        public double getWriteTime() {
+            return writeTime;
+        }
+
+        /**
+         * @return the number of chars produced by the root values of this class
+         */
+        public long getWriteChars() {
+            return writeChars;
+        }
+
+        /**
+         * @return the number of json inputs read into a root value of this class
+         */
+        public int getReadCount() {
+            return readCount;
+        }
+
+        /**
+         * @return the time spent reading the root values of this class, in milliseconds
+         */
+        public double getReadTime() {
+            return readTime;
+        }
+
+        /**
+         * @return the number of chars read into root values of this class
+         */
+        public long getReadChars() {
+            return readChars;
+        }
+
+        /**
+         * @return the number of beans of this class serialized
+         */
+        public int getSerializedBeans() {
+            return serializedBeans;
+        }
+
+        /**
+         * @return the time spent serializing the beans of this class, in milliseconds
+         */
+        public double getSerializationTime() {
+            return serializationTime;
+        }
+
+        /**
+         * @return the number of properties serialized for the beans of this class
+         */
+        public int getSerializedProperties() {
+            return serializedProperties;
+        }
+
+        /**
+         * @return the number of beans of this class deserialized
+         */
+        public int getDeserializedBeans() {
+            return deserializedBeans;
+        }
+
+        /**
+         * @return the time spent deserializing the beans of this class, in milliseconds
+         */
+        public double getDeserializationTime() {
+            return deserializationTime;
+        }
+
+        /**
+         * @return the number of properties deserialized for the beans of this class
+         */
+        public int getDeserializedProperties() {
+            return deserializedProperties;
+        }
+    }
+
+    private static final int INITIAL_DEPTH = 16;
+
+    private final Map<Class<?>, TypeMetrics> metrics = new LinkedHashMap<Class<?>, TypeMetrics>();
+
+    /**
+     * Start time of the operations in progress, the innermost being the last one
+     */
+    private double[] startTimes = new double[INITIAL_DEPTH];
+
+    /**
+     * Number of properties (de)serialized by the beans in progress
+     */
+    private int[] propertyCounts = new int[INITIAL_DEPTH];
+
+    /**
+     * Tells if the operation in progress is a root read or write
+     */
+    private boolean[] roots = new boolean[INITIAL_DEPTH];
+
+    private int depth;
+
+    /**
+     * Returns the current time in milliseconds. Can be overridden to use a more precise clock.
+     *
+     * @return the current time
+     */
+    protected double now() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public void onWriteStart( Object value ) {
+        push( true );
+    }
+
+    @Override
+    public void onWriteEnd( Object value, String output ) {
+        double time = popRoot();
+        TypeMetrics typeMetrics = getOrCreate( value );
+        typeMetrics.writeCount++;
+        typeMetrics.writeTime += time;
+        typeMetrics.writeChars += output.length();
+    }
+
+    @Override
+    public void onReadStart( String input ) {
+        push( true );
+    }
+
+    @Override
+    public void onReadEnd( String input, Object result ) {
+        double time = popRoot();
+        TypeMetrics typeMetrics = getOrCreate( result );
+        typeMetrics.readCount++;
+        typeMetrics.readTime += time;
+        typeMetrics.readChars += input.length();
+    }
+
+    @Override
+    public void onBeanSerializationStart( Object bean ) {
+        push( false );
+    }
+
+    @Override
+    public void onBeanSerializationEnd( Object bean ) {
+        if ( 0 == depth ) {
+            return;
+        }
+        depth--;
+        TypeMetrics typeMetrics = getOrCreate( bean );
+        typeMetrics.serializedBeans++;
+        typeMetrics.serializationTime += now() - startTimes[depth];
+        typeMetrics.serializedProperties += propertyCounts[depth];
+    }
+
+    @Override
+    public void onPropertySerialized( String propertyName ) {
+        if ( depth > 0 ) {
+            propertyCounts[depth - 1]++;
+        }
+    }
+
+    @Override
+    public void onBeanDeserializationStart( Class<?> type ) {
+        push( false );
+    }
+
+    @Override
+    public void onBeanDeserializationEnd( Object bean ) {
+        if ( 0 == depth ) {
+            return;
+        }
+        depth--;
+        TypeMetrics typeMetrics = getOrCreate( bean );
+        typeMetrics.deserializedBeans++;
+        typeMetrics.deserializationTime += now() - startTimes[depth];
+        typeMetrics.deserializedProperties += propertyCounts[depth];
+    }
+
+    @Override
+    public void onPropertyDeserialized( String propertyName ) {
+        if ( depth > 0 ) {
+            propertyCounts[depth - 1]++;
+        }
+    }
+
+    private void push( boolean root ) {
+        if ( depth == startTimes.length ) {
+            double[] newStartTimes = new double[depth * 2];
+            int[] newPropertyCounts = new int[depth * 2];
+            boolean[] newRoots = new boolean[depth * 2];
+            for ( int i = 0; i < depth; i++ ) {
+                newStartTimes[i] = startTimes[i];
+                newPropertyCounts[i] = propertyCounts[i];
+                newRoots[i] = roots[i];
+            }
+            startTimes = newStartTimes;
+            propertyCounts = newPropertyCounts;
+            roots = newRoots;
+        }
+        startTimes[depth] = now();
+        propertyCounts[depth] = 0;
+        roots[depth] = root;
+        depth++;
+    }
+
+    /**
+     * Removes the innermost root operation and returns its elapsed time. The beans left by a failed operation are removed too.
+     *
+     * @return the elapsed time
+     */
+    private double popRoot() {
+        while ( depth > 0 ) {
+            depth--;
+            if ( roots[depth] ) {
+                return now() - startTimes[depth];
+            }
+        }
+        return 0;
+    }
+
+    private TypeMetrics getOrCreate( Object value ) {
+        Class<?> type = null == value ? Void.class : value.getClass();
+        TypeMetrics typeMetrics = metrics.get( type );
+        if ( null == typeMetrics ) {
+            typeMetrics = new TypeMetrics();
+            metrics.put( type, typeMetrics );
+        }
+        return typeMetrics;
+    }
+
+    /**
+     * Returns the metrics collected for the given class. {@link Void} is used for the null root values.
+     *
+     * @param type the class
+     *
+     * @return the metrics or null if nothing has been collected for this class
+     */
+    public TypeMetrics getMetrics( Class<?> type ) {
+        return metrics.get( type );
+    }
+
+    /**
+     * @return an unmodifiable view of the metrics collected, by class in the order they were first seen
+     */
+    public Map<Class<?>, TypeMetrics> getMetrics() {
+        return Collections.unmodifiableMap( metrics );
+    }
+
+    /**
+     * Clears all the metrics collected.
+     */
+    public void reset() {
+        metrics.clear();
+        depth = 0;
+    }
+
+    /**
+     * Dumps the metrics collected as a json object, with the class names as keys.
+     *
+     * @return the json
+     */
+    public String toJson() {
+        return toJson( JsonSerializationContext.builder().build() );
+    }
+
+    /**
+     * Dumps the metrics collected as a json object, with the class names as keys.
+     *
+     * @param ctx context used to create the writer. It is not notified.
+     *
+     * @return the json
+     */
+    public String toJson( JsonSerializationContext ctx ) {
+        JsonWriter writer = ctx.newJsonWriter();
+        writer.beginObject();
+        for ( Entry<Class<?>, TypeMetrics> entry : metrics.entrySet() ) {
+            TypeMetrics typeMetrics = entry.getValue();
+            writer.name( entry.getKey().getName() );
+            writer.beginObject();
+            if ( typeMetrics.writeCount > 0 ) {
+                writer.name( "writeCount" ).value( typeMetrics.writeCount );
+                writer.name( "writeTime" ).value( typeMetrics.writeTime );
+                writer.name( "writeChars" ).value( typeMetrics.writeChars );
+            }
+            if ( typeMetrics.readCount > 0 ) {
+                writer.name( "readCount" ).value( typeMetrics.readCount );
+                writer.name( "readTime" ).value( typeMetrics.readTime );
+                writer.name( "readChars" ).value( typeMetrics.readChars );
+            }
+            if ( typeMetrics.serializedBeans > 0 ) {
+                writer.name( "serializedBeans" ).value( typeMetrics.serializedBeans );
+                writer.name( "serializationTime" ).value( typeMetrics.serializationTime );
+                writer.name( "serializedProperties" ).value( typeMetrics.serializedProperties );
+            }
+            if ( typeMetrics.deserializedBeans > 0 ) {
+                writer.name( "deserializedBeans" ).value( typeMetrics.deserializedBeans );
+                writer.name( "deserializationTime" ).value( typeMetrics.deserializationTime );
+                writer.name( "deserializedProperties" ).value( typeMetrics.deserializedProperties );
+            }
+            writer.endObject();
+        }
+        writer.endObject();
+        return writer.getOutput();
+    }
+}
@@ -18,7 +18,6 @@ package com.github.nmorel.gwtjackson.client;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -30,6 +29,7 @@ import com.github.nmorel.gwtjackson.client.ser.bean.AbstractBeanJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.ObjectIdSerializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
 import com.github.nmorel.gwtjackson.client.stream.impl.FastJsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.UncheckedJsonWriter;
 import com.google.gwt.core.client.GWT;
 
 /**
@@ -79,6 +79,12 @@ public class JsonSerializationContext extends JsonMappingContext {
 
         protected boolean wrapExceptions = true;
 
+        protected Class<?> activeView = null;
+
+        protected boolean useUncheckedWriter = false;
+
+        protected JsonMappingListener listener = null;
+
         /**
          * @deprecated Use {@link JsonSerializationContext#builder()} instead. This constructor will be made protected in v1.0.
          */
@@ -308,10 +314,61 @@ public class JsonSerializationContext extends JsonMappingContext {
             return this;
         }
 
+        /**
+         * Sets the view used to filter the serialized properties. Only the properties annotated with
+         * {@link com.fasterxml.jackson.annotation.JsonView} matching this view (or one of its supertypes)
+         * and the properties without any view are written.
+         * <br>
+         * <br>
+         * Default is null, meaning all the properties are written.
+         *
+         * @param activeView the view class
+         *
+         * @return the builder
+         */
+        public Builder activeView( Class<?> activeView ) {
+            this.activeView = activeView;
+            return this;
+        }
+
+        /**
+         * Feature that determines whether the output is written with an {@link UncheckedJsonWriter}. This writer skips the checks on
+         * the structure of the JSON output done by the default writer and is faster. The serializers generated by gwt-jackson always
+         * write a well-formed output but a custom serializer writing an invalid sequence of tokens would produce a malformed output
+         * instead of failing. It is meant for production, the default writer helps finding the errors while developing.
+         * <br>
+         * <br>
+         * Feature is disabled by default.
+         *
+         * @param useUncheckedWriter true if should use the unchecked writer
+         *
+         * @return the builder
+         */
+        public Builder useUncheckedWriter( boolean useUncheckedWriter ) {
+            this.useUncheckedWriter = useUncheckedWriter;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified of the mapping operations done with this context, for example a {@link JsonMetricsCollector}.
+         * <br>
+         * <br>
+         * Default is null, meaning no notification.
+         *
+         * @param listener the listener
+         *
+         * @return the builder
+         */
+        public Builder listener( JsonMappingListener listener ) {
+            this.listener = listener;
+            return this;
+        }
+
         public final JsonSerializationContext build() {
             return new JsonSerializationContext( useEqualityForObjectId, serializeNulls, writeDatesAsTimestamps,
                     writeDateKeysAsTimestamps, indent, wrapRootValue, writeCharArraysAsJsonArrays, writeNullMapValues,
-                    writeEmptyJsonArrays, orderMapEntriesByKeys, writeSingleElemArraysUnwrapped, wrapExceptions );
+                    writeEmptyJsonArrays, orderMapEntriesByKeys, writeSingleElemArraysUnwrapped, wrapExceptions, activeView,
+                    useUncheckedWriter, listener );
         }
     }
 
@@ -332,10 +389,23 @@ public class JsonSerializationContext extends JsonMappingContext {
 
     private static final Logger logger = Logger.getLogger( "JsonSerialization" );
 
+    /**
+     * Used when {@link #useEqualityForObjectId} is enabled
+     */
     private Map<Object, ObjectIdSerializer<?>> mapObjectId;
 
+    /**
+     * Used by default, the objects are compared by identity
+     */
+    private IdentityObjectTable<ObjectIdSerializer<?>> identityObjectId;
+
     private List<ObjectIdGenerator<?>> generators;
 
+    /**
+     * Number of calls to {@link #getObjectId(Object)}
+     */
+    private int objectIdLookups;
+
     /*
      * Serialization options
      */
@@ -363,11 +433,18 @@ public class JsonSerializationContext extends JsonMappingContext {
 
     private final boolean wrapExceptions;
 
+    private final Class<?> activeView;
+
+    private final boolean useUncheckedWriter;
+
+    private final JsonMappingListener listener;
+
     private JsonSerializationContext( boolean useEqualityForObjectId, boolean serializeNulls, boolean writeDatesAsTimestamps, boolean
             writeDateKeysAsTimestamps, boolean indent, boolean wrapRootValue, boolean writeCharArraysAsJsonArrays, boolean
                                               writeNullMapValues, boolean writeEmptyJsonArrays, boolean orderMapEntriesByKeys, boolean
             writeSingleElemArraysUnwrapped,
-                                      boolean wrapExceptions ) {
+                                      boolean wrapExceptions, Class<?> activeView, boolean useUncheckedWriter,
+                                      JsonMappingListener listener ) {
         this.useEqualityForObjectId = useEqualityForObjectId;
         this.serializeNulls = serializeNulls;
         this.writeDatesAsTimestamps = writeDatesAsTimestamps;
@@ -380,6 +457,9 @@ public class JsonSerializationContext extends JsonMappingContext {
         this.orderMapEntriesByKeys = orderMapEntriesByKeys;
         this.writeSingleElemArraysUnwrapped = writeSingleElemArraysUnwrapped;
         this.wrapExceptions = wrapExceptions;
+        this.activeView = activeView;
+        this.useUncheckedWriter = useUncheckedWriter;
+        this.listener = listener;
     }
 
     /**
@@ -420,6 +500,16 @@ public class JsonSerializationContext extends JsonMappingContext {
         return writeDateKeysAsTimestamps;
     }
 
+    /**
+     * <p>isIndent</p>
+     *
+     * @return a boolean.
+     * @see Builder#indent(boolean)
+     */
+    public boolean isIndent() {
+        return indent;
+    }
+
     /**
      * <p>isWrapRootValue</p>
      *
@@ -480,13 +570,48 @@ public class JsonSerializationContext extends JsonMappingContext {
         return writeSingleElemArraysUnwrapped;
     }
 
+    /**
+     * <p>getActiveView</p>
+     *
+     * @return the active view or null if all the properties are serialized.
+     * @see Builder#activeView(Class)
+     */
+    public Class<?> getActiveView() {
+        return activeView;
+    }
+
+    /**
+     * <p>isUseUncheckedWriter</p>
+     *
+     * @return a boolean.
+     * @see Builder#useUncheckedWriter(boolean)
+     */
+    public boolean isUseUncheckedWriter() {
+        return useUncheckedWriter;
+    }
+
+    /**
+     * <p>getListener</p>
+     *
+     * @return the listener notified of the mapping operations or null if there is none.
+     * @see Builder#listener(JsonMappingListener)
+     */
+    public JsonMappingListener getListener() {
+        return listener;
+    }
+
     /**
      * <p>newJsonWriter</p>
      *
      * @return a {@link com.github.nmorel.gwtjackson.client.stream.JsonWriter} object.
      */
     public JsonWriter newJsonWriter() {
-        JsonWriter writer = new FastJsonWriter( new StringBuilder() );
+        JsonWriter writer;
+        if ( useUncheckedWriter ) {
+            writer = new UncheckedJsonWriter( new StringBuilder() );
+        } else {
+            writer = new FastJsonWriter( new StringBuilder() );
+        }
         writer.setLenient( true );
         if ( indent ) {
             writer.setIndent( "  " );
@@ -572,14 +697,17 @@ public class JsonSerializationContext extends JsonMappingContext {
      * @param id a {@link com.github.nmorel.gwtjackson.client.ser.bean.ObjectIdSerializer} object.
      */
     public void addObjectId( Object object, ObjectIdSerializer<?> id ) {
-        if ( null == mapObjectId ) {
-            if ( useEqualityForObjectId ) {
+        if ( useEqualityForObjectId ) {
+            if ( null == mapObjectId ) {
                 mapObjectId = new HashMap<Object, ObjectIdSerializer<?>>();
-            } else {
-                mapObjectId = new IdentityHashMap<Object, ObjectIdSerializer<?>>();
             }
+            mapObjectId.put( object, id );
+        } else {
+            if ( null == identityObjectId ) {
+                identityObjectId = new IdentityObjectTable<ObjectIdSerializer<?>>();
+            }
+            identityObjectId.put( object, id );
         }
-        mapObjectId.put( object, id );
     }
 
     /**
@@ -590,12 +718,26 @@ public class JsonSerializationContext extends JsonMappingContext {
      * @return a {@link com.github.nmorel.gwtjackson.client.ser.bean.ObjectIdSerializer} object.
      */
     public ObjectIdSerializer<?> getObjectId( Object object ) {
+        objectIdLookups++;
+        if ( null != identityObjectId ) {
+            return identityObjectId.get( object );
+        }
         if ( null != mapObjectId ) {
             return mapObjectId.get( object );
         }
         return null;
     }
 
+    /**
+     * Returns the number of object ids looked up so far. A JSON written while this number changes depends on the object ids of this
+     * context.
+     *
+     * @return the number of calls to {@link #getObjectId(Object)}
+     */
+    public int getObjectIdLookups() {
+        return objectIdLookups;
+    }
+
     /**
      * Used by generated {@link AbstractBeanJsonSerializer}
      *
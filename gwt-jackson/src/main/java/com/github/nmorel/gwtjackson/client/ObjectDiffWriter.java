@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+
+/**
+ * Writes the changes made to an object as a JSON Merge Patch (RFC 7396).
+ * <p>The mappers generated for an {@link ObjectMapper} or an {@link ObjectWriter} already implement it, add it to the interface of the
+ * mapper to use it.</p>
+ * <p>Example : </p>
+ * <pre>
+ * public interface PersonMapper extends ObjectMapper&lt;Person&gt;, ObjectDiffWriter&lt;Person&gt; {}
+ *
+ * PersonMapper mapper = GWT.create(PersonMapper.class);
+ * String patch = mapper.writeDiff(previous, person);
+ * </pre>
+ *
+ * @param <T> Type of the object to write
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public interface ObjectDiffWriter<T> {
+
+    /**
+     * Writes the changes made between previous and value as a JSON Merge Patch (RFC 7396). Only the properties with a different value
+     * are written, the nested beans and the maps are compared recursively, a removed property or key is written as null. The
+     * collections and arrays are replaced as a whole. Previous must be a snapshot that is not modified along with value, for example a
+     * copy obtained with {@code mapper.read( mapper.write( value ) )}.
+     * <p>The value is fully written when it cannot be patched : previous is null or the bean uses an object identity.</p>
+     *
+     * @param previous Previous state of the object
+     * @param value Object to write
+     * @return the JSON Merge Patch
+     * @throws com.github.nmorel.gwtjackson.client.exception.JsonSerializationException if an exception occurs while writing the output
+     */
+    String writeDiff( T previous, T value ) throws JsonSerializationException;
+
+    /**
+     * Writes the changes made between previous and value as a JSON Merge Patch (RFC 7396).
+     *
+     * @param previous Previous state of the object
+     * @param value Object to write
+     * @param ctx Context for the full writing process
+     * @return the JSON Merge Patch
+     * @throws com.github.nmorel.gwtjackson.client.exception.JsonSerializationException if an exception occurs while writing the output
+     * @see #writeDiff(Object, Object)
+     */
+    String writeDiff( T previous, T value, JsonSerializationContext ctx ) throws JsonSerializationException;
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Objects read during deserialization, indexed by identifier, for one generator type and scope. {@link Integer} and {@link Long}
+ * identifiers, the most common ones, are stored in primitive tables. The other identifiers (UUID, String, ...) are used directly as
+ * keys of a map.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class ObjectIdScope {
+
+    private final Class<?> type;
+
+    private final Class<?> scope;
+
+    private IntObjectTable<Object> intIds;
+
+    private LongObjectTable<Object> longIds;
+
+    private Map<Object, Object> otherIds;
+
+    ObjectIdScope( Class<?> type, Class<?> scope ) {
+        this.type = type;
+        this.scope = scope;
+    }
+
+    boolean matches( Class<?> type, Class<?> scope ) {
+        return this.type == type && this.scope == scope;
+    }
+
+    void put( Object id, Object instance ) {
+        if ( id instanceof Integer ) {
+            if ( null == intIds ) {
+                intIds = new IntObjectTable<Object>();
+            }
+            intIds.put( (Integer) id, instance );
+        } else if ( id instanceof Long ) {
+            if ( null == longIds ) {
+                longIds = new LongObjectTable<Object>();
+            }
+            longIds.put( (Long) id, instance );
+        } else {
+            if ( null == otherIds ) {
+                otherIds = new HashMap<Object, Object>();
+            }
+            otherIds.put( id, instance );
+        }
+    }
+
+    Object get( Object id ) {
+        if ( id instanceof Integer ) {
+            return null == intIds ? null : intIds.get( (Integer) id );
+        } else if ( id instanceof Long ) {
+            return null == longIds ? null : longIds.get( (Long) id );
+        } else {
+            return null == otherIds ? null : otherIds.get( id );
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.tree.JsonNode;
+
+/**
+ * Reads a JSON input into an untyped {@link JsonNode} tree.
+ * <p>The mappers generated for an {@link ObjectMapper} or an {@link ObjectReader} already implement it, add it to the interface of the
+ * mapper to use it.</p>
+ * <p>Example : </p>
+ * <pre>
+ * public interface EventMapper extends ObjectMapper&lt;Event&gt;, ObjectTreeReader {}
+ *
+ * EventMapper mapper = GWT.create(EventMapper.class);
+ * JsonNode node = mapper.readTree("{\"x\":10}");
+ * </pre>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public interface ObjectTreeReader {
+
+    /**
+     * Reads a JSON input into an untyped tree. The input is only indexed, the values are decoded when the nodes are accessed.
+     * <p>The root value is never unwrapped. The input is indexed directly when the context is not lenient, a lenient input is first
+     * normalized by a reader.</p>
+     *
+     * @param input JSON input to read
+     * @return the root node
+     * @throws com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException if an exception occurs while reading the input
+     */
+    JsonNode readTree( String input ) throws JsonDeserializationException;
+
+    /**
+     * Reads a JSON input into an untyped tree.
+     *
+     * @param input JSON input to read
+     * @param ctx Context for the full reading process
+     * @return the root node
+     * @throws com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException if an exception occurs while reading the input
+     * @see #readTree(String)
+     */
+    JsonNode readTree( String input, JsonDeserializationContext ctx ) throws JsonDeserializationException;
+}
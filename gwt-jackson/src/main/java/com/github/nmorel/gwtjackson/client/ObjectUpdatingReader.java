@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+
+/**
+ * Reads a JSON input into an existing object.
+ * <p>The mappers generated for an {@link ObjectMapper} or an {@link ObjectReader} already implement it, add it to the interface of the
+ * mapper to use it.</p>
+ * <p>Example : </p>
+ * <pre>
+ * public interface PersonMapper extends ObjectMapper&lt;Person&gt;, ObjectUpdatingReader&lt;Person&gt; {}
+ *
+ * PersonMapper mapper = GWT.create(PersonMapper.class);
+ * mapper.readForUpdating("{\"age\":31}", person);
+ * </pre>
+ *
+ * @param <T> Type of the object to read
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public interface ObjectUpdatingReader<T> {
+
+    /**
+     * Reads a JSON input into an existing object. The properties present in the input are set on the object, the others keep their
+     * current value. The nested beans already present are updated the same way instead of being replaced and, with
+     * {@link JsonDeserializationContext.Builder#updateCollectionsInPlace(boolean)}, the existing collections and maps are cleared and
+     * filled.
+     * <p>A new object is read if the existing one is null or cannot be updated : the bean uses an object identity or type
+     * information.</p>
+     *
+     * @param input JSON input to read
+     * @param value Object to update
+     * @return the updated object
+     * @throws com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException if an exception occurs while reading the input
+     */
+    T readForUpdating( String input, T value ) throws JsonDeserializationException;
+
+    /**
+     * Reads a JSON input into an existing object.
+     *
+     * @param input JSON input to read
+     * @param value Object to update
+     * @param ctx Context for the full reading process
+     * @return the updated object
+     * @throws com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException if an exception occurs while reading the input
+     * @see #readForUpdating(String, Object)
+     */
+    T readForUpdating( String input, T value, JsonDeserializationContext ctx ) throws JsonDeserializationException;
+}
@@ -26,9 +26,9 @@ import com.github.nmorel.gwtjackson.client.ser.map.key.KeySerializer;
  */
 public abstract class Serializer<T> {
 
-    private KeySerializer<T> key;
+    private volatile KeySerializer<T> key;
 
-    private JsonSerializer<T> json;
+    private volatile JsonSerializer<T> json;
 
     /**
      * <p>key</p>
@@ -36,8 +36,10 @@ public abstract class Serializer<T> {
      * @return a {@link com.github.nmorel.gwtjackson.client.ser.map.key.KeySerializer} object.
      */
     public KeySerializer<T> key() {
+        KeySerializer<T> key = this.key;
         if ( null == key ) {
             key = createKeySerializer();
+            this.key = key;
         }
         return key;
     }
@@ -55,8 +57,10 @@ public abstract class Serializer<T> {
      * @return a {@link com.github.nmorel.gwtjackson.client.JsonSerializer} object.
      */
     public JsonSerializer<T> json() {
+        JsonSerializer<T> json = this.json;
         if ( null == json ) {
             json = createJsonSerializer();
+            this.json = json;
         }
         return json;
     }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation used on an interface extending {@link com.github.nmorel.gwtjackson.client.ObjectMapper}, {@link
+ * com.github.nmorel.gwtjackson.client.ObjectReader} or {@link com.github.nmorel.gwtjackson.client.ObjectWriter} to generate its
+ * implementation at build time with the gwt-jackson annotation processor.
+ * <p>The generated class, named like the one generated by GWT (<code>PersonMapperImpl</code> or
+ * <code>Outer_PersonMapperImpl</code> for a nested interface), can be instantiated directly on the JVM. The GWT compiler reuses it
+ * instead of generating it again.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+@Target( ElementType.TYPE )
+@Retention( RetentionPolicy.SOURCE )
+public @interface GenerateMapper {}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.github.nmorel.gwtjackson.client.ser.bean.SerializedFragmentCache;
+
+/**
+ * Annotation used on an immutable bean to cache the JSON written for its instances. When the same instance is serialized again,
+ * the cached JSON is written as is instead of serializing its properties.
+ * <p>The JSON is cached in a bounded {@link SerializedFragmentCache} shared by all the serializations made with the same serializer.
+ * The instances are compared by identity and the JSON is rewritten when the options of the context affecting the output change.
+ * The cache is not used when the context has a listener or writes an indented output.
+ * The instance and the beans it contains must not be modified once serialized. The JSON is not cached when the instance itself
+ * or one of the beans it contains uses {@link com.fasterxml.jackson.annotation.JsonIdentityInfo}.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+@Target( {ElementType.ANNOTATION_TYPE, ElementType.TYPE} )
+@Retention( RetentionPolicy.CLASS )
+@JacksonAnnotation
+public @interface JsonCachedSerialization {
+
+    /**
+     * Optional argument that defines whether this annotation is active or not. The only use for value 'false' if for overriding
+     * purposes (which is not needed often); most likely it is needed for use with "mix-in annotations".
+     *
+     * @return true if the JSON of the instances is cached
+     */
+    public boolean value() default true;
+
+    /**
+     * Maximum number of instances whose JSON is cached. It is rounded up to a power of 2.
+     *
+     * @return the maximum number of cached instances
+     */
+    public int maxSize() default 256;
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.github.nmorel.gwtjackson.client.deser.bean.CanonicalInstanceCache;
+
+/**
+ * Annotation used on an immutable bean to share the deserialized instances having the same key. The key is the value of the
+ * {@link #property()} of the bean. When an instance with the same key has already been read, it is returned instead of the new one.
+ * <p>The instances are kept in a bounded {@link CanonicalInstanceCache}. When the key is the first property of the JSON object and an
+ * instance is already cached, the other properties are skipped without being deserialized. Unlike
+ * {@link com.fasterxml.jackson.annotation.JsonIdentityInfo}, the output is not changed and the instances are shared even if they are
+ * fully written each time.</p>
+ * <p>The instances must not be modified once deserialized : every property other than the key is assumed to be the same for all the
+ * instances having the same key.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+@Target( {ElementType.ANNOTATION_TYPE, ElementType.TYPE} )
+@Retention( RetentionPolicy.CLASS )
+@JacksonAnnotation
+public @interface JsonCanonical {
+
+    /**
+     * Scope of the cached instances
+     */
+    public enum Scope {
+        /**
+         * The instances are shared inside one deserialization context. They are released with the context.
+         */
+        CONTEXT,
+        /**
+         * The instances are shared by all the deserializations of the type. They are only released when replaced in the cache.
+         */
+        GLOBAL
+    }
+
+    /**
+     * Optional argument that defines whether this annotation is active or not. The only use for value 'false' if for overriding
+     * purposes (which is not needed often); most likely it is needed for use with "mix-in annotations".
+     *
+     * @return true if the instances are canonicalized
+     */
+    public boolean value() default true;
+
+    /**
+     * Name of the property used as key. It must be a property read and written by the bean.
+     *
+     * @return the name of the key property
+     */
+    public String property();
+
+    /**
+     * Maximum number of cached instances. It is rounded up to a power of 2.
+     *
+     * @return the maximum number of cached instances
+     */
+    public int maxSize() default 256;
+
+    /**
+     * Scope of the cached instances, {@link Scope#CONTEXT} by default.
+     *
+     * @return the scope of the cached instances
+     */
+    public Scope scope() default Scope.CONTEXT;
+}
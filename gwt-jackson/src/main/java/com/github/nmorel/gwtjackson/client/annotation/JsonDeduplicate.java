@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+
+/**
+ * Annotation used on a {@link String} property to share the deserialized values between all the instances having the same value.
+ * <p>The values are deduplicated through the bounded cache of the {@link JsonDeserializationContext}. Use
+ * {@link JsonDeserializationContext.Builder#deduplicateStrings(boolean)} to deduplicate all the strings read.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+@Target( {ElementType.ANNOTATION_TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER} )
+@Retention( RetentionPolicy.CLASS )
+@JacksonAnnotation
+public @interface JsonDeduplicate {
+
+    /**
+     * Optional argument that defines whether this annotation is active or not. The only use for value 'false' if for overriding
+     * purposes (which is not needed often); most likely it is needed for use with "mix-in annotations".
+     *
+     * @return true if the values of the property are deduplicated
+     */
+    public boolean value() default true;
+}
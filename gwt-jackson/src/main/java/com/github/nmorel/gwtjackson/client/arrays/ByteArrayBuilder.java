@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.arrays;
+
+/**
+ * Growable array of {@code byte} used to read an array whose length is unknown before the end. The values are stored unboxed and
+ * the array is copied only when it grows and once at the end if it is not full. A builder must not be used anymore once built.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class ByteArrayBuilder {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private byte[] values;
+
+    private int size;
+
+    /**
+     * <p>Constructor for ByteArrayBuilder.</p>
+     */
+    public ByteArrayBuilder() {
+        this( DEFAULT_CAPACITY );
+    }
+
+    /**
+     * <p>Constructor for ByteArrayBuilder.</p>
+     *
+     * @param capacity initial capacity
+     */
+    public ByteArrayBuilder( int capacity ) {
+        this.values = new byte[capacity];
+    }
+
+    /**
+     * Appends a value.
+     *
+     * @param value the value
+     */
+    public void add( byte value ) {
+        if ( size == values.length ) {
+            byte[] newValues = new byte[Math.max( DEFAULT_CAPACITY, size * 2 )];
+            System.arraycopy( values, 0, newValues, 0, size );
+            values = newValues;
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * <p>size</p>
+     *
+     * @return the number of values added
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * <p>build</p>
+     *
+     * @return an array containing the values added
+     */
+    public byte[] build() {
+        if ( size == values.length ) {
+            return values;
+        }
+        byte[] result = new byte[size];
+        System.arraycopy( values, 0, result, 0, size );
+        return result;
+    }
+}
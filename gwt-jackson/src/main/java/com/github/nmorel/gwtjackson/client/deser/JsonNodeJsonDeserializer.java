@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.tree.JsonNode;
+
+/**
+ * Default {@link JsonDeserializer} implementation for {@link JsonNode}. The value is read as a normalized JSON String and indexed, its
+ * children are only decoded when accessed.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public class JsonNodeJsonDeserializer extends JsonDeserializer<JsonNode> {
+
+    private static final JsonNodeJsonDeserializer INSTANCE = new JsonNodeJsonDeserializer();
+
+    /**
+     * <p>getInstance</p>
+     *
+     * @return an instance of {@link JsonNodeJsonDeserializer}
+     */
+    public static JsonNodeJsonDeserializer getInstance() {
+        return INSTANCE;
+    }
+
+    private JsonNodeJsonDeserializer() { }
+
+    /** {@inheritDoc} */
+    @Override
+    public JsonNode doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        return JsonNode.parse( reader.nextValue() );
+    }
+}
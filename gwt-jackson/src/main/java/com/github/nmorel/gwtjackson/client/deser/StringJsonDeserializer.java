@@ -45,6 +45,10 @@ public class StringJsonDeserializer extends JsonDeserializer<String> {
     /** {@inheritDoc} */
     @Override
     public String doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        if ( params.isDeduplicate() && !ctx.isDeduplicateStrings() ) {
+            // the reader does not deduplicate the strings so we do it here
+            return ctx.getStringCache().nextString( reader );
+        }
         return reader.nextString();
     }
 }
@@ -16,13 +16,13 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array;
 
-import java.util.List;
-
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.arrays.BooleanArrayBuilder;
 import com.github.nmorel.gwtjackson.client.deser.BooleanJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for array of boolean.
@@ -48,17 +48,31 @@ public class PrimitiveBooleanArrayJsonDeserializer extends AbstractArrayJsonDese
     /** {@inheritDoc} */
     @Override
     public boolean[] doDeserializeArray( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<Boolean> list = deserializeIntoList( reader, ctx, BooleanJsonDeserializer.getInstance(), params );
+        BooleanArrayBuilder builder = new BooleanArrayBuilder();
 
-        boolean[] result = new boolean[list.size()];
-        int i = 0;
-        for ( Boolean value : list ) {
-            if ( null != value ) {
-                result[i] = value;
+        reader.beginArray();
+        JsonToken token = reader.peek();
+        while ( JsonToken.END_ARRAY != token ) {
+            if ( JsonToken.NULL == token ) {
+                reader.skipValue();
+                builder.add( false );
+            } else {
+                if ( JsonToken.BOOLEAN == token ) {
+                    builder.add( reader.nextBoolean() );
+                } else if ( JsonToken.STRING == token ) {
+                    builder.add( Boolean.valueOf( reader.nextString() ) );
+                } else if ( JsonToken.NUMBER == token ) {
+                    builder.add( reader.nextInt() == 1 );
+                } else {
+                    reader.skipValue();
+                    builder.add( false );
+                }
             }
-            i++;
+            token = reader.peek();
         }
-        return result;
+        reader.endArray();
+
+        return builder.build();
     }
 
     /** {@inheritDoc} */
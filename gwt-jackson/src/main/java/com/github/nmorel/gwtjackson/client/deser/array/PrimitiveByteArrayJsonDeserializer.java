@@ -16,11 +16,10 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array;
 
-import java.util.List;
-
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.arrays.ByteArrayBuilder;
 import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.ByteJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
@@ -50,17 +49,22 @@ public class PrimitiveByteArrayJsonDeserializer extends AbstractArrayJsonDeseria
     /** {@inheritDoc} */
     @Override
     public byte[] doDeserializeArray( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<Byte> list = deserializeIntoList( reader, ctx, ByteJsonDeserializer.getInstance(), params );
+        ByteArrayBuilder builder = new ByteArrayBuilder();
 
-        byte[] result = new byte[list.size()];
-        int i = 0;
-        for ( Byte value : list ) {
-            if ( null != value ) {
-                result[i] = value;
+        reader.beginArray();
+        JsonToken token = reader.peek();
+        while ( JsonToken.END_ARRAY != token ) {
+            if ( JsonToken.NULL == token ) {
+                reader.skipValue();
+                builder.add( (byte) 0 );
+            } else {
+                builder.add( (byte) reader.nextInt() );
             }
-            i++;
+            token = reader.peek();
         }
-        return result;
+        reader.endArray();
+
+        return builder.build();
     }
 
     /** {@inheritDoc} */
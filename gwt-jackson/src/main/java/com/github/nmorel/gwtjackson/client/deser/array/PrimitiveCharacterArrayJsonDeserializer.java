@@ -16,11 +16,10 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array;
 
-import java.util.List;
-
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.arrays.CharacterArrayBuilder;
 import com.github.nmorel.gwtjackson.client.deser.CharacterJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
@@ -49,17 +48,27 @@ public class PrimitiveCharacterArrayJsonDeserializer extends AbstractArrayJsonDe
     /** {@inheritDoc} */
     @Override
     public char[] doDeserializeArray( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<Character> list = deserializeIntoList( reader, ctx, CharacterJsonDeserializer.getInstance(), params );
+        CharacterArrayBuilder builder = new CharacterArrayBuilder();
 
-        char[] result = new char[list.size()];
-        int i = 0;
-        for ( Character value : list ) {
-            if ( null != value ) {
-                result[i] = value;
+        reader.beginArray();
+        JsonToken token = reader.peek();
+        while ( JsonToken.END_ARRAY != token ) {
+            if ( JsonToken.NULL == token ) {
+                reader.skipValue();
+                builder.add( (char) 0 );
+            } else {
+                if ( JsonToken.NUMBER == token ) {
+                    builder.add( (char) reader.nextInt() );
+                } else {
+                    String value = reader.nextString();
+                    builder.add( value.isEmpty() ? (char) 0 : value.charAt( 0 ) );
+                }
             }
-            i++;
+            token = reader.peek();
         }
-        return result;
+        reader.endArray();
+
+        return builder.build();
     }
 
     /** {@inheritDoc} */
@@ -16,13 +16,13 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array;
 
-import java.util.List;
-
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.arrays.DoubleArrayBuilder;
 import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.DoubleJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for array of double.
@@ -48,17 +48,22 @@ public class PrimitiveDoubleArrayJsonDeserializer extends AbstractArrayJsonDeser
     /** {@inheritDoc} */
     @Override
     public double[] doDeserializeArray( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<Double> list = deserializeIntoList( reader, ctx, DoubleJsonDeserializer.getInstance(), params );
+        DoubleArrayBuilder builder = new DoubleArrayBuilder();
 
-        double[] result = new double[list.size()];
-        int i = 0;
-        for ( Double value : list ) {
-            if ( null != value ) {
-                result[i] = value;
+        reader.beginArray();
+        JsonToken token = reader.peek();
+        while ( JsonToken.END_ARRAY != token ) {
+            if ( JsonToken.NULL == token ) {
+                reader.skipValue();
+                builder.add( 0 );
+            } else {
+                builder.add( reader.nextDouble() );
             }
-            i++;
+            token = reader.peek();
         }
-        return result;
+        reader.endArray();
+
+        return builder.build();
     }
 
     /** {@inheritDoc} */
@@ -16,13 +16,13 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array;
 
-import java.util.List;
-
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.arrays.FloatArrayBuilder;
 import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.FloatJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for array of float.
@@ -48,17 +48,22 @@ public class PrimitiveFloatArrayJsonDeserializer extends AbstractArrayJsonDeseri
     /** {@inheritDoc} */
     @Override
     public float[] doDeserializeArray( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<Float> list = deserializeIntoList( reader, ctx, FloatJsonDeserializer.getInstance(), params );
+        FloatArrayBuilder builder = new FloatArrayBuilder();
 
-        float[] result = new float[list.size()];
-        int i = 0;
-        for ( Float value : list ) {
-            if ( null != value ) {
-                result[i] = value;
+        reader.beginArray();
+        JsonToken token = reader.peek();
+        while ( JsonToken.END_ARRAY != token ) {
+            if ( JsonToken.NULL == token ) {
+                reader.skipValue();
+                builder.add( 0 );
+            } else {
+                builder.add( Float.parseFloat( reader.nextString() ) );
             }
-            i++;
+            token = reader.peek();
         }
-        return result;
+        reader.endArray();
+
+        return builder.build();
     }
 
     /** {@inheritDoc} */
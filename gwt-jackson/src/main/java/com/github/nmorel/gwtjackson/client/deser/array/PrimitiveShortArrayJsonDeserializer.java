@@ -16,13 +16,13 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array;
 
-import java.util.List;
-
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.arrays.ShortArrayBuilder;
 import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.ShortJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for array of short.
@@ -48,17 +48,22 @@ public class PrimitiveShortArrayJsonDeserializer extends AbstractArrayJsonDeseri
     /** {@inheritDoc} */
     @Override
     public short[] doDeserializeArray( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<Short> list = deserializeIntoList( reader, ctx, ShortJsonDeserializer.getInstance(), params );
+        ShortArrayBuilder builder = new ShortArrayBuilder();
 
-        short[] result = new short[list.size()];
-        int i = 0;
-        for ( Short value : list ) {
-            if ( null != value ) {
-                result[i] = value;
+        reader.beginArray();
+        JsonToken token = reader.peek();
+        while ( JsonToken.END_ARRAY != token ) {
+            if ( JsonToken.NULL == token ) {
+                reader.skipValue();
+                builder.add( (short) 0 );
+            } else {
+                builder.add( JsonToken.NUMBER == token ? (short) reader.nextInt() : Short.parseShort( reader.nextString() ) );
             }
-            i++;
+            token = reader.peek();
         }
-        return result;
+        reader.endArray();
+
+        return builder.build();
     }
 
     /** {@inheritDoc} */
@@ -16,13 +16,16 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array.dd;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
-import com.github.nmorel.gwtjackson.client.deser.BooleanJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.array.PrimitiveBooleanArrayJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for 2D array of boolean.
@@ -48,30 +51,24 @@ public class PrimitiveBooleanArray2dJsonDeserializer extends AbstractArray2dJson
     /** {@inheritDoc} */
     @Override
     public boolean[][] doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<List<Boolean>> list = deserializeIntoList( reader, ctx, BooleanJsonDeserializer.getInstance(), params );
+        List<boolean[]> list = new ArrayList<boolean[]>();
 
-        if ( list.isEmpty() ) {
-            return new boolean[0][0];
+        reader.beginArray();
+        while ( JsonToken.END_ARRAY != reader.peek() ) {
+            list.add( PrimitiveBooleanArrayJsonDeserializer.getInstance().doDeserializeArray( reader, ctx, params ) );
         }
+        reader.endArray();
 
-        List<Boolean> firstList = list.get( 0 );
-        if ( firstList.isEmpty() ) {
-            return new boolean[list.size()][0];
+        if ( list.isEmpty() ) {
+            return new boolean[0][0];
         }
 
-        boolean[][] array = new boolean[list.size()][firstList.size()];
-
+        // the inner arrays are at least as long as the first one
+        int size = list.get( 0 ).length;
+        boolean[][] array = new boolean[list.size()][];
         int i = 0;
-        int j;
-        for ( List<Boolean> innerList : list ) {
-            j = 0;
-            for ( Boolean value : innerList ) {
-                if ( null != value ) {
-                    array[i][j] = value;
-                }
-                j++;
-            }
-            i++;
+        for ( boolean[] value : list ) {
+            array[i++] = value.length < size ? Arrays.copyOf( value, size ) : value;
         }
         return array;
     }
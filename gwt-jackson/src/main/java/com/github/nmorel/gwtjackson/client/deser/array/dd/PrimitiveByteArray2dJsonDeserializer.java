@@ -17,12 +17,13 @@
 package com.github.nmorel.gwtjackson.client.deser.array.dd;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
-import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.ByteJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.array.PrimitiveByteArrayJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 import com.github.nmorel.gwtjackson.client.utils.Base64Utils;
@@ -86,29 +87,18 @@ public class PrimitiveByteArray2dJsonDeserializer extends AbstractArray2dJsonDes
 
         } else {
 
-            List<List<Byte>> list = doDeserializeIntoList( reader, ctx, ByteJsonDeserializer.getInstance(), params, token );
-
-            List<Byte> firstList = list.get( 0 );
-            if ( firstList.isEmpty() ) {
-
-                result = new byte[list.size()][0];
-
-            } else {
-
-                result = new byte[list.size()][firstList.size()];
+            List<byte[]> list = new ArrayList<byte[]>();
+            while ( JsonToken.END_ARRAY != token ) {
+                list.add( PrimitiveByteArrayJsonDeserializer.getInstance().doDeserializeArray( reader, ctx, params ) );
+                token = reader.peek();
+            }
 
-                int i = 0;
-                int j;
-                for ( List<Byte> innerList : list ) {
-                    j = 0;
-                    for ( Byte value : innerList ) {
-                        if ( null != value ) {
-                            result[i][j] = value;
-                        }
-                        j++;
-                    }
-                    i++;
-                }
+            // the inner arrays are at least as long as the first one
+            int size = list.get( 0 ).length;
+            result = new byte[list.size()][];
+            int i = 0;
+            for ( byte[] value : list ) {
+                result[i++] = value.length < size ? Arrays.copyOf( value, size ) : value;
             }
 
         }
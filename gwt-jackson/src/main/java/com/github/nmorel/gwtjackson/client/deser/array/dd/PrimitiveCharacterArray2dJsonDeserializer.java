@@ -17,12 +17,13 @@
 package com.github.nmorel.gwtjackson.client.deser.array.dd;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
-import com.github.nmorel.gwtjackson.client.deser.CharacterJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.array.PrimitiveCharacterArrayJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
@@ -85,29 +86,18 @@ public class PrimitiveCharacterArray2dJsonDeserializer extends AbstractArray2dJs
 
         } else {
 
-            List<List<Character>> list = doDeserializeIntoList( reader, ctx, CharacterJsonDeserializer.getInstance(), params, token );
-
-            List<Character> firstList = list.get( 0 );
-            if ( firstList.isEmpty() ) {
-
-                result = new char[list.size()][0];
-
-            } else {
-
-                result = new char[list.size()][firstList.size()];
+            List<char[]> list = new ArrayList<char[]>();
+            while ( JsonToken.END_ARRAY != token ) {
+                list.add( PrimitiveCharacterArrayJsonDeserializer.getInstance().doDeserializeArray( reader, ctx, params ) );
+                token = reader.peek();
+            }
 
-                int i = 0;
-                int j;
-                for ( List<Character> innerList : list ) {
-                    j = 0;
-                    for ( Character value : innerList ) {
-                        if ( null != value ) {
-                            result[i][j] = value;
-                        }
-                        j++;
-                    }
-                    i++;
-                }
+            // the inner arrays are at least as long as the first one
+            int size = list.get( 0 ).length;
+            result = new char[list.size()][];
+            int i = 0;
+            for ( char[] value : list ) {
+                result[i++] = value.length < size ? Arrays.copyOf( value, size ) : value;
             }
 
         }
@@ -16,13 +16,16 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array.dd;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
-import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.DoubleJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.array.PrimitiveDoubleArrayJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for 2D array of double.
@@ -48,30 +51,24 @@ public class PrimitiveDoubleArray2dJsonDeserializer extends AbstractArray2dJsonD
     /** {@inheritDoc} */
     @Override
     public double[][] doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<List<Double>> list = deserializeIntoList( reader, ctx, DoubleJsonDeserializer.getInstance(), params );
+        List<double[]> list = new ArrayList<double[]>();
 
-        if ( list.isEmpty() ) {
-            return new double[0][0];
+        reader.beginArray();
+        while ( JsonToken.END_ARRAY != reader.peek() ) {
+            list.add( PrimitiveDoubleArrayJsonDeserializer.getInstance().doDeserializeArray( reader, ctx, params ) );
         }
+        reader.endArray();
 
-        List<Double> firstList = list.get( 0 );
-        if ( firstList.isEmpty() ) {
-            return new double[list.size()][0];
+        if ( list.isEmpty() ) {
+            return new double[0][0];
         }
 
-        double[][] array = new double[list.size()][firstList.size()];
-
+        // the inner arrays are at least as long as the first one
+        int size = list.get( 0 ).length;
+        double[][] array = new double[list.size()][];
         int i = 0;
-        int j;
-        for ( List<Double> innerList : list ) {
-            j = 0;
-            for ( Double value : innerList ) {
-                if ( null != value ) {
-                    array[i][j] = value;
-                }
-                j++;
-            }
-            i++;
+        for ( double[] value : list ) {
+            array[i++] = value.length < size ? Arrays.copyOf( value, size ) : value;
         }
         return array;
     }
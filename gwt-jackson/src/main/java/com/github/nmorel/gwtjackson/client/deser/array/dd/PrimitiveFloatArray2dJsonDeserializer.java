@@ -16,13 +16,16 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array.dd;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
-import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.FloatJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.array.PrimitiveFloatArrayJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for 2D array of float.
@@ -48,30 +51,24 @@ public class PrimitiveFloatArray2dJsonDeserializer extends AbstractArray2dJsonDe
     /** {@inheritDoc} */
     @Override
     public float[][] doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<List<Float>> list = deserializeIntoList( reader, ctx, FloatJsonDeserializer.getInstance(), params );
+        List<float[]> list = new ArrayList<float[]>();
 
-        if ( list.isEmpty() ) {
-            return new float[0][0];
+        reader.beginArray();
+        while ( JsonToken.END_ARRAY != reader.peek() ) {
+            list.add( PrimitiveFloatArrayJsonDeserializer.getInstance().doDeserializeArray( reader, ctx, params ) );
         }
+        reader.endArray();
 
-        List<Float> firstList = list.get( 0 );
-        if ( firstList.isEmpty() ) {
-            return new float[list.size()][0];
+        if ( list.isEmpty() ) {
+            return new float[0][0];
         }
 
-        float[][] array = new float[list.size()][firstList.size()];
-
+        // the inner arrays are at least as long as the first one
+        int size = list.get( 0 ).length;
+        float[][] array = new float[list.size()][];
         int i = 0;
-        int j;
-        for ( List<Float> innerList : list ) {
-            j = 0;
-            for ( Float value : innerList ) {
-                if ( null != value ) {
-                    array[i][j] = value;
-                }
-                j++;
-            }
-            i++;
+        for ( float[] value : list ) {
+            array[i++] = value.length < size ? Arrays.copyOf( value, size ) : value;
         }
         return array;
     }
@@ -16,13 +16,16 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array.dd;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
-import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.IntegerJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.array.PrimitiveIntegerArrayJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for 2D array of int.
@@ -48,30 +51,24 @@ public class PrimitiveIntegerArray2dJsonDeserializer extends AbstractArray2dJson
     /** {@inheritDoc} */
     @Override
     public int[][] doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<List<Integer>> list = deserializeIntoList( reader, ctx, IntegerJsonDeserializer.getInstance(), params );
+        List<int[]> list = new ArrayList<int[]>();
 
-        if ( list.isEmpty() ) {
-            return new int[0][0];
+        reader.beginArray();
+        while ( JsonToken.END_ARRAY != reader.peek() ) {
+            list.add( PrimitiveIntegerArrayJsonDeserializer.getInstance().doDeserializeArray( reader, ctx, params ) );
         }
+        reader.endArray();
 
-        List<Integer> firstList = list.get( 0 );
-        if ( firstList.isEmpty() ) {
-            return new int[list.size()][0];
+        if ( list.isEmpty() ) {
+            return new int[0][0];
         }
 
-        int[][] array = new int[list.size()][firstList.size()];
-
+        // the inner arrays are at least as long as the first one
+        int size = list.get( 0 ).length;
+        int[][] array = new int[list.size()][];
         int i = 0;
-        int j;
-        for ( List<Integer> innerList : list ) {
-            j = 0;
-            for ( Integer value : innerList ) {
-                if ( null != value ) {
-                    array[i][j] = value;
-                }
-                j++;
-            }
-            i++;
+        for ( int[] value : list ) {
+            array[i++] = value.length < size ? Arrays.copyOf( value, size ) : value;
         }
         return array;
     }
@@ -16,13 +16,16 @@
 
 package com.github.nmorel.gwtjackson.client.deser.array.dd;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
-import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.LongJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.array.PrimitiveLongArrayJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
 /**
  * Default {@link JsonDeserializer} implementation for 2D array of long.
@@ -48,30 +51,24 @@ public class PrimitiveLongArray2dJsonDeserializer extends AbstractArray2dJsonDes
     /** {@inheritDoc} */
     @Override
     public long[][] doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<List<Long>> list = deserializeIntoList( reader, ctx, LongJsonDeserializer.getInstance(), params );
+        List<long[]> list = new ArrayList<long[]>();
 
-        if ( list.isEmpty() ) {
-            return new long[0][0];
+        reader.beginArray();
+        while ( JsonToken.END_ARRAY != reader.peek() ) {
+            list.add( PrimitiveLongArrayJsonDeserializer.getInstance().doDeserializeArray( reader, ctx, params ) );
         }
+        reader.endArray();
 
-        List<Long> firstList = list.get( 0 );
-        if ( firstList.isEmpty() ) {
-            return new long[list.size()][0];
+        if ( list.isEmpty() ) {
+            return new long[0][0];
         }
 
-        long[][] array = new long[list.size()][firstList.size()];
-
+        // the inner arrays are at least as long as the first one
+        int size = list.get( 0 ).length;
+        long[][] array = new long[list.size()][];
         int i = 0;
-        int j;
-        for ( List<Long> innerList : list ) {
-            j = 0;
-            for ( Long value : innerList ) {
-                if ( null != value ) {
-                    array[i][j] = value;
-                }
-                j++;
-            }
-            i++;
+        for ( long[] value : list ) {
+            array[i++] = value.length < size ? Arrays.copyOf( value, size ) : value;
         }
         return array;
     }
@@ -30,6 +30,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.JsonMappingListener;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 
@@ -44,6 +45,8 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
 
     protected final InstanceBuilder<T> instanceBuilder;
 
+    protected final SubtypeDeserializer[] subtypeDeserializers;
+
     private final SimpleStringMap<BeanPropertyDeserializer<T, ?>> deserializers;
 
     private final SimpleStringMap<BackReferenceProperty<T, ?>> backReferenceDeserializers;
@@ -60,6 +63,8 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
 
     private final AnySetterDeserializer<T, ?> anySetterDeserializer;
 
+    private final CanonicalDeserializationInfo canonicalInfo;
+
     /**
      * <p>Constructor for AbstractBeanJsonDeserializer.</p>
      */
@@ -72,7 +77,9 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         this.defaultIdentityInfo = initIdentityInfo();
         this.defaultTypeInfo = initTypeInfo();
         this.subtypeClassToDeserializer = initMapSubtypeClassToDeserializer();
+        this.subtypeDeserializers = initSubtypeDeserializers();
         this.anySetterDeserializer = initAnySetterDeserializer();
+        this.canonicalInfo = initCanonicalInfo();
     }
 
     /**
@@ -149,6 +156,39 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         return Collections.emptyMap();
     }
 
+    /**
+     * Initialize the array containing the {@link SubtypeDeserializer}, in the order of the declared subtypes. Returns an empty array if
+     * the bean has no subtypes or if the subtypes are resolved with {@link #initMapSubtypeClassToDeserializer()}.
+     *
+     * @return an array of {@link com.github.nmorel.gwtjackson.client.deser.bean.SubtypeDeserializer} objects.
+     */
+    protected SubtypeDeserializer[] initSubtypeDeserializers() {
+        return new SubtypeDeserializer[0];
+    }
+
+    /**
+     * Returns the {@link SubtypeDeserializer} for the given subtype. The generated deserializers override this method with direct
+     * comparisons on the known subtypes and pick the deserializer from {@link #subtypeDeserializers}.
+     *
+     * @param typeClass the subtype
+     * @return the {@link SubtypeDeserializer} or null if the subtype is unknown
+     */
+    protected SubtypeDeserializer getSubtypeDeserializer( Class typeClass ) {
+        return subtypeClassToDeserializer.get( typeClass );
+    }
+
+    /**
+     * Returns the {@link SubtypeDeserializer} for the given type information, as declared by the default
+     * {@link TypeDeserializationInfo} of the bean. The generated deserializers override this method with a switch on the known type
+     * informations.
+     *
+     * @param typeInformation the type information read from the input
+     * @return the {@link SubtypeDeserializer} or null if the type information does not match a known subtype
+     */
+    protected SubtypeDeserializer getSubtypeDeserializerFromTypeInfo( String typeInformation ) {
+        return null;
+    }
+
     /**
      * Initialize the {@link AnySetterDeserializer}. Returns null if there is no method annoted with {@link JsonAnySetter} on bean.
      *
@@ -158,6 +198,27 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         return null;
     }
 
+    /**
+     * Initialize the {@link CanonicalDeserializationInfo}. Returns null if there is no
+     * {@link com.github.nmorel.gwtjackson.client.annotation.JsonCanonical} annotation on bean.
+     *
+     * @return a {@link com.github.nmorel.gwtjackson.client.deser.bean.CanonicalDeserializationInfo} object.
+     */
+    protected CanonicalDeserializationInfo initCanonicalInfo() {
+        return null;
+    }
+
+    /**
+     * Returns the value of the key property of the given bean. The generated deserializers override this method when the bean is
+     * canonicalized.
+     *
+     * @param bean the bean
+     * @return the key or null if the bean has none
+     */
+    protected Object getCanonicalKey( T bean ) {
+        return null;
+    }
+
     /**
      * Whether encountering of unknown
      * properties should result in a failure (by throwing a
@@ -169,6 +230,62 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         return false;
     }
 
+    /**
+     * Returns the bit mask matching the given view for this bean's properties. Each bit corresponds to one of the views declared with
+     * {@link com.fasterxml.jackson.annotation.JsonView} on the properties. Returns 0 if the view is unknown to this bean.
+     *
+     * @param view the active view
+     * @return the bit mask of the properties' views included in the given view
+     */
+    protected int getViewMask( Class<?> view ) {
+        return 0;
+    }
+
+    /**
+     * Creates the deserializer of the property at the given index. Only used by the {@link IndexedBeanPropertyDeserializer}.
+     *
+     * @param index index of the property
+     * @return the deserializer of the property
+     */
+    protected JsonDeserializer<?> newPropertyDeserializer( int index ) {
+        throw new IllegalArgumentException( "Unknown property index " + index );
+    }
+
+    /**
+     * Creates the parameters of the property at the given index. Only used by the {@link IndexedBeanPropertyDeserializer}.
+     *
+     * @param index index of the property
+     * @return the parameters of the property
+     */
+    protected JsonDeserializerParameters newPropertyParameters( int index ) {
+        return JsonDeserializerParameters.DEFAULT;
+    }
+
+    /**
+     * Sets the value of the property at the given index. Only used by the {@link IndexedBeanPropertyDeserializer}.
+     *
+     * @param index index of the property
+     * @param bean bean to set the value on
+     * @param value value of the property
+     * @param ctx context of the deserialization process
+     */
+    protected void setPropertyValue( int index, T bean, Object value, JsonDeserializationContext ctx ) {
+        throw new IllegalArgumentException( "Unknown property index " + index );
+    }
+
+    /**
+     * Returns the current value of the property at the given index. Only used by the {@link IndexedBeanPropertyDeserializer} when
+     * updating an existing bean.
+     *
+     * @param index index of the property
+     * @param bean bean containing the property
+     * @param ctx context of the deserialization process
+     * @return the current value or null if it is not accessible
+     */
+    protected Object getPropertyValue( int index, T bean, JsonDeserializationContext ctx ) {
+        return null;
+    }
+
     /**
      * <p>getDeserializedType</p>
      *
@@ -198,7 +315,7 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
             } else {
                 id = identityInfo.readId( reader, ctx );
             }
-            Object instance = ctx.getObjectWithId( identityInfo.newIdKey( id ) );
+            Object instance = getObjectWithId( identityInfo, id, ctx );
             if ( null == instance ) {
                 throw ctx.traceError( "Cannot find an object with id " + id, reader );
             }
@@ -268,6 +385,8 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
                 default:
                     throw ctx.traceError( "JsonTypeInfo.As." + typeInfo.getInclude() + " is not supported", reader );
             }
+        } else if ( null != canonicalInfo && null == identityInfo && JsonToken.BEGIN_OBJECT.equals( token ) && canDeserialize() ) {
+            result = deserializeCanonical( reader, ctx, params );
         } else if ( canDeserialize() ) {
             result = deserializeWrapped( reader, ctx, params, identityInfo, null, null );
         } else {
@@ -277,6 +396,182 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         return result;
     }
 
+    /**
+     * Deserializes a canonicalized bean. The properties are read until the key, which is deserialized in place. If an instance with the
+     * same key is cached, the other properties are skipped and the cached instance is returned. Otherwise the bean is deserialized with
+     * the properties read before the key and replaced by the cached instance with the same key if there is one.
+     */
+    private T deserializeCanonical( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        CanonicalInstanceCache cache = canonicalInfo.getCache( getDeserializedType(), ctx );
+        String keyName = canonicalInfo.getPropertyName();
+
+        reader.beginObject();
+        Map<String, String> bufferedProperties = null;
+        Map<String, Object> deserializedProperties = null;
+        Object key = null;
+        while ( JsonToken.NAME.equals( reader.peek() ) ) {
+            String name = reader.nextName();
+            if ( !keyName.equals( name ) ) {
+                // we don't know yet if the bean is cached, the properties before the key are kept as is
+                if ( null == bufferedProperties ) {
+                    bufferedProperties = new HashMap<String, String>();
+                }
+                bufferedProperties.put( name, reader.nextValue() );
+                continue;
+            }
+
+            HasDeserializerAndParameters propertyDeserializer = deserializers.get( name );
+            if ( null == propertyDeserializer && null != instanceBuilder.getParametersDeserializer() ) {
+                // the key property is defined in constructor
+                propertyDeserializer = instanceBuilder.getParametersDeserializer().get( name );
+            }
+            if ( null == propertyDeserializer || JsonToken.NULL.equals( reader.peek() ) ) {
+                // nothing to look for in the cache, the key is read with the other properties
+                if ( null == bufferedProperties ) {
+                    bufferedProperties = new HashMap<String, String>();
+                }
+                bufferedProperties.put( name, reader.nextValue() );
+                break;
+            }
+
+            key = propertyDeserializer.getDeserializer().deserialize( reader, ctx );
+
+            Object cached = cache.get( key );
+            if ( null != cached ) {
+                // the other properties are assumed to be the same, we don't need to read them
+                while ( JsonToken.NAME.equals( reader.peek() ) ) {
+                    reader.nextName();
+                    reader.skipValue();
+                }
+                reader.endObject();
+                return (T) cached;
+            }
+            deserializedProperties = new HashMap<String, Object>( 1 );
+            deserializedProperties.put( name, key );
+            break;
+        }
+
+        T result = deserializeInline( reader, ctx, params, null, null, null, bufferedProperties, deserializedProperties );
+        reader.endObject();
+
+        if ( null == key ) {
+            key = getCanonicalKey( result );
+            if ( null == key ) {
+                return result;
+            }
+            Object cached = cache.get( key );
+            if ( null != cached ) {
+                return (T) cached;
+            }
+        }
+        cache.put( key, result );
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The properties present in the input are set on the existing bean. The bean is replaced by a new one if it has an object identity
+     * or type information. The required properties are not checked since the bean already exists.
+     */
+    @Override
+    protected T doDeserializeForUpdating( JsonReader reader, T value, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        AbstractBeanJsonDeserializer<T> deserializer = getUpdatingDeserializer( value, params );
+        if ( null == deserializer || JsonToken.BEGIN_OBJECT != reader.peek() ) {
+            return doDeserialize( reader, ctx, params );
+        }
+
+        JsonMappingListener listener = ctx.getListener();
+        if ( null != listener ) {
+            listener.onBeanDeserializationStart( deserializer.getDeserializedType() );
+        }
+        reader.beginObject();
+        deserializer.updateProperties( reader, value, ctx, params );
+        reader.endObject();
+        if ( null != listener ) {
+            listener.onBeanDeserializationEnd( value );
+        }
+        return value;
+    }
+
+    /**
+     * Returns the deserializer able to update the given bean or null if a new bean has to be deserialized.
+     */
+    private AbstractBeanJsonDeserializer<T> getUpdatingDeserializer( T value, JsonDeserializerParameters params ) {
+        if ( null != params.getIdentityInfo() || null != defaultIdentityInfo ) {
+            return null;
+        }
+        if ( null != params.getTypeInfo() || null != defaultTypeInfo ) {
+            return null;
+        }
+        if ( value.getClass() == getDeserializedType() ) {
+            return this;
+        }
+        SubtypeDeserializer deserializer = getSubtypeDeserializer( value.getClass() );
+        if ( deserializer instanceof SubtypeDeserializer.BeanSubtypeDeserializer ) {
+            return ((SubtypeDeserializer.BeanSubtypeDeserializer<T>) deserializer).getDeserializer();
+        }
+        return null;
+    }
+
+    private void updateProperties( final JsonReader reader, final T bean, final JsonDeserializationContext ctx,
+                                   JsonDeserializerParameters params ) {
+        final boolean ignoreUnknown = params.isIgnoreUnknown() || isDefaultIgnoreUnknown();
+        final Set<String> ignoredProperties = getIgnoredProperties( params );
+        final SimpleStringMap<HasDeserializerAndParameters> creatorParameters = null == instanceBuilder ? null : instanceBuilder
+                .getParametersDeserializer();
+
+        // -1 includes every view
+        final int activeViewMask = null == ctx.getActiveView() ? -1 : getViewMask( ctx.getActiveView() );
+
+        final JsonMappingListener listener = ctx.getListener();
+        while ( JsonToken.NAME.equals( reader.peek() ) ) {
+            String propertyName = reader.nextName();
+
+            if ( ignoredProperties.contains( propertyName ) ) {
+                reader.skipValue();
+                continue;
+            }
+
+            BeanPropertyDeserializer<T, ?> property = deserializers.get( propertyName );
+            if ( null == property && null != creatorParameters && null != creatorParameters.get( propertyName ) ) {
+                // the property is only a parameter of the creator, it cannot be set on an existing bean
+                reader.skipValue();
+                continue;
+            }
+
+            if ( null == property ) {
+                property = getPropertyDeserializer( propertyName, ctx, ignoreUnknown );
+            }
+            if ( null != property ) {
+                if ( property.isIncludedInView( activeViewMask ) ) {
+                    property.deserializeForUpdating( reader, bean, ctx );
+                    if ( null != listener ) {
+                        listener.onPropertyDeserialized( propertyName );
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            } else if ( null != anySetterDeserializer && anySetterDeserializer.isIncludedInView( activeViewMask ) ) {
+                anySetterDeserializer.deserialize( reader, bean, propertyName, ctx );
+                if ( null != listener ) {
+                    listener.onPropertyDeserialized( propertyName );
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+    }
+
+    private Set<String> getIgnoredProperties( JsonDeserializerParameters params ) {
+        if ( null == params.getIgnoredProperties() ) {
+            return defaultIgnoredProperties;
+        }
+        Set<String> ignoredProperties = new HashSet<String>( defaultIgnoredProperties );
+        ignoredProperties.addAll( params.getIgnoredProperties() );
+        return ignoredProperties;
+    }
+
     /**
      * <p>canDeserialize</p>
      *
@@ -305,14 +600,33 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
     public final T deserializeInline( final JsonReader reader, final JsonDeserializationContext ctx, JsonDeserializerParameters params,
                                       IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String type,
                                       Map<String, String> bufferedProperties ) {
-        final boolean ignoreUnknown = params.isIgnoreUnknown() || isDefaultIgnoreUnknown();
-        final Set<String> ignoredProperties;
-        if ( null == params.getIgnoredProperties() ) {
-            ignoredProperties = defaultIgnoredProperties;
-        } else {
-            ignoredProperties = new HashSet<String>( defaultIgnoredProperties );
-            ignoredProperties.addAll( params.getIgnoredProperties() );
+        return deserializeInline( reader, ctx, params, identityInfo, typeInfo, type, bufferedProperties, null );
+    }
+
+    /**
+     * Deserializes all the properties of the bean.
+     *
+     * @param deserializedProperties values of the properties already deserialized from the reader, by name
+     */
+    private T deserializeInline( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params,
+                                 IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String type,
+                                 Map<String, String> bufferedProperties, Map<String, Object> deserializedProperties ) {
+        JsonMappingListener listener = ctx.getListener();
+        if ( null == listener ) {
+            return deserializeProperties( reader, ctx, params, identityInfo, typeInfo, type, bufferedProperties,
+                    deserializedProperties );
         }
+        listener.onBeanDeserializationStart( getDeserializedType() );
+        T bean = deserializeProperties( reader, ctx, params, identityInfo, typeInfo, type, bufferedProperties, deserializedProperties );
+        listener.onBeanDeserializationEnd( bean );
+        return bean;
+    }
+
+    private T deserializeProperties( final JsonReader reader, final JsonDeserializationContext ctx, JsonDeserializerParameters params,
+                                     IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String type,
+                                     Map<String, String> bufferedProperties, Map<String, Object> deserializedProperties ) {
+        final boolean ignoreUnknown = params.isIgnoreUnknown() || isDefaultIgnoreUnknown();
+        final Set<String> ignoredProperties = getIgnoredProperties( params );
 
         // we will remove the properties read from this list and check at the end it's empty
         Set<String> requiredPropertiesLeft = requiredProperties.isEmpty() ? Collections
@@ -374,9 +688,34 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
             }
         }
 
+        if ( null != deserializedProperties ) {
+            for ( Entry<String, Object> deserializedProperty : deserializedProperties.entrySet() ) {
+                if ( null == deserializers.get( deserializedProperty.getKey() ) ) {
+                    // the property is defined in constructor
+                    if ( null == bufferedPropertiesValues ) {
+                        bufferedPropertiesValues = new HashMap<String, Object>();
+                    }
+                    bufferedPropertiesValues.put( deserializedProperty.getKey(), deserializedProperty.getValue() );
+                }
+            }
+        }
+
+        // -1 includes every view
+        final int activeViewMask = null == ctx.getActiveView() ? -1 : getViewMask( ctx.getActiveView() );
+
         // we first instantiate the bean. It might buffer properties if there are properties required for constructor and they are not in
         // first position
-        Instance<T> instance = instanceBuilder.newInstance( reader, ctx, params, bufferedProperties, bufferedPropertiesValues );
+        PropertyBuffer<T> propertyBuffer = null;
+        Instance<T> instance;
+        if ( instanceBuilder instanceof BufferingInstanceBuilder ) {
+            // the properties read before the creator's parameters are deserialized immediately and set once the bean is created
+            propertyBuffer = new PropertyBuffer<T>( this, ignoreUnknown, ignoredProperties, activeViewMask, requiredPropertiesLeft,
+                    null != identityInfo );
+            instance = ((BufferingInstanceBuilder<T>) instanceBuilder)
+                    .newInstance( reader, ctx, params, bufferedProperties, bufferedPropertiesValues, propertyBuffer );
+        } else {
+            instance = instanceBuilder.newInstance( reader, ctx, params, bufferedProperties, bufferedPropertiesValues );
+        }
 
         T bean = instance.getInstance();
         bufferedProperties = instance.getBufferedProperties();
@@ -389,11 +728,18 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
                     propertyDeserializer.setValue( bean, id, ctx );
                 }
             }
-            ctx.addObjectId( identityInfo.newIdKey( id ), bean );
+            addObjectId( identityInfo, id, bean, ctx );
+        }
+
+        if ( null != deserializedProperties ) {
+            setDeserializedProperties( bean, deserializedProperties, requiredPropertiesLeft, ctx, ignoredProperties, activeViewMask );
         }
 
         // we flush any buffered properties
-        flushBufferedProperties( bean, bufferedProperties, requiredPropertiesLeft, ctx, ignoreUnknown, ignoredProperties );
+        flushBufferedProperties( bean, bufferedProperties, requiredPropertiesLeft, ctx, ignoreUnknown, ignoredProperties, activeViewMask );
+        if ( null != propertyBuffer ) {
+            propertyBuffer.flush( bean, ctx );
+        }
 
         // in case there is a property that need the type info
         if ( null != typeInfo && null != typeInfo.getPropertyName() && null != type ) {
@@ -403,6 +749,7 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
             }
         }
 
+        final JsonMappingListener listener = ctx.getListener();
         while ( JsonToken.NAME.equals( reader.peek() ) ) {
             String propertyName = reader.nextName();
 
@@ -415,9 +762,19 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
 
             BeanPropertyDeserializer<T, ?> property = getPropertyDeserializer( propertyName, ctx, ignoreUnknown );
             if ( null != property ) {
-                property.deserialize( reader, bean, ctx );
-            } else if ( null != anySetterDeserializer ) {
+                if ( property.isIncludedInView( activeViewMask ) ) {
+                    property.deserialize( reader, bean, ctx );
+                    if ( null != listener ) {
+                        listener.onPropertyDeserialized( propertyName );
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            } else if ( null != anySetterDeserializer && anySetterDeserializer.isIncludedInView( activeViewMask ) ) {
                 anySetterDeserializer.deserialize( reader, bean, propertyName, ctx );
+                if ( null != listener ) {
+                    listener.onPropertyDeserialized( propertyName );
+                }
             } else {
                 reader.skipValue();
             }
@@ -429,8 +786,26 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         return bean;
     }
 
+    private void setDeserializedProperties( T bean, Map<String, Object> deserializedProperties, Set<String> requiredPropertiesLeft,
+                                            JsonDeserializationContext ctx, Set<String> ignoredProperties, int activeViewMask ) {
+        for ( Entry<String, Object> deserializedProperty : deserializedProperties.entrySet() ) {
+            String propertyName = deserializedProperty.getKey();
+
+            requiredPropertiesLeft.remove( propertyName );
+
+            BeanPropertyDeserializer property = deserializers.get( propertyName );
+            if ( null != property && !ignoredProperties.contains( propertyName ) && property.isIncludedInView( activeViewMask ) ) {
+                property.setValue( bean, deserializedProperty.getValue(), ctx );
+                if ( null != ctx.getListener() ) {
+                    ctx.getListener().onPropertyDeserialized( propertyName );
+                }
+            }
+        }
+    }
+
     private void flushBufferedProperties( T bean, Map<String, String> bufferedProperties, Set<String> requiredPropertiesLeft,
-                                          JsonDeserializationContext ctx, boolean ignoreUnknown, Set<String> ignoredProperties ) {
+                                          JsonDeserializationContext ctx, boolean ignoreUnknown, Set<String> ignoredProperties,
+                                          int activeViewMask ) {
         if ( null != bufferedProperties && !bufferedProperties.isEmpty() ) {
             for ( Entry<String, String> bufferedProperty : bufferedProperties.entrySet() ) {
                 String propertyName = bufferedProperty.getKey();
@@ -443,15 +818,40 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
 
                 BeanPropertyDeserializer<T, ?> property = getPropertyDeserializer( propertyName, ctx, ignoreUnknown );
                 if ( null != property ) {
-                    property.deserialize( ctx.newJsonReader( bufferedProperty.getValue() ), bean, ctx );
-                } else if ( null != anySetterDeserializer ) {
+                    if ( property.isIncludedInView( activeViewMask ) ) {
+                        property.deserialize( ctx.newJsonReader( bufferedProperty.getValue() ), bean, ctx );
+                        if ( null != ctx.getListener() ) {
+                            ctx.getListener().onPropertyDeserialized( propertyName );
+                        }
+                    }
+                } else if ( null != anySetterDeserializer && anySetterDeserializer.isIncludedInView( activeViewMask ) ) {
                     anySetterDeserializer.deserialize( ctx.newJsonReader( bufferedProperty.getValue() ), bean, propertyName, ctx );
+                    if ( null != ctx.getListener() ) {
+                        ctx.getListener().onPropertyDeserialized( propertyName );
+                    }
                 }
             }
         }
     }
 
-    private BeanPropertyDeserializer<T, ?> getPropertyDeserializer( String propertyName, JsonDeserializationContext ctx, boolean
+    private Object getObjectWithId( IdentityDeserializationInfo<?> identityInfo, Object id, JsonDeserializationContext ctx ) {
+        if ( identityInfo instanceof ScopedIdentityDeserializationInfo ) {
+            ScopedIdentityDeserializationInfo<?> scopedIdentityInfo = (ScopedIdentityDeserializationInfo<?>) identityInfo;
+            return ctx.getObjectWithId( scopedIdentityInfo.getType(), scopedIdentityInfo.getScope(), id );
+        }
+        return ctx.getObjectWithId( identityInfo.newIdKey( id ) );
+    }
+
+    private void addObjectId( IdentityDeserializationInfo<?> identityInfo, Object id, Object instance, JsonDeserializationContext ctx ) {
+        if ( identityInfo instanceof ScopedIdentityDeserializationInfo ) {
+            ScopedIdentityDeserializationInfo<?> scopedIdentityInfo = (ScopedIdentityDeserializationInfo<?>) identityInfo;
+            ctx.addObjectId( scopedIdentityInfo.getType(), scopedIdentityInfo.getScope(), id, instance );
+        } else {
+            ctx.addObjectId( identityInfo.newIdKey( id ), instance );
+        }
+    }
+
+    BeanPropertyDeserializer<T, ?> getPropertyDeserializer( String propertyName, JsonDeserializationContext ctx, boolean
             ignoreUnknown ) {
         BeanPropertyDeserializer<T, ?> property = deserializers.get( propertyName );
         if ( null == property ) {
@@ -462,9 +862,21 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         return property;
     }
 
+    AnySetterDeserializer<T, ?> getAnySetterDeserializer() {
+        return anySetterDeserializer;
+    }
+
     private InternalDeserializer<T, ? extends JsonDeserializer<T>> getDeserializer( JsonReader reader, JsonDeserializationContext ctx,
                                                                                     TypeDeserializationInfo typeInfo, String
                                                                                             typeInformation ) {
+        if ( typeInfo == defaultTypeInfo ) {
+            // the type informations are the ones declared on the bean, we can go directly to the subtype
+            SubtypeDeserializer deserializer = getSubtypeDeserializerFromTypeInfo( typeInformation );
+            if ( null != deserializer ) {
+                return deserializer;
+            }
+        }
+
         Class typeClass = typeInfo.getTypeClass( typeInformation );
         if ( null == typeClass ) {
             throw ctx.traceError( "Could not find the type associated to " + typeInformation, reader );
@@ -479,13 +891,22 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
             return this;
         }
 
-        SubtypeDeserializer deserializer = subtypeClassToDeserializer.get( typeClass );
+        SubtypeDeserializer deserializer = getSubtypeDeserializer( typeClass );
         if ( null == deserializer ) {
             throw ctx.traceError( "No deserializer found for the type " + typeClass.getName(), reader );
         }
         return deserializer;
     }
 
+    /**
+     * <p>hasIdentityInfo</p>
+     *
+     * @return true if the bean is annotated with {@link JsonIdentityInfo}
+     */
+    public boolean hasIdentityInfo() {
+        return null != defaultIdentityInfo;
+    }
+
     /** {@inheritDoc} */
     @Override
     public AbstractBeanJsonDeserializer<T> getDeserializer() {
@@ -13,7 +13,7 @@ import com.github.nmorel.gwtjackson.client.stream.JsonReader;
  * @version $Id: $
  */
 public abstract class AbstractIdentityDeserializationInfo<T, V> extends HasDeserializer<V,
-        JsonDeserializer<V>> implements IdentityDeserializationInfo<T> {
+        JsonDeserializer<V>> implements ScopedIdentityDeserializationInfo<T> {
 
     /**
      * Name of the property holding the identity
@@ -61,6 +61,18 @@ public abstract class AbstractIdentityDeserializationInfo<T, V> extends HasDeser
         return new IdKey( type, scope, id );
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final Class<?> getType() {
+        return type;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Class<?> getScope() {
+        return scope;
+    }
+
     /** {@inheritDoc} */
     @Override
     public final Object readId( JsonReader reader, JsonDeserializationContext ctx ) {
@@ -35,9 +35,9 @@ import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 @SuppressWarnings("UnusedDeclaration")
 public abstract class AbstractObjectBeanJsonDeserializer extends AbstractBeanJsonDeserializer<Object> {
 
-    private ArrayListJsonDeserializer<Object> listJsonDeserializer;
+    private volatile ArrayListJsonDeserializer<Object> listJsonDeserializer;
 
-    private LinkedHashMapJsonDeserializer<String, Object> mapJsonDeserializer;
+    private volatile LinkedHashMapJsonDeserializer<String, Object> mapJsonDeserializer;
 
     /** {@inheritDoc} */
     @Override
@@ -57,13 +57,17 @@ public abstract class AbstractObjectBeanJsonDeserializer extends AbstractBeanJso
             case BOOLEAN:
                 return BooleanJsonDeserializer.getInstance().doDeserialize( reader, ctx, params );
             case BEGIN_ARRAY:
+                ArrayListJsonDeserializer<Object> listJsonDeserializer = this.listJsonDeserializer;
                 if ( null == listJsonDeserializer ) {
                     listJsonDeserializer = ArrayListJsonDeserializer.newInstance( this );
+                    this.listJsonDeserializer = listJsonDeserializer;
                 }
                 return listJsonDeserializer.doDeserialize( reader, ctx, params );
             case BEGIN_OBJECT:
+                LinkedHashMapJsonDeserializer<String, Object> mapJsonDeserializer = this.mapJsonDeserializer;
                 if ( null == mapJsonDeserializer ) {
                     mapJsonDeserializer = LinkedHashMapJsonDeserializer.newInstance( StringKeyDeserializer.getInstance(), this );
+                    this.mapJsonDeserializer = mapJsonDeserializer;
                 }
                 return mapJsonDeserializer.doDeserialize( reader, ctx, params );
             case NULL:
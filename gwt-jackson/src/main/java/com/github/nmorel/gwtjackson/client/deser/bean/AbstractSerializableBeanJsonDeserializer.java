@@ -37,9 +37,9 @@ import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 @SuppressWarnings("UnusedDeclaration")
 public abstract class AbstractSerializableBeanJsonDeserializer extends AbstractBeanJsonDeserializer<Serializable> {
 
-    private ArrayListJsonDeserializer<Serializable> listJsonDeserializer;
+    private volatile ArrayListJsonDeserializer<Serializable> listJsonDeserializer;
 
-    private LinkedHashMapJsonDeserializer<String, Serializable> mapJsonDeserializer;
+    private volatile LinkedHashMapJsonDeserializer<String, Serializable> mapJsonDeserializer;
 
     /** {@inheritDoc} */
     @Override
@@ -60,13 +60,17 @@ public abstract class AbstractSerializableBeanJsonDeserializer extends AbstractB
             case BOOLEAN:
                 return BooleanJsonDeserializer.getInstance().doDeserialize( reader, ctx, params );
             case BEGIN_ARRAY:
+                ArrayListJsonDeserializer<Serializable> listJsonDeserializer = this.listJsonDeserializer;
                 if ( null == listJsonDeserializer ) {
                     listJsonDeserializer = ArrayListJsonDeserializer.newInstance( this );
+                    this.listJsonDeserializer = listJsonDeserializer;
                 }
                 return listJsonDeserializer.doDeserialize( reader, ctx, params );
             case BEGIN_OBJECT:
+                LinkedHashMapJsonDeserializer<String, Serializable> mapJsonDeserializer = this.mapJsonDeserializer;
                 if ( null == mapJsonDeserializer ) {
                     mapJsonDeserializer = LinkedHashMapJsonDeserializer.newInstance( StringKeyDeserializer.getInstance(), this );
+                    this.mapJsonDeserializer = mapJsonDeserializer;
                 }
                 return mapJsonDeserializer.doDeserialize( reader, ctx, params );
             case NULL:
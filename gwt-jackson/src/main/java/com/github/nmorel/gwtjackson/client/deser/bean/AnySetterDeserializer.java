@@ -28,6 +28,37 @@ import com.github.nmorel.gwtjackson.client.stream.JsonReader;
  */
 public abstract class AnySetterDeserializer<T, V> extends HasDeserializerAndParameters<V, JsonDeserializer<V>> {
 
+    /**
+     * Bit mask of the views the any-setter belongs to. 0 means it is not restricted to any view.
+     */
+    private final int viewMask;
+
+    /**
+     * <p>Constructor for AnySetterDeserializer.</p>
+     */
+    protected AnySetterDeserializer() {
+        this( 0 );
+    }
+
+    /**
+     * <p>Constructor for AnySetterDeserializer.</p>
+     *
+     * @param viewMask bit mask of the views the any-setter belongs to
+     */
+    protected AnySetterDeserializer( int viewMask ) {
+        this.viewMask = viewMask;
+    }
+
+    /**
+     * <p>isIncludedInView</p>
+     *
+     * @param activeViewMask bit mask of the active view, as returned by the bean deserializer
+     * @return true if the any-setter has no view or belongs to the active view
+     */
+    public boolean isIncludedInView( int activeViewMask ) {
+        return 0 == viewMask || 0 != (viewMask & activeViewMask);
+    }
+
     /**
      * Deserializes the property defined for this instance.
      *
@@ -28,6 +28,37 @@ import com.github.nmorel.gwtjackson.client.stream.JsonReader;
  */
 public abstract class BeanPropertyDeserializer<T, V> extends HasDeserializerAndParameters<V, JsonDeserializer<V>> {
 
+    /**
+     * Bit mask of the views this property belongs to. 0 means the property is not restricted to any view.
+     */
+    private final int viewMask;
+
+    /**
+     * <p>Constructor for BeanPropertyDeserializer.</p>
+     */
+    protected BeanPropertyDeserializer() {
+        this( 0 );
+    }
+
+    /**
+     * <p>Constructor for BeanPropertyDeserializer.</p>
+     *
+     * @param viewMask bit mask of the views this property belongs to
+     */
+    protected BeanPropertyDeserializer( int viewMask ) {
+        this.viewMask = viewMask;
+    }
+
+    /**
+     * <p>isIncludedInView</p>
+     *
+     * @param activeViewMask bit mask of the active view, as returned by the bean deserializer
+     * @return true if the property has no view or belongs to the active view
+     */
+    public boolean isIncludedInView( int activeViewMask ) {
+        return 0 == viewMask || 0 != (viewMask & activeViewMask);
+    }
+
     /**
      * Deserializes the property defined for this instance.
      *
@@ -39,6 +70,29 @@ public abstract class BeanPropertyDeserializer<T, V> extends HasDeserializerAndP
         setValue( bean, deserialize( reader, ctx ), ctx );
     }
 
+    /**
+     * Deserializes the property defined for this instance into its current value when it can be updated, like a nested bean.
+     *
+     * @param reader reader
+     * @param bean bean to update
+     * @param ctx context of the deserialization process
+     */
+    public void deserializeForUpdating( JsonReader reader, T bean, JsonDeserializationContext ctx ) {
+        setValue( bean, getDeserializer().deserializeForUpdating( reader, getValue( bean, ctx ), ctx, getParameters() ), ctx );
+    }
+
+    /**
+     * Returns the current value of the property, used to update it in place. The generated deserializers override it when the property
+     * has an accessible getter or field.
+     *
+     * @param bean bean containing the property
+     * @param ctx context of the deserialization process
+     * @return the current value or null if it is not accessible
+     */
+    public V getValue( T bean, JsonDeserializationContext ctx ) {
+        return null;
+    }
+
     /**
      * <p>setValue</p>
      *
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.bean;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+
+/**
+ * Contains the canonicalization informations of a bean, see {@link com.github.nmorel.gwtjackson.client.annotation.JsonCanonical}.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public class CanonicalDeserializationInfo {
+
+    /**
+     * Caches shared by all the deserializations, by type. A deserializer is created for each property using the type so the caches
+     * cannot be held by the deserializers.
+     */
+    private static volatile Map<Class<?>, CanonicalInstanceCache> globalCaches = new HashMap<Class<?>, CanonicalInstanceCache>();
+
+    private static synchronized CanonicalInstanceCache createGlobalCache( Class<?> type, int maxSize ) {
+        CanonicalInstanceCache cache = globalCaches.get( type );
+        if ( null == cache ) {
+            cache = new CanonicalInstanceCache( maxSize );
+            Map<Class<?>, CanonicalInstanceCache> caches = new HashMap<Class<?>, CanonicalInstanceCache>( globalCaches );
+            caches.put( type, cache );
+            globalCaches = caches;
+        }
+        return cache;
+    }
+
+    /**
+     * Name of the key property
+     */
+    private final String propertyName;
+
+    /**
+     * Maximum number of cached instances
+     */
+    private final int maxSize;
+
+    /**
+     * True if the instances are shared by all the deserializations, false if they are only shared inside a context
+     */
+    private final boolean global;
+
+    /**
+     * <p>Constructor for CanonicalDeserializationInfo.</p>
+     *
+     * @param propertyName name of the key property
+     * @param maxSize maximum number of cached instances
+     * @param global true if the instances are shared by all the deserializations
+     */
+    public CanonicalDeserializationInfo( String propertyName, int maxSize, boolean global ) {
+        this.propertyName = propertyName;
+        this.maxSize = maxSize;
+        this.global = global;
+    }
+
+    /**
+     * <p>Getter for the field <code>propertyName</code>.</p>
+     *
+     * @return a {@link java.lang.String} object.
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * <p>Getter for the field <code>maxSize</code>.</p>
+     *
+     * @return a int.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * <p>isGlobal</p>
+     *
+     * @return true if the instances are shared by all the deserializations
+     */
+    public boolean isGlobal() {
+        return global;
+    }
+
+    /**
+     * Returns the cache to use for the given context.
+     *
+     * @param type the deserialized type
+     * @param ctx context of the deserialization process
+     *
+     * @return the cache
+     */
+    public CanonicalInstanceCache getCache( Class<?> type, JsonDeserializationContext ctx ) {
+        if ( global ) {
+            CanonicalInstanceCache cache = globalCaches.get( type );
+            if ( null == cache ) {
+                cache = createGlobalCache( type, maxSize );
+            }
+            return cache;
+        }
+        return ctx.getCanonicalCache( type, maxSize );
+    }
+}
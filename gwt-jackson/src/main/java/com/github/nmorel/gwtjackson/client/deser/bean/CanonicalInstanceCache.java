@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.bean;
+
+/**
+ * Bounded cache of the canonical instances of a bean, indexed by key, see
+ * {@link com.github.nmorel.gwtjackson.client.annotation.JsonCanonical}.
+ * <p>The cache is direct-mapped : each key has only one possible slot, chosen by its hash, and replaces the instance previously
+ * stored in this slot. The entries are immutable so the cache can be shared between threads on the JVM without locking.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class CanonicalInstanceCache {
+
+    private static final class Entry {
+
+        private final Object key;
+
+        private final Object instance;
+
+        private Entry( Object key, Object instance ) {
+            this.key = key;
+            this.instance = instance;
+        }
+    }
+
+    private final Entry[] entries;
+
+    private final int mask;
+
+    /**
+     * <p>Constructor for CanonicalInstanceCache.</p>
+     *
+     * @param maxSize maximum number of cached instances, rounded up to a power of 2
+     */
+    public CanonicalInstanceCache( int maxSize ) {
+        int capacity = 1;
+        while ( capacity < maxSize && capacity < (1 << 30) ) {
+            capacity <<= 1;
+        }
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private int index( Object key ) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the instance cached with the given key.
+     *
+     * @param key the key, not null
+     *
+     * @return the cached instance or null if there is none
+     */
+    public Object get( Object key ) {
+        Entry entry = entries[index( key )];
+        if ( null != entry && entry.key.equals( key ) ) {
+            return entry.instance;
+        }
+        return null;
+    }
+
+    /**
+     * Caches the instance with the given key.
+     *
+     * @param key the key, not null
+     * @param instance the instance
+     */
+    public void put( Object key, Object instance ) {
+        entries[index( key )] = new Entry( key, instance );
+    }
+}
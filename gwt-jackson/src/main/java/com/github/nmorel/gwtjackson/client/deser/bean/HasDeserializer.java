@@ -19,14 +19,15 @@ package com.github.nmorel.gwtjackson.client.deser.bean;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 
 /**
- * Lazy initialize a {@link JsonDeserializer}
+ * Lazy initialize a {@link JsonDeserializer}. Threads racing on the first access may each create an instance, they are equivalent and
+ * the volatile field guarantees the one read is fully constructed.
  *
  * @author Nicolas Morel
  * @version $Id: $
  */
 public abstract class HasDeserializer<V, S extends JsonDeserializer<V>> {
 
-    private S deserializer;
+    private volatile S deserializer;
 
     /**
      * <p>Getter for the field <code>deserializer</code>.</p>
@@ -34,8 +35,10 @@ public abstract class HasDeserializer<V, S extends JsonDeserializer<V>> {
      * @return a S object.
      */
     public S getDeserializer() {
+        S deserializer = this.deserializer;
         if ( null == deserializer ) {
             deserializer = (S) newDeserializer();
+            this.deserializer = deserializer;
         }
         return deserializer;
     }
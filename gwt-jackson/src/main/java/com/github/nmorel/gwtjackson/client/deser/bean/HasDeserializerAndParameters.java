@@ -29,7 +29,7 @@ import com.github.nmorel.gwtjackson.client.stream.JsonReader;
  */
 public abstract class HasDeserializerAndParameters<V, S extends JsonDeserializer<V>> extends HasDeserializer<V, S> {
 
-    private JsonDeserializerParameters parameters;
+    private volatile JsonDeserializerParameters parameters;
 
     /**
      * <p>Getter for the field <code>parameters</code>.</p>
@@ -37,8 +37,10 @@ public abstract class HasDeserializerAndParameters<V, S extends JsonDeserializer
      * @return a {@link com.github.nmorel.gwtjackson.client.JsonDeserializerParameters} object.
      */
     protected JsonDeserializerParameters getParameters() {
+        JsonDeserializerParameters parameters = this.parameters;
         if ( null == parameters ) {
             parameters = newParameters();
+            this.parameters = parameters;
         }
         return parameters;
     }
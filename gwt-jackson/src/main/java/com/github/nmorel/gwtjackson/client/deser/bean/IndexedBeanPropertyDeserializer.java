@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.bean;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+
+/**
+ * Property deserializer used by the compact generation mode. Instead of generating a class for each property, the bean deserializer
+ * generates one method per operation with a switch on the index of the property, and all its properties share this class.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class IndexedBeanPropertyDeserializer<T, V> extends BeanPropertyDeserializer<T, V> {
+
+    private final AbstractBeanJsonDeserializer<T> beanDeserializer;
+
+    private final int index;
+
+    /**
+     * <p>Constructor for IndexedBeanPropertyDeserializer.</p>
+     *
+     * @param beanDeserializer the bean deserializer owning the property
+     * @param index index of the property in the bean deserializer
+     * @param viewMask views of the property
+     */
+    public IndexedBeanPropertyDeserializer( AbstractBeanJsonDeserializer<T> beanDeserializer, int index, int viewMask ) {
+        super( viewMask );
+        this.beanDeserializer = beanDeserializer;
+        this.index = index;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected JsonDeserializer<?> newDeserializer() {
+        return beanDeserializer.newPropertyDeserializer( index );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected JsonDeserializerParameters newParameters() {
+        return beanDeserializer.newPropertyParameters( index );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V getValue( T bean, JsonDeserializationContext ctx ) {
+        return (V) beanDeserializer.getPropertyValue( index, bean, ctx );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setValue( T bean, V value, JsonDeserializationContext ctx ) {
+        beanDeserializer.setPropertyValue( index, bean, value, ctx );
+    }
+}
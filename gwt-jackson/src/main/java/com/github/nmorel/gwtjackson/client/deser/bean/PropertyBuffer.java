@@ -0,0 +1,223 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.bean;
+
+import java.util.Set;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseDateJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BooleanJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.CharacterJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.EnumJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.UUIDJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+
+/**
+ * Properties read before the bean is instantiated, when they appear before the last parameter of the creator. Their value is
+ * deserialized as soon as they are read and set to the bean once it is created, so the json is read only once.
+ * <p>When the bean has an identity, only the scalar values are deserialized immediately. The other values may reference the bean
+ * by its id so their json is kept and deserialized once the bean is created and registered.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class PropertyBuffer<T> {
+
+    /**
+     * A property read and its value.
+     */
+    private abstract static class Entry<T> {
+
+        private Entry<T> next;
+
+        abstract void setValue( T bean, JsonDeserializationContext ctx );
+    }
+
+    private static final class PropertyEntry<T, V> extends Entry<T> {
+
+        private final BeanPropertyDeserializer<T, V> property;
+
+        private V value;
+
+        /**
+         * Json of the value when its deserialization is delayed until the bean is created
+         */
+        private String json;
+
+        private PropertyEntry( BeanPropertyDeserializer<T, V> property ) {
+            this.property = property;
+        }
+
+        @Override
+        void setValue( T bean, JsonDeserializationContext ctx ) {
+            if ( null != json ) {
+                value = property.deserialize( ctx.newJsonReader( json ), ctx );
+            }
+            property.setValue( bean, value, ctx );
+        }
+    }
+
+    private static final class AnySetterEntry<T, V> extends Entry<T> {
+
+        private final AnySetterDeserializer<T, V> anySetter;
+
+        private final String name;
+
+        private V value;
+
+        /**
+         * Json of the value when its deserialization is delayed until the bean is created
+         */
+        private String json;
+
+        private AnySetterEntry( AnySetterDeserializer<T, V> anySetter, String name ) {
+            this.anySetter = anySetter;
+            this.name = name;
+        }
+
+        @Override
+        void setValue( T bean, JsonDeserializationContext ctx ) {
+            if ( null != json ) {
+                value = anySetter.deserialize( ctx.newJsonReader( json ), ctx );
+            }
+            anySetter.setValue( bean, name, value, ctx );
+        }
+    }
+
+    /**
+     * @return true if the values read by the given deserializer cannot contain a reference to another object
+     */
+    private static boolean isScalar( JsonDeserializer<?> deserializer ) {
+        return deserializer instanceof StringJsonDeserializer || deserializer instanceof BaseNumberJsonDeserializer
+                || deserializer instanceof BooleanJsonDeserializer || deserializer instanceof CharacterJsonDeserializer
+                || deserializer instanceof EnumJsonDeserializer || deserializer instanceof BaseDateJsonDeserializer
+                || deserializer instanceof UUIDJsonDeserializer;
+    }
+
+    private final AbstractBeanJsonDeserializer<T> beanDeserializer;
+
+    private final boolean ignoreUnknown;
+
+    private final Set<String> ignoredProperties;
+
+    private final int activeViewMask;
+
+    private final Set<String> requiredPropertiesLeft;
+
+    /**
+     * True if the values that may reference the bean must be deserialized once the bean is created
+     */
+    private final boolean delayReferences;
+
+    private Entry<T> first;
+
+    private Entry<T> last;
+
+    PropertyBuffer( AbstractBeanJsonDeserializer<T> beanDeserializer, boolean ignoreUnknown, Set<String> ignoredProperties, int
+            activeViewMask, Set<String> requiredPropertiesLeft, boolean delayReferences ) {
+        this.beanDeserializer = beanDeserializer;
+        this.ignoreUnknown = ignoreUnknown;
+        this.ignoredProperties = ignoredProperties;
+        this.activeViewMask = activeViewMask;
+        this.requiredPropertiesLeft = requiredPropertiesLeft;
+        this.delayReferences = delayReferences;
+    }
+
+    /**
+     * Deserializes the value of the given property and keeps it until the bean is created.
+     *
+     * @param propertyName name of the property
+     * @param reader reader positioned on the value of the property
+     * @param ctx context of the deserialization process
+     */
+    public void read( String propertyName, JsonReader reader, JsonDeserializationContext ctx ) {
+        requiredPropertiesLeft.remove( propertyName );
+
+        if ( ignoredProperties.contains( propertyName ) ) {
+            reader.skipValue();
+            return;
+        }
+
+        BeanPropertyDeserializer<T, ?> property = beanDeserializer.getPropertyDeserializer( propertyName, ctx, ignoreUnknown );
+        AnySetterDeserializer<T, ?> anySetter = beanDeserializer.getAnySetterDeserializer();
+        if ( null != property ) {
+            if ( property.isIncludedInView( activeViewMask ) ) {
+                add( readProperty( property, reader, ctx ) );
+            } else {
+                reader.skipValue();
+                return;
+            }
+        } else if ( null != anySetter && anySetter.isIncludedInView( activeViewMask ) ) {
+            add( readAnySetter( anySetter, propertyName, reader, ctx ) );
+        } else {
+            reader.skipValue();
+            return;
+        }
+
+        if ( null != ctx.getListener() ) {
+            ctx.getListener().onPropertyDeserialized( propertyName );
+        }
+    }
+
+    private <V> PropertyEntry<T, V> readProperty( BeanPropertyDeserializer<T, V> property, JsonReader reader,
+                                                  JsonDeserializationContext ctx ) {
+        PropertyEntry<T, V> entry = new PropertyEntry<T, V>( property );
+        if ( delayReferences && !isScalar( property.getDeserializer() ) ) {
+            entry.json = reader.nextValue();
+        } else {
+            entry.value = property.deserialize( reader, ctx );
+        }
+        return entry;
+    }
+
+    private <V> AnySetterEntry<T, V> readAnySetter( AnySetterDeserializer<T, V> anySetter, String propertyName, JsonReader reader,
+                                                    JsonDeserializationContext ctx ) {
+        AnySetterEntry<T, V> entry = new AnySetterEntry<T, V>( anySetter, propertyName );
+        if ( delayReferences && !isScalar( anySetter.getDeserializer() ) ) {
+            entry.json = reader.nextValue();
+        } else {
+            entry.value = anySetter.deserialize( reader, ctx );
+        }
+        return entry;
+    }
+
+    private void add( Entry<T> entry ) {
+        if ( null == first ) {
+            first = entry;
+        } else {
+            last.next = entry;
+        }
+        last = entry;
+    }
+
+    /**
+     * Sets the values read to the bean, in the order they were read.
+     *
+     * @param bean the bean just created
+     * @param ctx context of the deserialization process
+     */
+    void flush( T bean, JsonDeserializationContext ctx ) {
+        for ( Entry<T> entry = first; null != entry; entry = entry.next ) {
+            entry.setValue( bean, ctx );
+        }
+        first = null;
+        last = null;
+    }
+}
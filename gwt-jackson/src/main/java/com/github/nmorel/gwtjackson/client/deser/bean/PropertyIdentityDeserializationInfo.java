@@ -11,7 +11,7 @@ import com.github.nmorel.gwtjackson.client.stream.JsonReader;
  * @author Nicolas Morel
  * @version $Id: $
  */
-public class PropertyIdentityDeserializationInfo<T> implements IdentityDeserializationInfo<T> {
+public class PropertyIdentityDeserializationInfo<T> implements ScopedIdentityDeserializationInfo<T> {
 
     /**
      * Name of the property holding the identity
@@ -59,6 +59,18 @@ public class PropertyIdentityDeserializationInfo<T> implements IdentityDeseriali
         return new IdKey( type, scope, id );
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final Class<?> getType() {
+        return type;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Class<?> getScope() {
+        return scope;
+    }
+
     /** {@inheritDoc} */
     @Override
     public final Object readId( JsonReader reader, JsonDeserializationContext ctx ) {
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.bean;
+
+/**
+ * Identity informations exposing the type and scope of the identifier, so the deserialization context can store and resolve the ids
+ * without creating an {@link com.fasterxml.jackson.annotation.ObjectIdGenerator.IdKey}.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public interface ScopedIdentityDeserializationInfo<T> extends IdentityDeserializationInfo<T> {
+
+    /**
+     * <p>getType</p>
+     *
+     * @return type of the {@link com.fasterxml.jackson.annotation.ObjectIdGenerator} used for the identifier
+     */
+    Class<?> getType();
+
+    /**
+     * <p>getScope</p>
+     *
+     * @return scope of the identifier, may be null to denote global
+     */
+    Class<?> getScope();
+}
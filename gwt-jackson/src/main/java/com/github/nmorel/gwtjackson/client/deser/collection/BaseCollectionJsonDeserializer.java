@@ -72,6 +72,41 @@ public abstract class BaseCollectionJsonDeserializer<C extends Collection<T>, T>
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * With {@link JsonDeserializationContext#isUpdateCollectionsInPlace()}, the elements are read into a new collection then the
+     * existing collection is cleared and filled with them. This mode only preserves the identity of the existing collection : the new
+     * collection is still allocated so an invalid input leaves the existing collection untouched. An unmodifiable collection is replaced
+     * by the new one. If the existing collection rejects some elements once cleared, the error is thrown and the collection is left
+     * partially filled.
+     */
+    @Override
+    protected C doDeserializeForUpdating( JsonReader reader, C value, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        C result = doDeserialize( reader, ctx, params );
+        if ( !ctx.isUpdateCollectionsInPlace() ) {
+            return result;
+        }
+
+        boolean wasEmpty = value.isEmpty();
+        try {
+            value.clear();
+        } catch ( UnsupportedOperationException e ) {
+            // unmodifiable collection, it has not been changed so we replace it
+            return result;
+        }
+        try {
+            value.addAll( result );
+        } catch ( UnsupportedOperationException e ) {
+            if ( wasEmpty && value.isEmpty() ) {
+                // immutable empty collection, it has not been changed either
+                return result;
+            }
+            throw e;
+        }
+        return value;
+    }
+
     /**
      * Instantiates a new collection for deserialization process.
      *
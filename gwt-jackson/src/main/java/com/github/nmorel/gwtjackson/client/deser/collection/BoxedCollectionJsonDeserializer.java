@@ -0,0 +1,305 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.collection;
+
+import java.util.Collection;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+
+/**
+ * Specialization of {@link BaseCollectionJsonDeserializer} for the collections of boxed numbers and strings. The non-null elements
+ * are read directly from the {@link JsonReader}. The collection itself is instantiated by the wrapped deserializer.
+ * <p>The generator uses it around the default collection deserializers when the element type is a {@link Number} or
+ * {@link String} deserialized with the default deserializer.</p>
+ *
+ * @param <C> {@link Collection} type
+ * @param <T> Type of the elements inside the {@link Collection}
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public abstract class BoxedCollectionJsonDeserializer<C extends Collection<T>, T> extends BaseCollectionJsonDeserializer<C, T> {
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonDeserializer} for a {@link Collection} of {@link Integer}
+     */
+    public static final class IntegerCollectionJsonDeserializer<C extends Collection<Integer>>
+            extends BoxedCollectionJsonDeserializer<C, Integer> {
+
+        /**
+         * @param collectionDeserializer {@link BaseCollectionJsonDeserializer} used to instantiate the collection.
+         * @param <C> the type of the collection
+         * @return a new instance of {@link IntegerCollectionJsonDeserializer}
+         */
+        public static <C extends Collection<Integer>> IntegerCollectionJsonDeserializer<C> newInstance( BaseCollectionJsonDeserializer<C,
+                Integer> collectionDeserializer ) {
+            return new IntegerCollectionJsonDeserializer<C>( collectionDeserializer );
+        }
+
+        private IntegerCollectionJsonDeserializer( BaseCollectionJsonDeserializer<C, Integer> collectionDeserializer ) {
+            super( collectionDeserializer );
+        }
+
+        @Override
+        protected Integer readValue( JsonReader reader, JsonToken token, JsonDeserializationContext ctx, JsonDeserializerParameters
+                params ) {
+            if ( JsonToken.NUMBER == token ) {
+                return reader.nextInt();
+            } else {
+                return Integer.parseInt( reader.nextString() );
+            }
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonDeserializer} for a {@link Collection} of {@link Long}
+     */
+    public static final class LongCollectionJsonDeserializer<C extends Collection<Long>>
+            extends BoxedCollectionJsonDeserializer<C, Long> {
+
+        /**
+         * @param collectionDeserializer {@link BaseCollectionJsonDeserializer} used to instantiate the collection.
+         * @param <C> the type of the collection
+         * @return a new instance of {@link LongCollectionJsonDeserializer}
+         */
+        public static <C extends Collection<Long>> LongCollectionJsonDeserializer<C> newInstance( BaseCollectionJsonDeserializer<C,
+                Long> collectionDeserializer ) {
+            return new LongCollectionJsonDeserializer<C>( collectionDeserializer );
+        }
+
+        private LongCollectionJsonDeserializer( BaseCollectionJsonDeserializer<C, Long> collectionDeserializer ) {
+            super( collectionDeserializer );
+        }
+
+        @Override
+        protected Long readValue( JsonReader reader, JsonToken token, JsonDeserializationContext ctx, JsonDeserializerParameters
+                params ) {
+            return reader.nextLong();
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonDeserializer} for a {@link Collection} of {@link Short}
+     */
+    public static final class ShortCollectionJsonDeserializer<C extends Collection<Short>>
+            extends BoxedCollectionJsonDeserializer<C, Short> {
+
+        /**
+         * @param collectionDeserializer {@link BaseCollectionJsonDeserializer} used to instantiate the collection.
+         * @param <C> the type of the collection
+         * @return a new instance of {@link ShortCollectionJsonDeserializer}
+         */
+        public static <C extends Collection<Short>> ShortCollectionJsonDeserializer<C> newInstance( BaseCollectionJsonDeserializer<C,
+                Short> collectionDeserializer ) {
+            return new ShortCollectionJsonDeserializer<C>( collectionDeserializer );
+        }
+
+        private ShortCollectionJsonDeserializer( BaseCollectionJsonDeserializer<C, Short> collectionDeserializer ) {
+            super( collectionDeserializer );
+        }
+
+        @Override
+        protected Short readValue( JsonReader reader, JsonToken token, JsonDeserializationContext ctx, JsonDeserializerParameters
+                params ) {
+            if ( JsonToken.NUMBER == token ) {
+                return (short) reader.nextInt();
+            } else {
+                return Short.parseShort( reader.nextString() );
+            }
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonDeserializer} for a {@link Collection} of {@link Byte}
+     */
+    public static final class ByteCollectionJsonDeserializer<C extends Collection<Byte>>
+            extends BoxedCollectionJsonDeserializer<C, Byte> {
+
+        /**
+         * @param collectionDeserializer {@link BaseCollectionJsonDeserializer} used to instantiate the collection.
+         * @param <C> the type of the collection
+         * @return a new instance of {@link ByteCollectionJsonDeserializer}
+         */
+        public static <C extends Collection<Byte>> ByteCollectionJsonDeserializer<C> newInstance( BaseCollectionJsonDeserializer<C,
+                Byte> collectionDeserializer ) {
+            return new ByteCollectionJsonDeserializer<C>( collectionDeserializer );
+        }
+
+        private ByteCollectionJsonDeserializer( BaseCollectionJsonDeserializer<C, Byte> collectionDeserializer ) {
+            super( collectionDeserializer );
+        }
+
+        @Override
+        protected Byte readValue( JsonReader reader, JsonToken token, JsonDeserializationContext ctx, JsonDeserializerParameters
+                params ) {
+            return (byte) reader.nextInt();
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonDeserializer} for a {@link Collection} of {@link Double}
+     */
+    public static final class DoubleCollectionJsonDeserializer<C extends Collection<Double>>
+            extends BoxedCollectionJsonDeserializer<C, Double> {
+
+        /**
+         * @param collectionDeserializer {@link BaseCollectionJsonDeserializer} used to instantiate the collection.
+         * @param <C> the type of the collection
+         * @return a new instance of {@link DoubleCollectionJsonDeserializer}
+         */
+        public static <C extends Collection<Double>> DoubleCollectionJsonDeserializer<C> newInstance( BaseCollectionJsonDeserializer<C,
+                Double> collectionDeserializer ) {
+            return new DoubleCollectionJsonDeserializer<C>( collectionDeserializer );
+        }
+
+        private DoubleCollectionJsonDeserializer( BaseCollectionJsonDeserializer<C, Double> collectionDeserializer ) {
+            super( collectionDeserializer );
+        }
+
+        @Override
+        protected Double readValue( JsonReader reader, JsonToken token, JsonDeserializationContext ctx, JsonDeserializerParameters
+                params ) {
+            return reader.nextDouble();
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonDeserializer} for a {@link Collection} of {@link Float}
+     */
+    public static final class FloatCollectionJsonDeserializer<C extends Collection<Float>>
+            extends BoxedCollectionJsonDeserializer<C, Float> {
+
+        /**
+         * @param collectionDeserializer {@link BaseCollectionJsonDeserializer} used to instantiate the collection.
+         * @param <C> the type of the collection
+         * @return a new instance of {@link FloatCollectionJsonDeserializer}
+         */
+        public static <C extends Collection<Float>> FloatCollectionJsonDeserializer<C> newInstance( BaseCollectionJsonDeserializer<C,
+                Float> collectionDeserializer ) {
+            return new FloatCollectionJsonDeserializer<C>( collectionDeserializer );
+        }
+
+        private FloatCollectionJsonDeserializer( BaseCollectionJsonDeserializer<C, Float> collectionDeserializer ) {
+            super( collectionDeserializer );
+        }
+
+        @Override
+        protected Float readValue( JsonReader reader, JsonToken token, JsonDeserializationContext ctx, JsonDeserializerParameters
+                params ) {
+            return Float.parseFloat( reader.nextString() );
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonDeserializer} for a {@link Collection} of {@link String}
+     */
+    public static final class StringCollectionJsonDeserializer<C extends Collection<String>>
+            extends BoxedCollectionJsonDeserializer<C, String> {
+
+        /**
+         * @param collectionDeserializer {@link BaseCollectionJsonDeserializer} used to instantiate the collection.
+         * @param <C> the type of the collection
+         * @return a new instance of {@link StringCollectionJsonDeserializer}
+         */
+        public static <C extends Collection<String>> StringCollectionJsonDeserializer<C> newInstance( BaseCollectionJsonDeserializer<C,
+                String> collectionDeserializer ) {
+            return new StringCollectionJsonDeserializer<C>( collectionDeserializer );
+        }
+
+        private StringCollectionJsonDeserializer( BaseCollectionJsonDeserializer<C, String> collectionDeserializer ) {
+            super( collectionDeserializer );
+        }
+
+        @Override
+        protected String readValue( JsonReader reader, JsonToken token, JsonDeserializationContext ctx, JsonDeserializerParameters
+                params ) {
+            if ( params.isDeduplicate() && !ctx.isDeduplicateStrings() ) {
+                return ctx.getStringCache().nextString( reader );
+            }
+            return reader.nextString();
+        }
+    }
+
+    private final BaseCollectionJsonDeserializer<C, T> collectionDeserializer;
+
+    /**
+     * <p>Constructor for BoxedCollectionJsonDeserializer.</p>
+     *
+     * @param collectionDeserializer {@link BaseCollectionJsonDeserializer} used to instantiate the collection. Its
+     * {@link JsonDeserializer} is used for the null elements.
+     */
+    protected BoxedCollectionJsonDeserializer( BaseCollectionJsonDeserializer<C, T> collectionDeserializer ) {
+        super( collectionDeserializer.deserializer );
+        this.collectionDeserializer = collectionDeserializer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public C doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        if ( JsonToken.BEGIN_ARRAY != reader.peek() ) {
+            return super.doDeserialize( reader, ctx, params );
+        }
+
+        C result = newCollection();
+        boolean nullValueAllowed = isNullValueAllowed();
+
+        reader.beginArray();
+        JsonToken token;
+        while ( JsonToken.END_ARRAY != (token = reader.peek()) ) {
+            if ( JsonToken.NULL == token ) {
+                T element = deserializer.deserialize( reader, ctx, params );
+                if ( nullValueAllowed || null != element ) {
+                    result.add( element );
+                }
+            } else {
+                result.add( readValue( reader, token, ctx, params ) );
+            }
+        }
+        reader.endArray();
+
+        return result;
+    }
+
+    /**
+     * Reads a non-null element.
+     *
+     * @param reader {@link JsonReader} used to read the JSON input
+     * @param token the current token
+     * @param ctx Context for the full deserialization process
+     * @param params Parameters for this deserialization
+     * @return the element
+     */
+    protected abstract T readValue( JsonReader reader, JsonToken token, JsonDeserializationContext ctx, JsonDeserializerParameters
+            params );
+
+    /** {@inheritDoc} */
+    @Override
+    protected C newCollection() {
+        return collectionDeserializer.newCollection();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isNullValueAllowed() {
+        return collectionDeserializer.isNullValueAllowed();
+    }
+}
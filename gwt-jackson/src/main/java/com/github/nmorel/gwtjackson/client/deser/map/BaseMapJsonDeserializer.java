@@ -80,6 +80,40 @@ public abstract class BaseMapJsonDeserializer<M extends Map<K, V>, K, V> extends
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * With {@link JsonDeserializationContext#isUpdateCollectionsInPlace()}, the entries are read into a new map then the existing map
+     * is cleared and filled with them. This mode only preserves the identity of the existing map : the new map is still allocated
+     * so an invalid input leaves the existing map untouched. An unmodifiable map is replaced by the new one. If the existing
+     * map rejects some entries once cleared, the error is thrown and the map is left partially filled.
+     */
+    @Override
+    protected M doDeserializeForUpdating( JsonReader reader, M value, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        M result = doDeserialize( reader, ctx, params );
+        if ( !ctx.isUpdateCollectionsInPlace() ) {
+            return result;
+        }
+
+        boolean wasEmpty = value.isEmpty();
+        try {
+            value.clear();
+        } catch ( UnsupportedOperationException e ) {
+            // unmodifiable map, it has not been changed so we replace it
+            return result;
+        }
+        try {
+            value.putAll( result );
+        } catch ( UnsupportedOperationException e ) {
+            if ( wasEmpty && value.isEmpty() ) {
+                // immutable empty map, it has not been changed either
+                return result;
+            }
+            throw e;
+        }
+        return value;
+    }
+
     /**
      * Instantiates a new map for deserialization process.
      *
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2015 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.ser;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.JsonSerializerParameters;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+
+/**
+ * Specialization of {@link CollectionJsonSerializer} for the collections of boxed numbers and strings. The non-null elements
+ * are written directly with the {@link JsonWriter} and the {@link RandomAccess} lists are iterated by index.
+ * <p>The generator uses it in place of {@link CollectionJsonSerializer} when the element type is a {@link Number} or
+ * {@link String} serialized with the default serializer.</p>
+ *
+ * @param <C> Type of the {@link Collection}
+ * @param <T> Type of the elements inside the {@link Collection}
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public abstract class BoxedCollectionJsonSerializer<C extends Collection<T>, T> extends CollectionJsonSerializer<C, T> {
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonSerializer} for a {@link Collection} of {@link Integer}
+     */
+    public static final class IntegerCollectionJsonSerializer<C extends Collection<Integer>>
+            extends BoxedCollectionJsonSerializer<C, Integer> {
+
+        /**
+         * @param <C> the type of the collection
+         * @return a new instance of {@link IntegerCollectionJsonSerializer}
+         */
+        public static <C extends Collection<Integer>> IntegerCollectionJsonSerializer<C> newInstance() {
+            return new IntegerCollectionJsonSerializer<C>();
+        }
+
+        private IntegerCollectionJsonSerializer() {
+            super( BaseNumberJsonSerializer.IntegerJsonSerializer.getInstance() );
+        }
+
+        @Override
+        protected void writeValue( JsonWriter writer, Integer value ) {
+            writer.value( value.intValue() );
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonSerializer} for a {@link Collection} of {@link Long}
+     */
+    public static final class LongCollectionJsonSerializer<C extends Collection<Long>>
+            extends BoxedCollectionJsonSerializer<C, Long> {
+
+        /**
+         * @param <C> the type of the collection
+         * @return a new instance of {@link LongCollectionJsonSerializer}
+         */
+        public static <C extends Collection<Long>> LongCollectionJsonSerializer<C> newInstance() {
+            return new LongCollectionJsonSerializer<C>();
+        }
+
+        private LongCollectionJsonSerializer() {
+            super( BaseNumberJsonSerializer.LongJsonSerializer.getInstance() );
+        }
+
+        @Override
+        protected void writeValue( JsonWriter writer, Long value ) {
+            writer.value( value.longValue() );
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonSerializer} for a {@link Collection} of {@link Short}
+     */
+    public static final class ShortCollectionJsonSerializer<C extends Collection<Short>>
+            extends BoxedCollectionJsonSerializer<C, Short> {
+
+        /**
+         * @param <C> the type of the collection
+         * @return a new instance of {@link ShortCollectionJsonSerializer}
+         */
+        public static <C extends Collection<Short>> ShortCollectionJsonSerializer<C> newInstance() {
+            return new ShortCollectionJsonSerializer<C>();
+        }
+
+        private ShortCollectionJsonSerializer() {
+            super( BaseNumberJsonSerializer.ShortJsonSerializer.getInstance() );
+        }
+
+        @Override
+        protected void writeValue( JsonWriter writer, Short value ) {
+            writer.value( value.intValue() );
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonSerializer} for a {@link Collection} of {@link Byte}
+     */
+    public static final class ByteCollectionJsonSerializer<C extends Collection<Byte>>
+            extends BoxedCollectionJsonSerializer<C, Byte> {
+
+        /**
+         * @param <C> the type of the collection
+         * @return a new instance of {@link ByteCollectionJsonSerializer}
+         */
+        public static <C extends Collection<Byte>> ByteCollectionJsonSerializer<C> newInstance() {
+            return new ByteCollectionJsonSerializer<C>();
+        }
+
+        private ByteCollectionJsonSerializer() {
+            super( BaseNumberJsonSerializer.ByteJsonSerializer.getInstance() );
+        }
+
+        @Override
+        protected void writeValue( JsonWriter writer, Byte value ) {
+            writer.value( value.intValue() );
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonSerializer} for a {@link Collection} of {@link Double}
+     */
+    public static final class DoubleCollectionJsonSerializer<C extends Collection<Double>>
+            extends BoxedCollectionJsonSerializer<C, Double> {
+
+        /**
+         * @param <C> the type of the collection
+         * @return a new instance of {@link DoubleCollectionJsonSerializer}
+         */
+        public static <C extends Collection<Double>> DoubleCollectionJsonSerializer<C> newInstance() {
+            return new DoubleCollectionJsonSerializer<C>();
+        }
+
+        private DoubleCollectionJsonSerializer() {
+            super( BaseNumberJsonSerializer.DoubleJsonSerializer.getInstance() );
+        }
+
+        @Override
+        protected void writeValue( JsonWriter writer, Double value ) {
+            writer.value( value.doubleValue() );
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonSerializer} for a {@link Collection} of {@link Float}
+     */
+    public static final class FloatCollectionJsonSerializer<C extends Collection<Float>>
+            extends BoxedCollectionJsonSerializer<C, Float> {
+
+        /**
+         * @param <C> the type of the collection
+         * @return a new instance of {@link FloatCollectionJsonSerializer}
+         */
+        public static <C extends Collection<Float>> FloatCollectionJsonSerializer<C> newInstance() {
+            return new FloatCollectionJsonSerializer<C>();
+        }
+
+        private FloatCollectionJsonSerializer() {
+            super( BaseNumberJsonSerializer.FloatJsonSerializer.getInstance() );
+        }
+
+        @Override
+        protected void writeValue( JsonWriter writer, Float value ) {
+            // a float widened to a double would not print the same digits as the default serializer
+            writer.value( (Number) value );
+        }
+    }
+
+    /**
+     * Implementation of {@link BoxedCollectionJsonSerializer} for a {@link Collection} of {@link String}
+     */
+    public static final class StringCollectionJsonSerializer<C extends Collection<String>>
+            extends BoxedCollectionJsonSerializer<C, String> {
+
+        /**
+         * @param <C> the type of the collection
+         * @return a new instance of {@link StringCollectionJsonSerializer}
+         */
+        public static <C extends Collection<String>> StringCollectionJsonSerializer<C> newInstance() {
+            return new StringCollectionJsonSerializer<C>();
+        }
+
+        private StringCollectionJsonSerializer() {
+            super( StringJsonSerializer.getInstance() );
+        }
+
+        @Override
+        protected void writeValue( JsonWriter writer, String value ) {
+            writer.value( value );
+        }
+    }
+
+    /**
+     * <p>Constructor for BoxedCollectionJsonSerializer.</p>
+     *
+     * @param serializer {@link JsonSerializer} used to serialize the null elements.
+     */
+    protected BoxedCollectionJsonSerializer( JsonSerializer<T> serializer ) {
+        super( serializer );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void doSerialize( JsonWriter writer, C values, JsonSerializationContext ctx, JsonSerializerParameters params ) {
+        if ( null != params.getInclude() || values.isEmpty() || (ctx.isWriteSingleElemArraysUnwrapped() && values.size() == 1) ) {
+            // the inclusion rules also apply to the elements, we let the default implementation handle them
+            super.doSerialize( writer, values, ctx, params );
+            return;
+        }
+
+        writer.beginArray();
+        if ( values instanceof RandomAccess && values instanceof List ) {
+            List<T> list = (List<T>) values;
+            for ( int i = 0, size = list.size(); i < size; i++ ) {
+                serializeElement( writer, list.get( i ), ctx, params );
+            }
+        } else {
+            for ( T value : values ) {
+                serializeElement( writer, value, ctx, params );
+            }
+        }
+        writer.endArray();
+    }
+
+    private void serializeElement( JsonWriter writer, T value, JsonSerializationContext ctx, JsonSerializerParameters params ) {
+        if ( null == value ) {
+            serializer.serialize( writer, null, ctx, params );
+        } else {
+            writeValue( writer, value );
+        }
+    }
+
+    /**
+     * Writes a non-null element.
+     *
+     * @param writer {@link JsonWriter} used to write the serialized JSON
+     * @param value the element
+     */
+    protected abstract void writeValue( JsonWriter writer, T value );
+}
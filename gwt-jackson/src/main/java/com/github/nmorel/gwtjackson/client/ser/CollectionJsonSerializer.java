@@ -17,6 +17,8 @@
 package com.github.nmorel.gwtjackson.client.ser;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
 
 import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
@@ -81,8 +83,16 @@ public class CollectionJsonSerializer<C extends Collection<T>, T> extends JsonSe
             serializer.serialize( writer, values.iterator().next(), ctx, params );
         } else {
             writer.beginArray();
-            for ( T value : values ) {
-                serializer.serialize( writer, value, ctx, params );
+            if ( values instanceof RandomAccess && values instanceof List ) {
+                // ArrayList, ImmutableList, ... are iterated by index, without an iterator
+                List<T> list = (List<T>) values;
+                for ( int i = 0, size = list.size(); i < size; i++ ) {
+                    serializer.serialize( writer, list.get( i ), ctx, params );
+                }
+            } else {
+                for ( T value : values ) {
+                    serializer.serialize( writer, value, ctx, params );
+                }
             }
             writer.endArray();
         }
@@ -24,6 +24,7 @@ import java.util.logging.Level;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.github.nmorel.gwtjackson.client.JsonMappingListener;
 import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
 import com.github.nmorel.gwtjackson.client.JsonSerializerParameters;
@@ -39,6 +40,8 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
 
     protected final BeanPropertySerializer[] serializers;
 
+    protected final SubtypeSerializer[] subtypeSerializers;
+
     private final Map<Class, SubtypeSerializer> subtypeClassToSerializer;
 
     private final IdentitySerializationInfo<T> defaultIdentityInfo;
@@ -47,6 +50,8 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
 
     private final AnyGetterPropertySerializer<T> anyGetterPropertySerializer;
 
+    private final SerializedFragmentCache fragmentCache;
+
     /**
      * <p>Constructor for AbstractBeanJsonSerializer.</p>
      */
@@ -55,7 +60,9 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
         this.defaultIdentityInfo = initIdentityInfo();
         this.defaultTypeInfo = initTypeInfo();
         this.subtypeClassToSerializer = initMapSubtypeClassToSerializer();
+        this.subtypeSerializers = initSubtypeSerializers();
         this.anyGetterPropertySerializer = initAnyGetterPropertySerializer();
+        this.fragmentCache = initFragmentCache();
     }
 
     /**
@@ -95,6 +102,27 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
         return Collections.emptyMap();
     }
 
+    /**
+     * Initialize the array containing the {@link SubtypeSerializer}, in the order of the declared subtypes. Returns an empty array if the
+     * bean has no subtypes or if the subtypes are resolved with {@link #initMapSubtypeClassToSerializer()}.
+     *
+     * @return an array of {@link com.github.nmorel.gwtjackson.client.ser.bean.SubtypeSerializer} objects.
+     */
+    protected SubtypeSerializer[] initSubtypeSerializers() {
+        return new SubtypeSerializer[0];
+    }
+
+    /**
+     * Returns the {@link SubtypeSerializer} for the given subtype. The generated serializers override this method with direct
+     * comparisons on the known subtypes and pick the serializer from {@link #subtypeSerializers}.
+     *
+     * @param clazz the class of the value to serialize
+     * @return the {@link SubtypeSerializer} or null if the subtype is unknown
+     */
+    protected SubtypeSerializer getSubtypeSerializer( Class clazz ) {
+        return subtypeClassToSerializer.get( clazz );
+    }
+
     /**
      * Initialize the {@link AnyGetterPropertySerializer}. Returns null if there is no method annoted with {@link JsonAnyGetter} on bean.
      *
@@ -104,6 +132,59 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
         return null;
     }
 
+    /**
+     * Initialize the {@link SerializedFragmentCache}. Returns null if there is no
+     * {@link com.github.nmorel.gwtjackson.client.annotation.JsonCachedSerialization} annotation on bean.
+     *
+     * @return a {@link com.github.nmorel.gwtjackson.client.ser.bean.SerializedFragmentCache} object.
+     */
+    protected SerializedFragmentCache initFragmentCache() {
+        return null;
+    }
+
+    /**
+     * Returns the bit mask matching the given view for this bean's properties. Each bit corresponds to one of the views declared with
+     * {@link com.fasterxml.jackson.annotation.JsonView} on the properties. Returns 0 if the view is unknown to this bean.
+     *
+     * @param view the active view
+     * @return the bit mask of the properties' views included in the given view
+     */
+    protected int getViewMask( Class<?> view ) {
+        return 0;
+    }
+
+    /**
+     * Creates the serializer of the property at the given index. Only used by the {@link IndexedBeanPropertySerializer}.
+     *
+     * @param index index of the property
+     * @return the serializer of the property
+     */
+    protected JsonSerializer<?> newPropertySerializer( int index ) {
+        throw new IllegalArgumentException( "Unknown property index " + index );
+    }
+
+    /**
+     * Creates the parameters of the property at the given index. Only used by the {@link IndexedBeanPropertySerializer}.
+     *
+     * @param index index of the property
+     * @return the parameters of the property
+     */
+    protected JsonSerializerParameters newPropertyParameters( int index ) {
+        return JsonSerializerParameters.DEFAULT;
+    }
+
+    /**
+     * Returns the value of the property at the given index. Only used by the {@link IndexedBeanPropertySerializer}.
+     *
+     * @param index index of the property
+     * @param bean bean containing the property
+     * @param ctx context of the serialization process
+     * @return the value of the property
+     */
+    protected Object getPropertyValue( int index, T bean, JsonSerializationContext ctx ) {
+        throw new IllegalArgumentException( "Unknown property index " + index );
+    }
+
     /**
      * <p>getSerializedType</p>
      *
@@ -114,22 +195,136 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
     /** {@inheritDoc} */
     @Override
     public void doSerialize( JsonWriter writer, T value, JsonSerializationContext ctx, JsonSerializerParameters params ) {
-        getSerializer( writer, value, ctx ).serializeInternally( writer, value, ctx, params, defaultIdentityInfo, defaultTypeInfo );
+        JsonMappingListener listener = ctx.getListener();
+        if ( null == listener ) {
+            getSerializer( writer, value, ctx ).serializeInternally( writer, value, ctx, params, defaultIdentityInfo, defaultTypeInfo );
+        } else {
+            listener.onBeanSerializationStart( value );
+            getSerializer( writer, value, ctx ).serializeInternally( writer, value, ctx, params, defaultIdentityInfo, defaultTypeInfo );
+            listener.onBeanSerializationEnd( value );
+        }
     }
 
-    private InternalSerializer<T> getSerializer( JsonWriter writer, T value, JsonSerializationContext ctx ) {
+    /**
+     * Serializes {@code value} as a JSON Merge Patch (RFC 7396) to apply on the JSON of {@code previous}. Only the properties that
+     * changed are written, the nested beans are patched recursively. When the values are instances of different classes or the bean
+     * is written with a type info wrapping the object, both values are serialized and the patch is computed from their JSON. The value
+     * is fully serialized if previous or value is null or the bean is written with an object identity.
+     *
+     * @param writer writer
+     * @param previous previous value of the bean
+     * @param value current value of the bean
+     * @param ctx context of the serialization process
+     * @param params parameters
+     * @return true if the value has changed since previous. The patch is written in any case.
+     */
+    public boolean serializeDiff( JsonWriter writer, T previous, T value, JsonSerializationContext ctx, JsonSerializerParameters params ) {
+        if ( null == previous || null == value || null != params.getIdentityInfo() || null != defaultIdentityInfo ) {
+            serialize( writer, value, ctx, params );
+            return true;
+        }
+
+        AbstractBeanJsonSerializer<T> serializer = getDiffSerializer( previous, value, params );
+        if ( null == serializer ) {
+            return serializeJsonDiff( writer, previous, value, ctx, params );
+        }
+
+        if ( params.isUnwrapped() ) {
+            return serializer.serializePropertiesDiff( writer, previous, value, ctx, params );
+        }
+
+        writer.beginObject();
+        boolean changed = serializer.serializePropertiesDiff( writer, previous, value, ctx, params );
+        writer.endObject();
+        return changed;
+    }
+
+    /**
+     * Serializes both values and writes the patch between their JSON.
+     */
+    private boolean serializeJsonDiff( JsonWriter writer, T previous, T value, JsonSerializationContext ctx,
+                                       JsonSerializerParameters params ) {
+        // the value is serialized first so the shared instances are fully written in its JSON
+        String json = serializeToJson( value, ctx, params );
+        String previousJson = serializeToJson( previous, ctx, params );
+
+        if ( params.isUnwrapped() ) {
+            return MergePatch.writeMembers( writer, previousJson, json, ctx );
+        }
+
+        String patch = MergePatch.diff( previousJson, json, ctx );
+        if ( null == patch ) {
+            writer.beginObject();
+            writer.endObject();
+            return false;
+        }
+        writer.rawValue( patch );
+        return true;
+    }
+
+    private String serializeToJson( T value, JsonSerializationContext ctx, JsonSerializerParameters params ) {
+        JsonWriter writer = ctx.newJsonWriter();
+        if ( params.isUnwrapped() ) {
+            // the properties are wrapped in an object to be parsed
+            writer.beginObject();
+            serialize( writer, value, ctx, params );
+            writer.endObject();
+        } else {
+            serialize( writer, value, ctx, params );
+        }
+        return writer.getOutput();
+    }
+
+    /**
+     * Returns the serializer able to write the patch between the two values property by property or null if the patch has to be
+     * computed from their JSON.
+     */
+    private AbstractBeanJsonSerializer<T> getDiffSerializer( T previous, T value, JsonSerializerParameters params ) {
+        if ( previous.getClass() != value.getClass() ) {
+            return null;
+        }
+        final TypeSerializationInfo typeInfo = null == params.getTypeInfo() ? defaultTypeInfo : params.getTypeInfo();
+        if ( null != typeInfo && JsonTypeInfo.As.PROPERTY != typeInfo.getInclude() ) {
+            return null;
+        }
         if ( value.getClass() == getSerializedType() ) {
             return this;
         }
-        SubtypeSerializer subtypeSerializer = subtypeClassToSerializer.get( value.getClass() );
-        if ( null == subtypeSerializer ) {
-            if ( ctx.getLogger().isLoggable( Level.FINE ) ) {
-                ctx.getLogger().fine( "Cannot find serializer for class " + value
-                        .getClass() + ". Fallback to the serializer of " + getSerializedType() );
+        SubtypeSerializer subtypeSerializer = getSubtypeSerializer( value.getClass() );
+        if ( subtypeSerializer instanceof SubtypeSerializer.BeanSubtypeSerializer ) {
+            return ((SubtypeSerializer.BeanSubtypeSerializer<T>) subtypeSerializer).getSerializer();
+        }
+        return null;
+    }
+
+    private boolean serializePropertiesDiff( JsonWriter writer, T previous, T value, JsonSerializationContext ctx,
+                                             JsonSerializerParameters params ) {
+        final Set<String> ignoredProperties = null == params.getIgnoredProperties() ? Collections.<String>emptySet() : params
+                .getIgnoredProperties();
+        // -1 includes every view
+        final int activeViewMask = null == ctx.getActiveView() ? -1 : getViewMask( ctx.getActiveView() );
+        boolean changed = false;
+        for ( BeanPropertySerializer<T, ?> propertySerializer : serializers ) {
+            if ( !ignoredProperties.contains( propertySerializer.getPropertyName() ) && propertySerializer
+                    .isIncludedInView( activeViewMask ) && propertySerializer.serializeDiff( writer, previous, value, ctx ) ) {
+                changed = true;
             }
+        }
+
+        if ( null != anyGetterPropertySerializer && anyGetterPropertySerializer.isIncludedInView( activeViewMask )
+                && anyGetterPropertySerializer.serializeDiff( writer, previous, value, ctx ) ) {
+            changed = true;
+        }
+        return changed;
+    }
+
+    private InternalSerializer<T> getSerializer( JsonWriter writer, T value, JsonSerializationContext ctx ) {
+        if ( value.getClass() == getSerializedType() ) {
             return this;
         }
-        return subtypeSerializer;
+        SubtypeSerializer subtypeSerializer = getSubtypeSerializer( value.getClass() );
+        // unknown subtype, we fallback to the serializer of the declared type
+        return null == subtypeSerializer ? this : subtypeSerializer;
     }
 
     /** {@inheritDoc} */
@@ -148,6 +343,14 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
             return;
         }
 
+        if ( null != fragmentCache && null == identityInfo && null == typeInfo && ignoredProperties.isEmpty() && !ctx.isIndent()
+                && null == ctx.getListener() ) {
+            // the indentation would depend on the depth of the bean so the indented output is never cached. A listener must be
+            // notified of every property serialized so the cache is not used either.
+            serializeCached( writer, value, ctx );
+            return;
+        }
+
         ObjectIdSerializer<?> idWriter = null;
         if ( null != identityInfo ) {
             idWriter = ctx.getObjectId( value );
@@ -204,6 +407,28 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
         serializeObject( writer, value, ctx, ignoredProperties, identityInfo, idWriter );
     }
 
+    /**
+     * Writes the JSON cached for the bean, serializing it first if it is not cached yet. The JSON is not cached if a bean it contains
+     * uses an object id : the id belongs to the context and is either defined or referenced by the JSON.
+     *
+     * @param writer writer
+     * @param value bean to serialize
+     * @param ctx context of the serialization process
+     */
+    private void serializeCached( JsonWriter writer, T value, JsonSerializationContext ctx ) {
+        String json = fragmentCache.get( value, ctx );
+        if ( null == json ) {
+            int objectIdLookups = ctx.getObjectIdLookups();
+            JsonWriter fragmentWriter = ctx.newJsonWriter();
+            serializeObject( fragmentWriter, value, ctx, Collections.<String>emptySet(), null, null );
+            json = fragmentWriter.getOutput();
+            if ( objectIdLookups == ctx.getObjectIdLookups() ) {
+                fragmentCache.put( value, ctx, json );
+            }
+        }
+        writer.rawValue( json );
+    }
+
     /**
      * Serializes all the properties of the bean in a json object.
      *
@@ -253,15 +478,22 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
 
     private void serializeProperties( JsonWriter writer, T value, JsonSerializationContext ctx, Set<String> ignoredProperties,
                                       IdentitySerializationInfo identityInfo ) {
+        // -1 includes every view
+        final int activeViewMask = null == ctx.getActiveView() ? -1 : getViewMask( ctx.getActiveView() );
+        final JsonMappingListener listener = ctx.getListener();
         for ( BeanPropertySerializer<T, ?> propertySerializer : serializers ) {
             if ( (null == identityInfo || !identityInfo.isProperty() || !identityInfo.getPropertyName().equals( propertySerializer
-                    .getPropertyName() )) && !ignoredProperties.contains( propertySerializer.getPropertyName() ) ) {
+                    .getPropertyName() )) && !ignoredProperties.contains( propertySerializer.getPropertyName() ) && propertySerializer
+                    .isIncludedInView( activeViewMask ) ) {
                 propertySerializer.serializePropertyName( writer, value, ctx );
                 propertySerializer.serialize( writer, value, ctx );
+                if ( null != listener ) {
+                    listener.onPropertySerialized( propertySerializer.getPropertyName() );
+                }
             }
         }
 
-        if ( null != anyGetterPropertySerializer ) {
+        if ( null != anyGetterPropertySerializer && anyGetterPropertySerializer.isIncludedInView( activeViewMask ) ) {
             anyGetterPropertySerializer.serialize( writer, value, ctx );
         }
     }
@@ -44,6 +44,15 @@ public abstract class AnyGetterPropertySerializer<T> extends BeanPropertySeriali
         super( null );
     }
 
+    /**
+     * <p>Constructor for AnyGetterPropertySerializer.</p>
+     *
+     * @param viewMask bit mask of the views the any-getter belongs to
+     */
+    public AnyGetterPropertySerializer( int viewMask ) {
+        super( null, viewMask );
+    }
+
     /** {@inheritDoc} */
     public void serializePropertyName( JsonWriter writer, T bean, JsonSerializationContext ctx ) {
         // no-op
@@ -60,4 +69,32 @@ public abstract class AnyGetterPropertySerializer<T> extends BeanPropertySeriali
             ((MapJsonSerializer) getSerializer()).serializeValues( writer, map, ctx, getParameters() );
         }
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The entries are compared from their JSON : the keys removed since {@code previousBean} are written with a null value, the
+     * values that are objects are patched recursively and the other changed values are written.
+     */
+    @Override
+    public boolean serializeDiff( JsonWriter writer, T previousBean, T bean, JsonSerializationContext ctx ) {
+        Map previous = getValue( previousBean, ctx );
+        Map map = getValue( bean, ctx );
+        if ( isEqual( previous, map ) ) {
+            return false;
+        }
+        // the current entries are serialized first so the shared instances are fully written in their JSON
+        String json = serializeToJson( map, ctx );
+        return MergePatch.writeMembers( writer, serializeToJson( previous, ctx ), json, ctx );
+    }
+
+    private String serializeToJson( Map map, JsonSerializationContext ctx ) {
+        JsonWriter writer = ctx.newJsonWriter();
+        writer.beginObject();
+        if ( null != map ) {
+            ((MapJsonSerializer) getSerializer()).serializeValues( writer, map, ctx, getParameters() );
+        }
+        writer.endObject();
+        return writer.getOutput();
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.github.nmorel.gwtjackson.client.ser.bean;
 
+import java.util.Arrays;
+
 import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
 import com.github.nmorel.gwtjackson.client.JsonSerializerParameters;
@@ -31,7 +33,12 @@ public abstract class BeanPropertySerializer<T, V> extends HasSerializer<V, Json
 
     protected final String propertyName;
 
-    private JsonSerializerParameters parameters;
+    /**
+     * Bit mask of the views this property belongs to. 0 means the property is not restricted to any view.
+     */
+    private final int viewMask;
+
+    private volatile JsonSerializerParameters parameters;
 
     /**
      * <p>Constructor for BeanPropertySerializer.</p>
@@ -39,7 +46,18 @@ public abstract class BeanPropertySerializer<T, V> extends HasSerializer<V, Json
      * @param propertyName a {@link java.lang.String} object.
      */
     protected BeanPropertySerializer( String propertyName ) {
+        this( propertyName, 0 );
+    }
+
+    /**
+     * <p>Constructor for BeanPropertySerializer.</p>
+     *
+     * @param propertyName a {@link java.lang.String} object.
+     * @param viewMask bit mask of the views this property belongs to
+     */
+    protected BeanPropertySerializer( String propertyName, int viewMask ) {
         this.propertyName = propertyName;
+        this.viewMask = viewMask;
     }
 
     /**
@@ -48,8 +66,10 @@ public abstract class BeanPropertySerializer<T, V> extends HasSerializer<V, Json
      * @return a {@link com.github.nmorel.gwtjackson.client.JsonSerializerParameters} object.
      */
     protected JsonSerializerParameters getParameters() {
+        JsonSerializerParameters parameters = this.parameters;
         if ( null == parameters ) {
             parameters = newParameters();
+            this.parameters = parameters;
         }
         return parameters;
     }
@@ -72,6 +92,16 @@ public abstract class BeanPropertySerializer<T, V> extends HasSerializer<V, Json
         return propertyName;
     }
 
+    /**
+     * <p>isIncludedInView</p>
+     *
+     * @param activeViewMask bit mask of the active view, as returned by the bean serializer
+     * @return true if the property has no view or belongs to the active view
+     */
+    public boolean isIncludedInView( int activeViewMask ) {
+        return 0 == viewMask || 0 != (viewMask & activeViewMask);
+    }
+
     /**
      * Serializes the property name
      *
@@ -102,4 +132,99 @@ public abstract class BeanPropertySerializer<T, V> extends HasSerializer<V, Json
     public void serialize( JsonWriter writer, T bean, JsonSerializationContext ctx ) {
         getSerializer().serialize( writer, getValue( bean, ctx ), ctx, getParameters() );
     }
+
+    /**
+     * Serializes the property as a member of a JSON Merge Patch (RFC 7396) if its value in {@code bean} differs from its value in
+     * {@code previousBean}. A property set to null is written as null, a nested bean or a map is patched recursively and any other
+     * value (collections, arrays...) replaces the previous one.
+     *
+     * @param writer writer
+     * @param previousBean bean containing the previous value of the property
+     * @param bean bean containing the property to serialize
+     * @param ctx context of the serialization process
+     * @return true if the property has changed and has been written
+     */
+    public boolean serializeDiff( JsonWriter writer, T previousBean, T bean, JsonSerializationContext ctx ) {
+        V previous = getValue( previousBean, ctx );
+        V value = getValue( bean, ctx );
+
+        if ( null == value ) {
+            if ( null == previous || getParameters().isUnwrapped() ) {
+                return false;
+            }
+            // null removes the member from the target
+            serializePropertyName( writer, bean, ctx );
+            writer.nullValue();
+            return true;
+        }
+
+        JsonSerializer<V> serializer = getSerializer();
+        if ( null != previous && serializer instanceof AbstractBeanJsonSerializer ) {
+            AbstractBeanJsonSerializer<V> beanSerializer = (AbstractBeanJsonSerializer<V>) serializer;
+            if ( getParameters().isUnwrapped() ) {
+                // the properties of an unwrapped bean are members of the current object
+                return beanSerializer.serializeDiff( writer, previous, value, ctx, getParameters() );
+            }
+            // the nested patch is written apart and dropped if it is empty
+            JsonWriter patchWriter = ctx.newJsonWriter();
+            if ( !beanSerializer.serializeDiff( patchWriter, previous, value, ctx, getParameters() ) ) {
+                return false;
+            }
+            serializePropertyName( writer, bean, ctx );
+            writer.rawValue( patchWriter.getOutput() );
+            return true;
+        }
+
+        if ( isEqual( previous, value ) ) {
+            return false;
+        }
+        if ( null == previous ) {
+            serializePropertyName( writer, bean, ctx );
+            serializer.serialize( writer, value, ctx, getParameters() );
+            return true;
+        }
+
+        String json = serializeToJson( value, ctx );
+        if ( !MergePatch.isObject( json ) ) {
+            // the arrays and the scalar values are replaced
+            serializePropertyName( writer, bean, ctx );
+            writer.rawValue( json );
+            return true;
+        }
+
+        // the patch of an object is computed from the JSON of both values, a map is patched key by key
+        String patch = MergePatch.diff( serializeToJson( previous, ctx ), json, ctx );
+        if ( null == patch ) {
+            return false;
+        }
+        serializePropertyName( writer, bean, ctx );
+        writer.rawValue( patch );
+        return true;
+    }
+
+    private String serializeToJson( V value, JsonSerializationContext ctx ) {
+        JsonWriter writer = ctx.newJsonWriter();
+        getSerializer().serialize( writer, value, ctx, getParameters() );
+        return writer.getOutput();
+    }
+
+    /**
+     * <p>isEqual</p>
+     *
+     * @param previous previous value
+     * @param value current value
+     * @return true if both values are equal. The content of the arrays is compared.
+     */
+    protected static boolean isEqual( Object previous, Object value ) {
+        if ( previous == value ) {
+            return true;
+        }
+        if ( null == previous || null == value ) {
+            return false;
+        }
+        if ( previous.getClass().isArray() ) {
+            return Arrays.deepEquals( new Object[]{previous}, new Object[]{value} );
+        }
+        return previous.equals( value );
+    }
 }
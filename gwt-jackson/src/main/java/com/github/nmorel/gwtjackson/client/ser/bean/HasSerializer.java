@@ -19,14 +19,15 @@ package com.github.nmorel.gwtjackson.client.ser.bean;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
 
 /**
- * Lazy initialize a {@link JsonSerializer}
+ * Lazy initialize a {@link JsonSerializer}. Threads racing on the first access may each create an instance, they are equivalent and
+ * the volatile field guarantees the one read is fully constructed.
  *
  * @author Nicolas Morel
  * @version $Id: $
  */
 public abstract class HasSerializer<V, S extends JsonSerializer<V>> {
 
-    private S serializer;
+    private volatile S serializer;
 
     /**
      * <p>Getter for the field <code>serializer</code>.</p>
@@ -34,8 +35,10 @@ public abstract class HasSerializer<V, S extends JsonSerializer<V>> {
      * @return a S object.
      */
     protected S getSerializer() {
+        S serializer = this.serializer;
         if ( null == serializer ) {
             serializer = (S) newSerializer();
+            this.serializer = serializer;
         }
         return serializer;
     }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.ser.bean;
+
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.JsonSerializerParameters;
+
+/**
+ * Property serializer used by the compact generation mode. Instead of generating a class for each property, the bean serializer
+ * generates one method per operation with a switch on the index of the property, and all its properties share this class.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class IndexedBeanPropertySerializer<T, V> extends BeanPropertySerializer<T, V> {
+
+    private final AbstractBeanJsonSerializer<T> beanSerializer;
+
+    private final int index;
+
+    /**
+     * <p>Constructor for IndexedBeanPropertySerializer.</p>
+     *
+     * @param beanSerializer the bean serializer owning the property
+     * @param index index of the property in the bean serializer
+     * @param propertyName name of the property
+     * @param viewMask views of the property
+     */
+    public IndexedBeanPropertySerializer( AbstractBeanJsonSerializer<T> beanSerializer, int index, String propertyName, int viewMask ) {
+        super( propertyName, viewMask );
+        this.beanSerializer = beanSerializer;
+        this.index = index;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected JsonSerializer<?> newSerializer() {
+        return beanSerializer.newPropertySerializer( index );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected JsonSerializerParameters newParameters() {
+        return beanSerializer.newPropertyParameters( index );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public V getValue( T bean, JsonSerializationContext ctx ) {
+        return (V) beanSerializer.getPropertyValue( index, bean, ctx );
+    }
+}
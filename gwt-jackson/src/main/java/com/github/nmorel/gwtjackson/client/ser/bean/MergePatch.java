@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.ser.bean;
+
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.tree.JsonNode;
+
+/**
+ * Computes the JSON Merge Patch (RFC 7396) between two JSON values. Used when the Java values cannot be compared property by
+ * property : maps, beans whose subtype changed or beans wrapped by their type info.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class MergePatch {
+
+    /**
+     * Returns the patch to apply on {@code previous} to obtain {@code value}.
+     *
+     * @param previous JSON of the previous value
+     * @param value JSON of the current value
+     * @param ctx context of the serialization process
+     * @return the patch or null if both values are equal
+     */
+    static String diff( String previous, String value, JsonSerializationContext ctx ) {
+        if ( previous.equals( value ) ) {
+            return null;
+        }
+        return diff( JsonNode.parse( previous ), JsonNode.parse( value ), ctx );
+    }
+
+    private static String diff( JsonNode previous, JsonNode value, JsonSerializationContext ctx ) {
+        if ( previous.equals( value ) ) {
+            return null;
+        }
+        if ( !previous.isObject() || !value.isObject() ) {
+            // the arrays and the scalar values are replaced
+            return value.toJson();
+        }
+        JsonWriter writer = ctx.newJsonWriter();
+        writer.beginObject();
+        boolean changed = writeMembers( writer, previous, value, ctx );
+        writer.endObject();
+        return changed ? writer.getOutput() : null;
+    }
+
+    /**
+     * Returns true if the JSON value is an object.
+     *
+     * @param json JSON value
+     * @return true if the value is an object
+     */
+    static boolean isObject( String json ) {
+        for ( int i = 0; i < json.length(); i++ ) {
+            char c = json.charAt( i );
+            if ( ' ' != c && '\n' != c && '\t' != c && '\r' != c ) {
+                return '{' == c;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the members of the patch between two objects inside the current object of the writer.
+     *
+     * @param writer writer positioned inside an object
+     * @param previous JSON object of the previous value
+     * @param value JSON object of the current value
+     * @param ctx context of the serialization process
+     * @return true if a member has been written
+     */
+    static boolean writeMembers( JsonWriter writer, String previous, String value, JsonSerializationContext ctx ) {
+        if ( previous.equals( value ) ) {
+            return false;
+        }
+        return writeMembers( writer, JsonNode.parse( previous ), JsonNode.parse( value ), ctx );
+    }
+
+    private static boolean writeMembers( JsonWriter writer, JsonNode previous, JsonNode value, JsonSerializationContext ctx ) {
+        boolean changed = false;
+        List<String> previousNames = previous.getNames();
+        for ( String name : previousNames ) {
+            if ( !value.has( name ) ) {
+                // null removes the member from the target
+                writer.name( name );
+                writer.nullValue();
+                changed = true;
+            }
+        }
+
+        List<String> names = value.getNames();
+        List<JsonNode> children = value.getChildren();
+        for ( int i = 0; i < names.size(); i++ ) {
+            String name = names.get( i );
+            JsonNode previousChild = previous.get( name );
+            String patch = null == previousChild ? children.get( i ).toJson() : diff( previousChild, children.get( i ), ctx );
+            if ( null != patch ) {
+                writer.name( name );
+                writer.rawValue( patch );
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private MergePatch() {
+    }
+}
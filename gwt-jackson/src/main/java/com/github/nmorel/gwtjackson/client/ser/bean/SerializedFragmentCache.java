@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.ser.bean;
+
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+
+/**
+ * Bounded cache of the JSON written for the instances of an immutable bean, see
+ * {@link com.github.nmorel.gwtjackson.client.annotation.JsonCachedSerialization}. The instances are compared by identity. Each JSON is
+ * stored with the options of the {@link JsonSerializationContext} used to write it and is only reused with the same options.
+ * <p>The cache is direct-mapped : each instance has only one possible slot, chosen by its identity hash, and replaces the JSON
+ * previously stored in this slot. A lookup costs one array access and the entries are immutable so the cache can be shared between
+ * threads on the JVM without locking, which an LRU list could not offer. The instances are strongly referenced because GWT has no weak
+ * reference; at most {@code maxSize} of them are retained and an evicted instance is released.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class SerializedFragmentCache {
+
+    private static final class Entry {
+
+        private final Object value;
+
+        private final int options;
+
+        private final Class<?> view;
+
+        private final String json;
+
+        private Entry( Object value, int options, Class<?> view, String json ) {
+            this.value = value;
+            this.options = options;
+            this.view = view;
+            this.json = json;
+        }
+    }
+
+    private final Entry[] entries;
+
+    private final int mask;
+
+    /**
+     * <p>Constructor for SerializedFragmentCache.</p>
+     *
+     * @param maxSize maximum number of cached instances, rounded up to a power of 2
+     */
+    public SerializedFragmentCache( int maxSize ) {
+        int capacity = 1;
+        while ( capacity < maxSize && capacity < (1 << 30) ) {
+            capacity <<= 1;
+        }
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the options of the context that change the JSON written for a bean.
+     */
+    private static int options( JsonSerializationContext ctx ) {
+        int options = 0;
+        if ( ctx.isSerializeNulls() ) {
+            options |= 1;
+        }
+        if ( ctx.isWriteDatesAsTimestamps() ) {
+            options |= 1 << 1;
+        }
+        if ( ctx.isWriteDateKeysAsTimestamps() ) {
+            options |= 1 << 2;
+        }
+        if ( ctx.isWriteCharArraysAsJsonArrays() ) {
+            options |= 1 << 3;
+        }
+        if ( ctx.isWriteNullMapValues() ) {
+            options |= 1 << 4;
+        }
+        if ( ctx.isWriteEmptyJsonArrays() ) {
+            options |= 1 << 5;
+        }
+        if ( ctx.isOrderMapEntriesByKeys() ) {
+            options |= 1 << 6;
+        }
+        if ( ctx.isWriteSingleElemArraysUnwrapped() ) {
+            options |= 1 << 7;
+        }
+        return options;
+    }
+
+    private int index( Object value ) {
+        int h = System.identityHashCode( value );
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the JSON cached for the given instance and the options of the context.
+     *
+     * @param value the instance
+     * @param ctx context of the serialization process
+     *
+     * @return the cached JSON or null if there is none
+     */
+    public String get( Object value, JsonSerializationContext ctx ) {
+        Entry entry = entries[index( value )];
+        if ( null != entry && entry.value == value && entry.view == ctx.getActiveView() && entry.options == options( ctx ) ) {
+            return entry.json;
+        }
+        return null;
+    }
+
+    /**
+     * Caches the JSON written for the given instance with the options of the context.
+     *
+     * @param value the instance
+     * @param ctx context of the serialization process
+     * @param json the JSON written
+     */
+    public void put( Object value, JsonSerializationContext ctx, String json ) {
+        entries[index( value )] = new Entry( value, options( ctx ), ctx.getActiveView(), json );
+    }
+}
@@ -1157,6 +1157,17 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
   @Override
   public void skipValue()
   {
+    int first = peeked;
+    if (first == PEEKED_NONE) {
+      first = doPeek();
+    }
+    if (lenient && (first == PEEKED_BEGIN_ARRAY || first == PEEKED_BEGIN_OBJECT)) {
+      // the opening bracket is already consumed, we only look for the matching one
+      skipStructure();
+      peeked = PEEKED_NONE;
+      return;
+    }
+
     int count = 0;
     do {
       int p = peeked;
@@ -1193,6 +1204,78 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
     stack.set(stackSize++, newTop);
   }
 
+  /**
+   * Skips the rest of the array or object whose opening bracket has just been consumed. Only the nesting depth and the strings and
+   * comments, where a bracket does not count, are tracked. The content is not validated, so it is only used in lenient mode.
+   */
+  private void skipStructure()
+  {
+    char[] buffer = this.buffer;
+    int depth = 1;
+    do {
+      int p = pos;
+      int l = limit;
+      while (p < l) {
+        char c = buffer[p++];
+        switch (c) {
+        case '[':
+        case '{':
+          depth++;
+          break;
+        case ']':
+        case '}':
+          if (--depth == 0) {
+            pos = p;
+            return;
+          }
+          break;
+        case '\n':
+          lineNumber++;
+          lineStart = p;
+          break;
+        case '\'':
+          pos = p;
+          skipQuotedValue(c);
+          p = pos;
+          l = limit;
+          break;
+        case '"':
+          pos = p;
+          skipQuotedValue(c);
+          p = pos;
+          l = limit;
+          break;
+        case '#':
+          pos = p;
+          skipToEndOfLine();
+          p = pos;
+          l = limit;
+          break;
+        case '/':
+          pos = p;
+          if (pos < limit || fillBuffer(1)) {
+            if (buffer[pos] == '/') {
+              skipToEndOfLine();
+            } else if (buffer[pos] == '*') {
+              pos++;
+              if (!skipTo("*/")) {
+                throw syntaxError("Unterminated comment");
+              }
+              pos += 2;
+            }
+          }
+          p = pos;
+          l = limit;
+          break;
+        default:
+          break;
+        }
+      }
+      pos = p;
+    } while (fillBuffer(1));
+    throw syntaxError("End of input");
+  }
+
   /**
    * Returns true once {@code limit - pos >= minimum}. If the data is
    * exhausted before that many characters are available, this returns
@@ -266,6 +266,16 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
    */
   private String peekedString;
 
+  /**
+   * Cache used to deduplicate the string values read. Null if the values are not deduplicated.
+   */
+  private StringCache stringCache;
+
+  /**
+   * True if the reader only reads the elements of an array found in a region of the input
+   */
+  private boolean arrayRegion;
+
   /*
    * The nesting stack. Using a manual array rather than an ArrayList saves 20%.
    */
@@ -292,6 +302,40 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     }
   }
 
+  /**
+   * Creates a new instance that reads the elements of a JSON array found in {@code in} between {@code start} and {@code end}. The
+   * reader is positioned inside the array: the region contains the elements and their separators but not the enclosing brackets,
+   * so the caller has to know how many elements to read. Once they are read, {@link #peek()} returns
+   * {@link JsonToken#END_DOCUMENT} if nothing is left in the region.
+   *
+   * @param in the input containing the array
+   * @param start index of the first character of the first element
+   * @param end index after the last character of the last element
+   */
+  public NonBufferedJsonReader( String in, int start, int end ) {
+    if (in == null) {
+      throw new NullPointerException("in == null");
+    }
+    if (start < 0 || end > in.length() || start > end) {
+      throw new IndexOutOfBoundsException("Invalid region [" + start + ", " + end + "[");
+    }
+    this.in = in;
+    this.pos = start;
+    this.limit = end;
+    stack.set(0, JsonScope.NONEMPTY_DOCUMENT);
+    stack.set(stackSize++, JsonScope.EMPTY_ARRAY);
+    arrayRegion = true;
+  }
+
+  /**
+   * Sets the cache used to deduplicate the string values read. The names are never deduplicated.
+   *
+   * @param stringCache the cache or null to disable the deduplication
+   */
+  public void setStringCache( StringCache stringCache ) {
+    this.stringCache = stringCache;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -463,8 +507,11 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
       stack.set(stackSize - 1, JsonScope.NONEMPTY_ARRAY);
     } else if (peekStack == JsonScope.NONEMPTY_ARRAY) {
       // Look for a comma before the next element.
-      int c = nextNonWhitespace(true);
+      int c = nextNonWhitespace(!(arrayRegion && stackSize == 2));
       switch (c) {
+      case -1:
+        // end of the region, all the elements have been read
+        return peeked = PEEKED_EOF;
       case ']':
         return peeked = PEEKED_END_ARRAY;
       case ';':
@@ -772,6 +819,19 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
   /** {@inheritDoc} */
   @Override
   public String nextString()
+  {
+    return nextString(stringCache);
+  }
+
+  /**
+   * Same as {@link #nextString()} but a quoted value without escape sequence is looked up in the given cache by its range in
+   * the input, so a value already cached is never allocated again.
+   *
+   * @param cache the cache or null to disable the deduplication
+   *
+   * @return the string
+   */
+  public String nextString(StringCache cache)
   {
     int p = peeked;
     if (p == PEEKED_NONE) {
@@ -781,9 +841,9 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     if (p == PEEKED_UNQUOTED) {
       result = nextUnquotedValue();
     } else if (p == PEEKED_SINGLE_QUOTED) {
-      result = nextQuotedValue('\'');
+      result = nextQuotedValue('\'', cache);
     } else if (p == PEEKED_DOUBLE_QUOTED) {
-      result = nextQuotedValue('"');
+      result = nextQuotedValue('"', cache);
     } else if (p == PEEKED_BUFFERED) {
       result = peekedString;
       peekedString = null;
@@ -920,9 +980,19 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
    *     malformed.
    */
   private String nextQuotedValue(char quote)
+  {
+    return nextQuotedValue(quote, null);
+  }
+
+  /**
+   * Same as {@link #nextQuotedValue(char)} but a string without escape sequence
+   * is looked up in the given cache before being allocated.
+   */
+  private String nextQuotedValue(char quote, StringCache cache)
   {
     // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
-    StringBuilder builder = new StringBuilder();
+    // The builder is only needed when the string contains escape sequences.
+    StringBuilder builder = null;
     int p = pos;
     /* the index of the first character not yet appended to the builder. */
     int start = p;
@@ -931,10 +1001,16 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
 
       if (c == quote) {
         pos = p;
+        if (builder == null) {
+          return cache == null ? in.substring(start, p - 1) : cache.get(in, start, p - 1);
+        }
         builder.append(in.substring(start, p - 1));
-        return builder.toString();
+        return cache == null ? builder.toString() : cache.get(builder.toString());
       } else if (c == '\\') {
         pos = p;
+        if (builder == null) {
+          builder = new StringBuilder();
+        }
         builder.append(in.substring(start, p - 1));
         builder.append(readEscapeCharacter());
         p = pos;
@@ -1096,6 +1172,17 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
   @Override
   public void skipValue()
   {
+    int first = peeked;
+    if (first == PEEKED_NONE) {
+      first = doPeek();
+    }
+    if (lenient && (first == PEEKED_BEGIN_ARRAY || first == PEEKED_BEGIN_OBJECT)) {
+      // the opening bracket is already consumed, we only look for the matching one
+      skipStructure();
+      peeked = PEEKED_NONE;
+      return;
+    }
+
     int count = 0;
     do {
       int p = peeked;
@@ -1132,6 +1219,69 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     stack.set(stackSize++, newTop);
   }
 
+  /**
+   * Skips the rest of the array or object whose opening bracket has just been consumed. Only the nesting depth and the strings and
+   * comments, where a bracket does not count, are tracked. The content is not validated, so it is only used in lenient mode.
+   */
+  private void skipStructure()
+  {
+    int depth = 1;
+    int p = pos;
+    int l = limit;
+    while (p < l) {
+      char c = in.charAt(p++);
+      switch (c) {
+      case '[':
+      case '{':
+        depth++;
+        break;
+      case ']':
+      case '}':
+        if (--depth == 0) {
+          pos = p;
+          return;
+        }
+        break;
+      case '\n':
+        lineNumber++;
+        lineStart = p;
+        break;
+      case '\'':
+        pos = p;
+        skipQuotedValue(c);
+        p = pos;
+        break;
+      case '"':
+        pos = p;
+        skipQuotedValue(c);
+        p = pos;
+        break;
+      case '#':
+        pos = p;
+        skipToEndOfLine();
+        p = pos;
+        break;
+      case '/':
+        pos = p;
+        if (p < l && in.charAt(p) == '/') {
+          skipToEndOfLine();
+        } else if (p < l && in.charAt(p) == '*') {
+          pos++;
+          if (!skipTo("*/")) {
+            throw syntaxError("Unterminated comment");
+          }
+          pos += 2;
+        }
+        p = pos;
+        break;
+      default:
+        break;
+      }
+    }
+    pos = p;
+    throw syntaxError("End of input");
+  }
+
   /** {@inheritDoc} */
   @Override
   public int getLineNumber() {
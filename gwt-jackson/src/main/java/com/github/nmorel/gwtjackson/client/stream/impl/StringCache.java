@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+
+/**
+ * Bounded cache used to share the instances of the short strings read. The strings are looked up by their range in the input
+ * so a string already in the cache is never allocated again.
+ * <p>The cache is direct-mapped : each string has only one possible slot, chosen by its hash, and replaces the string previously
+ * stored in this slot. Its memory footprint never grows past {@link #CAPACITY} entries.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class StringCache {
+
+    /**
+     * Number of slots, must be a power of 2.
+     */
+    public static final int CAPACITY = 1024;
+
+    /**
+     * Strings longer than this are rarely repeated and are not cached.
+     */
+    public static final int MAX_LENGTH = 32;
+
+    private final String[] values = new String[CAPACITY];
+
+    private int hitCount;
+
+    private int missCount;
+
+    private static int index( int h ) {
+        return (h ^ (h >>> 10) ^ (h >>> 20)) & (CAPACITY - 1);
+    }
+
+    private static boolean matches( String cached, String in, int start, int length ) {
+        if ( cached.length() != length ) {
+            return false;
+        }
+        for ( int i = 0; i < length; i++ ) {
+            if ( cached.charAt( i ) != in.charAt( start + i ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the string between the given indexes of the input, reusing the cached instance if it exists.
+     *
+     * @param in the input
+     * @param start index of the first character, inclusive
+     * @param end index of the last character, exclusive
+     *
+     * @return the string
+     */
+    public String get( String in, int start, int end ) {
+        int length = end - start;
+        if ( length > MAX_LENGTH ) {
+            return in.substring( start, end );
+        }
+
+        int h = 0;
+        for ( int i = start; i < end; i++ ) {
+            // only shifts and additions so the computation stays cheap in javascript
+            h = (h << 5) - h + in.charAt( i );
+        }
+        int index = index( h );
+
+        String cached = values[index];
+        if ( null != cached && matches( cached, in, start, length ) ) {
+            hitCount++;
+            return cached;
+        }
+        missCount++;
+        String value = in.substring( start, end );
+        values[index] = value;
+        return value;
+    }
+
+    /**
+     * Returns the cached instance equal to the given string if it exists. Otherwise the given string is cached and returned.
+     *
+     * @param value the string
+     *
+     * @return the cached instance
+     */
+    public String get( String value ) {
+        if ( null == value ) {
+            return null;
+        }
+        return get( value, 0, value.length() );
+    }
+
+    /**
+     * Reads the next string value of the reader, reusing the cached instance if it exists. With a {@link NonBufferedJsonReader}, the
+     * value is looked up by its range in the input before being allocated.
+     *
+     * @param reader the reader
+     *
+     * @return the string
+     */
+    public String nextString( JsonReader reader ) {
+        if ( reader instanceof NonBufferedJsonReader ) {
+            return ((NonBufferedJsonReader) reader).nextString( this );
+        }
+        return get( reader.nextString() );
+    }
+
+    /**
+     * Returns the number of lookups that found the string in the cache.
+     *
+     * @return the number of hits
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find the string in the cache. The strings longer than {@link #MAX_LENGTH} are
+     * not counted.
+     *
+     * @return the number of misses
+     */
+    public int getMissCount() {
+        return missCount;
+    }
+}
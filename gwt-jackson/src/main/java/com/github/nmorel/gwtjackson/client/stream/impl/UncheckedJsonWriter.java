@@ -0,0 +1,397 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsonUtils;
+
+/**
+ * {@link JsonWriter} trusting its caller to produce a well-formed sequence of tokens, like the generated serializers do. Unlike
+ * {@link FastJsonWriter}, it does not keep a stack of scopes to check the nesting of the tokens. The only state kept per depth is
+ * whether a separator is needed before the next element.
+ * <p>A misuse of this writer produces a malformed output instead of an {@link IllegalStateException}. Use the {@link FastJsonWriter}
+ * while developing custom serializers.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public class UncheckedJsonWriter implements JsonWriter {
+
+    /**
+     * The output data
+     */
+    private final StringBuilder out;
+
+    /**
+     * For each depth, true if the current array or object already contains an element. The index 0 is the document.
+     */
+    private boolean[] nonEmpty = new boolean[32];
+
+    private int depth = 0;
+
+    /**
+     * True if a name has just been written and its value is expected
+     */
+    private boolean afterName;
+
+    /**
+     * A string containing a full set of spaces for a single level of indentation, or null for no pretty printing.
+     */
+    private String indent;
+
+    /**
+     * The name/value separator; either ":" or ": ".
+     */
+    private String separator = ":";
+
+    private String deferredUnescapeName;
+
+    private String deferredName;
+
+    private boolean serializeNulls = true;
+
+    /**
+     * Creates a new instance that writes a JSON-encoded stream to {@code out}.
+     *
+     * @param out a {@link java.lang.StringBuilder} object.
+     */
+    public UncheckedJsonWriter( StringBuilder out ) {
+        if ( null == out ) {
+            throw new NullPointerException( "out == null" );
+        }
+        this.out = out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void setIndent( String indent ) {
+        if ( indent.length() == 0 ) {
+            this.indent = null;
+            this.separator = ":";
+        } else {
+            this.indent = indent;
+            this.separator = ": ";
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This writer is always lenient.
+     */
+    @Override
+    public final void setLenient( boolean lenient ) {
+        // no-op
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void setSerializeNulls( boolean serializeNulls ) {
+        this.serializeNulls = serializeNulls;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean getSerializeNulls() {
+        return serializeNulls;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter beginArray() {
+        writeDeferredName();
+        return open( '[' );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter endArray() {
+        return close( ']' );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter beginObject() {
+        writeDeferredName();
+        return open( '{' );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter endObject() {
+        return close( '}' );
+    }
+
+    private UncheckedJsonWriter open( char openBracket ) {
+        beforeValue();
+        depth++;
+        if ( depth == nonEmpty.length ) {
+            boolean[] newNonEmpty = new boolean[depth * 2];
+            System.arraycopy( nonEmpty, 0, newNonEmpty, 0, depth );
+            nonEmpty = newNonEmpty;
+        }
+        nonEmpty[depth] = false;
+        out.append( openBracket );
+        return this;
+    }
+
+    private UncheckedJsonWriter close( char closeBracket ) {
+        boolean hasElements = nonEmpty[depth];
+        depth--;
+        if ( hasElements ) {
+            newline();
+        }
+        out.append( closeBracket );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter name( String name ) {
+        deferredName = name;
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter unescapeName( String name ) {
+        deferredUnescapeName = name;
+        return this;
+    }
+
+    private void writeDeferredName() {
+        if ( null != deferredUnescapeName ) {
+            beforeName();
+            out.append( '\"' ).append( deferredUnescapeName ).append( '\"' );
+            deferredUnescapeName = null;
+        } else if ( null != deferredName ) {
+            beforeName();
+            out.append( JsonUtils.escapeValue( deferredName ) );
+            deferredName = null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter value( String value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        out.append( JsonUtils.escapeValue( value ) );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter unescapeValue( String value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        out.append( '\"' ).append( value ).append( '\"' );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter nullValue() {
+        if ( null != deferredUnescapeName || null != deferredName ) {
+            if ( serializeNulls ) {
+                writeDeferredName();
+            } else {
+                // skip the name and the value
+                deferredUnescapeName = null;
+                deferredName = null;
+                return this;
+            }
+        }
+        beforeValue();
+        out.append( "null" );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter cancelName() {
+        deferredUnescapeName = null;
+        deferredName = null;
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter value( boolean value ) {
+        writeDeferredName();
+        beforeValue();
+        out.append( value ? "true" : "false" );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter value( double value ) {
+        writeDeferredName();
+        beforeValue();
+        if ( Double.isNaN( value ) || Double.isInfinite( value ) ) {
+            out.append( '\"' ).append( value ).append( '\"' );
+        } else {
+            out.append( value );
+        }
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter value( long value ) {
+        writeDeferredName();
+        beforeValue();
+        out.append( value );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter value( Number value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        String string = value.toString();
+        if ( isQuotedNumber( value, string ) ) {
+            out.append( '\"' ).append( string ).append( '\"' );
+        } else {
+            out.append( string );
+        }
+        return this;
+    }
+
+    /**
+     * The infinite and NaN values are written as string. Only the floating-point and the unknown implementations of {@link Number} are
+     * checked.
+     */
+    private boolean isQuotedNumber( Number value, String string ) {
+        if ( value instanceof Double || value instanceof Float ) {
+            double d = value.doubleValue();
+            return Double.isNaN( d ) || Double.isInfinite( d );
+        }
+        if ( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte || value instanceof
+                BigDecimal || value instanceof BigInteger ) {
+            return false;
+        }
+        return string.equals( "-Infinity" ) || string.equals( "Infinity" ) || string.equals( "NaN" );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter value( JavaScriptObject value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        out.append( stringify( value ) );
+        return this;
+    }
+
+    private native String stringify( JavaScriptObject jso ) /*-{
+        return JSON.stringify(jso);
+    }-*/;
+
+    /** {@inheritDoc} */
+    @Override
+    public UncheckedJsonWriter rawValue( Object value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        out.append( value.toString() );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void flush() {
+        // nothing to flush, the output is built in memory
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if ( depth > 0 ) {
+            throw new JsonSerializationException( "Incomplete document" );
+        }
+    }
+
+    private void newline() {
+        if ( null == indent ) {
+            return;
+        }
+
+        out.append( '\n' );
+        for ( int i = 0; i < depth; i++ ) {
+            out.append( indent );
+        }
+    }
+
+    /**
+     * Inserts the separator and whitespace before a name.
+     */
+    private void beforeName() {
+        if ( nonEmpty[depth] ) {
+            out.append( ',' );
+        } else {
+            nonEmpty[depth] = true;
+        }
+        newline();
+        afterName = true;
+    }
+
+    /**
+     * Inserts the separator and whitespace before a value, an array or an object.
+     */
+    private void beforeValue() {
+        if ( afterName ) {
+            // value for name
+            out.append( separator );
+            afterName = false;
+        } else if ( depth > 0 ) {
+            // element of an array
+            if ( nonEmpty[depth] ) {
+                out.append( ',' );
+            } else {
+                nonEmpty[depth] = true;
+            }
+            newline();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getOutput() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.impl.NonBufferedJsonReader;
+
+/**
+ * Untyped JSON value. The JSON input is indexed once when the tree is read and the nodes only keep the position of their value in
+ * the input : the children, strings and numbers are decoded when they are accessed and {@link #toJson()} returns the corresponding
+ * slice of the input.
+ * <p>Example : </p>
+ * <pre>
+ * JsonNode node = JsonNode.parse("{\"name\":\"Nicolas\",\"tags\":[\"java\",\"gwt\"]}");
+ *
+ * node.get("name").asString()        ==&gt; "Nicolas"
+ * node.get("tags").size()            ==&gt; 2
+ * node.get("tags").get(1).asString() ==&gt; "gwt"
+ * node.get("tags").toJson()          ==&gt; "[\"java\",\"gwt\"]"
+ * </pre>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class JsonNode {
+
+    /**
+     * Indexes a JSON value.
+     *
+     * @param json the JSON value
+     * @return the root node of the value
+     * @throws com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException if the input is not a valid JSON value
+     */
+    public static JsonNode parse( String json ) {
+        return new JsonNode( new JsonNodeIndex( json ), 0 );
+    }
+
+    private final JsonNodeIndex index;
+
+    private final int token;
+
+    private JsonNode( JsonNodeIndex index, int token ) {
+        this.index = index;
+        this.token = token;
+    }
+
+    /**
+     * Returns the type of the value : {@link JsonToken#BEGIN_OBJECT}, {@link JsonToken#BEGIN_ARRAY}, {@link JsonToken#STRING},
+     * {@link JsonToken#NUMBER}, {@link JsonToken#BOOLEAN} or {@link JsonToken#NULL}.
+     *
+     * @return the type of the value
+     */
+    public JsonToken getType() {
+        return index.getType( token );
+    }
+
+    /**
+     * <p>isObject</p>
+     *
+     * @return true if the value is a JSON object
+     */
+    public boolean isObject() {
+        return JsonToken.BEGIN_OBJECT == getType();
+    }
+
+    /**
+     * <p>isArray</p>
+     *
+     * @return true if the value is a JSON array
+     */
+    public boolean isArray() {
+        return JsonToken.BEGIN_ARRAY == getType();
+    }
+
+    /**
+     * <p>isNull</p>
+     *
+     * @return true if the value is null
+     */
+    public boolean isNull() {
+        return JsonToken.NULL == getType();
+    }
+
+    /**
+     * Returns the number of elements of an array or properties of an object, 0 for the other values.
+     *
+     * @return the number of children
+     */
+    public int size() {
+        int size = 0;
+        int end = index.getNext( token );
+        int step = isObject() ? 2 : 1;
+        for ( int child = token + 1; child < end; child = index.getNext( child + step - 1 ) ) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the element at the given position of an array.
+     *
+     * @param position position of the element
+     * @return the element or null if this value is not an array or the position is out of its bounds
+     */
+    public JsonNode get( int position ) {
+        if ( !isArray() || position < 0 ) {
+            return null;
+        }
+        int end = index.getNext( token );
+        int child = token + 1;
+        for ( int i = 0; i < position && child < end; i++ ) {
+            child = index.getNext( child );
+        }
+        return child < end ? new JsonNode( index, child ) : null;
+    }
+
+    /**
+     * Returns the value of a property of an object.
+     *
+     * @param name name of the property
+     * @return the value or null if this value is not an object or doesn't have the property
+     */
+    public JsonNode get( String name ) {
+        if ( !isObject() ) {
+            return null;
+        }
+        int end = index.getNext( token );
+        for ( int child = token + 1; child < end; child = index.getNext( child + 1 ) ) {
+            if ( nameEquals( child, name ) ) {
+                return new JsonNode( index, child + 1 );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * <p>has</p>
+     *
+     * @param name name of the property
+     * @return true if this value is an object containing the property
+     */
+    public boolean has( String name ) {
+        return null != get( name );
+    }
+
+    /**
+     * Returns the names of the properties of an object, in the order of the input.
+     *
+     * @return the names or an empty list if this value is not an object
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<String>();
+        if ( isObject() ) {
+            int end = index.getNext( token );
+            for ( int child = token + 1; child < end; child = index.getNext( child + 1 ) ) {
+                names.add( decodeString( child ) );
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns the children of an array or the values of the properties of an object.
+     *
+     * @return the children or an empty list for the other values
+     */
+    public List<JsonNode> getChildren() {
+        List<JsonNode> children = new ArrayList<JsonNode>();
+        int end = index.getNext( token );
+        int offset = isObject() ? 1 : 0;
+        for ( int child = token + 1; child < end; child = index.getNext( child + offset ) ) {
+            children.add( new JsonNode( index, child + offset ) );
+        }
+        return children;
+    }
+
+    /**
+     * Returns the decoded value of a string, null for a null value and the JSON representation of the other values.
+     *
+     * @return the value as a String
+     */
+    public String asString() {
+        switch ( getType() ) {
+            case STRING:
+                return decodeString( token );
+            case NULL:
+                return null;
+            default:
+                return toJson();
+        }
+    }
+
+    /**
+     * Returns the value of a number. For non-decimal number, if it fits into an int, an int is returned, else a long else a
+     * {@link java.math.BigInteger}. For decimal number, a double is returned.
+     *
+     * @return the value as a Number
+     * @throws java.lang.IllegalStateException if the value is not a number
+     */
+    public Number asNumber() {
+        return newValueReader().nextNumber();
+    }
+
+    /**
+     * <p>asDouble</p>
+     *
+     * @return the value of a number or a string containing a number
+     * @throws java.lang.IllegalStateException if the value is not a number or a string
+     */
+    public double asDouble() {
+        return newValueReader().nextDouble();
+    }
+
+    /**
+     * <p>asLong</p>
+     *
+     * @return the value of a number or a string containing a number
+     * @throws java.lang.IllegalStateException if the value is not a number or a string
+     */
+    public long asLong() {
+        return newValueReader().nextLong();
+    }
+
+    /**
+     * <p>asInt</p>
+     *
+     * @return the value of a number or a string containing a number
+     * @throws java.lang.IllegalStateException if the value is not a number or a string
+     */
+    public int asInt() {
+        return newValueReader().nextInt();
+    }
+
+    /**
+     * <p>asBoolean</p>
+     *
+     * @return the value of a boolean
+     * @throws java.lang.IllegalStateException if the value is not a boolean
+     */
+    public boolean asBoolean() {
+        if ( JsonToken.BOOLEAN != getType() ) {
+            throw new IllegalStateException( "Expected a boolean but was " + getType() );
+        }
+        return 't' == index.getInput().charAt( index.getStart( token ) );
+    }
+
+    /**
+     * Returns the JSON representation of the value, as found in the input.
+     *
+     * @return the JSON representation of the value
+     */
+    public String toJson() {
+        return index.getInput().substring( index.getStart( token ), index.getEnd( token ) );
+    }
+
+    /**
+     * Returns a reader on the value, to deserialize it with a {@link com.github.nmorel.gwtjackson.client.JsonDeserializer}.
+     *
+     * @return a reader on the value
+     */
+    public JsonReader newJsonReader() {
+        NonBufferedJsonReader reader = new NonBufferedJsonReader( toJson() );
+        reader.setLenient( true );
+        return reader;
+    }
+
+    private JsonReader newValueReader() {
+        // the reader is positioned inside an array containing only the value
+        NonBufferedJsonReader reader = new NonBufferedJsonReader( index.getInput(), index.getStart( token ), index.getEnd( token ) );
+        reader.setLenient( true );
+        return reader;
+    }
+
+    private boolean nameEquals( int name, String expected ) {
+        String input = index.getInput();
+        int start = index.getStart( name ) + 1;
+        int length = index.getEnd( name ) - 1 - start;
+        if ( !hasEscapedCharacter( input, start, start + length ) ) {
+            // no escaped character, we compare the name directly in the input
+            return length == expected.length() && input.regionMatches( start, expected, 0, length );
+        }
+        return expected.equals( decodeString( name ) );
+    }
+
+    private String decodeString( int string ) {
+        String input = index.getInput();
+        int start = index.getStart( string );
+        int end = index.getEnd( string );
+        if ( !hasEscapedCharacter( input, start + 1, end - 1 ) ) {
+            // no escaped character
+            return input.substring( start + 1, end - 1 );
+        }
+        return new NonBufferedJsonReader( input, start, end ).nextString();
+    }
+
+    private static boolean hasEscapedCharacter( String input, int start, int end ) {
+        for ( int i = start; i < end; i++ ) {
+            if ( '\\' == input.charAt( i ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if ( this == o ) {
+            return true;
+        }
+        if ( !(o instanceof JsonNode) ) {
+            return false;
+        }
+        return toJson().equals( ((JsonNode) o).toJson() );
+    }
+
+    @Override
+    public int hashCode() {
+        return toJson().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.tree;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException;
+
+/**
+ * Structural index of a JSON value. Each value and each property name of the input is a token described by its type, the offsets of
+ * its first and last character in the input and the index of the token following it and all its children. The values themselves are
+ * only decoded when a {@link JsonNode} asks for them.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class JsonNodeIndex {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final String input;
+
+    private JsonToken[] types = new JsonToken[DEFAULT_CAPACITY];
+
+    private int[] starts = new int[DEFAULT_CAPACITY];
+
+    private int[] ends = new int[DEFAULT_CAPACITY];
+
+    private int[] nexts = new int[DEFAULT_CAPACITY];
+
+    private int size;
+
+    private int pos;
+
+    JsonNodeIndex( String input ) {
+        this.input = input;
+        scan();
+    }
+
+    String getInput() {
+        return input;
+    }
+
+    JsonToken getType( int token ) {
+        return types[token];
+    }
+
+    int getStart( int token ) {
+        return starts[token];
+    }
+
+    int getEnd( int token ) {
+        return ends[token];
+    }
+
+    int getNext( int token ) {
+        return nexts[token];
+    }
+
+    private void scan() {
+        int[] stack = new int[DEFAULT_CAPACITY];
+        int depth = 0;
+        boolean expectValue = true;
+
+        while ( true ) {
+            skipWhitespace();
+
+            if ( expectValue ) {
+                char c = charAt( pos );
+                if ( '{' == c || '[' == c ) {
+                    if ( depth == stack.length ) {
+                        int[] newStack = new int[depth * 2];
+                        System.arraycopy( stack, 0, newStack, 0, depth );
+                        stack = newStack;
+                    }
+                    stack[depth++] = add( '{' == c ? JsonToken.BEGIN_OBJECT : JsonToken.BEGIN_ARRAY, pos, -1 );
+                    pos++;
+                    skipWhitespace();
+                    if ( charAt( pos ) == ('{' == c ? '}' : ']') ) {
+                        end( stack[--depth] );
+                        expectValue = false;
+                    } else if ( '{' == c ) {
+                        scanName();
+                    }
+                } else {
+                    scanScalar( c );
+                    expectValue = false;
+                }
+            } else if ( depth == 0 ) {
+                if ( pos < input.length() ) {
+                    throw error( "Unexpected character after the JSON value" );
+                }
+                return;
+            } else {
+                char c = charAt( pos );
+                boolean inObject = JsonToken.BEGIN_OBJECT == types[stack[depth - 1]];
+                if ( ',' == c ) {
+                    pos++;
+                    if ( inObject ) {
+                        skipWhitespace();
+                        scanName();
+                    }
+                    expectValue = true;
+                } else if ( c == (inObject ? '}' : ']') ) {
+                    end( stack[--depth] );
+                } else {
+                    throw error( "Unexpected character '" + c + "'" );
+                }
+            }
+        }
+    }
+
+    private void scanName() {
+        if ( '"' != charAt( pos ) ) {
+            throw error( "Expected a property name" );
+        }
+        int start = pos;
+        pos = endOfString( start );
+        add( JsonToken.NAME, start, pos );
+        skipWhitespace();
+        if ( ':' != charAt( pos ) ) {
+            throw error( "Expected ':'" );
+        }
+        pos++;
+    }
+
+    private void scanScalar( char c ) {
+        int start = pos;
+        if ( '"' == c ) {
+            pos = endOfString( start );
+            add( JsonToken.STRING, start, pos );
+        } else if ( 't' == c ) {
+            scanLiteral( "true", JsonToken.BOOLEAN );
+        } else if ( 'f' == c ) {
+            scanLiteral( "false", JsonToken.BOOLEAN );
+        } else if ( 'n' == c ) {
+            scanLiteral( "null", JsonToken.NULL );
+        } else {
+            scanNumber( c );
+        }
+    }
+
+    /**
+     * Scans a number following the JSON grammar : {@code -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?}
+     */
+    private void scanNumber( char c ) {
+        int start = pos;
+        if ( '-' == c ) {
+            pos++;
+        }
+        char first = peekChar();
+        if ( '0' == first ) {
+            pos++;
+        } else if ( first >= '1' && first <= '9' ) {
+            skipDigits();
+        } else {
+            throw error( start == pos ? "Unexpected character '" + c + "'" : "Expected a digit" );
+        }
+        if ( '.' == peekChar() ) {
+            pos++;
+            if ( !skipDigits() ) {
+                throw error( "Expected a digit" );
+            }
+        }
+        char exponent = peekChar();
+        if ( 'e' == exponent || 'E' == exponent ) {
+            pos++;
+            char sign = peekChar();
+            if ( '+' == sign || '-' == sign ) {
+                pos++;
+            }
+            if ( !skipDigits() ) {
+                throw error( "Expected a digit" );
+            }
+        }
+        add( JsonToken.NUMBER, start, pos );
+    }
+
+    /**
+     * Skips the digits at the current position.
+     *
+     * @return true if at least one digit has been skipped
+     */
+    private boolean skipDigits() {
+        int start = pos;
+        while ( pos < input.length() && input.charAt( pos ) >= '0' && input.charAt( pos ) <= '9' ) {
+            pos++;
+        }
+        return start != pos;
+    }
+
+    private void scanLiteral( String literal, JsonToken type ) {
+        if ( !input.startsWith( literal, pos ) ) {
+            throw error( "Expected '" + literal + "'" );
+        }
+        add( type, pos, pos + literal.length() );
+        pos += literal.length();
+    }
+
+    private int endOfString( int start ) {
+        int i = start + 1;
+        while ( true ) {
+            char c = charAt( i );
+            if ( '\\' == c ) {
+                i += 2;
+            } else if ( '"' == c ) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while ( pos < input.length() ) {
+            char c = input.charAt( pos );
+            if ( ' ' != c && '\n' != c && '\r' != c && '\t' != c ) {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private char peekChar() {
+        // 0 is never a valid character at this position
+        return pos < input.length() ? input.charAt( pos ) : 0;
+    }
+
+    private char charAt( int index ) {
+        if ( index >= input.length() ) {
+            throw error( "End of input" );
+        }
+        return input.charAt( index );
+    }
+
+    private int add( JsonToken type, int start, int end ) {
+        if ( size == types.length ) {
+            int capacity = size * 2;
+            JsonToken[] newTypes = new JsonToken[capacity];
+            System.arraycopy( types, 0, newTypes, 0, size );
+            types = newTypes;
+            starts = grow( starts, capacity );
+            ends = grow( ends, capacity );
+            nexts = grow( nexts, capacity );
+        }
+        types[size] = type;
+        starts[size] = start;
+        ends[size] = end;
+        nexts[size] = size + 1;
+        return size++;
+    }
+
+    private int[] grow( int[] array, int capacity ) {
+        int[] newArray = new int[capacity];
+        System.arraycopy( array, 0, newArray, 0, size );
+        return newArray;
+    }
+
+    private void end( int container ) {
+        pos++;
+        ends[container] = pos;
+        nexts[container] = size;
+    }
+
+    private MalformedJsonException error( String message ) {
+        return new MalformedJsonException( message + " at index " + pos );
+    }
+}
@@ -86,7 +86,10 @@ public final class DateFormat {
      */
     public static final TimeZone UTC_TIMEZONE = TimeZone.createTimeZone( 0 );
 
-    private static final Map<String, DateParser> CACHE_PARSERS = new HashMap<String, DateParser>();
+    /**
+     * Copied on write so the lookups don't need any lock when the parsers are shared between threads on the JVM
+     */
+    private static volatile Map<String, DateParser> parsersCache = new HashMap<String, DateParser>();
 
     /**
      * Format a date using {@link #DATE_FORMAT_STR_ISO8601} and {@link #UTC_TIMEZONE}
@@ -182,21 +185,32 @@ public final class DateFormat {
             return parse( DateFormat.DATE_FORMAT_STR_ISO8601, date );
         } else {
             String patternCacheKey = pattern + useBrowserTimezone;
-            DateParser parser = CACHE_PARSERS.get( patternCacheKey );
+            DateParser parser = parsersCache.get( patternCacheKey );
             if ( null == parser ) {
-                boolean patternHasTz = useBrowserTimezone || (hasTz == null ? hasTz(pattern) : hasTz.booleanValue());
-                if ( patternHasTz ) {
-                    parser = new DateParser( pattern );
-                } else {
-                    // the pattern does not have a timezone, we use the UTC timezone as reference
-                    parser = new DateParserNoTz( pattern );
-                }
-                CACHE_PARSERS.put( patternCacheKey, parser );
+                parser = cacheParser( patternCacheKey, useBrowserTimezone, pattern, hasTz );
             }
             return parser.parse( date );
         }
     }
 
+    private static synchronized DateParser cacheParser( String patternCacheKey, boolean useBrowserTimezone, String pattern, Boolean
+            hasTz ) {
+        DateParser parser = parsersCache.get( patternCacheKey );
+        if ( null == parser ) {
+            boolean patternHasTz = useBrowserTimezone || (hasTz == null ? hasTz(pattern) : hasTz.booleanValue());
+            if ( patternHasTz ) {
+                parser = new DateParser( pattern );
+            } else {
+                // the pattern does not have a timezone, we use the UTC timezone as reference
+                parser = new DateParserNoTz( pattern );
+            }
+            Map<String, DateParser> parsers = new HashMap<String, DateParser>( parsersCache );
+            parsers.put( patternCacheKey, parser );
+            parsersCache = parsers;
+        }
+        return parser;
+    }
+
     /**
      * Find if a pattern contains informations about the timezone.
      *
@@ -0,0 +1,880 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException;
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * {@link JsonReader} parsing UTF-8 encoded JSON held in a byte array in two stages. The first one builds a {@link StructuralIndex}
+ * of the input, in parallel for large inputs. The second one is this reader: it goes from one indexed token to the next instead of
+ * classifying every byte, the strings are decoded knowing their end and the skipped objects and arrays are crossed by walking the
+ * index.
+ * <p>The input must follow the JSON specification, as for {@link Utf8JsonReader}. The content of the skipped values is not
+ * validated, only their structure. The whole input and its index stay in memory while reading: for inputs that don't fit in a byte
+ * array, use a {@link MappedFileJsonReader}.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public class IndexedJsonReader implements JsonReader {
+
+    private static final Charset ISO_8859_1 = Charset.forName( "ISO-8859-1" );
+
+    private static final int EMPTY_ARRAY = 1;
+
+    private static final int NONEMPTY_ARRAY = 2;
+
+    private static final int EMPTY_OBJECT = 3;
+
+    private static final int DANGLING_NAME = 4;
+
+    private static final int NONEMPTY_OBJECT = 5;
+
+    private static final int EMPTY_DOCUMENT = 6;
+
+    private static final int NONEMPTY_DOCUMENT = 7;
+
+    private static final int CLOSED = 8;
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final byte[] buffer;
+
+    private final int start;
+
+    private final int limit;
+
+    private final int[] positions;
+
+    private final int size;
+
+    /**
+     * Index in {@link #positions} of the next token
+     */
+    private int next;
+
+    /**
+     * Position in the input of the current token
+     */
+    private int pos;
+
+    private int[] stack = new int[32];
+
+    private int stackSize;
+
+    /**
+     * The next token, null if it has not been peeked yet
+     */
+    private JsonToken peeked;
+
+    /**
+     * Characters of the string or number being read
+     */
+    private char[] chars = new char[64];
+
+    /**
+     * True if the last number read contains a fraction or an exponent
+     */
+    private boolean decimal;
+
+    private boolean lenient;
+
+    /**
+     * Creates a reader for the whole input.
+     *
+     * @param input the UTF-8 encoded input
+     */
+    public IndexedJsonReader( byte[] input ) {
+        this( input, StructuralIndex.build( input ) );
+    }
+
+    /**
+     * Creates a reader for a region of the input.
+     *
+     * @param input the UTF-8 encoded input
+     * @param offset index of the first byte to read
+     * @param length number of bytes to read
+     */
+    public IndexedJsonReader( byte[] input, int offset, int length ) {
+        this( input, StructuralIndex.build( input, offset, length ) );
+    }
+
+    /**
+     * Creates a reader for the region of the input covered by the given index.
+     *
+     * @param input the UTF-8 encoded input
+     * @param index index built from the input
+     */
+    public IndexedJsonReader( byte[] input, StructuralIndex index ) {
+        if ( null == input ) {
+            throw new NullPointerException( "input == null" );
+        }
+        if ( index.getEnd() > input.length ) {
+            throw new IllegalArgumentException( "The index has not been built from this input" );
+        }
+        this.buffer = input;
+        this.start = index.getStart();
+        this.limit = index.getEnd();
+        this.positions = index.getPositions();
+        this.size = index.size();
+        this.pos = start;
+        push( EMPTY_DOCUMENT );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * In lenient mode, several top-level values can follow each other.
+     */
+    @Override
+    public void setLenient( boolean lenient ) {
+        this.lenient = lenient;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void beginArray() {
+        if ( JsonToken.BEGIN_ARRAY != peek() ) {
+            throw unexpected( JsonToken.BEGIN_ARRAY );
+        }
+        next++;
+        push( EMPTY_ARRAY );
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void endArray() {
+        if ( JsonToken.END_ARRAY != peek() ) {
+            throw unexpected( JsonToken.END_ARRAY );
+        }
+        stackSize--;
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void beginObject() {
+        if ( JsonToken.BEGIN_OBJECT != peek() ) {
+            throw unexpected( JsonToken.BEGIN_OBJECT );
+        }
+        next++;
+        push( EMPTY_OBJECT );
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void endObject() {
+        if ( JsonToken.END_OBJECT != peek() ) {
+            throw unexpected( JsonToken.END_OBJECT );
+        }
+        stackSize--;
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        JsonToken token = peek();
+        return JsonToken.END_OBJECT != token && JsonToken.END_ARRAY != token && JsonToken.END_DOCUMENT != token;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JsonToken peek() {
+        JsonToken token = peeked;
+        if ( null == token ) {
+            token = doPeek();
+            peeked = token;
+        }
+        return token;
+    }
+
+    private JsonToken doPeek() {
+        int peekStack = stack[stackSize - 1];
+        if ( peekStack == EMPTY_ARRAY ) {
+            stack[stackSize - 1] = NONEMPTY_ARRAY;
+        } else if ( peekStack == NONEMPTY_ARRAY ) {
+            int c = nextToken( true );
+            if ( c == ']' ) {
+                next++;
+                return JsonToken.END_ARRAY;
+            } else if ( c == ',' ) {
+                next++;
+            } else {
+                throw syntaxError( "Unterminated array" );
+            }
+        } else if ( peekStack == EMPTY_OBJECT || peekStack == NONEMPTY_OBJECT ) {
+            stack[stackSize - 1] = DANGLING_NAME;
+            if ( peekStack == NONEMPTY_OBJECT ) {
+                int c = nextToken( true );
+                if ( c == '}' ) {
+                    next++;
+                    return JsonToken.END_OBJECT;
+                } else if ( c == ',' ) {
+                    next++;
+                } else {
+                    throw syntaxError( "Unterminated object" );
+                }
+            }
+            int c = nextToken( true );
+            if ( c == '"' ) {
+                return JsonToken.NAME;
+            } else if ( c == '}' && peekStack == EMPTY_OBJECT ) {
+                next++;
+                return JsonToken.END_OBJECT;
+            } else {
+                throw syntaxError( "Expected name" );
+            }
+        } else if ( peekStack == DANGLING_NAME ) {
+            stack[stackSize - 1] = NONEMPTY_OBJECT;
+            if ( nextToken( true ) != ':' ) {
+                throw syntaxError( "Expected ':'" );
+            }
+            next++;
+        } else if ( peekStack == EMPTY_DOCUMENT ) {
+            // the byte order mark has been skipped by the index
+            stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+        } else if ( peekStack == NONEMPTY_DOCUMENT ) {
+            if ( nextToken( false ) == -1 ) {
+                return JsonToken.END_DOCUMENT;
+            } else if ( !lenient ) {
+                throw syntaxError( "Expected end of input" );
+            }
+        } else if ( peekStack == CLOSED ) {
+            throw new IllegalStateException( "JsonReader is closed" );
+        }
+
+        int c = nextToken( true );
+        switch ( c ) {
+            case ']':
+                if ( peekStack == EMPTY_ARRAY ) {
+                    next++;
+                    return JsonToken.END_ARRAY;
+                }
+                throw syntaxError( "Unexpected value" );
+            case '"':
+                return JsonToken.STRING;
+            case '{':
+                return JsonToken.BEGIN_OBJECT;
+            case '[':
+                return JsonToken.BEGIN_ARRAY;
+            case 't':
+            case 'f':
+                return JsonToken.BOOLEAN;
+            case 'n':
+                return JsonToken.NULL;
+            default:
+                if ( c == '-' || (c >= '0' && c <= '9') ) {
+                    return JsonToken.NUMBER;
+                }
+                throw syntaxError( "Unexpected character '" + (char) c + "'" );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String nextName() {
+        if ( JsonToken.NAME != peek() ) {
+            throw unexpected( JsonToken.NAME );
+        }
+        String result = readString();
+        peeked = null;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String nextString() {
+        JsonToken token = peek();
+        String result;
+        if ( JsonToken.STRING == token ) {
+            result = readString();
+        } else if ( JsonToken.NUMBER == token ) {
+            result = new String( chars, 0, readNumber() );
+        } else {
+            throw unexpected( JsonToken.STRING );
+        }
+        peeked = null;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean nextBoolean() {
+        if ( JsonToken.BOOLEAN != peek() ) {
+            throw unexpected( JsonToken.BOOLEAN );
+        }
+        boolean result = buffer[pos] == 't';
+        expectLiteral( result ? TRUE : FALSE );
+        peeked = null;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nextNull() {
+        if ( JsonToken.NULL != peek() ) {
+            throw unexpected( JsonToken.NULL );
+        }
+        expectLiteral( NULL );
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double nextDouble() {
+        double result = Double.parseDouble( nextNumberText() );
+        if ( !lenient && (Double.isNaN( result ) || Double.isInfinite( result )) ) {
+            throw syntaxError( "JSON forbids NaN and infinities: " + result );
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long nextLong() {
+        if ( JsonToken.NUMBER == peek() ) {
+            int length = readNumber();
+            if ( !decimal && length <= 18 ) {
+                // fits in a long, we parse the characters directly
+                long result = 0;
+                boolean negative = chars[0] == '-';
+                int i = negative ? 1 : 0;
+                if ( i < length ) {
+                    for ( ; i < length; i++ ) {
+                        char c = chars[i];
+                        if ( c < '0' || c > '9' ) {
+                            break;
+                        }
+                        result = result * 10 + (c - '0');
+                    }
+                    if ( i == length ) {
+                        peeked = null;
+                        return negative ? -result : result;
+                    }
+                }
+            }
+            peeked = null;
+            return toLong( new String( chars, 0, length ) );
+        }
+        return toLong( nextNumberText() );
+    }
+
+    private long toLong( String text ) {
+        try {
+            return Long.parseLong( text );
+        } catch ( NumberFormatException e ) {
+            double asDouble = Double.parseDouble( text );
+            long result = (long) asDouble;
+            if ( result != asDouble ) {
+                throw new NumberFormatException( "Expected a long but was " + text + " at line " + getLineNumber() + " column " +
+                        getColumnNumber() );
+            }
+            return result;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int nextInt() {
+        long result = nextLong();
+        if ( (int) result != result ) {
+            throw new NumberFormatException( "Expected an int but was " + result + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+        return (int) result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Number nextNumber() {
+        String text = nextNumberText();
+        if ( decimal || text.indexOf( '.' ) >= 0 || text.indexOf( 'e' ) >= 0 || text.indexOf( 'E' ) >= 0 ) {
+            return Double.parseDouble( text );
+        }
+        int length = text.length();
+        if ( length <= 9 ) {
+            return Integer.parseInt( text );
+        } else if ( length <= 18 ) {
+            long result = Long.parseLong( text );
+            if ( (int) result == result ) {
+                return (int) result;
+            }
+            return result;
+        } else {
+            BigInteger result = new BigInteger( text );
+            if ( result.bitLength() < 64 ) {
+                return result.longValue();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the text of the next number or string.
+     */
+    private String nextNumberText() {
+        JsonToken token = peek();
+        String result;
+        if ( JsonToken.NUMBER == token ) {
+            result = new String( chars, 0, readNumber() );
+        } else if ( JsonToken.STRING == token ) {
+            decimal = false;
+            result = readString();
+        } else {
+            throw unexpected( JsonToken.NUMBER );
+        }
+        peeked = null;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        peeked = null;
+        stack[0] = CLOSED;
+        stackSize = 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void skipValue() {
+        int count = 0;
+        do {
+            switch ( peek() ) {
+                case BEGIN_ARRAY:
+                case BEGIN_OBJECT:
+                    skipStructure();
+                    peeked = null;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    count--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    count--;
+                    break;
+                case NAME:
+                case STRING:
+                    skipString();
+                    peeked = null;
+                    break;
+                case NUMBER:
+                    readNumber();
+                    peeked = null;
+                    break;
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+                case NULL:
+                    nextNull();
+                    break;
+                default:
+                    throw new IllegalStateException( "Nothing to skip at line " + getLineNumber() + " column " + getColumnNumber() );
+            }
+        } while ( count != 0 );
+    }
+
+    /**
+     * Skips the object or array starting at the current token by walking the index up to its end.
+     */
+    private void skipStructure() {
+        int[] positions = this.positions;
+        int i = next;
+        int depth = 0;
+        do {
+            if ( i >= size ) {
+                pos = limit;
+                throw syntaxError( "End of input" );
+            }
+            switch ( buffer[positions[i++]] ) {
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    break;
+                case '"':
+                    // the closing quote
+                    i++;
+                    break;
+                default:
+                    break;
+            }
+        } while ( depth != 0 );
+        next = i;
+        pos = positions[i - 1] + 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String nextValue() {
+        if ( JsonToken.NULL == peek() ) {
+            nextNull();
+            return "null";
+        }
+
+        JsonWriter writer = new DefaultJsonWriter( new StringBuilder() );
+        writer.setLenient( true );
+
+        int count = 0;
+        do {
+            switch ( peek() ) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    writer.beginArray();
+                    count++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    writer.beginObject();
+                    count++;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    writer.endArray();
+                    count--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    writer.endObject();
+                    count--;
+                    break;
+                case NAME:
+                    writer.name( nextName() );
+                    break;
+                case STRING:
+                    writer.value( nextString() );
+                    break;
+                case NUMBER:
+                    writer.rawValue( nextString() );
+                    break;
+                case BOOLEAN:
+                    writer.value( nextBoolean() );
+                    break;
+                case NULL:
+                    nextNull();
+                    writer.nullValue();
+                    break;
+                default:
+                    throw new IllegalStateException( "Nothing to read at line " + getLineNumber() + " column " + getColumnNumber() );
+            }
+        } while ( count != 0 );
+
+        writer.close();
+        return writer.getOutput();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The lines are not tracked while reading, they are counted from the start of the input when this method is called.
+     */
+    @Override
+    public int getLineNumber() {
+        int lineNumber = 1;
+        for ( int i = start, end = Math.min( pos, limit ); i < end; i++ ) {
+            if ( buffer[i] == '\n' ) {
+                lineNumber++;
+            }
+        }
+        return lineNumber;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnNumber() {
+        int end = Math.min( pos, limit );
+        int lineStart = end;
+        while ( lineStart > start && buffer[lineStart - 1] != '\n' ) {
+            lineStart--;
+        }
+        return end - lineStart + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The input is an array of bytes, this method returns null.
+     */
+    @Override
+    public String getInput() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * {@link JavaScriptObject} are not supported on the JVM.
+     */
+    @Override
+    public JavaScriptObject nextJavaScriptObject( boolean useSafeEval ) {
+        throw new UnsupportedOperationException( "JavaScriptObject are not supported on the JVM" );
+    }
+
+    private void push( int scope ) {
+        if ( stackSize == stack.length ) {
+            stack = Arrays.copyOf( stack, stackSize * 2 );
+        }
+        stack[stackSize++] = scope;
+    }
+
+    /**
+     * Moves to the next indexed token, without consuming it, and returns its first byte or -1 at the end of the input.
+     */
+    private int nextToken( boolean throwOnEof ) {
+        if ( next < size ) {
+            pos = positions[next];
+            return buffer[pos] & 0xff;
+        }
+        pos = limit;
+        if ( throwOnEof ) {
+            throw syntaxError( "End of input" );
+        }
+        return -1;
+    }
+
+    /**
+     * Consumes the index entry of the number or literal just read and checks it is followed by a whitespace or a structural
+     * character. A value followed by other bytes would not be seen by the index.
+     */
+    private void endScalar() {
+        next++;
+        if ( pos < limit ) {
+            byte c = buffer[pos];
+            if ( c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != ',' && c != ']' && c != '}' && c != ':' && c != '"' && c != '[' &&
+                    c != '{' ) {
+                throw syntaxError( "Unexpected character '" + (char) (c & 0xff) + "'" );
+            }
+        }
+    }
+
+    private void expectLiteral( byte[] literal ) {
+        if ( limit - pos < literal.length ) {
+            throw syntaxError( "End of input" );
+        }
+        for ( int i = 0; i < literal.length; i++ ) {
+            if ( buffer[pos + i] != literal[i] ) {
+                throw syntaxError( "Unexpected character '" + (char) (buffer[pos + i] & 0xff) + "'" );
+            }
+        }
+        pos += literal.length;
+        endScalar();
+    }
+
+    /**
+     * Reads the characters of the number at the current position and returns their count.
+     */
+    private int readNumber() {
+        int length = 0;
+        boolean decimal = false;
+        while ( pos < limit ) {
+            byte c = buffer[pos];
+            if ( c == '.' || c == 'e' || c == 'E' ) {
+                decimal = true;
+            } else if ( (c < '0' || c > '9') && c != '-' && c != '+' ) {
+                break;
+            }
+            if ( length == chars.length ) {
+                chars = Arrays.copyOf( chars, length * 2 );
+            }
+            chars[length++] = (char) c;
+            pos++;
+        }
+        this.decimal = decimal;
+        endScalar();
+        return length;
+    }
+
+    /**
+     * Reads the string starting at the current position. Its closing quote is the next entry of the index.
+     */
+    private String readString() {
+        if ( next + 1 >= size ) {
+            throw syntaxError( "Unterminated string" );
+        }
+        int from = pos + 1;
+        int to = positions[next + 1];
+        next += 2;
+
+        byte[] buffer = this.buffer;
+        for ( int i = from; i < to; i++ ) {
+            byte c = buffer[i];
+            if ( c == '\\' || c < 0 ) {
+                pos = i;
+                String result = decodeString( from, to );
+                pos = to + 1;
+                return result;
+            }
+        }
+        // only ASCII characters, copied as they are
+        pos = to + 1;
+        return new String( buffer, from, to - from, ISO_8859_1 );
+    }
+
+    /**
+     * Decodes the UTF-8 bytes and the escape sequences of a string. The bytes before the current position are ASCII characters.
+     */
+    private String decodeString( int from, int to ) {
+        int length = pos - from;
+        char[] chars = this.chars;
+        if ( chars.length < length + 2 ) {
+            chars = Arrays.copyOf( chars, Math.max( chars.length * 2, length + 2 ) );
+        }
+        for ( int i = 0; i < length; i++ ) {
+            chars[i] = (char) buffer[from + i];
+        }
+        while ( pos < to ) {
+            // escape sequence or multi-byte character, both produce at most 2 chars
+            if ( length + 2 > chars.length ) {
+                chars = Arrays.copyOf( chars, chars.length * 2 );
+            }
+            byte c = buffer[pos];
+            if ( c == '\\' ) {
+                pos++;
+                chars[length++] = readEscapeCharacter( to );
+            } else if ( c < 0 ) {
+                int codePoint = readCodePoint( to );
+                if ( codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT ) {
+                    chars[length++] = (char) codePoint;
+                } else {
+                    chars[length++] = Character.highSurrogate( codePoint );
+                    chars[length++] = Character.lowSurrogate( codePoint );
+                }
+            } else {
+                chars[length++] = (char) c;
+                pos++;
+            }
+        }
+        this.chars = chars;
+        return new String( chars, 0, length );
+    }
+
+    private char readEscapeCharacter( int to ) {
+        if ( pos == to ) {
+            throw syntaxError( "Unterminated escape sequence" );
+        }
+        byte escaped = buffer[pos++];
+        switch ( escaped ) {
+            case 'u':
+                if ( to - pos < 4 ) {
+                    throw syntaxError( "Unterminated escape sequence" );
+                }
+                char result = 0;
+                for ( int i = pos, end = i + 4; i < end; i++ ) {
+                    byte c = buffer[i];
+                    result <<= 4;
+                    if ( c >= '0' && c <= '9' ) {
+                        result += (c - '0');
+                    } else if ( c >= 'a' && c <= 'f' ) {
+                        result += (c - 'a' + 10);
+                    } else if ( c >= 'A' && c <= 'F' ) {
+                        result += (c - 'A' + 10);
+                    } else {
+                        throw syntaxError( "Invalid escape sequence" );
+                    }
+                }
+                pos += 4;
+                return result;
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case '"':
+            case '\\':
+            case '/':
+            case '\'':
+                return (char) escaped;
+            default:
+                throw syntaxError( "Invalid escape sequence" );
+        }
+    }
+
+    /**
+     * Decodes the UTF-8 sequence of a non-ASCII character.
+     */
+    private int readCodePoint( int to ) {
+        int first = buffer[pos] & 0xff;
+        int length;
+        int codePoint;
+        if ( (first & 0xe0) == 0xc0 ) {
+            length = 2;
+            codePoint = first & 0x1f;
+        } else if ( (first & 0xf0) == 0xe0 ) {
+            length = 3;
+            codePoint = first & 0x0f;
+        } else if ( (first & 0xf8) == 0xf0 ) {
+            length = 4;
+            codePoint = first & 0x07;
+        } else {
+            throw syntaxError( "Invalid UTF-8 sequence" );
+        }
+        if ( to - pos < length ) {
+            throw syntaxError( "Invalid UTF-8 sequence" );
+        }
+        for ( int i = pos + 1, end = pos + length; i < end; i++ ) {
+            int next = buffer[i];
+            if ( (next & 0xc0) != 0x80 ) {
+                throw syntaxError( "Invalid UTF-8 sequence" );
+            }
+            codePoint = (codePoint << 6) | (next & 0x3f);
+        }
+        pos += length;
+        return codePoint;
+    }
+
+    private void skipString() {
+        if ( next + 1 >= size ) {
+            throw syntaxError( "Unterminated string" );
+        }
+        pos = positions[next + 1] + 1;
+        next += 2;
+    }
+
+    private IllegalStateException unexpected( JsonToken expected ) {
+        return new IllegalStateException( "Expected " + expected + " but was " + peek() + " at line " + getLineNumber() + " column " +
+                getColumnNumber() );
+    }
+
+    private MalformedJsonException syntaxError( String message ) {
+        return new MalformedJsonException( message + " at line " + getLineNumber() + " column " + getColumnNumber() );
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+
+/**
+ * Iterates over the elements of a top-level JSON array, deserializing them one at a time. Only the current element is kept in
+ * memory, so it can be combined with a {@link MappedFileJsonReader} to process arrays too large to be read as a {@link java.util.List}.
+ * <p>The reader is closed at the end of the array or when the iterator is closed.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final JsonDeserializer<T> deserializer;
+
+    private final JsonReader reader;
+
+    private final JsonDeserializationContext ctx;
+
+    private boolean closed;
+
+    /**
+     * <p>Constructor for JsonArrayIterator.</p>
+     *
+     * @param deserializer deserializer of the elements
+     * @param reader reader positioned before the array
+     * @param ctx Context for the full deserialization process
+     *
+     * @throws JsonDeserializationException if the input is not an array
+     */
+    public JsonArrayIterator( JsonDeserializer<T> deserializer, JsonReader reader, JsonDeserializationContext ctx ) throws
+            JsonDeserializationException {
+        if ( null == deserializer ) {
+            throw new IllegalArgumentException( "deserializer cannot be null" );
+        }
+        this.deserializer = deserializer;
+        this.reader = reader;
+        this.ctx = ctx;
+        try {
+            reader.beginArray();
+        } catch ( RuntimeException e ) {
+            throw fail( e );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() throws JsonDeserializationException {
+        if ( closed ) {
+            return false;
+        }
+        try {
+            if ( reader.hasNext() ) {
+                return true;
+            }
+            reader.endArray();
+        } catch ( RuntimeException e ) {
+            throw fail( e );
+        }
+        close();
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T next() throws JsonDeserializationException {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return deserializer.deserialize( reader, ctx, JsonDeserializerParameters.DEFAULT );
+        } catch ( RuntimeException e ) {
+            throw fail( e );
+        }
+    }
+
+    private RuntimeException fail( RuntimeException e ) {
+        close();
+        if ( e instanceof JsonDeserializationException ) {
+            // already logged, we just throw it
+            return e;
+        }
+        return ctx.traceError( e, reader );
+    }
+
+    /**
+     * The elements cannot be removed.
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if ( !closed ) {
+            closed = true;
+            reader.close();
+        }
+    }
+}
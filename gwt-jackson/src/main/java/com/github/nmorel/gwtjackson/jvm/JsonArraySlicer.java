@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structural scan of a JSON array splitting its elements into slices of contiguous elements. Only the strings, the nesting and the
+ * separators are looked at, the values are not parsed.
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+final class JsonArraySlicer {
+
+    /**
+     * Elements of the array found between {@link #start} and {@link #end}, without the enclosing brackets.
+     */
+    static final class Slice {
+
+        final int start;
+
+        final int end;
+
+        final int count;
+
+        Slice( int start, int end, int count ) {
+            this.start = start;
+            this.end = end;
+            this.count = count;
+        }
+    }
+
+    private JsonArraySlicer() {}
+
+    /**
+     * Splits the elements of the array.
+     *
+     * @param input a JSON array
+     * @param minSliceLength minimum number of characters of a slice
+     *
+     * @return the slices in order, empty for an empty array or null if the input is not a well-formed JSON array or uses the lenient
+     * syntax
+     */
+    static List<Slice> slice( String input, int minSliceLength ) {
+        int length = input.length();
+        int i = skipWhitespaces( input, 0 );
+        if ( i == length || input.charAt( i ) != '[' ) {
+            return null;
+        }
+
+        List<Slice> slices = new ArrayList<Slice>();
+        i = skipWhitespaces( input, i + 1 );
+        if ( i == length ) {
+            return null;
+        }
+        if ( input.charAt( i ) == ']' ) {
+            return isEnd( input, i + 1 ) ? slices : null;
+        }
+
+        int sliceStart = i;
+        int count = 0;
+        int depth = 0;
+        while ( i < length ) {
+            char c = input.charAt( i );
+            switch ( c ) {
+                case '"':
+                    // skip the string, its content cannot change the structure
+                    i++;
+                    while ( i < length && (c = input.charAt( i )) != '"' ) {
+                        i += c == '\\' ? 2 : 1;
+                    }
+                    if ( i >= length ) {
+                        return null;
+                    }
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if ( depth == 0 ) {
+                        if ( c != ']' || !isEnd( input, i + 1 ) ) {
+                            return null;
+                        }
+                        slices.add( new Slice( sliceStart, i, count + 1 ) );
+                        return slices;
+                    }
+                    depth--;
+                    break;
+                case '\'':
+                case '/':
+                case '#':
+                case ';':
+                case '=':
+                    // lenient syntax : a single-quoted string or a comment may contain separators, the array cannot be split
+                    return null;
+                case ',':
+                    if ( depth == 0 ) {
+                        count++;
+                        if ( i - sliceStart >= minSliceLength ) {
+                            slices.add( new Slice( sliceStart, i, count ) );
+                            sliceStart = i + 1;
+                            count = 0;
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+            i++;
+        }
+
+        // unterminated array
+        return null;
+    }
+
+    private static boolean isEnd( String input, int index ) {
+        return skipWhitespaces( input, index ) == input.length();
+    }
+
+    private static int skipWhitespaces( String input, int index ) {
+        int length = input.length();
+        while ( index < length ) {
+            char c = input.charAt( index );
+            if ( c != ' ' && c != '\n' && c != '\r' && c != '\t' ) {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+}
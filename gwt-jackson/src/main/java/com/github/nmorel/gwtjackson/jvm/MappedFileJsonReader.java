@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+
+/**
+ * {@link Utf8JsonReader} reading a UTF-8 encoded file, or a region of it, through memory-mapped windows. The file is never loaded
+ * on the heap: the windows are mapped one after the other as the reader progresses, so files larger than 2 GB can be read. The
+ * strings are decoded only when they are requested and the skipped values are scanned without being decoded.
+ * <p>The mapped windows are not read in place: like the input of an {@link java.io.InputStream}, every byte read, including the
+ * bytes of the skipped values, is first copied by blocks into the heap buffer of the {@link Utf8JsonReader}. The mapping saves the
+ * system calls and the copies of the kernel buffers but the reading stays sequential. A region can still be read directly with
+ * {@link #MappedFileJsonReader(FileChannel, long, long, int)}.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public class MappedFileJsonReader extends Utf8JsonReader {
+
+    /**
+     * Default size of a mapped window
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+
+    /**
+     * True if the channel has been opened by this reader and must be closed with it
+     */
+    private final boolean ownChannel;
+
+    private final int windowSize;
+
+    private final long end;
+
+    /**
+     * Position in the file of the next window
+     */
+    private long next;
+
+    private MappedByteBuffer window;
+
+    /**
+     * Creates a reader for the whole file.
+     *
+     * @param file the file
+     *
+     * @throws JsonDeserializationException if the file cannot be opened
+     */
+    public MappedFileJsonReader( File file ) throws JsonDeserializationException {
+        this( open( file ), true, 0, -1, DEFAULT_WINDOW_SIZE );
+    }
+
+    /**
+     * Creates a reader for a region of a file. The channel is not closed with the reader.
+     *
+     * @param channel the channel of the file
+     * @param position position in the file of the first byte to read
+     * @param size number of bytes to read
+     * @param windowSize maximum size of a mapped window
+     */
+    public MappedFileJsonReader( FileChannel channel, long position, long size, int windowSize ) {
+        this( channel, false, position, size, windowSize );
+    }
+
+    private MappedFileJsonReader( FileChannel channel, boolean ownChannel, long position, long size, int windowSize ) {
+        super( new byte[DEFAULT_BUFFER_SIZE] );
+        if ( null == channel ) {
+            throw new IllegalArgumentException( "channel cannot be null" );
+        }
+        if ( position < 0 ) {
+            throw new IllegalArgumentException( "position cannot be negative" );
+        }
+        if ( windowSize <= 0 ) {
+            throw new IllegalArgumentException( "windowSize must be positive" );
+        }
+        this.channel = channel;
+        this.ownChannel = ownChannel;
+        this.windowSize = windowSize;
+        this.next = position;
+        if ( size < 0 ) {
+            try {
+                this.end = channel.size();
+            } catch ( IOException e ) {
+                if ( ownChannel ) {
+                    // the reader is not returned to the caller so nobody else can close the channel
+                    closeQuietly( channel );
+                }
+                throw new JsonDeserializationException( e );
+            }
+        } else {
+            this.end = position + size;
+        }
+    }
+
+    private static void closeQuietly( FileChannel channel ) {
+        try {
+            channel.close();
+        } catch ( IOException e ) {
+            // the error reading the size is the one reported
+        }
+    }
+
+    private static FileChannel open( File file ) {
+        try {
+            return new RandomAccessFile( file, "r" ).getChannel();
+        } catch ( IOException e ) {
+            throw new JsonDeserializationException( e );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int read( byte[] buffer, int offset, int length ) {
+        if ( null == window || !window.hasRemaining() ) {
+            if ( next >= end ) {
+                return -1;
+            }
+            long size = Math.min( windowSize, end - next );
+            try {
+                window = channel.map( MapMode.READ_ONLY, next, size );
+            } catch ( IOException e ) {
+                throw new JsonDeserializationException( e );
+            }
+            next += size;
+        }
+        // the tokenizer works on the heap buffer so the bytes are copied
+        int read = Math.min( length, window.remaining() );
+        window.get( buffer, offset, read );
+        return read;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        super.close();
+        // the mapping is released once the window is garbage collected
+        window = null;
+        if ( ownChannel ) {
+            try {
+                channel.close();
+            } catch ( IOException e ) {
+                throw new JsonDeserializationException( e );
+            }
+        }
+    }
+}
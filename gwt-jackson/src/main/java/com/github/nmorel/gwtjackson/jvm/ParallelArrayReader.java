@@ -0,0 +1,219 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.github.nmorel.gwtjackson.client.AbstractObjectMapper;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.deser.bean.AbstractBeanJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.ArrayListJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.jvm.JsonArraySlicer.Slice;
+
+/**
+ * Reads a large top-level JSON array on the JVM using several threads.
+ * <p>A structural scan finds the boundaries of the elements, then slices of contiguous elements are deserialized on a
+ * {@link ForkJoinPool}, each one with its own reader and context. The results are concatenated in the order of the input.</p>
+ * <p>The input is read sequentially, like {@link AbstractObjectMapper#read(String)} would do with a list, when the elements have
+ * {@link com.fasterxml.jackson.annotation.JsonIdentityInfo} since a reference can point to an element of another slice, when an
+ * identifier is registered while reading the slices or when a slice fails. The errors are then reported as usual. The input using
+ * the lenient syntax (single quotes, comments, ';' separators) is also read sequentially since its structure cannot be scanned
+ * reliably.</p>
+ * <p>The contexts of the slices are built from the same builder, a listener given to the builder is called from several threads.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class ParallelArrayReader<T> {
+
+    /**
+     * Default minimum number of characters read by a task
+     */
+    public static final int DEFAULT_MIN_SLICE_LENGTH = 1 << 16;
+
+    /**
+     * Number of slices per thread of the pool, so a slow slice doesn't leave the other threads idle
+     */
+    private static final int SLICES_PER_THREAD = 4;
+
+    private static final class DefaultPoolHolder {
+
+        private static final ForkJoinPool INSTANCE = new ForkJoinPool();
+    }
+
+    private final JsonDeserializer<T> deserializer;
+
+    private final ForkJoinPool pool;
+
+    private final int minSliceLength;
+
+    /**
+     * Creates a reader for the arrays of the type mapped by the given mapper, using a shared pool with one thread per processor.
+     *
+     * @param mapper mapper of the elements
+     */
+    public ParallelArrayReader( AbstractObjectMapper<T> mapper ) {
+        this( mapper.getDeserializer() );
+    }
+
+    /**
+     * Creates a reader using a shared pool with one thread per processor.
+     *
+     * @param deserializer deserializer of the elements
+     */
+    public ParallelArrayReader( JsonDeserializer<T> deserializer ) {
+        this( deserializer, DefaultPoolHolder.INSTANCE, DEFAULT_MIN_SLICE_LENGTH );
+    }
+
+    /**
+     * <p>Constructor for ParallelArrayReader.</p>
+     *
+     * @param deserializer deserializer of the elements
+     * @param pool pool running the tasks
+     * @param minSliceLength minimum number of characters read by a task
+     */
+    public ParallelArrayReader( JsonDeserializer<T> deserializer, ForkJoinPool pool, int minSliceLength ) {
+        if ( null == deserializer ) {
+            throw new IllegalArgumentException( "deserializer cannot be null" );
+        }
+        if ( null == pool ) {
+            throw new IllegalArgumentException( "pool cannot be null" );
+        }
+        if ( minSliceLength <= 0 ) {
+            throw new IllegalArgumentException( "minSliceLength must be positive" );
+        }
+        this.deserializer = deserializer;
+        this.pool = pool;
+        this.minSliceLength = minSliceLength;
+    }
+
+    /**
+     * Reads a JSON array with the default configuration.
+     *
+     * @param input a JSON array
+     *
+     * @return the elements
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public List<T> read( String input ) throws JsonDeserializationException {
+        return read( input, JsonDeserializationContext.builder() );
+    }
+
+    /**
+     * Reads a JSON array.
+     *
+     * @param input a JSON array
+     * @param builder builder of the contexts used to read the slices
+     *
+     * @return the elements
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public List<T> read( String input, JsonDeserializationContext.Builder builder ) throws JsonDeserializationException {
+        if ( deserializer instanceof AbstractBeanJsonDeserializer && ((AbstractBeanJsonDeserializer<?>) deserializer)
+                .hasIdentityInfo() ) {
+            return readSequentially( input, builder.build() );
+        }
+
+        int sliceLength = Math.max( minSliceLength, input.length() / (pool.getParallelism() * SLICES_PER_THREAD) );
+        List<Slice> slices = JsonArraySlicer.slice( input, sliceLength );
+        if ( null == slices || slices.size() < 2 ) {
+            // not an array we can split or not worth it
+            return readSequentially( input, builder.build() );
+        }
+
+        List<JsonDeserializationContext> contexts = new ArrayList<JsonDeserializationContext>( slices.size() );
+        List<Callable<List<T>>> tasks = new ArrayList<Callable<List<T>>>( slices.size() );
+        int size = 0;
+        for ( Slice slice : slices ) {
+            JsonDeserializationContext ctx = builder.build();
+            contexts.add( ctx );
+            tasks.add( new SliceTask( input, slice, ctx ) );
+            size += slice.count;
+        }
+
+        List<Future<List<T>>> futures = pool.invokeAll( tasks );
+
+        List<T> result = new ArrayList<T>( size );
+        boolean sequential = false;
+        for ( int i = 0; i < futures.size(); i++ ) {
+            try {
+                result.addAll( futures.get( i ).get() );
+            } catch ( ExecutionException e ) {
+                sequential = true;
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                throw new JsonDeserializationException( e );
+            }
+            sequential = sequential || contexts.get( i ).hasObjectIds();
+        }
+
+        if ( sequential ) {
+            return readSequentially( input, builder.build() );
+        }
+        return result;
+    }
+
+    private List<T> readSequentially( String input, JsonDeserializationContext ctx ) {
+        JsonReader reader = ctx.newJsonReader( input );
+        try {
+            return ArrayListJsonDeserializer.newInstance( deserializer ).deserialize( reader, ctx );
+        } catch ( JsonDeserializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( e, reader );
+        }
+    }
+
+    private final class SliceTask implements Callable<List<T>> {
+
+        private final String input;
+
+        private final Slice slice;
+
+        private final JsonDeserializationContext ctx;
+
+        private SliceTask( String input, Slice slice, JsonDeserializationContext ctx ) {
+            this.input = input;
+            this.slice = slice;
+            this.ctx = ctx;
+        }
+
+        @Override
+        public List<T> call() {
+            JsonReader reader = ctx.newArrayElementsReader( input, slice.start, slice.end );
+            List<T> result = new ArrayList<T>( slice.count );
+            for ( int i = 0; i < slice.count; i++ ) {
+                result.add( deserializer.deserialize( reader, ctx, JsonDeserializerParameters.DEFAULT ) );
+            }
+            if ( JsonToken.END_DOCUMENT != reader.peek() ) {
+                throw ctx.traceError( "The slice contains more than " + slice.count + " elements", reader );
+            }
+            return result;
+        }
+    }
+}
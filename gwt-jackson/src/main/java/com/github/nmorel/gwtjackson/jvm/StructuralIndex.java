@@ -0,0 +1,461 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+
+/**
+ * Positions of the structural characters of a UTF-8 encoded JSON input, read by an {@link IndexedJsonReader}.
+ * <p>The index contains, in order, the positions of the braces, brackets, colons and commas found outside the strings, of the
+ * opening and closing quotes of the strings and of the first byte of the other values (numbers, true, false and null). The whitespaces
+ * are never indexed so the reader goes from one token to the next without looking at the bytes in between.</p>
+ * <p>The input is scanned 64 bytes at a time. Each block is read as 8 longs and the bytes of a class (quote, backslash, structural
+ * character or whitespace) are found with a few arithmetic operations on the whole long. The escaped quotes are then removed and a
+ * prefix xor of the remaining quotes gives the mask of the bytes inside a string.</p>
+ * <p>Large inputs are split into chunks scanned on a {@link ForkJoinPool}. Whether a chunk starts inside a string depends on the
+ * number of quotes before it, so the chunks are scanned twice: a first pass counts their quotes, a second one collects the positions
+ * knowing the state at the start of each chunk.</p>
+ * <p>The index takes 4 bytes per token, inputs are limited to the size of a byte array.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class StructuralIndex {
+
+    /**
+     * Default minimum number of bytes scanned by a task
+     */
+    public static final int DEFAULT_MIN_CHUNK_LENGTH = 1 << 22;
+
+    /**
+     * Number of chunks per thread of the pool, so a slow chunk doesn't leave the other threads idle
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final int BLOCK_SIZE = 64;
+
+    private static final long ONES = 0x0101010101010101L;
+
+    private static final long LOW_BITS = 0x7f7f7f7f7f7f7f7fL;
+
+    /**
+     * Setting this bit folds '[' and ']' into '{' and '}'
+     */
+    private static final long FOLD = 0x20 * ONES;
+
+    private static final long QUOTES = '"' * ONES;
+
+    private static final long BACKSLASHES = '\\' * ONES;
+
+    private static final long OPENING = '{' * ONES;
+
+    private static final long CLOSING = '}' * ONES;
+
+    private static final long COLONS = ':' * ONES;
+
+    private static final long COMMAS = ',' * ONES;
+
+    private static final long SPACES = ' ' * ONES;
+
+    private static final long TABS = '\t' * ONES;
+
+    private static final long LINE_FEEDS = '\n' * ONES;
+
+    private static final long CARRIAGE_RETURNS = '\r' * ONES;
+
+    private static final class DefaultPoolHolder {
+
+        private static final ForkJoinPool INSTANCE = new ForkJoinPool();
+    }
+
+    private final int start;
+
+    private final int end;
+
+    private final int[] positions;
+
+    private final int size;
+
+    private StructuralIndex( int start, int end, int[] positions, int size ) {
+        this.start = start;
+        this.end = end;
+        this.positions = positions;
+        this.size = size;
+    }
+
+    /**
+     * @return index of the first byte indexed, after the byte order mark if any
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * @return index after the last byte indexed
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return the positions, only the {@link #size()} first ones are used
+     */
+    int[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return the number of positions in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds the index of a whole input, using a shared pool with one thread per processor.
+     *
+     * @param input the UTF-8 encoded input
+     *
+     * @return the index
+     */
+    public static StructuralIndex build( byte[] input ) {
+        return build( input, 0, input.length );
+    }
+
+    /**
+     * Builds the index of a region of the input, using a shared pool with one thread per processor.
+     *
+     * @param input the UTF-8 encoded input
+     * @param offset index of the first byte to read
+     * @param length number of bytes to read
+     *
+     * @return the index
+     */
+    public static StructuralIndex build( byte[] input, int offset, int length ) {
+        return build( input, offset, length, DefaultPoolHolder.INSTANCE, DEFAULT_MIN_CHUNK_LENGTH );
+    }
+
+    /**
+     * Builds the index of a region of the input.
+     *
+     * @param input the UTF-8 encoded input
+     * @param offset index of the first byte to read
+     * @param length number of bytes to read
+     * @param pool pool running the tasks
+     * @param minChunkLength minimum number of bytes scanned by a task
+     *
+     * @return the index
+     */
+    public static StructuralIndex build( byte[] input, int offset, int length, ForkJoinPool pool, int minChunkLength ) {
+        if ( null == input ) {
+            throw new IllegalArgumentException( "input cannot be null" );
+        }
+        if ( offset < 0 || length < 0 || offset + length > input.length || offset + length < 0 ) {
+            throw new IndexOutOfBoundsException( "offset=" + offset + " length=" + length + " size=" + input.length );
+        }
+        if ( null == pool ) {
+            throw new IllegalArgumentException( "pool cannot be null" );
+        }
+        if ( minChunkLength <= 0 ) {
+            throw new IllegalArgumentException( "minChunkLength must be positive" );
+        }
+
+        int start = offset;
+        int end = offset + length;
+        if ( length >= 3 && input[start] == (byte) 0xef && input[start + 1] == (byte) 0xbb && input[start + 2] == (byte) 0xbf ) {
+            // byte order mark
+            start += 3;
+        }
+
+        int nbChunks = Math.min( pool.getParallelism() * CHUNKS_PER_THREAD, (end - start) / minChunkLength );
+        if ( nbChunks < 2 || pool.getParallelism() < 2 ) {
+            // the second pass is only worth it if the chunks are scanned at the same time
+            ChunkScanner scanner = new ChunkScanner( input, start, start, end, true, false );
+            scanner.call();
+            return new StructuralIndex( start, end, scanner.positions, scanner.size );
+        }
+
+        // the chunks are aligned on the blocks, only the last one has a partial block
+        int chunkLength = ((end - start) / nbChunks + BLOCK_SIZE - 1) & -BLOCK_SIZE;
+
+        List<ChunkScanner> counters = new ArrayList<ChunkScanner>( nbChunks );
+        for ( int chunkStart = start; chunkStart < end; chunkStart += chunkLength ) {
+            counters.add( new ChunkScanner( input, start, chunkStart, Math.min( end, chunkStart + chunkLength ), false, false ) );
+        }
+        counters = join( pool.invokeAll( counters ) );
+
+        List<ChunkScanner> collectors = new ArrayList<ChunkScanner>( counters.size() );
+        boolean inString = false;
+        for ( ChunkScanner counter : counters ) {
+            collectors.add( new ChunkScanner( input, start, counter.start, counter.end, true, inString ) );
+            inString ^= counter.oddQuotes;
+        }
+        collectors = join( pool.invokeAll( collectors ) );
+
+        int size = 0;
+        for ( ChunkScanner collector : collectors ) {
+            size += collector.size;
+        }
+        int[] positions = new int[size];
+        int index = 0;
+        for ( ChunkScanner collector : collectors ) {
+            System.arraycopy( collector.positions, 0, positions, index, collector.size );
+            index += collector.size;
+        }
+        return new StructuralIndex( start, end, positions, size );
+    }
+
+    private static List<ChunkScanner> join( List<Future<ChunkScanner>> futures ) {
+        List<ChunkScanner> result = new ArrayList<ChunkScanner>( futures.size() );
+        for ( Future<ChunkScanner> future : futures ) {
+            try {
+                result.add( future.get() );
+            } catch ( ExecutionException e ) {
+                throw new JsonDeserializationException( e.getCause() );
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                throw new JsonDeserializationException( e );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a long with the high bit of each byte set if the byte of the word, without its high bit, is different from the one of
+     * the pattern. A byte is at most 0x7f before the addition so there is no carry between the bytes.
+     */
+    private static long differs( long lowBits, long pattern ) {
+        return (lowBits ^ pattern) + LOW_BITS;
+    }
+
+    /**
+     * Gathers the high bit of each byte of the word into the 8 low bits.
+     */
+    private static long gatherHighBits( long bytes ) {
+        return ((bytes >>> 7) * 0x0102040810204080L) >>> 56;
+    }
+
+    /**
+     * Returns a mask with the bit i set if an odd number of bits are set between bit 0 and bit i.
+     */
+    private static long prefixXor( long bits ) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+
+    /**
+     * Returns true if the byte is a whitespace, a quote or a structural character. Like the block scan, it also returns true for the
+     * control characters folded into '{' '}' ':' and ','.
+     */
+    private static boolean isSeparator( byte c ) {
+        int folded = c | 0x20;
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '"' || folded == '{' || folded == '}' || folded == ':' ||
+                folded == ',';
+    }
+
+    /**
+     * Scans the blocks of a chunk.
+     */
+    private static final class ChunkScanner implements Callable<ChunkScanner> {
+
+        private final byte[] input;
+
+        private final int start;
+
+        private final int end;
+
+        /**
+         * True to collect the positions, false to only count the quotes
+         */
+        private final boolean collect;
+
+        /**
+         * 1 if the first byte of the next block is escaped
+         */
+        private long escapedCarry;
+
+        /**
+         * All the bits set if the next block starts inside a string
+         */
+        private long inString;
+
+        /**
+         * 1 if the byte before the next block is a separator
+         */
+        private long separatorCarry;
+
+        private boolean oddQuotes;
+
+        private int[] positions;
+
+        private int size;
+
+        private long quoteBits;
+
+        private long backslashBits;
+
+        private long structuralBits;
+
+        private long whitespaceBits;
+
+        /**
+         * @param input the input
+         * @param inputStart index of the first byte of the input
+         * @param start index of the first byte of the chunk
+         * @param end index after the last byte of the chunk
+         * @param collect true to collect the positions, false to only count the quotes
+         * @param inString true if the chunk starts inside a string
+         */
+        private ChunkScanner( byte[] input, int inputStart, int start, int end, boolean collect, boolean inString ) {
+            this.input = input;
+            this.start = start;
+            this.end = end;
+            this.collect = collect;
+            this.inString = inString ? -1L : 0L;
+
+            // the first byte is escaped if it follows an odd number of backslashes
+            int backslashes = 0;
+            for ( int i = start - 1; i >= inputStart && input[i] == '\\'; i-- ) {
+                backslashes++;
+            }
+            this.escapedCarry = backslashes & 1;
+            this.separatorCarry = start == inputStart || isSeparator( input[start - 1] ) ? 1L : 0L;
+            if ( collect ) {
+                this.positions = new int[Math.max( BLOCK_SIZE, (end - start) >> 3 )];
+            }
+        }
+
+        @Override
+        public ChunkScanner call() {
+            ByteBuffer words = ByteBuffer.wrap( input ).order( ByteOrder.LITTLE_ENDIAN );
+            int i = start;
+            for ( ; end - i >= BLOCK_SIZE; i += BLOCK_SIZE ) {
+                classify( words, i );
+                process( i );
+            }
+            if ( i < end ) {
+                // last partial block, padded with whitespaces
+                byte[] tail = new byte[BLOCK_SIZE];
+                Arrays.fill( tail, (byte) ' ' );
+                System.arraycopy( input, i, tail, 0, end - i );
+                classify( ByteBuffer.wrap( tail ).order( ByteOrder.LITTLE_ENDIAN ), 0 );
+                process( i );
+            }
+            return this;
+        }
+
+        /**
+         * Computes the masks of the block starting at the given index. The bit i of a mask is set if the byte i of the block belongs
+         * to its class.
+         */
+        private void classify( ByteBuffer words, int index ) {
+            long quotes = 0;
+            long backslashes = 0;
+            long structurals = 0;
+            long whitespaces = 0;
+            for ( int shift = 0; shift < BLOCK_SIZE; shift += 8 ) {
+                long word = words.getLong( index + shift );
+                long low = word & LOW_BITS;
+                // the bytes with their high bit set are not ASCII characters
+                long high = word | LOW_BITS;
+                long folded = low | FOLD;
+                quotes |= gatherHighBits( ~(differs( low, QUOTES ) | high) ) << shift;
+                backslashes |= gatherHighBits( ~(differs( low, BACKSLASHES ) | high) ) << shift;
+                structurals |= gatherHighBits( ~(differs( folded, OPENING ) & differs( folded, CLOSING ) & differs( folded, COLONS ) &
+                        differs( folded, COMMAS ) | high) ) << shift;
+                whitespaces |= gatherHighBits( ~(differs( low, SPACES ) & differs( low, TABS ) & differs( low, LINE_FEEDS ) & differs(
+                        low, CARRIAGE_RETURNS ) | high) ) << shift;
+            }
+            this.quoteBits = quotes;
+            this.backslashBits = backslashes;
+            this.structuralBits = structurals;
+            this.whitespaceBits = whitespaces;
+        }
+
+        private void process( int base ) {
+            long quotes = quoteBits & ~escaped( backslashBits );
+            // from an opening quote included to the closing quote excluded
+            long inside = prefixXor( quotes ) ^ inString;
+            inString = inside >> 63;
+
+            if ( !collect ) {
+                oddQuotes ^= (Long.bitCount( quotes ) & 1) != 0;
+                return;
+            }
+
+            long separators = quoteBits | structuralBits | whitespaceBits;
+            // first byte of the numbers and literals
+            long scalars = ~(separators | inside) & ((separators << 1) | separatorCarry);
+            separatorCarry = separators >>> 63;
+
+            long bits = (structuralBits & ~inside) | quotes | scalars;
+            int count = Long.bitCount( bits );
+            if ( size + count + 4 > positions.length ) {
+                positions = Arrays.copyOf( positions, positions.length + (positions.length >> 1) + BLOCK_SIZE );
+            }
+            // written 4 at a time, the extra positions are overwritten by the next block
+            int[] positions = this.positions;
+            for ( int i = size, end = size + count; i < end; i += 4 ) {
+                positions[i] = base + Long.numberOfTrailingZeros( bits );
+                bits &= bits - 1;
+                positions[i + 1] = base + Long.numberOfTrailingZeros( bits );
+                bits &= bits - 1;
+                positions[i + 2] = base + Long.numberOfTrailingZeros( bits );
+                bits &= bits - 1;
+                positions[i + 3] = base + Long.numberOfTrailingZeros( bits );
+                bits &= bits - 1;
+            }
+            size += count;
+        }
+
+        /**
+         * Returns the mask of the escaped bytes. The backslashes are rare enough to be resolved one by one.
+         */
+        private long escaped( long backslashes ) {
+            long escaped = escapedCarry;
+            escapedCarry = 0;
+            while ( backslashes != 0 ) {
+                long bit = backslashes & -backslashes;
+                if ( (escaped & bit) == 0 ) {
+                    // not escaped itself, it escapes the next byte
+                    if ( bit < 0 ) {
+                        escapedCarry = 1;
+                    } else {
+                        escaped |= bit << 1;
+                    }
+                }
+                backslashes ^= bit;
+            }
+            return escaped;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.github.nmorel.gwtjackson.client.AbstractObjectMapper;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+
+/**
+ * Reads and writes the type mapped by an {@link AbstractObjectMapper} directly from and to UTF-8 encoded bytes on the JVM, using a
+ * {@link Utf8JsonReader} and a {@link Utf8JsonWriter}. No intermediate {@link String} is created for the whole document.
+ * <p>The streams are neither closed nor flushed, this is left to the caller. The files are read through a {@link MappedFileJsonReader}
+ * and closed once read. The listener of the contexts is not called.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public final class Utf8JsonMapper<T> {
+
+    private final AbstractObjectMapper<T> mapper;
+
+    /**
+     * <p>Constructor for Utf8JsonMapper.</p>
+     *
+     * @param mapper mapper of the type
+     */
+    public Utf8JsonMapper( AbstractObjectMapper<T> mapper ) {
+        if ( null == mapper ) {
+            throw new IllegalArgumentException( "mapper cannot be null" );
+        }
+        this.mapper = mapper;
+    }
+
+    /**
+     * Reads a JSON input with the default configuration.
+     *
+     * @param in the UTF-8 encoded input
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T read( InputStream in ) throws JsonDeserializationException {
+        return read( in, JsonDeserializationContext.builder().build() );
+    }
+
+    /**
+     * Reads a JSON input.
+     *
+     * @param in the UTF-8 encoded input
+     * @param ctx Context for the full deserialization process
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T read( InputStream in, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        return mapper.read( new Utf8JsonReader( in ), ctx );
+    }
+
+    /**
+     * Reads the remaining bytes of the buffer with the default configuration.
+     *
+     * @param in the UTF-8 encoded input
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T read( ByteBuffer in ) throws JsonDeserializationException {
+        return read( in, JsonDeserializationContext.builder().build() );
+    }
+
+    /**
+     * Reads the remaining bytes of the buffer. The position of the buffer is not updated.
+     *
+     * @param in the UTF-8 encoded input
+     * @param ctx Context for the full deserialization process
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T read( ByteBuffer in, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        return mapper.read( new Utf8JsonReader( in ), ctx );
+    }
+
+    /**
+     * Reads a JSON input with an {@link IndexedJsonReader} and the default configuration.
+     *
+     * @param in the UTF-8 encoded input
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T readIndexed( byte[] in ) throws JsonDeserializationException {
+        return readIndexed( in, JsonDeserializationContext.builder().build() );
+    }
+
+    /**
+     * Reads a JSON input with an {@link IndexedJsonReader}. The structural index of a large input is built using several threads
+     * before the deserialization starts.
+     *
+     * @param in the UTF-8 encoded input
+     * @param ctx Context for the full deserialization process
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T readIndexed( byte[] in, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        return mapper.read( new IndexedJsonReader( in ), ctx );
+    }
+
+    /**
+     * Reads a JSON file with the default configuration.
+     *
+     * @param file the UTF-8 encoded file
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T read( File file ) throws JsonDeserializationException {
+        return read( file, JsonDeserializationContext.builder().build() );
+    }
+
+    /**
+     * Reads a JSON file.
+     *
+     * @param file the UTF-8 encoded file
+     * @param ctx Context for the full deserialization process
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public T read( File file, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        MappedFileJsonReader reader = new MappedFileJsonReader( file );
+        try {
+            return mapper.read( reader, ctx );
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Iterates over the elements of the top-level array of a JSON file with the default configuration.
+     *
+     * @param file the UTF-8 encoded file containing an array of the type mapped
+     *
+     * @return an iterator over the elements, to close if it is not read until the end
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public JsonArrayIterator<T> readElements( File file ) throws JsonDeserializationException {
+        return readElements( file, JsonDeserializationContext.builder().build() );
+    }
+
+    /**
+     * Iterates over the elements of the top-level array of a JSON file.
+     *
+     * @param file the UTF-8 encoded file containing an array of the type mapped
+     * @param ctx Context for the full deserialization process
+     *
+     * @return an iterator over the elements, to close if it is not read until the end
+     * @throws JsonDeserializationException if an error occurs
+     */
+    public JsonArrayIterator<T> readElements( File file, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        return new JsonArrayIterator<T>( mapper.getDeserializer(), new MappedFileJsonReader( file ), ctx );
+    }
+
+    /**
+     * Writes an object with the default configuration.
+     *
+     * @param value the object to write
+     * @param out the stream receiving the UTF-8 encoded JSON
+     *
+     * @throws JsonSerializationException if an error occurs
+     */
+    public void write( T value, OutputStream out ) throws JsonSerializationException {
+        write( value, out, JsonSerializationContext.builder().build() );
+    }
+
+    /**
+     * Writes an object.
+     *
+     * @param value the object to write
+     * @param out the stream receiving the UTF-8 encoded JSON
+     * @param ctx Context for the full serialization process
+     *
+     * @throws JsonSerializationException if an error occurs
+     */
+    public void write( T value, OutputStream out, JsonSerializationContext ctx ) throws JsonSerializationException {
+        write( value, new Utf8JsonWriter( out ), ctx );
+    }
+
+    /**
+     * Writes an object at the position of the buffer.
+     *
+     * @param value the object to write
+     * @param out the buffer receiving the UTF-8 encoded JSON
+     * @param ctx Context for the full serialization process
+     *
+     * @throws JsonSerializationException if an error occurs
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public void write( T value, ByteBuffer out, JsonSerializationContext ctx ) throws JsonSerializationException {
+        write( value, new Utf8JsonWriter( out ), ctx );
+    }
+
+    private void write( T value, Utf8JsonWriter writer, JsonSerializationContext ctx ) {
+        writer.setLenient( true );
+        if ( ctx.isIndent() ) {
+            writer.setIndent( "  " );
+        }
+        mapper.write( value, writer, ctx );
+        writer.flush();
+    }
+}
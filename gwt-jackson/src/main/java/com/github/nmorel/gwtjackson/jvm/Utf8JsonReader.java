@@ -0,0 +1,939 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException;
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * {@link JsonReader} parsing UTF-8 encoded JSON directly from the bytes of an {@link InputStream} or a {@link ByteBuffer}. The input is
+ * read through a fixed-size buffer and the strings are decoded while they are tokenized, so the memory used does not depend on the
+ * size of the input. A heap {@link ByteBuffer} is read in place.
+ * <p>The input must follow the JSON specification. Any value is accepted at the top level and, in lenient mode, several top-level
+ * values can follow each other. The other extensions of the lenient mode of
+ * {@link com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonReader} (comments, unquoted or single-quoted strings, ...) are not
+ * supported.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public class Utf8JsonReader implements JsonReader {
+
+    /**
+     * Default size of the buffer
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final int EMPTY_ARRAY = 1;
+
+    private static final int NONEMPTY_ARRAY = 2;
+
+    private static final int EMPTY_OBJECT = 3;
+
+    private static final int DANGLING_NAME = 4;
+
+    private static final int NONEMPTY_OBJECT = 5;
+
+    private static final int EMPTY_DOCUMENT = 6;
+
+    private static final int NONEMPTY_DOCUMENT = 7;
+
+    private static final int CLOSED = 8;
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final InputStream in;
+
+    private final ByteBuffer source;
+
+    private final byte[] buffer;
+
+    /**
+     * True if the whole input is already in the buffer
+     */
+    private final boolean inPlace;
+
+    private int pos;
+
+    private int limit;
+
+    /**
+     * Offset in the input of the first byte of the buffer
+     */
+    private long bufferOffset;
+
+    private int lineNumber;
+
+    /**
+     * Offset in the input of the first byte of the current line
+     */
+    private long lineStart;
+
+    private int[] stack = new int[32];
+
+    private int stackSize;
+
+    /**
+     * The next token, null if it has not been peeked yet
+     */
+    private JsonToken peeked;
+
+    /**
+     * Characters of the string or number being read
+     */
+    private char[] chars = new char[64];
+
+    /**
+     * True if the last number read contains a fraction or an exponent
+     */
+    private boolean decimal;
+
+    private boolean lenient;
+
+    /**
+     * Creates a reader decoding the given stream.
+     *
+     * @param in the stream
+     */
+    public Utf8JsonReader( InputStream in ) {
+        this( in, new byte[DEFAULT_BUFFER_SIZE] );
+    }
+
+    /**
+     * Creates a reader decoding the given stream. The buffer can be reused once the reader has been closed.
+     *
+     * @param in the stream
+     * @param buffer the buffer, at least 16 bytes long
+     */
+    public Utf8JsonReader( InputStream in, byte[] buffer ) {
+        if ( null == in ) {
+            throw new NullPointerException( "in == null" );
+        }
+        if ( buffer.length < 16 ) {
+            throw new IllegalArgumentException( "The buffer must be at least 16 bytes long" );
+        }
+        this.in = in;
+        this.source = null;
+        this.buffer = buffer;
+        this.inPlace = false;
+        push( EMPTY_DOCUMENT );
+    }
+
+    /**
+     * Creates a reader decoding the remaining bytes of the given buffer. The position of the buffer is not updated.
+     *
+     * @param source the buffer
+     */
+    public Utf8JsonReader( ByteBuffer source ) {
+        if ( null == source ) {
+            throw new NullPointerException( "source == null" );
+        }
+        this.in = null;
+        if ( source.hasArray() ) {
+            // the content is read in place
+            this.source = null;
+            this.inPlace = true;
+            this.buffer = source.array();
+            this.pos = source.arrayOffset() + source.position();
+            this.limit = source.arrayOffset() + source.limit();
+            this.bufferOffset = -pos;
+        } else {
+            this.source = source.duplicate();
+            this.inPlace = false;
+            this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+        }
+        push( EMPTY_DOCUMENT );
+    }
+
+    /**
+     * Creates a reader for a subclass providing the bytes through {@link #read(byte[], int, int)}.
+     *
+     * @param buffer the buffer, at least 16 bytes long
+     */
+    protected Utf8JsonReader( byte[] buffer ) {
+        if ( buffer.length < 16 ) {
+            throw new IllegalArgumentException( "The buffer must be at least 16 bytes long" );
+        }
+        this.in = null;
+        this.source = null;
+        this.inPlace = false;
+        this.buffer = buffer;
+        push( EMPTY_DOCUMENT );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * In lenient mode, several top-level values can follow each other.
+     */
+    @Override
+    public void setLenient( boolean lenient ) {
+        this.lenient = lenient;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void beginArray() {
+        if ( JsonToken.BEGIN_ARRAY != peek() ) {
+            throw unexpected( JsonToken.BEGIN_ARRAY );
+        }
+        pos++;
+        push( EMPTY_ARRAY );
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void endArray() {
+        if ( JsonToken.END_ARRAY != peek() ) {
+            throw unexpected( JsonToken.END_ARRAY );
+        }
+        stackSize--;
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void beginObject() {
+        if ( JsonToken.BEGIN_OBJECT != peek() ) {
+            throw unexpected( JsonToken.BEGIN_OBJECT );
+        }
+        pos++;
+        push( EMPTY_OBJECT );
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void endObject() {
+        if ( JsonToken.END_OBJECT != peek() ) {
+            throw unexpected( JsonToken.END_OBJECT );
+        }
+        stackSize--;
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        JsonToken token = peek();
+        return JsonToken.END_OBJECT != token && JsonToken.END_ARRAY != token && JsonToken.END_DOCUMENT != token;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JsonToken peek() {
+        JsonToken token = peeked;
+        if ( null == token ) {
+            token = doPeek();
+            peeked = token;
+        }
+        return token;
+    }
+
+    private JsonToken doPeek() {
+        int peekStack = stack[stackSize - 1];
+        if ( peekStack == EMPTY_ARRAY ) {
+            stack[stackSize - 1] = NONEMPTY_ARRAY;
+        } else if ( peekStack == NONEMPTY_ARRAY ) {
+            int c = nextNonWhitespace( true );
+            if ( c == ']' ) {
+                pos++;
+                return JsonToken.END_ARRAY;
+            } else if ( c == ',' ) {
+                pos++;
+            } else {
+                throw syntaxError( "Unterminated array" );
+            }
+        } else if ( peekStack == EMPTY_OBJECT || peekStack == NONEMPTY_OBJECT ) {
+            stack[stackSize - 1] = DANGLING_NAME;
+            if ( peekStack == NONEMPTY_OBJECT ) {
+                int c = nextNonWhitespace( true );
+                if ( c == '}' ) {
+                    pos++;
+                    return JsonToken.END_OBJECT;
+                } else if ( c == ',' ) {
+                    pos++;
+                } else {
+                    throw syntaxError( "Unterminated object" );
+                }
+            }
+            int c = nextNonWhitespace( true );
+            if ( c == '"' ) {
+                return JsonToken.NAME;
+            } else if ( c == '}' && peekStack == EMPTY_OBJECT ) {
+                pos++;
+                return JsonToken.END_OBJECT;
+            } else {
+                throw syntaxError( "Expected name" );
+            }
+        } else if ( peekStack == DANGLING_NAME ) {
+            stack[stackSize - 1] = NONEMPTY_OBJECT;
+            if ( nextNonWhitespace( true ) != ':' ) {
+                throw syntaxError( "Expected ':'" );
+            }
+            pos++;
+        } else if ( peekStack == EMPTY_DOCUMENT ) {
+            stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+            skipByteOrderMark();
+        } else if ( peekStack == NONEMPTY_DOCUMENT ) {
+            if ( nextNonWhitespace( false ) == -1 ) {
+                return JsonToken.END_DOCUMENT;
+            } else if ( !lenient ) {
+                throw syntaxError( "Expected end of input" );
+            }
+        } else if ( peekStack == CLOSED ) {
+            throw new IllegalStateException( "JsonReader is closed" );
+        }
+
+        int c = nextNonWhitespace( true );
+        switch ( c ) {
+            case ']':
+                if ( peekStack == EMPTY_ARRAY ) {
+                    pos++;
+                    return JsonToken.END_ARRAY;
+                }
+                throw syntaxError( "Unexpected value" );
+            case '"':
+                return JsonToken.STRING;
+            case '{':
+                return JsonToken.BEGIN_OBJECT;
+            case '[':
+                return JsonToken.BEGIN_ARRAY;
+            case 't':
+            case 'f':
+                return JsonToken.BOOLEAN;
+            case 'n':
+                return JsonToken.NULL;
+            default:
+                if ( c == '-' || (c >= '0' && c <= '9') ) {
+                    return JsonToken.NUMBER;
+                }
+                throw syntaxError( "Unexpected character '" + (char) c + "'" );
+        }
+    }
+
+    private void skipByteOrderMark() {
+        if ( (limit - pos >= 3 || fillBuffer( 3 )) && buffer[pos] == (byte) 0xef && buffer[pos + 1] == (byte) 0xbb && buffer[pos + 2] ==
+                (byte) 0xbf ) {
+            pos += 3;
+            lineStart = bufferOffset + pos;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String nextName() {
+        if ( JsonToken.NAME != peek() ) {
+            throw unexpected( JsonToken.NAME );
+        }
+        String result = readString();
+        peeked = null;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String nextString() {
+        JsonToken token = peek();
+        String result;
+        if ( JsonToken.STRING == token ) {
+            result = readString();
+        } else if ( JsonToken.NUMBER == token ) {
+            result = new String( chars, 0, readNumber() );
+        } else {
+            throw unexpected( JsonToken.STRING );
+        }
+        peeked = null;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean nextBoolean() {
+        if ( JsonToken.BOOLEAN != peek() ) {
+            throw unexpected( JsonToken.BOOLEAN );
+        }
+        boolean result = buffer[pos] == 't';
+        expectLiteral( result ? TRUE : FALSE );
+        peeked = null;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nextNull() {
+        if ( JsonToken.NULL != peek() ) {
+            throw unexpected( JsonToken.NULL );
+        }
+        expectLiteral( NULL );
+        peeked = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double nextDouble() {
+        double result = Double.parseDouble( nextNumberText() );
+        if ( !lenient && (Double.isNaN( result ) || Double.isInfinite( result )) ) {
+            throw syntaxError( "JSON forbids NaN and infinities: " + result );
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long nextLong() {
+        if ( JsonToken.NUMBER == peek() ) {
+            int length = readNumber();
+            if ( !decimal && length <= 18 ) {
+                // fits in a long, we parse the characters directly
+                long result = 0;
+                boolean negative = chars[0] == '-';
+                int i = negative ? 1 : 0;
+                if ( i < length ) {
+                    for ( ; i < length; i++ ) {
+                        char c = chars[i];
+                        if ( c < '0' || c > '9' ) {
+                            break;
+                        }
+                        result = result * 10 + (c - '0');
+                    }
+                    if ( i == length ) {
+                        peeked = null;
+                        return negative ? -result : result;
+                    }
+                }
+            }
+            peeked = null;
+            return toLong( new String( chars, 0, length ) );
+        }
+        return toLong( nextNumberText() );
+    }
+
+    private long toLong( String text ) {
+        try {
+            return Long.parseLong( text );
+        } catch ( NumberFormatException e ) {
+            double asDouble = Double.parseDouble( text );
+            long result = (long) asDouble;
+            if ( result != asDouble ) {
+                throw new NumberFormatException( "Expected a long but was " + text + " at line " + getLineNumber() + " column " +
+                        getColumnNumber() );
+            }
+            return result;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int nextInt() {
+        long result = nextLong();
+        if ( (int) result != result ) {
+            throw new NumberFormatException( "Expected an int but was " + result + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+        return (int) result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Number nextNumber() {
+        String text = nextNumberText();
+        if ( decimal || text.indexOf( '.' ) >= 0 || text.indexOf( 'e' ) >= 0 || text.indexOf( 'E' ) >= 0 ) {
+            return Double.parseDouble( text );
+        }
+        int length = text.length();
+        if ( length <= 9 ) {
+            return Integer.parseInt( text );
+        } else if ( length <= 18 ) {
+            long result = Long.parseLong( text );
+            if ( (int) result == result ) {
+                return (int) result;
+            }
+            return result;
+        } else {
+            BigInteger result = new BigInteger( text );
+            if ( result.bitLength() < 64 ) {
+                return result.longValue();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the text of the next number or string.
+     */
+    private String nextNumberText() {
+        JsonToken token = peek();
+        String result;
+        if ( JsonToken.NUMBER == token ) {
+            result = new String( chars, 0, readNumber() );
+        } else if ( JsonToken.STRING == token ) {
+            decimal = false;
+            result = readString();
+        } else {
+            throw unexpected( JsonToken.NUMBER );
+        }
+        peeked = null;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        peeked = null;
+        stack[0] = CLOSED;
+        stackSize = 1;
+        if ( null != in ) {
+            try {
+                in.close();
+            } catch ( IOException e ) {
+                throw new JsonDeserializationException( e );
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void skipValue() {
+        int count = 0;
+        do {
+            switch ( peek() ) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    count++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    count++;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    count--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    count--;
+                    break;
+                case NAME:
+                case STRING:
+                    skipString();
+                    peeked = null;
+                    break;
+                case NUMBER:
+                    readNumber();
+                    peeked = null;
+                    break;
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+                case NULL:
+                    nextNull();
+                    break;
+                default:
+                    throw new IllegalStateException( "Nothing to skip at line " + getLineNumber() + " column " + getColumnNumber() );
+            }
+        } while ( count != 0 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String nextValue() {
+        if ( JsonToken.NULL == peek() ) {
+            nextNull();
+            return "null";
+        }
+
+        JsonWriter writer = new DefaultJsonWriter( new StringBuilder() );
+        writer.setLenient( true );
+
+        int count = 0;
+        do {
+            switch ( peek() ) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    writer.beginArray();
+                    count++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    writer.beginObject();
+                    count++;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    writer.endArray();
+                    count--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    writer.endObject();
+                    count--;
+                    break;
+                case NAME:
+                    writer.name( nextName() );
+                    break;
+                case STRING:
+                    writer.value( nextString() );
+                    break;
+                case NUMBER:
+                    writer.rawValue( nextString() );
+                    break;
+                case BOOLEAN:
+                    writer.value( nextBoolean() );
+                    break;
+                case NULL:
+                    nextNull();
+                    writer.nullValue();
+                    break;
+                default:
+                    throw new IllegalStateException( "Nothing to read at line " + getLineNumber() + " column " + getColumnNumber() );
+            }
+        } while ( count != 0 );
+
+        writer.close();
+        return writer.getOutput();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getLineNumber() {
+        return lineNumber + 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnNumber() {
+        return (int) (bufferOffset + pos - lineStart) + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The input is a stream of bytes, this method returns null.
+     */
+    @Override
+    public String getInput() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * {@link JavaScriptObject} are not supported on the JVM.
+     */
+    @Override
+    public JavaScriptObject nextJavaScriptObject( boolean useSafeEval ) {
+        throw new UnsupportedOperationException( "JavaScriptObject are not supported on the JVM" );
+    }
+
+    private void push( int scope ) {
+        if ( stackSize == stack.length ) {
+            stack = Arrays.copyOf( stack, stackSize * 2 );
+        }
+        stack[stackSize++] = scope;
+    }
+
+    /**
+     * Returns the next character that is not a whitespace, without consuming it, or -1 at the end of the input.
+     */
+    private int nextNonWhitespace( boolean throwOnEof ) {
+        while ( pos < limit || fillBuffer( 1 ) ) {
+            byte c = buffer[pos];
+            if ( c == '\n' ) {
+                pos++;
+                lineNumber++;
+                lineStart = bufferOffset + pos;
+            } else if ( c == ' ' || c == '\r' || c == '\t' ) {
+                pos++;
+            } else {
+                return c & 0xff;
+            }
+        }
+        if ( throwOnEof ) {
+            throw syntaxError( "End of input" );
+        }
+        return -1;
+    }
+
+    private void expectLiteral( byte[] literal ) {
+        if ( limit - pos < literal.length && !fillBuffer( literal.length ) ) {
+            throw syntaxError( "End of input" );
+        }
+        for ( int i = 0; i < literal.length; i++ ) {
+            if ( buffer[pos + i] != literal[i] ) {
+                throw syntaxError( "Unexpected character '" + (char) (buffer[pos + i] & 0xff) + "'" );
+            }
+        }
+        pos += literal.length;
+    }
+
+    /**
+     * Reads the characters of the number at the current position and returns their count.
+     */
+    private int readNumber() {
+        int length = 0;
+        boolean decimal = false;
+        while ( pos < limit || fillBuffer( 1 ) ) {
+            byte c = buffer[pos];
+            if ( c == '.' || c == 'e' || c == 'E' ) {
+                decimal = true;
+            } else if ( (c < '0' || c > '9') && c != '-' && c != '+' ) {
+                break;
+            }
+            if ( length == chars.length ) {
+                chars = Arrays.copyOf( chars, length * 2 );
+            }
+            chars[length++] = (char) c;
+            pos++;
+        }
+        this.decimal = decimal;
+        return length;
+    }
+
+    /**
+     * Reads the string starting at the current position, decoding the UTF-8 bytes and the escape sequences.
+     */
+    private String readString() {
+        // opening quote
+        pos++;
+        int length = 0;
+        char[] chars = this.chars;
+        while ( true ) {
+            if ( pos == limit && !fillBuffer( 1 ) ) {
+                throw syntaxError( "Unterminated string" );
+            }
+
+            // ASCII characters available in the buffer
+            byte[] buffer = this.buffer;
+            int p = pos;
+            int l = limit;
+            while ( p < l ) {
+                byte c = buffer[p];
+                if ( c == '"' ) {
+                    pos = p + 1;
+                    this.chars = chars;
+                    return new String( chars, 0, length );
+                }
+                if ( c == '\\' || c < 0 ) {
+                    break;
+                }
+                if ( length == chars.length ) {
+                    chars = Arrays.copyOf( chars, length * 2 );
+                }
+                chars[length++] = (char) c;
+                p++;
+            }
+            pos = p;
+            if ( p == l ) {
+                continue;
+            }
+
+            // escape sequence or multi-byte character, both produce at most 2 chars
+            if ( length + 2 > chars.length ) {
+                chars = Arrays.copyOf( chars, chars.length * 2 );
+            }
+            if ( buffer[p] == '\\' ) {
+                pos++;
+                chars[length++] = readEscapeCharacter();
+            } else {
+                int codePoint = readCodePoint();
+                if ( codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT ) {
+                    chars[length++] = (char) codePoint;
+                } else {
+                    chars[length++] = Character.highSurrogate( codePoint );
+                    chars[length++] = Character.lowSurrogate( codePoint );
+                }
+            }
+        }
+    }
+
+    private char readEscapeCharacter() {
+        if ( pos == limit && !fillBuffer( 1 ) ) {
+            throw syntaxError( "Unterminated escape sequence" );
+        }
+        byte escaped = buffer[pos++];
+        switch ( escaped ) {
+            case 'u':
+                if ( limit - pos < 4 && !fillBuffer( 4 ) ) {
+                    throw syntaxError( "Unterminated escape sequence" );
+                }
+                char result = 0;
+                for ( int i = pos, end = i + 4; i < end; i++ ) {
+                    byte c = buffer[i];
+                    result <<= 4;
+                    if ( c >= '0' && c <= '9' ) {
+                        result += (c - '0');
+                    } else if ( c >= 'a' && c <= 'f' ) {
+                        result += (c - 'a' + 10);
+                    } else if ( c >= 'A' && c <= 'F' ) {
+                        result += (c - 'A' + 10);
+                    } else {
+                        throw syntaxError( "Invalid escape sequence" );
+                    }
+                }
+                pos += 4;
+                return result;
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case '"':
+            case '\\':
+            case '/':
+            case '\'':
+                return (char) escaped;
+            default:
+                throw syntaxError( "Invalid escape sequence" );
+        }
+    }
+
+    /**
+     * Decodes the UTF-8 sequence of a non-ASCII character.
+     */
+    private int readCodePoint() {
+        int first = buffer[pos] & 0xff;
+        int length;
+        int codePoint;
+        if ( (first & 0xe0) == 0xc0 ) {
+            length = 2;
+            codePoint = first & 0x1f;
+        } else if ( (first & 0xf0) == 0xe0 ) {
+            length = 3;
+            codePoint = first & 0x0f;
+        } else if ( (first & 0xf8) == 0xf0 ) {
+            length = 4;
+            codePoint = first & 0x07;
+        } else {
+            throw syntaxError( "Invalid UTF-8 sequence" );
+        }
+        if ( limit - pos < length && !fillBuffer( length ) ) {
+            throw syntaxError( "Invalid UTF-8 sequence" );
+        }
+        for ( int i = pos + 1, end = pos + length; i < end; i++ ) {
+            int next = buffer[i];
+            if ( (next & 0xc0) != 0x80 ) {
+                throw syntaxError( "Invalid UTF-8 sequence" );
+            }
+            codePoint = (codePoint << 6) | (next & 0x3f);
+        }
+        pos += length;
+        return codePoint;
+    }
+
+    private void skipString() {
+        // opening quote
+        pos++;
+        while ( pos < limit || fillBuffer( 1 ) ) {
+            byte c = buffer[pos++];
+            if ( c == '"' ) {
+                return;
+            }
+            if ( c == '\\' ) {
+                if ( pos == limit && !fillBuffer( 1 ) ) {
+                    break;
+                }
+                pos++;
+            }
+        }
+        throw syntaxError( "Unterminated string" );
+    }
+
+    /**
+     * Reads more bytes until the buffer contains at least the given number of unread bytes. The unread bytes are first moved to the
+     * start of the buffer.
+     *
+     * @return false if the end of the input has been reached before
+     */
+    private boolean fillBuffer( int minimum ) {
+        if ( inPlace ) {
+            return false;
+        }
+        if ( pos > 0 ) {
+            limit -= pos;
+            System.arraycopy( buffer, pos, buffer, 0, limit );
+            bufferOffset += pos;
+            pos = 0;
+        }
+        while ( limit < minimum ) {
+            int read = read( buffer, limit, buffer.length - limit );
+            if ( read == -1 ) {
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next bytes of the input.
+     *
+     * @param buffer the buffer receiving the bytes
+     * @param offset index of the first byte to write in the buffer
+     * @param length maximum number of bytes to read
+     *
+     * @return the number of bytes read, -1 at the end of the input
+     */
+    protected int read( byte[] buffer, int offset, int length ) {
+        if ( null != source ) {
+            if ( !source.hasRemaining() ) {
+                return -1;
+            }
+            int read = Math.min( length, source.remaining() );
+            source.get( buffer, offset, read );
+            return read;
+        }
+        if ( null != in ) {
+            try {
+                return in.read( buffer, offset, length );
+            } catch ( IOException e ) {
+                throw new JsonDeserializationException( e );
+            }
+        }
+        return -1;
+    }
+
+    private IllegalStateException unexpected( JsonToken expected ) {
+        return new IllegalStateException( "Expected " + expected + " but was " + peek() + " at line " + getLineNumber() + " column " +
+                getColumnNumber() );
+    }
+
+    private MalformedJsonException syntaxError( String message ) {
+        return new MalformedJsonException( message + " at line " + getLineNumber() + " column " + getColumnNumber() );
+    }
+}
@@ -0,0 +1,625 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * {@link JsonWriter} encoding the JSON output in UTF-8 directly into a byte buffer, flushed to an {@link OutputStream} or a
+ * {@link ByteBuffer} each time it is full. The strings are escaped and encoded in a single pass and the memory used does not depend
+ * on the size of the output.
+ * <p>Like {@link com.github.nmorel.gwtjackson.client.stream.impl.UncheckedJsonWriter}, the writer trusts its caller to produce a
+ * well-formed sequence of tokens. The output is written to the target, {@link #getOutput()} returns null. {@link #flush()} must be
+ * called once the value is written, {@link #close()} also closes the stream.</p>
+ *
+ * @author Nicolas Morel
+ * @version $Id: $
+ */
+public class Utf8JsonWriter implements JsonWriter {
+
+    /**
+     * Default size of the buffer
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final OutputStream out;
+
+    private final ByteBuffer target;
+
+    private final byte[] buffer;
+
+    private int count;
+
+    /**
+     * For each depth, true if the current array or object already contains an element. The index 0 is the document.
+     */
+    private boolean[] nonEmpty = new boolean[32];
+
+    private int depth = 0;
+
+    /**
+     * True if a name has just been written and its value is expected
+     */
+    private boolean afterName;
+
+    /**
+     * A string containing a full set of spaces for a single level of indentation, or null for no pretty printing.
+     */
+    private String indent;
+
+    /**
+     * The name/value separator; either ":" or ": ".
+     */
+    private String separator = ":";
+
+    private String deferredUnescapeName;
+
+    private String deferredName;
+
+    private boolean serializeNulls = true;
+
+    /**
+     * Creates a writer encoding the output into the given stream.
+     *
+     * @param out the stream
+     */
+    public Utf8JsonWriter( OutputStream out ) {
+        this( out, new byte[DEFAULT_BUFFER_SIZE] );
+    }
+
+    /**
+     * Creates a writer encoding the output into the given stream. The buffer can be reused once the writer has been flushed.
+     *
+     * @param out the stream
+     * @param buffer the buffer, at least 16 bytes long
+     */
+    public Utf8JsonWriter( OutputStream out, byte[] buffer ) {
+        this( out, null, buffer );
+    }
+
+    /**
+     * Creates a writer encoding the output into the given buffer. A {@link java.nio.BufferOverflowException} is thrown if the output
+     * does not fit into the remaining space of the buffer.
+     *
+     * @param target the target buffer
+     */
+    public Utf8JsonWriter( ByteBuffer target ) {
+        this( null, target, new byte[DEFAULT_BUFFER_SIZE] );
+    }
+
+    private Utf8JsonWriter( OutputStream out, ByteBuffer target, byte[] buffer ) {
+        if ( null == out && null == target ) {
+            throw new NullPointerException( "out == null" );
+        }
+        if ( buffer.length < 16 ) {
+            throw new IllegalArgumentException( "The buffer must be at least 16 bytes long" );
+        }
+        this.out = out;
+        this.target = target;
+        this.buffer = buffer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void setIndent( String indent ) {
+        if ( indent.length() == 0 ) {
+            this.indent = null;
+            this.separator = ":";
+        } else {
+            this.indent = indent;
+            this.separator = ": ";
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This writer is always lenient.
+     */
+    @Override
+    public final void setLenient( boolean lenient ) {
+        // no-op
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void setSerializeNulls( boolean serializeNulls ) {
+        this.serializeNulls = serializeNulls;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean getSerializeNulls() {
+        return serializeNulls;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter beginArray() {
+        writeDeferredName();
+        return open( '[' );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter endArray() {
+        return close( ']' );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter beginObject() {
+        writeDeferredName();
+        return open( '{' );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter endObject() {
+        return close( '}' );
+    }
+
+    private Utf8JsonWriter open( char openBracket ) {
+        beforeValue();
+        depth++;
+        if ( depth == nonEmpty.length ) {
+            boolean[] newNonEmpty = new boolean[depth * 2];
+            System.arraycopy( nonEmpty, 0, newNonEmpty, 0, depth );
+            nonEmpty = newNonEmpty;
+        }
+        nonEmpty[depth] = false;
+        writeByte( openBracket );
+        return this;
+    }
+
+    private Utf8JsonWriter close( char closeBracket ) {
+        boolean hasElements = nonEmpty[depth];
+        depth--;
+        if ( hasElements ) {
+            newline();
+        }
+        writeByte( closeBracket );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter name( String name ) {
+        deferredName = name;
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter unescapeName( String name ) {
+        deferredUnescapeName = name;
+        return this;
+    }
+
+    private void writeDeferredName() {
+        if ( null != deferredUnescapeName ) {
+            beforeName();
+            writeByte( '\"' );
+            writeUtf8( deferredUnescapeName );
+            writeByte( '\"' );
+            deferredUnescapeName = null;
+        } else if ( null != deferredName ) {
+            beforeName();
+            writeString( deferredName );
+            deferredName = null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter value( String value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        writeString( value );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter unescapeValue( String value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        writeByte( '\"' );
+        writeUtf8( value );
+        writeByte( '\"' );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter nullValue() {
+        if ( null != deferredUnescapeName || null != deferredName ) {
+            if ( serializeNulls ) {
+                writeDeferredName();
+            } else {
+                // skip the name and the value
+                deferredUnescapeName = null;
+                deferredName = null;
+                return this;
+            }
+        }
+        beforeValue();
+        writeBytes( NULL );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter cancelName() {
+        deferredUnescapeName = null;
+        deferredName = null;
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter value( boolean value ) {
+        writeDeferredName();
+        beforeValue();
+        writeBytes( value ? TRUE : FALSE );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter value( double value ) {
+        writeDeferredName();
+        beforeValue();
+        if ( Double.isNaN( value ) || Double.isInfinite( value ) ) {
+            writeByte( '\"' );
+            writeAscii( Double.toString( value ) );
+            writeByte( '\"' );
+        } else {
+            writeAscii( Double.toString( value ) );
+        }
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter value( long value ) {
+        writeDeferredName();
+        beforeValue();
+        writeLong( value );
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter value( Number value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        if ( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ) {
+            writeLong( value.longValue() );
+            return this;
+        }
+        String string = value.toString();
+        if ( isQuotedNumber( value, string ) ) {
+            writeByte( '\"' );
+            writeAscii( string );
+            writeByte( '\"' );
+        } else {
+            writeAscii( string );
+        }
+        return this;
+    }
+
+    /**
+     * The infinite and NaN values are written as string. Only the floating-point and the unknown implementations of {@link Number} are
+     * checked.
+     */
+    private boolean isQuotedNumber( Number value, String string ) {
+        if ( value instanceof Double || value instanceof Float ) {
+            double d = value.doubleValue();
+            return Double.isNaN( d ) || Double.isInfinite( d );
+        }
+        if ( value instanceof BigDecimal || value instanceof BigInteger ) {
+            return false;
+        }
+        return string.equals( "-Infinity" ) || string.equals( "Infinity" ) || string.equals( "NaN" );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * {@link JavaScriptObject} are not supported on the JVM.
+     */
+    @Override
+    public Utf8JsonWriter value( JavaScriptObject value ) {
+        throw new UnsupportedOperationException( "JavaScriptObject are not supported on the JVM" );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Utf8JsonWriter rawValue( Object value ) {
+        if ( null == value ) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        writeUtf8( value.toString() );
+        return this;
+    }
+
+    /**
+     * Writes the content of the buffer to the target.
+     */
+    @Override
+    public void flush() {
+        if ( count == 0 ) {
+            return;
+        }
+        if ( null != target ) {
+            target.put( buffer, 0, count );
+        } else {
+            try {
+                out.write( buffer, 0, count );
+            } catch ( IOException e ) {
+                throw new JsonSerializationException( e );
+            }
+        }
+        count = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        flush();
+        if ( null != out ) {
+            try {
+                out.close();
+            } catch ( IOException e ) {
+                throw new JsonSerializationException( e );
+            }
+        }
+        if ( depth > 0 ) {
+            throw new JsonSerializationException( "Incomplete document" );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The output is written to the target, this method returns null.
+     */
+    @Override
+    public String getOutput() {
+        return null;
+    }
+
+    private void newline() {
+        if ( null == indent ) {
+            return;
+        }
+
+        writeByte( '\n' );
+        for ( int i = 0; i < depth; i++ ) {
+            writeAscii( indent );
+        }
+    }
+
+    /**
+     * Inserts the separator and whitespace before a name.
+     */
+    private void beforeName() {
+        if ( nonEmpty[depth] ) {
+            writeByte( ',' );
+        } else {
+            nonEmpty[depth] = true;
+        }
+        newline();
+        afterName = true;
+    }
+
+    /**
+     * Inserts the separator and whitespace before a value, an array or an object.
+     */
+    private void beforeValue() {
+        if ( afterName ) {
+            // value for name
+            writeAscii( separator );
+            afterName = false;
+        } else if ( depth > 0 ) {
+            // element of an array
+            if ( nonEmpty[depth] ) {
+                writeByte( ',' );
+            } else {
+                nonEmpty[depth] = true;
+            }
+            newline();
+        }
+    }
+
+    private void writeByte( char c ) {
+        if ( count == buffer.length ) {
+            flush();
+        }
+        buffer[count++] = (byte) c;
+    }
+
+    private void writeBytes( byte[] bytes ) {
+        if ( count + bytes.length > buffer.length ) {
+            flush();
+        }
+        System.arraycopy( bytes, 0, buffer, count, bytes.length );
+        count += bytes.length;
+    }
+
+    private void writeAscii( String value ) {
+        for ( int i = 0; i < value.length(); i++ ) {
+            writeByte( value.charAt( i ) );
+        }
+    }
+
+    private void writeLong( long value ) {
+        if ( value == Long.MIN_VALUE ) {
+            writeAscii( "-9223372036854775808" );
+            return;
+        }
+        // a long has at most 20 characters with its sign
+        if ( count + 20 > buffer.length ) {
+            flush();
+        }
+        if ( value < 0 ) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for ( long v = value / 10; v > 0; v /= 10 ) {
+            digits++;
+        }
+        int pos = count + digits;
+        count = pos;
+        do {
+            buffer[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while ( value > 0 );
+    }
+
+    /**
+     * Writes the string between quotes, escaping and encoding its characters in one pass.
+     */
+    private void writeString( String value ) {
+        writeByte( '\"' );
+        int length = value.length();
+        for ( int i = 0; i < length; i++ ) {
+            char c = value.charAt( i );
+            if ( c < 0x80 ) {
+                if ( c < 0x20 || c == '\"' || c == '\\' ) {
+                    writeEscaped( c );
+                } else {
+                    writeByte( c );
+                }
+            } else if ( c == 0x2028 || c == 0x2029 ) {
+                // line and paragraph separators are not valid in JavaScript strings
+                writeEscaped( c );
+            } else {
+                i = writeUtf8Char( value, i, c, true );
+            }
+        }
+        writeByte( '\"' );
+    }
+
+    private void writeEscaped( char c ) {
+        if ( count + 6 > buffer.length ) {
+            flush();
+        }
+        buffer[count++] = '\\';
+        switch ( c ) {
+            case '\"':
+            case '\\':
+                buffer[count++] = (byte) c;
+                break;
+            case '\n':
+                buffer[count++] = 'n';
+                break;
+            case '\r':
+                buffer[count++] = 'r';
+                break;
+            case '\t':
+                buffer[count++] = 't';
+                break;
+            case '\b':
+                buffer[count++] = 'b';
+                break;
+            case '\f':
+                buffer[count++] = 'f';
+                break;
+            default:
+                buffer[count++] = 'u';
+                buffer[count++] = HEX[(c >> 12) & 0xf];
+                buffer[count++] = HEX[(c >> 8) & 0xf];
+                buffer[count++] = HEX[(c >> 4) & 0xf];
+                buffer[count++] = HEX[c & 0xf];
+        }
+    }
+
+    /**
+     * Writes the string encoded in UTF-8, without escaping it.
+     */
+    private void writeUtf8( String value ) {
+        int length = value.length();
+        for ( int i = 0; i < length; i++ ) {
+            char c = value.charAt( i );
+            if ( c < 0x80 ) {
+                writeByte( c );
+            } else {
+                i = writeUtf8Char( value, i, c, false );
+            }
+        }
+    }
+
+    /**
+     * Writes a non-ASCII character and returns the index of its last char in the string. A lone surrogate is escaped or replaced by
+     * '?' since it cannot be encoded in UTF-8.
+     */
+    private int writeUtf8Char( String value, int i, char c, boolean escape ) {
+        if ( count + 4 > buffer.length ) {
+            flush();
+        }
+        if ( c < 0x800 ) {
+            buffer[count++] = (byte) (0xc0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3f));
+        } else if ( !Character.isSurrogate( c ) ) {
+            buffer[count++] = (byte) (0xe0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buffer[count++] = (byte) (0x80 | (c & 0x3f));
+        } else if ( Character.isHighSurrogate( c ) && i + 1 < value.length() && Character.isLowSurrogate( value.charAt( i + 1 ) ) ) {
+            int codePoint = Character.toCodePoint( c, value.charAt( i + 1 ) );
+            buffer[count++] = (byte) (0xf0 | (codePoint >> 18));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3f));
+            return i + 1;
+        } else if ( escape ) {
+            writeEscaped( c );
+        } else {
+            buffer[count++] = '?';
+        }
+        return i;
+    }
+}
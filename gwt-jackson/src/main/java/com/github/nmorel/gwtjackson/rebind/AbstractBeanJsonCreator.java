@@ -18,6 +18,8 @@ package com.github.nmorel.gwtjackson.rebind;
 
 import javax.lang.model.element.Modifier;
 import java.io.PrintWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -53,11 +55,13 @@ import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
 import static com.github.nmorel.gwtjackson.rebind.CreatorUtils.isObject;
 import static com.github.nmorel.gwtjackson.rebind.CreatorUtils.isSerializable;
+import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.DEFAULT_WILDCARD;
 import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.parameterizedName;
 import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.rawName;
 import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.typeVariableName;
@@ -76,6 +80,11 @@ public abstract class AbstractBeanJsonCreator extends AbstractCreator {
 
     protected final ImmutableMap<String, PropertyInfo> properties;
 
+    /**
+     * Bit index of each view declared with {@link com.fasterxml.jackson.annotation.JsonView} on the bean's properties.
+     */
+    private Map<Class<?>, Integer> viewIndexes;
+
     /**
      * <p>Constructor for AbstractBeanJsonCreator.</p>
      *
@@ -253,16 +262,13 @@ public abstract class AbstractBeanJsonCreator extends AbstractCreator {
      */
     protected final CodeBlock generateTypeInfo( BeanTypeInfo typeInfo ) {
 
-        Class type;
-        ImmutableMap<JClassType, String> mapTypeToMetadata;
         if ( isSerializer() ) {
-            type = TypeSerializationInfo.class;
-            mapTypeToMetadata = typeInfo.getMapTypeToSerializationMetadata();
-        } else {
-            type = TypeDeserializationInfo.class;
-            mapTypeToMetadata = typeInfo.getMapTypeToDeserializationMetadata();
+            return generateTypeSerializationInfo( typeInfo );
         }
 
+        Class type = TypeDeserializationInfo.class;
+        ImmutableMap<JClassType, String> mapTypeToMetadata = typeInfo.getMapTypeToDeserializationMetadata();
+
         CodeBlock.Builder builder = CodeBlock.builder()
                 .add( "new $T($T.$L, $S)", type, As.class, typeInfo.getInclude(), typeInfo.getPropertyName() )
                 .indent()
@@ -275,6 +281,33 @@ public abstract class AbstractBeanJsonCreator extends AbstractCreator {
         return builder.unindent().unindent().build();
     }
 
+    /**
+     * Build the code to initialize a {@link TypeSerializationInfo}. The type information of each subtype is returned by direct
+     * comparisons on its class instead of a lookup in a map.
+     *
+     * @param typeInfo the type information obtained through the {@link JsonTypeInfo} annotation
+     * @return the code built
+     */
+    private CodeBlock generateTypeSerializationInfo( BeanTypeInfo typeInfo ) {
+        MethodSpec.Builder getTypeInfoBuilder = MethodSpec.methodBuilder( "getTypeInfo" )
+                .addModifiers( Modifier.PUBLIC )
+                .addAnnotation( Override.class )
+                .returns( String.class )
+                .addParameter( Class.class, "aClass" );
+        for ( Entry<JClassType, String> entry : typeInfo.getMapTypeToSerializationMetadata().entrySet() ) {
+            getTypeInfoBuilder.beginControlFlow( "if (aClass == $T.class)", rawName( entry.getKey() ) )
+                    .addStatement( "return $S", entry.getValue() )
+                    .endControlFlow();
+        }
+        getTypeInfoBuilder.addStatement( "return null" );
+
+        TypeSpec type = TypeSpec.anonymousClassBuilder( "$T.$L, $S", As.class, typeInfo.getInclude(), typeInfo.getPropertyName() )
+                .superclass( TypeSerializationInfo.class )
+                .addMethod( getTypeInfoBuilder.build() )
+                .build();
+        return CodeBlock.builder().add( "$L", type ).build();
+    }
+
     /**
      * Add the common property parameters to the code builder.
      *
@@ -316,4 +349,104 @@ public abstract class AbstractBeanJsonCreator extends AbstractCreator {
             return CreatorUtils.filterSubtypesForDeserialization( logger, configuration, beanInfo.getType() );
         }
     }
+
+    /**
+     * Returns the bit index of each view declared on the bean's properties, in order of appearance.
+     *
+     * @return the views with their bit index
+     * @throws com.google.gwt.core.ext.UnableToCompleteException if there is more views than bits in a mask
+     */
+    private Map<Class<?>, Integer> getViewIndexes() throws UnableToCompleteException {
+        if ( null == viewIndexes ) {
+            Map<Class<?>, Integer> indexes = new LinkedHashMap<Class<?>, Integer>();
+            for ( PropertyInfo property : properties.values() ) {
+                addViewIndexes( indexes, property );
+            }
+            if ( beanInfo.getAnyGetterPropertyInfo().isPresent() ) {
+                addViewIndexes( indexes, beanInfo.getAnyGetterPropertyInfo().get() );
+            }
+            if ( beanInfo.getAnySetterPropertyInfo().isPresent() ) {
+                addViewIndexes( indexes, beanInfo.getAnySetterPropertyInfo().get() );
+            }
+            if ( indexes.size() > Integer.SIZE ) {
+                logger.log( Type.ERROR, "Type " + beanInfo.getType().getQualifiedSourceName() + " declares more than " + Integer.SIZE +
+                        " different views" );
+                throw new UnableToCompleteException();
+            }
+            viewIndexes = indexes;
+        }
+        return viewIndexes;
+    }
+
+    private void addViewIndexes( Map<Class<?>, Integer> indexes, PropertyInfo property ) {
+        if ( property.getViews().isPresent() ) {
+            for ( Class<?> view : property.getViews().get() ) {
+                if ( !indexes.containsKey( view ) ) {
+                    indexes.put( view, indexes.size() );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the bit mask of the views the property belongs to. 0 means the property is not restricted to any view.
+     *
+     * @param property the information about the property
+     * @return the view mask
+     * @throws com.google.gwt.core.ext.UnableToCompleteException if any.
+     */
+    protected final int getViewMask( PropertyInfo property ) throws UnableToCompleteException {
+        int mask = 0;
+        if ( property.getViews().isPresent() ) {
+            Map<Class<?>, Integer> indexes = getViewIndexes();
+            for ( Class<?> view : property.getViews().get() ) {
+                mask |= 1 << indexes.get( view );
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Build the method returning the view mask matching the active view. An active view includes the properties annotated with
+     * itself or one of its supertypes, so each view is also mapped from its public subtypes.
+     *
+     * @return the method or absent if no property declares a view
+     * @throws com.google.gwt.core.ext.UnableToCompleteException if any.
+     */
+    protected final Optional<MethodSpec> buildGetViewMaskMethod() throws UnableToCompleteException {
+        Map<Class<?>, Integer> indexes = getViewIndexes();
+        if ( indexes.isEmpty() ) {
+            return Optional.absent();
+        }
+
+        Map<JClassType, Integer> typeToMask = new LinkedHashMap<JClassType, Integer>();
+        for ( Entry<Class<?>, Integer> entry : indexes.entrySet() ) {
+            int bit = 1 << entry.getValue();
+            JClassType viewType = typeOracle.getType( entry.getKey().getCanonicalName() );
+            addViewMask( typeToMask, viewType, bit );
+            for ( JClassType subtype : viewType.getSubtypes() ) {
+                if ( subtype.isPublic() ) {
+                    addViewMask( typeToMask, subtype, bit );
+                }
+            }
+        }
+
+        MethodSpec.Builder builder = MethodSpec.methodBuilder( "getViewMask" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( int.class )
+                .addParameter( ParameterizedTypeName.get( ClassName.get( Class.class ), DEFAULT_WILDCARD ), "view" );
+        for ( Entry<JClassType, Integer> entry : typeToMask.entrySet() ) {
+            builder.beginControlFlow( "if (view == $T.class)", rawName( entry.getKey() ) )
+                    .addStatement( "return $L", entry.getValue() )
+                    .endControlFlow();
+        }
+        builder.addStatement( "return 0" );
+        return Optional.of( builder.build() );
+    }
+
+    private void addViewMask( Map<JClassType, Integer> typeToMask, JClassType type, int bit ) {
+        Integer mask = typeToMask.get( type );
+        typeToMask.put( type, null == mask ? bit : mask | bit );
+    }
 }
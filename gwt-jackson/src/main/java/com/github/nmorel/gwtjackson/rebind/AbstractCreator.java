@@ -23,11 +23,41 @@ import java.util.Iterator;
 import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.ByteJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.DoubleJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.FloatJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.IntegerJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.LongJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.ShortJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.array.ArrayJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.array.ArrayJsonDeserializer.ArrayCreator;
 import com.github.nmorel.gwtjackson.client.deser.array.dd.Array2dJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.array.dd.Array2dJsonDeserializer.Array2dCreator;
+import com.github.nmorel.gwtjackson.client.deser.collection.BaseCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.ByteCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.DoubleCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.FloatCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.IntegerCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.LongCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.ShortCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.StringCollectionJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.map.key.KeyDeserializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.ByteJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.DoubleJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.FloatJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.IntegerJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.LongJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.ShortJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.ByteCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.DoubleCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.FloatCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.IntegerCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.LongCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.ShortCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.StringCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.CollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.StringJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.array.ArrayJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.array.dd.Array2dJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.AbstractBeanJsonSerializer;
@@ -59,6 +89,7 @@ import com.google.gwt.core.ext.typeinfo.JTypeParameter;
 import com.google.gwt.thirdparty.guava.common.base.Function;
 import com.google.gwt.thirdparty.guava.common.base.Optional;
 import com.google.gwt.thirdparty.guava.common.collect.ImmutableList;
+import com.google.gwt.thirdparty.guava.common.collect.ImmutableMap;
 import com.google.gwt.thirdparty.guava.common.collect.Lists;
 import com.google.gwt.user.rebind.AbstractSourceCreator;
 import com.squareup.javapoet.ClassName;
@@ -85,6 +116,46 @@ public abstract class AbstractCreator extends AbstractSourceCreator {
     /** Constant <code>TYPE_PARAMETER_SERIALIZER_FIELD_NAME="serializer%d"</code> */
     protected static final String TYPE_PARAMETER_SERIALIZER_FIELD_NAME = "serializer%d";
 
+    private static final ImmutableMap<String, Class<?>> DEFAULT_ELEMENT_SERIALIZERS = ImmutableMap.<String, Class<?>>builder()
+            .put( Integer.class.getName(), IntegerJsonSerializer.class )
+            .put( Long.class.getName(), LongJsonSerializer.class )
+            .put( Short.class.getName(), ShortJsonSerializer.class )
+            .put( Byte.class.getName(), ByteJsonSerializer.class )
+            .put( Double.class.getName(), DoubleJsonSerializer.class )
+            .put( Float.class.getName(), FloatJsonSerializer.class )
+            .put( String.class.getName(), StringJsonSerializer.class )
+            .build();
+
+    private static final ImmutableMap<String, Class<?>> BOXED_COLLECTION_SERIALIZERS = ImmutableMap.<String, Class<?>>builder()
+            .put( Integer.class.getName(), IntegerCollectionJsonSerializer.class )
+            .put( Long.class.getName(), LongCollectionJsonSerializer.class )
+            .put( Short.class.getName(), ShortCollectionJsonSerializer.class )
+            .put( Byte.class.getName(), ByteCollectionJsonSerializer.class )
+            .put( Double.class.getName(), DoubleCollectionJsonSerializer.class )
+            .put( Float.class.getName(), FloatCollectionJsonSerializer.class )
+            .put( String.class.getName(), StringCollectionJsonSerializer.class )
+            .build();
+
+    private static final ImmutableMap<String, Class<?>> DEFAULT_ELEMENT_DESERIALIZERS = ImmutableMap.<String, Class<?>>builder()
+            .put( Integer.class.getName(), IntegerJsonDeserializer.class )
+            .put( Long.class.getName(), LongJsonDeserializer.class )
+            .put( Short.class.getName(), ShortJsonDeserializer.class )
+            .put( Byte.class.getName(), ByteJsonDeserializer.class )
+            .put( Double.class.getName(), DoubleJsonDeserializer.class )
+            .put( Float.class.getName(), FloatJsonDeserializer.class )
+            .put( String.class.getName(), StringJsonDeserializer.class )
+            .build();
+
+    private static final ImmutableMap<String, Class<?>> BOXED_COLLECTION_DESERIALIZERS = ImmutableMap.<String, Class<?>>builder()
+            .put( Integer.class.getName(), IntegerCollectionJsonDeserializer.class )
+            .put( Long.class.getName(), LongCollectionJsonDeserializer.class )
+            .put( Short.class.getName(), ShortCollectionJsonDeserializer.class )
+            .put( Byte.class.getName(), ByteCollectionJsonDeserializer.class )
+            .put( Double.class.getName(), DoubleCollectionJsonDeserializer.class )
+            .put( Float.class.getName(), FloatCollectionJsonDeserializer.class )
+            .put( String.class.getName(), StringCollectionJsonDeserializer.class )
+            .build();
+
     protected final TreeLogger logger;
 
     protected final GeneratorContext context;
@@ -289,7 +360,13 @@ public abstract class AbstractCreator extends AbstractSourceCreator {
                 }
                 ImmutableList<JSerializerType> parametersSerializer = parametersSerializerBuilder.build();
                 builder.parameters( parametersSerializer );
-                builder.instance( methodCallCodeWithJMapperTypeParameters( configuredSerializer.get(), parametersSerializer ) );
+                Optional<ClassName> boxedCollectionSerializer = getBoxedCollectionSerializer( configuredSerializer.get(), typeArgs );
+                if ( boxedCollectionSerializer.isPresent() ) {
+                    // Collection of boxed numbers or strings, we use the specialized serializer writing the elements directly.
+                    builder.instance( CodeBlock.builder().add( "$T.newInstance()", boxedCollectionSerializer.get() ).build() );
+                } else {
+                    builder.instance( methodCallCodeWithJMapperTypeParameters( configuredSerializer.get(), parametersSerializer ) );
+                }
 
             } else {
                 // The serializer has no parameters.
@@ -569,7 +646,13 @@ public abstract class AbstractCreator extends AbstractSourceCreator {
                 }
                 ImmutableList<JDeserializerType> parametersDeserializer = parametersDeserializerBuilder.build();
                 builder.parameters( parametersDeserializer );
-                builder.instance( methodCallCodeWithJMapperTypeParameters( configuredDeserializer.get(), parametersDeserializer ) );
+                CodeBlock instance = methodCallCodeWithJMapperTypeParameters( configuredDeserializer.get(), parametersDeserializer );
+                Optional<ClassName> boxedCollectionDeserializer = getBoxedCollectionDeserializer( configuredDeserializer.get(), typeArgs );
+                if ( boxedCollectionDeserializer.isPresent() ) {
+                    // Collection of boxed numbers or strings, we wrap the deserializer to read the elements directly.
+                    instance = CodeBlock.builder().add( "$T.newInstance($L)", boxedCollectionDeserializer.get(), instance ).build();
+                }
+                builder.instance( instance );
 
             } else {
                 // The deserializer has no parameters.
@@ -844,6 +927,57 @@ public abstract class AbstractCreator extends AbstractSourceCreator {
         return ImmutableList.of();
     }
 
+    /**
+     * Returns the specialized serializer to use for a collection of boxed numbers or strings. The collection and its elements
+     * must use the default serializers.
+     *
+     * @param collectionSerializer the serializer configured for the collection
+     * @param typeArgs the type arguments of the collection
+     *
+     * @return the specialized serializer or absent if the generic one must be used
+     */
+    private Optional<ClassName> getBoxedCollectionSerializer( MapperInstance collectionSerializer, JClassType[] typeArgs ) {
+        if ( typeArgs.length != 1 || !CollectionJsonSerializer.class.getCanonicalName().equals( collectionSerializer.getMapperType()
+                .getQualifiedSourceName() ) ) {
+            return Optional.absent();
+        }
+        Class<?> boxedSerializer = BOXED_COLLECTION_SERIALIZERS.get( typeArgs[0].getQualifiedSourceName() );
+        Class<?> defaultElementSerializer = DEFAULT_ELEMENT_SERIALIZERS.get( typeArgs[0].getQualifiedSourceName() );
+        if ( null == boxedSerializer || !isMapperType( configuration.getSerializer( typeArgs[0] ), defaultElementSerializer ) ) {
+            return Optional.absent();
+        }
+        return Optional.of( ClassName.get( boxedSerializer ) );
+    }
+
+    /**
+     * Returns the specialized deserializer to wrap around the deserializer of a collection of boxed numbers or strings. The
+     * collection and its elements must use the default deserializers.
+     *
+     * @param collectionDeserializer the deserializer configured for the collection
+     * @param typeArgs the type arguments of the collection
+     *
+     * @return the specialized deserializer or absent if the generic one must be used
+     */
+    private Optional<ClassName> getBoxedCollectionDeserializer( MapperInstance collectionDeserializer, JClassType[] typeArgs ) throws
+            UnableToCompleteException {
+        JClassType mapperType = collectionDeserializer.getMapperType();
+        if ( typeArgs.length != 1
+                || !BaseCollectionJsonDeserializer.class.getPackage().getName().equals( mapperType.getPackage().getName() )
+                || !mapperType.isAssignableTo( typeOracle.getType( BaseCollectionJsonDeserializer.class.getCanonicalName() ) ) ) {
+            return Optional.absent();
+        }
+        Class<?> boxedDeserializer = BOXED_COLLECTION_DESERIALIZERS.get( typeArgs[0].getQualifiedSourceName() );
+        Class<?> defaultElementDeserializer = DEFAULT_ELEMENT_DESERIALIZERS.get( typeArgs[0].getQualifiedSourceName() );
+        if ( null == boxedDeserializer || !isMapperType( configuration.getDeserializer( typeArgs[0] ), defaultElementDeserializer ) ) {
+            return Optional.absent();
+        }
+        return Optional.of( ClassName.get( boxedDeserializer ) );
+    }
+
+    private boolean isMapperType( Optional<MapperInstance> instance, Class<?> mapperClass ) {
+        return instance.isPresent() && mapperClass.getCanonicalName().equals( instance.get().getMapperType().getQualifiedSourceName() );
+    }
+
     /**
      * Build the code to call the constructor of a class
      *
@@ -18,10 +18,8 @@ package com.github.nmorel.gwtjackson.rebind;
 
 import javax.lang.model.element.Modifier;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,15 +29,20 @@ import java.util.Set;
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.annotation.JsonCanonical;
 import com.github.nmorel.gwtjackson.client.deser.bean.AbstractBeanJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.bean.AbstractIdentityDeserializationInfo;
 import com.github.nmorel.gwtjackson.client.deser.bean.AnySetterDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.bean.BackReferenceProperty;
 import com.github.nmorel.gwtjackson.client.deser.bean.BeanPropertyDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.bean.BufferingInstanceBuilder;
+import com.github.nmorel.gwtjackson.client.deser.bean.CanonicalDeserializationInfo;
 import com.github.nmorel.gwtjackson.client.deser.bean.HasDeserializerAndParameters;
 import com.github.nmorel.gwtjackson.client.deser.bean.IdentityDeserializationInfo;
+import com.github.nmorel.gwtjackson.client.deser.bean.IndexedBeanPropertyDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.bean.Instance;
 import com.github.nmorel.gwtjackson.client.deser.bean.InstanceBuilder;
+import com.github.nmorel.gwtjackson.client.deser.bean.PropertyBuffer;
 import com.github.nmorel.gwtjackson.client.deser.bean.PropertyIdentityDeserializationInfo;
 import com.github.nmorel.gwtjackson.client.deser.bean.SimpleStringMap;
 import com.github.nmorel.gwtjackson.client.deser.bean.SubtypeDeserializer;
@@ -65,12 +68,11 @@ import com.google.gwt.core.ext.typeinfo.JAbstractMethod;
 import com.google.gwt.core.ext.typeinfo.JClassType;
 import com.google.gwt.core.ext.typeinfo.JParameter;
 import com.google.gwt.core.ext.typeinfo.JType;
-import com.google.gwt.thirdparty.guava.common.base.Function;
 import com.google.gwt.thirdparty.guava.common.base.Joiner;
 import com.google.gwt.thirdparty.guava.common.base.Optional;
-import com.google.gwt.thirdparty.guava.common.collect.Collections2;
 import com.google.gwt.thirdparty.guava.common.collect.ImmutableList;
 import com.google.gwt.thirdparty.guava.common.collect.ImmutableMap;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
@@ -100,6 +102,11 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
 
     private static final String INSTANCE_BUILDER_DESERIALIZER_PREFIX = "deserializer_";
 
+    /**
+     * Prefix of the boolean telling if a required creator's parameter has been found
+     */
+    private static final String INSTANCE_BUILDER_FOUND_PREFIX = "found_";
+
     /**
      * <p>Constructor for BeanJsonDeserializerCreator.</p>
      *
@@ -136,6 +143,14 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             buildInitPropertiesMethods( typeBuilder );
         }
 
+        // the view mask is also used by the instance builder for the creator's parameters
+        if ( beanInfo.getCreatorMethod().isPresent() && !beanInfo.isCreatorDelegation() ) {
+            Optional<MethodSpec> getViewMaskMethod = buildGetViewMaskMethod();
+            if ( getViewMaskMethod.isPresent() ) {
+                typeBuilder.addMethod( getViewMaskMethod.get() );
+            }
+        }
+
         if ( beanInfo.getIdentityInfo().isPresent() ) {
             try {
                 typeBuilder.addMethod( buildInitIdentityInfoMethod( beanInfo.getIdentityInfo().get() ) );
@@ -148,9 +163,18 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             typeBuilder.addMethod( buildInitTypeInfoMethod( beanInfo.getTypeInfo().get() ) );
         }
 
+        if ( beanInfo.getCanonical().isPresent() ) {
+            if ( beanInfo.getCreatorMethod().isPresent() && !beanInfo.isCreatorDelegation() ) {
+                buildCanonicalMethods( typeBuilder, beanInfo.getCanonical().get() );
+            } else {
+                logger.log( Type.WARN, "No instantiable creator or a delegating creator found for " + beanInfo.getType()
+                        .getName() + ". We ignore @JsonCanonical." );
+            }
+        }
+
         ImmutableList<JClassType> subtypes = filterSubtypes();
         if ( !subtypes.isEmpty() ) {
-            typeBuilder.addMethod( buildInitMapSubtypeClassToDeserializerMethod( subtypes ) );
+            buildSubtypeDeserializerMethods( typeBuilder, subtypes );
         }
 
         if ( beanInfo.isIgnoreUnknown() ) {
@@ -213,7 +237,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 .build();
     }
 
-    private TypeSpec buildInstanceBuilderClass() {
+    private TypeSpec buildInstanceBuilderClass() throws UnableToCompleteException {
         MethodSpec createMethod = null;
         if ( !beanInfo.getBuilder().isPresent() ) {
             createMethod = buildInstanceBuilderCreateMethod();
@@ -229,6 +253,8 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 .addParameter( ParameterizedTypeName.get( Map.class, String.class, String.class ), "bufferedProperties" )
                 .addParameter( ParameterizedTypeName.get( Map.class, String.class, Object.class ), "bufferedPropertiesValues" );
 
+        // only a creator taking the properties as parameters reads properties before the bean is created
+        boolean buffering = false;
         if ( beanInfo.getBuilder().isPresent() ) {
             buildNewInstanceMethodForBuilder( newInstanceMethodBuilder );
         } else if ( beanInfo.isCreatorDefaultConstructor() ) {
@@ -236,6 +262,8 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
         } else if ( beanInfo.isCreatorDelegation() ) {
             buildNewInstanceMethodForConstructorOrFactoryMethodDelegation( newInstanceMethodBuilder, createMethod );
         } else {
+            buffering = true;
+            newInstanceMethodBuilder.addParameter( parameterizedName( PropertyBuffer.class, beanInfo.getType() ), "propertyBuffer" );
             buildNewInstanceMethodForConstructorOrFactoryMethod( newInstanceMethodBuilder, createMethod );
         }
 
@@ -246,8 +274,13 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 .returns( ParameterizedTypeName.get( ClassName.get( SimpleStringMap.class ),
                         ClassName.get( HasDeserializerAndParameters.class ) ) );
 
-        TypeSpec.Builder instanceBuilder = TypeSpec.anonymousClassBuilder( "" )
-                .addSuperinterface( parameterizedName( InstanceBuilder.class, beanInfo.getType() ) )
+        TypeSpec.Builder instanceBuilder = TypeSpec.anonymousClassBuilder( "" );
+        if ( buffering ) {
+            instanceBuilder.superclass( parameterizedName( BufferingInstanceBuilder.class, beanInfo.getType() ) );
+        } else {
+            instanceBuilder.addSuperinterface( parameterizedName( InstanceBuilder.class, beanInfo.getType() ) );
+        }
+        instanceBuilder
                 .addMethod( newInstanceMethodBuilder.build() )
                 .addMethod( deserializersGetter.build() );
 
@@ -289,15 +322,20 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
      * instanciate the bean only on build() method when all properties have been deserialiazed
      *
      * @param newInstanceMethodBuilder builder for the
-     * {@link InstanceBuilder#newInstance(JsonReader, JsonDeserializationContext, JsonDeserializerParameters, Map, Map)} method
+     * {@link BufferingInstanceBuilder#newInstance(JsonReader, JsonDeserializationContext, JsonDeserializerParameters, Map, Map,
+     * PropertyBuffer)} method
      * @param createMethod the create method
      */
     private void buildNewInstanceMethodForConstructorOrFactoryMethod( MethodSpec.Builder newInstanceMethodBuilder,
-                                                                      MethodSpec createMethod ) {
+                                                                      MethodSpec createMethod ) throws UnableToCompleteException {
         // we don't use directly the property name to name our variable in case it contains invalid character
         ImmutableMap.Builder<String, String> propertyNameToVariableBuilder = ImmutableMap.builder();
 
-        List<String> requiredProperties = new ArrayList<String>();
+        // for each parameter restricted to some views, its view mask
+        Map<String, Integer> propertyToViewMask = new HashMap<String, Integer>();
+
+        // for each required property, a boolean tells if it has been found
+        Map<String, String> requiredPropertyToFoundVariable = new LinkedHashMap<String, String>();
         int propertyIndex = 0;
         for ( String name : beanInfo.getCreatorParameters().keySet() ) {
             String variableName = String.format( INSTANCE_BUILDER_VARIABLE_FORMAT, propertyIndex++ );
@@ -308,29 +346,27 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                     typeName( propertyInfo.getType() ), variableName, getDefaultValueForType( propertyInfo.getType() ), name );
 
             if ( propertyInfo.isRequired() ) {
-                requiredProperties.add( name );
+                requiredPropertyToFoundVariable.put( name, INSTANCE_BUILDER_FOUND_PREFIX + variableName );
+            }
+
+            int viewMask = getViewMask( propertyInfo );
+            if ( 0 != viewMask ) {
+                propertyToViewMask.put( name, viewMask );
             }
         }
+        for ( String foundVariable : requiredPropertyToFoundVariable.values() ) {
+            newInstanceMethodBuilder.addStatement( "boolean $L = false", foundVariable );
+        }
+        if ( !propertyToViewMask.isEmpty() ) {
+            // -1 includes every view
+            newInstanceMethodBuilder
+                    .addStatement( "final int activeViewMask = null == ctx.getActiveView() ? -1 : getViewMask(ctx.getActiveView())" );
+        }
         newInstanceMethodBuilder.addCode( "\n" );
         ImmutableMap<String, String> propertyNameToVariable = propertyNameToVariableBuilder.build();
 
         newInstanceMethodBuilder.addStatement( "int nbParamToFind = $L", beanInfo.getCreatorParameters().size() );
 
-        if ( !requiredProperties.isEmpty() ) {
-            CodeBlock code = CodeBlock.builder()
-                    .add( Joiner.on( ", " ).join( Collections2.transform( requiredProperties, new Function<String, Object>() {
-                        @Override
-                        public Object apply( String s ) {
-                            return "$S";
-                        }
-                    } ) ), requiredProperties.toArray() ).build();
-
-            newInstanceMethodBuilder.addStatement( "$T requiredProperties = new $T($T.asList($L))",
-                    ParameterizedTypeName.get( Set.class, String.class ),
-                    ParameterizedTypeName.get( HashSet.class, String.class ),
-                    Arrays.class, code );
-        }
-
         newInstanceMethodBuilder.addCode( "\n" );
 
         newInstanceMethodBuilder.beginControlFlow( "if (null != bufferedPropertiesValues)" );
@@ -342,10 +378,12 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             newInstanceMethodBuilder.addCode( "\n" );
             newInstanceMethodBuilder.addStatement( "value = bufferedPropertiesValues.remove($S)", name );
             newInstanceMethodBuilder.beginControlFlow( "if (null != value)" );
+            beginViewControlFlow( newInstanceMethodBuilder, propertyToViewMask.get( name ) );
             newInstanceMethodBuilder.addStatement( "$L = ($T) value", variableName, typeName( true, propertyInfo.getType() ) );
+            endViewControlFlow( newInstanceMethodBuilder, propertyToViewMask.get( name ), false );
             newInstanceMethodBuilder.addStatement( "nbParamToFind--" );
             if ( propertyInfo.isRequired() ) {
-                newInstanceMethodBuilder.addStatement( "requiredProperties.remove($S)", name );
+                newInstanceMethodBuilder.addStatement( "$L = true", requiredPropertyToFoundVariable.get( name ) );
             }
             newInstanceMethodBuilder.endControlFlow();
         }
@@ -362,6 +400,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             newInstanceMethodBuilder.addCode( "\n" );
             newInstanceMethodBuilder.addStatement( "value = bufferedProperties.remove($S)", name );
             newInstanceMethodBuilder.beginControlFlow( "if (null != value)" );
+            beginViewControlFlow( newInstanceMethodBuilder, propertyToViewMask.get( name ) );
             if ( null != propertyInfo.getType().isPrimitive() ) {
                 newInstanceMethodBuilder.addStatement( "$L = ($T) $L.deserialize(ctx.newJsonReader(value), ctx)",
                         variableName, typeName( true, propertyInfo.getType() ), INSTANCE_BUILDER_DESERIALIZER_PREFIX + variableName );
@@ -369,9 +408,10 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 newInstanceMethodBuilder.addStatement( "$L = $L.deserialize(ctx.newJsonReader(value), ctx)",
                         variableName, INSTANCE_BUILDER_DESERIALIZER_PREFIX + variableName );
             }
+            endViewControlFlow( newInstanceMethodBuilder, propertyToViewMask.get( name ), false );
             newInstanceMethodBuilder.addStatement( "nbParamToFind--" );
             if ( propertyInfo.isRequired() ) {
-                newInstanceMethodBuilder.addStatement( "requiredProperties.remove($S)", name );
+                newInstanceMethodBuilder.addStatement( "$L = true", requiredPropertyToFoundVariable.get( name ) );
             }
             newInstanceMethodBuilder.endControlFlow();
         }
@@ -390,11 +430,13 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             PropertyInfo propertyInfo = properties.get( name );
 
             newInstanceMethodBuilder.beginControlFlow( "if ($S.equals(name))", name );
+            beginViewControlFlow( newInstanceMethodBuilder, propertyToViewMask.get( name ) );
             newInstanceMethodBuilder.addStatement( "$L = $L.deserialize(reader, ctx)",
                     variableName, INSTANCE_BUILDER_DESERIALIZER_PREFIX + variableName );
+            endViewControlFlow( newInstanceMethodBuilder, propertyToViewMask.get( name ), true );
             newInstanceMethodBuilder.addStatement( "nbParamToFind--" );
             if ( propertyInfo.isRequired() ) {
-                newInstanceMethodBuilder.addStatement( "requiredProperties.remove($S)", name );
+                newInstanceMethodBuilder.addStatement( "$L = true", requiredPropertyToFoundVariable.get( name ) );
             }
             newInstanceMethodBuilder.addStatement( "continue" );
             newInstanceMethodBuilder.endControlFlow();
@@ -402,6 +444,11 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             newInstanceMethodBuilder.addCode( "\n" );
         }
 
+        // the property is not a parameter of the creator, we deserialize it now and set it once the bean is created
+        newInstanceMethodBuilder.beginControlFlow( "if (null != propertyBuffer)" );
+        newInstanceMethodBuilder.addStatement( "propertyBuffer.read(name, reader, ctx)" );
+        newInstanceMethodBuilder.addStatement( "continue" );
+        newInstanceMethodBuilder.endControlFlow();
         newInstanceMethodBuilder.beginControlFlow( "if (null == bufferedProperties)" );
         newInstanceMethodBuilder.addStatement( "bufferedProperties = new $T()",
                 ParameterizedTypeName.get( HashMap.class, String.class, String.class ) );
@@ -412,8 +459,16 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
 
         newInstanceMethodBuilder.addCode( "\n" );
 
-        if ( !requiredProperties.isEmpty() ) {
-            newInstanceMethodBuilder.beginControlFlow( "if (!requiredProperties.isEmpty())" );
+        if ( !requiredPropertyToFoundVariable.isEmpty() ) {
+            newInstanceMethodBuilder.beginControlFlow( "if (!$L)", Joiner.on( " || !" ).join( requiredPropertyToFoundVariable.values() ) );
+            newInstanceMethodBuilder.addStatement( "$T requiredProperties = new $T()",
+                    ParameterizedTypeName.get( List.class, String.class ),
+                    ParameterizedTypeName.get( ArrayList.class, String.class ) );
+            for ( Entry<String, String> entry : requiredPropertyToFoundVariable.entrySet() ) {
+                newInstanceMethodBuilder.beginControlFlow( "if (!$L)", entry.getValue() );
+                newInstanceMethodBuilder.addStatement( "requiredProperties.add($S)", entry.getKey() );
+                newInstanceMethodBuilder.endControlFlow();
+            }
             newInstanceMethodBuilder
                     .addStatement( "throw ctx.traceError(\"Required properties are missing : \" + requiredProperties, reader)" );
             newInstanceMethodBuilder.endControlFlow();
@@ -426,6 +481,36 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 Joiner.on( ", " ).join( propertyNameToVariable.values() ) );
     }
 
+    /**
+     * Starts the block executed only when the creator's parameter is included in the active view. Nothing is generated if the parameter
+     * is not restricted to any view.
+     *
+     * @param newInstanceMethodBuilder builder for the newInstance method
+     * @param viewMask view mask of the parameter, null if it is not restricted to any view
+     */
+    private void beginViewControlFlow( MethodSpec.Builder newInstanceMethodBuilder, Integer viewMask ) {
+        if ( null != viewMask ) {
+            newInstanceMethodBuilder.beginControlFlow( "if (0 != (activeViewMask & $L))", viewMask );
+        }
+    }
+
+    /**
+     * Ends the block started by {@link #beginViewControlFlow(MethodSpec.Builder, Integer)}.
+     *
+     * @param newInstanceMethodBuilder builder for the newInstance method
+     * @param viewMask view mask of the parameter, null if it is not restricted to any view
+     * @param skipValue true if the value has to be skipped in the reader when the parameter is excluded from the active view
+     */
+    private void endViewControlFlow( MethodSpec.Builder newInstanceMethodBuilder, Integer viewMask, boolean skipValue ) {
+        if ( null != viewMask ) {
+            if ( skipValue ) {
+                newInstanceMethodBuilder.nextControlFlow( "else" );
+                newInstanceMethodBuilder.addStatement( "reader.skipValue()" );
+            }
+            newInstanceMethodBuilder.endControlFlow();
+        }
+    }
+
     /**
      * Generate the instance builder class body for a constructor or factory method with delegation.
      *
@@ -521,7 +606,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
         }
 
         if ( !deserializerProperties.isEmpty() ) {
-            typeBuilder.addMethod( buildInitDeserializersMethod( deserializerProperties ) );
+            buildInitDeserializersMethod( typeBuilder, deserializerProperties );
         }
 
         if ( !backReferenceProperties.isEmpty() ) {
@@ -568,7 +653,8 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 .build() );
     }
 
-    private MethodSpec buildInitDeserializersMethod( Map<PropertyInfo, JDeserializerType> properties ) throws UnableToCompleteException {
+    private void buildInitDeserializersMethod( TypeSpec.Builder typeBuilder, Map<PropertyInfo, JDeserializerType> properties )
+            throws UnableToCompleteException {
 
         TypeName resultType = ParameterizedTypeName.get( ClassName.get( SimpleStringMap.class ),
                 ParameterizedTypeName.get( ClassName.get( BeanPropertyDeserializer.class ),
@@ -580,16 +666,128 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 .returns( resultType )
                 .addStatement( "$T map = $T.createObject().cast()", resultType, SimpleStringMap.class );
 
+        // in compact mode, the properties are handled by the switches of the methods below instead of a class per property
+        MethodSpec.Builder newPropertyDeserializerBuilder = MethodSpec.methodBuilder( "newPropertyDeserializer" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( ParameterizedTypeName.get( ClassName.get( JsonDeserializer.class ), DEFAULT_WILDCARD ) )
+                .addParameter( int.class, "index" )
+                .beginControlFlow( "switch (index)" );
+        MethodSpec.Builder newPropertyParametersBuilder = MethodSpec.methodBuilder( "newPropertyParameters" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( JsonDeserializerParameters.class )
+                .addParameter( int.class, "index" )
+                .beginControlFlow( "switch (index)" );
+        MethodSpec.Builder setPropertyValueBuilder = MethodSpec.methodBuilder( "setPropertyValue" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .addParameter( int.class, "index" )
+                .addParameter( typeName( beanInfo.getType() ), "bean" )
+                .addParameter( Object.class, "value" )
+                .addParameter( JsonDeserializationContext.class, "ctx" )
+                .beginControlFlow( "switch (index)" );
+        MethodSpec.Builder getPropertyValueBuilder = MethodSpec.methodBuilder( "getPropertyValue" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( Object.class )
+                .addParameter( int.class, "index" )
+                .addParameter( typeName( beanInfo.getType() ), "bean" )
+                .addParameter( JsonDeserializationContext.class, "ctx" )
+                .beginControlFlow( "switch (index)" );
+        boolean hasCompactProperty = false;
+        boolean hasCompactParameters = false;
+        boolean hasCompactGetter = false;
+
+        int i = 0;
         for ( Entry<PropertyInfo, JDeserializerType> entry : properties.entrySet() ) {
             PropertyInfo property = entry.getKey();
             JDeserializerType deserializerType = entry.getValue();
-
-            builder.addStatement( "map.put($S, $L)",
-                    property.getPropertyName(), buildDeserializer( property, property.getType(), deserializerType ) );
+            Accessor setterAccessor = property.getSetterAccessor().get()
+                    .getAccessor( "bean", CodeBlock.builder().add( "($T) value", rawName( true, property.getType() ) ).build() );
+
+            if ( configuration.isCompactGeneration() && isCompactable( property, setterAccessor ) ) {
+                builder.addStatement( "map.put($S, new $T(this, $L, $L))", property.getPropertyName(), ParameterizedTypeName
+                                .get( ClassName.get( IndexedBeanPropertyDeserializer.class ), typeName( true, beanInfo.getType() ),
+                                        rawName( true, property.getType() ) ), i, getViewMask( property ) );
+
+                newPropertyDeserializerBuilder.addStatement( "case $L: return $L", i, deserializerType.getInstance() );
+                setPropertyValueBuilder.addStatement( "case $L: $L; return", i, setterAccessor.getAccessor() );
+                if ( isUpdatable( property ) ) {
+                    Accessor getterAccessor = property.getGetterAccessor().get().getAccessor( "bean" );
+                    if ( !getterAccessor.getAdditionalMethod().isPresent() ) {
+                        getPropertyValueBuilder.addStatement( "case $L: return $L", i, getterAccessor.getAccessor() );
+                        hasCompactGetter = true;
+                    }
+                }
+                Optional<CodeBlock> parameters = buildPropertyDeserializerParametersCode( property, deserializerType );
+                if ( parameters.isPresent() ) {
+                    newPropertyParametersBuilder.addStatement( "case $L: return $L", i, parameters.get() );
+                    hasCompactParameters = true;
+                }
+                hasCompactProperty = true;
+            } else {
+                builder.addStatement( "map.put($S, $L)",
+                        property.getPropertyName(), buildDeserializer( property, property.getType(), deserializerType ) );
+            }
+            i++;
         }
 
         builder.addStatement( "return map" );
-        return builder.build();
+        typeBuilder.addMethod( builder.build() );
+
+        if ( hasCompactProperty ) {
+            typeBuilder.addMethod( newPropertyDeserializerBuilder
+                    .addStatement( "default: return super.newPropertyDeserializer(index)" )
+                    .endControlFlow()
+                    .build() );
+            typeBuilder.addMethod( setPropertyValueBuilder
+                    .addStatement( "default: super.setPropertyValue(index, bean, value, ctx)" )
+                    .endControlFlow()
+                    .build() );
+        }
+        if ( hasCompactGetter ) {
+            typeBuilder.addMethod( getPropertyValueBuilder
+                    .addStatement( "default: return super.getPropertyValue(index, bean, ctx)" )
+                    .endControlFlow()
+                    .build() );
+        }
+        if ( hasCompactParameters ) {
+            typeBuilder.addMethod( newPropertyParametersBuilder
+                    .addStatement( "default: return super.newPropertyParameters(index)" )
+                    .endControlFlow()
+                    .build() );
+        }
+    }
+
+    /**
+     * A property can be handled by the compact mode if it does not need any method specific to its own class.
+     *
+     * @param property the property
+     * @param setterAccessor accessor setting the value of the property
+     *
+     * @return true if the property can be handled by an {@link IndexedBeanPropertyDeserializer}
+     */
+    private boolean isCompactable( PropertyInfo property, Accessor setterAccessor ) {
+        return !property.isAnySetter()
+                && !property.getManagedReference().isPresent()
+                && !setterAccessor.getAdditionalMethod().isPresent();
+    }
+
+    /**
+     * A property can be updated in place when its value can be a bean, a collection or a map and it has an accessible getter
+     * or field.
+     *
+     * @param property the property
+     *
+     * @return true if the current value of the property has to be accessible to the deserializer
+     */
+    private boolean isUpdatable( PropertyInfo property ) {
+        if ( property.isAnySetter() || !property.getGetterAccessor().isPresent() ) {
+            return false;
+        }
+        JClassType classType = property.getType().isClassOrInterface();
+        return null != classType && null == classType.isEnum() && !"java.lang".equals( classType.getPackage().getName() );
     }
 
     private TypeSpec buildDeserializer( PropertyInfo property, JType propertyType, JDeserializerType deserializerType )
@@ -608,7 +806,8 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             superclass = BeanPropertyDeserializer.class;
         }
 
-        TypeSpec.Builder builder = TypeSpec.anonymousClassBuilder( "" )
+        int viewMask = getViewMask( property );
+        TypeSpec.Builder builder = (0 == viewMask ? TypeSpec.anonymousClassBuilder( "" ) : TypeSpec.anonymousClassBuilder( "$L", viewMask ))
                 .superclass( ParameterizedTypeName
                         .get( ClassName.get( superclass ), typeName( true, beanInfo.getType() ), rawName( true, propertyType ) ) );
 
@@ -639,6 +838,22 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             builder.addMethod( accessor.getAdditionalMethod().get() );
         }
 
+        if ( isUpdatable( property ) ) {
+            Accessor getterAccessor = property.getGetterAccessor().get().getAccessor( paramBean );
+            builder.addMethod( MethodSpec.methodBuilder( "getValue" )
+                    .addModifiers( Modifier.PUBLIC )
+                    .addAnnotation( Override.class )
+                    .returns( typeName( true, propertyType ) )
+                    .addParameter( typeName( beanInfo.getType() ), paramBean )
+                    .addParameter( JsonDeserializationContext.class, "ctx" )
+                    .addStatement( "return $L", getterAccessor.getAccessor() )
+                    .build() );
+
+            if ( getterAccessor.getAdditionalMethod().isPresent() ) {
+                builder.addMethod( getterAccessor.getAdditionalMethod().get() );
+            }
+        }
+
         return builder.build();
     }
 
@@ -668,12 +883,28 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
 
     private Optional<MethodSpec> buildPropertyDeserializerParameters( PropertyInfo property, JDeserializerType deserializerType )
             throws UnableToCompleteException {
+        Optional<CodeBlock> parameters = buildPropertyDeserializerParametersCode( property, deserializerType );
+        if ( !parameters.isPresent() ) {
+            return Optional.absent();
+        }
+
+        return Optional.of( MethodSpec.methodBuilder( "newParameters" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .addStatement( "return $L", parameters.get() )
+                .returns( JsonDeserializerParameters.class )
+                .build() );
+    }
+
+    private Optional<CodeBlock> buildPropertyDeserializerParametersCode( PropertyInfo property, JDeserializerType deserializerType )
+            throws UnableToCompleteException {
 
         if ( !property.getFormat().isPresent()
                 && !property.getIgnoredProperties().isPresent()
                 && !property.getIgnoreUnknown().isPresent()
                 && !property.getIdentityInfo().isPresent()
-                && !property.getTypeInfo().isPresent() ) {
+                && !property.getTypeInfo().isPresent()
+                && !property.isDeduplicate() ) {
             // none of the parameter are set so we don't generate the method
             return Optional.absent();
         }
@@ -681,7 +912,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
         JClassType annotatedType = findFirstTypeToApplyPropertyAnnotation( deserializerType );
 
         CodeBlock.Builder paramBuilder = CodeBlock.builder()
-                .add( "return new $T()", JsonDeserializerParameters.class )
+                .add( "new $T()", JsonDeserializerParameters.class )
                 .indent()
                 .indent();
 
@@ -709,16 +940,14 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             paramBuilder.add( "\n.setTypeInfo($L)", generateTypeInfo( property.getTypeInfo().get() ) );
         }
 
-        paramBuilder.add( ";\n" )
-                .unindent()
+        if ( property.isDeduplicate() ) {
+            paramBuilder.add( "\n.setDeduplicate(true)" );
+        }
+
+        paramBuilder.unindent()
                 .unindent();
 
-        return Optional.of( MethodSpec.methodBuilder( "newParameters" )
-                .addModifiers( Modifier.PROTECTED )
-                .addAnnotation( Override.class )
-                .addCode( paramBuilder.build() )
-                .returns( JsonDeserializerParameters.class )
-                .build() );
+        return Optional.of( paramBuilder.build() );
     }
 
     private MethodSpec buildInitBackReferenceDeserializersMethod( List<PropertyInfo> properties )
@@ -837,6 +1066,36 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 ).build();
     }
 
+    private void buildCanonicalMethods( TypeSpec.Builder typeBuilder, JsonCanonical canonical ) {
+        PropertyInfo property = properties.get( canonical.property() );
+        if ( null == property || property.isIgnored() || !property.getGetterAccessor().isPresent() ) {
+            logger.log( Type.WARN, "Property '" + canonical.property() + "' used as canonical key of " + beanInfo.getType()
+                    .getName() + " is not readable. We ignore @JsonCanonical." );
+            return;
+        }
+
+        typeBuilder.addMethod( MethodSpec.methodBuilder( "initCanonicalInfo" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( CanonicalDeserializationInfo.class )
+                .addStatement( "return new $T($S, $L, $L)", CanonicalDeserializationInfo.class, canonical.property(), canonical
+                        .maxSize(), JsonCanonical.Scope.GLOBAL == canonical.scope() )
+                .build() );
+
+        Accessor getterAccessor = property.getGetterAccessor().get().getAccessor( "bean" );
+        typeBuilder.addMethod( MethodSpec.methodBuilder( "getCanonicalKey" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( Object.class )
+                .addParameter( typeName( beanInfo.getType() ), "bean" )
+                .addStatement( "return $L", getterAccessor.getAccessor() )
+                .build() );
+
+        if ( getterAccessor.getAdditionalMethod().isPresent() ) {
+            typeBuilder.addMethod( getterAccessor.getAdditionalMethod().get() );
+        }
+    }
+
     private MethodSpec buildInitTypeInfoMethod( BeanTypeInfo beanTypeInfo ) throws UnableToCompleteException {
         return MethodSpec.methodBuilder( "initTypeInfo" )
                 .addModifiers( Modifier.PROTECTED )
@@ -846,18 +1105,11 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 .build();
     }
 
-    private MethodSpec buildInitMapSubtypeClassToDeserializerMethod( ImmutableList<JClassType> subtypes )
+    private void buildSubtypeDeserializerMethods( TypeSpec.Builder typeBuilder, ImmutableList<JClassType> subtypes )
             throws UnableToCompleteException {
 
-        Class[] mapTypes = new Class[]{Class.class, SubtypeDeserializer.class};
-        TypeName resultType = ParameterizedTypeName.get( Map.class, mapTypes );
-
-        MethodSpec.Builder builder = MethodSpec.methodBuilder( "initMapSubtypeClassToDeserializer" )
-                .addModifiers( Modifier.PROTECTED )
-                .addAnnotation( Override.class )
-                .returns( resultType )
-                .addStatement( "$T map = new $T($L)",
-                        resultType, ParameterizedTypeName.get( IdentityHashMap.class, mapTypes ), subtypes.size() );
+        List<JClassType> supportedSubtypes = new ArrayList<JClassType>();
+        List<TypeSpec> subtypeDeserializers = new ArrayList<TypeSpec>();
 
         for ( JClassType subtype : subtypes ) {
 
@@ -889,11 +1141,74 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                             .build()
                     ).build();
 
-            builder.addStatement( "map.put($T.class, $L)", rawName( subtype ), subtypeType );
+            supportedSubtypes.add( subtype );
+            subtypeDeserializers.add( subtypeType );
         }
 
-        builder.addStatement( "return map" );
-        return builder.build();
+        if ( supportedSubtypes.isEmpty() ) {
+            return;
+        }
+
+        MethodSpec.Builder initBuilder = MethodSpec.methodBuilder( "initSubtypeDeserializers" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( ArrayTypeName.of( SubtypeDeserializer.class ) )
+                .addStatement( "$T result = new $T[$L]",
+                        ArrayTypeName.of( SubtypeDeserializer.class ), SubtypeDeserializer.class, subtypeDeserializers.size() );
+        for ( int i = 0; i < subtypeDeserializers.size(); i++ ) {
+            initBuilder.addStatement( "result[$L] = $L", i, subtypeDeserializers.get( i ) );
+        }
+        initBuilder.addStatement( "return result" );
+        typeBuilder.addMethod( initBuilder.build() );
+
+        // direct comparisons on the class, ordered by declared subtype, instead of a lookup in a map
+        MethodSpec.Builder getBuilder = MethodSpec.methodBuilder( "getSubtypeDeserializer" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( SubtypeDeserializer.class )
+                .addParameter( Class.class, "typeClass" );
+        for ( int i = 0; i < supportedSubtypes.size(); i++ ) {
+            getBuilder.beginControlFlow( "if (typeClass == $T.class)", rawName( supportedSubtypes.get( i ) ) )
+                    .addStatement( "return subtypeDeserializers[$L]", i )
+                    .endControlFlow();
+        }
+        getBuilder.addStatement( "return null" );
+        typeBuilder.addMethod( getBuilder.build() );
+
+        if ( beanInfo.getTypeInfo().isPresent() ) {
+            Optional<MethodSpec> method = buildGetSubtypeDeserializerFromTypeInfoMethod( supportedSubtypes );
+            if ( method.isPresent() ) {
+                typeBuilder.addMethod( method.get() );
+            }
+        }
+    }
+
+    private Optional<MethodSpec> buildGetSubtypeDeserializerFromTypeInfoMethod( List<JClassType> supportedSubtypes ) {
+        ImmutableMap<JClassType, String> typeToMetadata = beanInfo.getTypeInfo().get().getMapTypeToDeserializationMetadata();
+
+        MethodSpec.Builder builder = MethodSpec.methodBuilder( "getSubtypeDeserializerFromTypeInfo" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( SubtypeDeserializer.class )
+                .addParameter( String.class, "typeInformation" )
+                .beginControlFlow( "switch (typeInformation)" );
+
+        Set<String> typeInformations = new HashSet<String>();
+        for ( int i = 0; i < supportedSubtypes.size(); i++ ) {
+            String typeInformation = typeToMetadata.get( supportedSubtypes.get( i ) );
+            // a type information can only be used once in the switch
+            if ( null != typeInformation && typeInformations.add( typeInformation ) ) {
+                builder.addStatement( "case $S: return subtypeDeserializers[$L]", typeInformation, i );
+            }
+        }
+
+        if ( typeInformations.isEmpty() ) {
+            return Optional.absent();
+        }
+
+        builder.addStatement( "default: return null" )
+                .endControlFlow();
+        return Optional.of( builder.build() );
     }
 
     private MethodSpec buildIsDefaultIgnoreUnknownMethod() {
@@ -17,8 +17,9 @@
 package com.github.nmorel.gwtjackson.rebind;
 
 import javax.lang.model.element.Modifier;
-import java.util.IdentityHashMap;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -34,8 +35,10 @@ import com.github.nmorel.gwtjackson.client.ser.bean.AbstractIdentitySerializatio
 import com.github.nmorel.gwtjackson.client.ser.bean.AnyGetterPropertySerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.BeanPropertySerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.IdentitySerializationInfo;
+import com.github.nmorel.gwtjackson.client.ser.bean.IndexedBeanPropertySerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.ObjectIdSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.PropertyIdentitySerializationInfo;
+import com.github.nmorel.gwtjackson.client.ser.bean.SerializedFragmentCache;
 import com.github.nmorel.gwtjackson.client.ser.bean.SubtypeSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.SubtypeSerializer.BeanSubtypeSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.SubtypeSerializer.DefaultSubtypeSerializer;
@@ -117,7 +120,7 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
                     }
                 }
                 if ( !propertiesMap.isEmpty() ) {
-                    typeBuilder.addMethod( buildInitSerializersMethod( propertiesMap ) );
+                    buildInitSerializersMethod( typeBuilder, propertiesMap );
                 }
             }
         }
@@ -126,6 +129,13 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
             typeBuilder.addMethod( buildInitAnyGetterPropertySerializerMethod( beanInfo.getAnyGetterPropertyInfo().get() ) );
         }
 
+        if ( !beanInfo.getValuePropertyInfo().isPresent() ) {
+            Optional<MethodSpec> getViewMaskMethod = buildGetViewMaskMethod();
+            if ( getViewMaskMethod.isPresent() ) {
+                typeBuilder.addMethod( getViewMaskMethod.get() );
+            }
+        }
+
         if ( beanInfo.getIdentityInfo().isPresent() ) {
             try {
                 Optional<JSerializerType> serializerType = getIdentitySerializerType( beanInfo.getIdentityInfo().get() );
@@ -139,9 +149,13 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
             typeBuilder.addMethod( buildInitTypeInfoMethod() );
         }
 
+        if ( beanInfo.getSerializationCacheSize().isPresent() ) {
+            typeBuilder.addMethod( buildInitFragmentCacheMethod() );
+        }
+
         ImmutableList<JClassType> subtypes = filterSubtypes();
         if ( !subtypes.isEmpty() ) {
-            typeBuilder.addMethod( buildInitMapSubtypeClassToSerializerMethod( subtypes ) );
+            buildSubtypeSerializerMethods( typeBuilder, subtypes );
         }
     }
 
@@ -172,7 +186,7 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
                 .build();
     }
 
-    private MethodSpec buildInitSerializersMethod( Map<PropertyInfo, JSerializerType> properties )
+    private void buildInitSerializersMethod( TypeSpec.Builder typeBuilder, Map<PropertyInfo, JSerializerType> properties )
             throws UnableToCompleteException {
         MethodSpec.Builder builder = MethodSpec.methodBuilder( "initSerializers" )
                 .addModifiers( Modifier.PROTECTED )
@@ -181,13 +195,89 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
                 .addStatement( "$T result = new $T[$L]",
                         ArrayTypeName.of( BeanPropertySerializer.class ), BeanPropertySerializer.class, properties.size() );
 
+        // in compact mode, the properties are handled by the switches of the methods below instead of a class per property
+        MethodSpec.Builder newPropertySerializerBuilder = MethodSpec.methodBuilder( "newPropertySerializer" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( ParameterizedTypeName.get( ClassName.get( JsonSerializer.class ), DEFAULT_WILDCARD ) )
+                .addParameter( int.class, "index" )
+                .beginControlFlow( "switch (index)" );
+        MethodSpec.Builder newPropertyParametersBuilder = MethodSpec.methodBuilder( "newPropertyParameters" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( JsonSerializerParameters.class )
+                .addParameter( int.class, "index" )
+                .beginControlFlow( "switch (index)" );
+        MethodSpec.Builder getPropertyValueBuilder = MethodSpec.methodBuilder( "getPropertyValue" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( Object.class )
+                .addParameter( int.class, "index" )
+                .addParameter( typeName( beanInfo.getType() ), "bean" )
+                .addParameter( JsonSerializationContext.class, "ctx" )
+                .beginControlFlow( "switch (index)" );
+        boolean hasCompactProperty = false;
+        boolean hasCompactParameters = false;
+
         int i = 0;
         for ( Entry<PropertyInfo, JSerializerType> entry : properties.entrySet() ) {
-            builder.addStatement( "result[$L] = $L", i++, buildSerializer( entry.getKey(), entry.getValue() ) );
+            PropertyInfo property = entry.getKey();
+            JSerializerType serializerType = entry.getValue();
+            Accessor getterAccessor = property.getGetterAccessor().get().getAccessor( "bean" );
+
+            if ( configuration.isCompactGeneration() && isCompactable( property, getterAccessor ) ) {
+                builder.addStatement( "result[$L] = new $T(this, $L, $S, $L)", i,
+                        parameterizedName( IndexedBeanPropertySerializer.class, beanInfo.getType(), property.getType() ), i,
+                        property.getPropertyName(), getViewMask( property ) );
+
+                newPropertySerializerBuilder.addStatement( "case $L: return $L", i, serializerType.getInstance() );
+                getPropertyValueBuilder.addStatement( "case $L: return $L", i, getterAccessor.getAccessor() );
+                Optional<CodeBlock> parameters = buildPropertySerializerParameters( property, serializerType );
+                if ( parameters.isPresent() ) {
+                    newPropertyParametersBuilder.addStatement( "case $L: return $L", i, parameters.get() );
+                    hasCompactParameters = true;
+                }
+                hasCompactProperty = true;
+            } else {
+                builder.addStatement( "result[$L] = $L", i, buildSerializer( property, serializerType ) );
+            }
+            i++;
         }
 
         builder.addStatement( "return result" );
-        return builder.build();
+        typeBuilder.addMethod( builder.build() );
+
+        if ( hasCompactProperty ) {
+            typeBuilder.addMethod( newPropertySerializerBuilder
+                    .addStatement( "default: return super.newPropertySerializer(index)" )
+                    .endControlFlow()
+                    .build() );
+            typeBuilder.addMethod( getPropertyValueBuilder
+                    .addStatement( "default: return super.getPropertyValue(index, bean, ctx)" )
+                    .endControlFlow()
+                    .build() );
+        }
+        if ( hasCompactParameters ) {
+            typeBuilder.addMethod( newPropertyParametersBuilder
+                    .addStatement( "default: return super.newPropertyParameters(index)" )
+                    .endControlFlow()
+                    .build() );
+        }
+    }
+
+    /**
+     * A property can be handled by the compact mode if it does not need any method specific to its own class.
+     *
+     * @param property the property
+     * @param getterAccessor accessor to the value of the property
+     *
+     * @return true if the property can be handled by an {@link IndexedBeanPropertySerializer}
+     */
+    private boolean isCompactable( PropertyInfo property, Accessor getterAccessor ) {
+        return !property.isAnyGetter()
+                && !property.isUnwrapped()
+                && property.getPropertyName().equals( escapeString( property.getPropertyName() ) )
+                && !getterAccessor.getAdditionalMethod().isPresent();
     }
 
     private MethodSpec buildInitAnyGetterPropertySerializerMethod( PropertyInfo anyGetterPropertyInfo )
@@ -207,12 +297,17 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
 
         String escapedPropertyName = escapeString( property.getPropertyName() );
 
+        int viewMask = getViewMask( property );
         if ( property.isAnyGetter() ) {
-            builder = TypeSpec.anonymousClassBuilder( "" )
+            builder = (0 == viewMask ? TypeSpec.anonymousClassBuilder( "" ) : TypeSpec.anonymousClassBuilder( "$L", viewMask ))
                     .superclass( parameterizedName( AnyGetterPropertySerializer.class, beanInfo.getType() ) );
         } else {
-            builder = TypeSpec.anonymousClassBuilder( "\"$L\"", escapedPropertyName )
-                    .superclass( parameterizedName( BeanPropertySerializer.class, beanInfo.getType(), property.getType() ) );
+            if ( 0 == viewMask ) {
+                builder = TypeSpec.anonymousClassBuilder( "\"$L\"", escapedPropertyName );
+            } else {
+                builder = TypeSpec.anonymousClassBuilder( "\"$L\", $L", escapedPropertyName, viewMask );
+            }
+            builder.superclass( parameterizedName( BeanPropertySerializer.class, beanInfo.getType(), property.getType() ) );
         }
 
         buildBeanPropertySerializerBody( builder, beanInfo.getType(), property, serializerType );
@@ -254,18 +349,20 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
                 .build();
     }
 
-    private MethodSpec buildInitMapSubtypeClassToSerializerMethod( ImmutableList<JClassType> subtypes )
-            throws UnableToCompleteException {
-
-        Class[] mapTypes = new Class[]{Class.class, SubtypeSerializer.class};
-        TypeName resultType = ParameterizedTypeName.get( Map.class, mapTypes );
-
-        MethodSpec.Builder builder = MethodSpec.methodBuilder( "initMapSubtypeClassToSerializer" )
+    private MethodSpec buildInitFragmentCacheMethod() {
+        return MethodSpec.methodBuilder( "initFragmentCache" )
                 .addModifiers( Modifier.PROTECTED )
                 .addAnnotation( Override.class )
-                .returns( resultType )
-                .addStatement( "$T map = new $T($L)",
-                        resultType, ParameterizedTypeName.get( IdentityHashMap.class, mapTypes ), subtypes.size() );
+                .returns( SerializedFragmentCache.class )
+                .addStatement( "return new $T($L)", SerializedFragmentCache.class, beanInfo.getSerializationCacheSize().get() )
+                .build();
+    }
+
+    private void buildSubtypeSerializerMethods( TypeSpec.Builder typeBuilder, ImmutableList<JClassType> subtypes )
+            throws UnableToCompleteException {
+
+        List<JClassType> supportedSubtypes = new ArrayList<JClassType>();
+        List<TypeSpec> subtypeSerializers = new ArrayList<TypeSpec>();
 
         for ( JClassType subtype : subtypes ) {
 
@@ -299,11 +396,39 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
                                     .build()
                     ).build();
 
-            builder.addStatement( "map.put($T.class, $L)", rawName( subtype ), subtypeType );
+            supportedSubtypes.add( subtype );
+            subtypeSerializers.add( subtypeType );
         }
 
-        builder.addStatement( "return map" );
-        return builder.build();
+        if ( supportedSubtypes.isEmpty() ) {
+            return;
+        }
+
+        MethodSpec.Builder initBuilder = MethodSpec.methodBuilder( "initSubtypeSerializers" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( ArrayTypeName.of( SubtypeSerializer.class ) )
+                .addStatement( "$T result = new $T[$L]",
+                        ArrayTypeName.of( SubtypeSerializer.class ), SubtypeSerializer.class, subtypeSerializers.size() );
+        for ( int i = 0; i < subtypeSerializers.size(); i++ ) {
+            initBuilder.addStatement( "result[$L] = $L", i, subtypeSerializers.get( i ) );
+        }
+        initBuilder.addStatement( "return result" );
+        typeBuilder.addMethod( initBuilder.build() );
+
+        // direct comparisons on the class, ordered by declared subtype, instead of a lookup in a map
+        MethodSpec.Builder getBuilder = MethodSpec.methodBuilder( "getSubtypeSerializer" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( SubtypeSerializer.class )
+                .addParameter( Class.class, "clazz" );
+        for ( int i = 0; i < supportedSubtypes.size(); i++ ) {
+            getBuilder.beginControlFlow( "if (clazz == $T.class)", rawName( supportedSubtypes.get( i ) ) )
+                    .addStatement( "return subtypeSerializers[$L]", i )
+                    .endControlFlow();
+        }
+        getBuilder.addStatement( "return null" );
+        typeBuilder.addMethod( getBuilder.build() );
     }
 
     private Optional<JSerializerType> getIdentitySerializerType( BeanIdentityInfo identityInfo ) throws UnableToCompleteException,
@@ -405,6 +530,21 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
 
     private Optional<MethodSpec> generatePropertySerializerParameters( PropertyInfo property, JSerializerType serializerType )
             throws UnableToCompleteException {
+        Optional<CodeBlock> parameters = buildPropertySerializerParameters( property, serializerType );
+        if ( !parameters.isPresent() ) {
+            return Optional.absent();
+        }
+
+        return Optional.of( MethodSpec.methodBuilder( "newParameters" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( JsonSerializerParameters.class )
+                .addStatement( "return $L", parameters.get() )
+                .build() );
+    }
+
+    private Optional<CodeBlock> buildPropertySerializerParameters( PropertyInfo property, JSerializerType serializerType )
+            throws UnableToCompleteException {
 
         if ( !property.getFormat().isPresent()
                 && !property.getIgnoredProperties().isPresent()
@@ -420,7 +560,7 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
         JClassType annotatedType = findFirstTypeToApplyPropertyAnnotation( serializerType );
 
         CodeBlock.Builder paramBuilder = CodeBlock.builder()
-                .add( "return new $T()", JsonSerializerParameters.class )
+                .add( "new $T()", JsonSerializerParameters.class )
                 .indent()
                 .indent();
 
@@ -460,15 +600,9 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
             paramBuilder.add( "\n.setUnwrapped(true)" );
         }
 
-        paramBuilder.add( ";\n" )
-                .unindent()
+        paramBuilder.unindent()
                 .unindent();
 
-        return Optional.of( MethodSpec.methodBuilder( "newParameters" )
-                .addModifiers( Modifier.PROTECTED )
-                .addAnnotation( Override.class )
-                .returns( JsonSerializerParameters.class )
-                .addCode( paramBuilder.build() )
-                .build() );
+        return Optional.of( paramBuilder.build() );
     }
 }
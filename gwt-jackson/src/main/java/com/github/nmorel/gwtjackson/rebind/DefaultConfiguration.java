@@ -69,6 +69,7 @@ import com.github.nmorel.gwtjackson.client.deser.BooleanJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.CharacterJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.EnumJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.JavaScriptObjectJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.JsonNodeJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.UUIDJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.VoidJsonDeserializer;
@@ -152,6 +153,7 @@ import com.github.nmorel.gwtjackson.client.ser.CollectionJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.EnumJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.IterableJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.JavaScriptObjectJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.JsonNodeJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.StringJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.UUIDJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.VoidJsonSerializer;
@@ -179,6 +181,7 @@ import com.github.nmorel.gwtjackson.client.ser.map.key.NumberKeySerializer;
 import com.github.nmorel.gwtjackson.client.ser.map.key.ObjectKeySerializer;
 import com.github.nmorel.gwtjackson.client.ser.map.key.ToStringKeySerializer;
 import com.github.nmorel.gwtjackson.client.ser.map.key.UUIDKeySerializer;
+import com.github.nmorel.gwtjackson.client.tree.JsonNode;
 import com.google.gwt.core.client.JavaScriptObject;
 
 /**
@@ -210,6 +213,7 @@ public final class DefaultConfiguration extends AbstractConfiguration {
         type( Void.class ).serializer( VoidJsonSerializer.class ).deserializer( VoidJsonDeserializer.class );
         type( JavaScriptObject.class ).serializer( JavaScriptObjectJsonSerializer.class )
                 .deserializer( JavaScriptObjectJsonDeserializer.class );
+        type( JsonNode.class ).serializer( JsonNodeJsonSerializer.class ).deserializer( JsonNodeJsonDeserializer.class );
         type( Enum.class ).serializer( EnumJsonSerializer.class ).deserializer( EnumJsonDeserializer.class );
 
         // Number mappers
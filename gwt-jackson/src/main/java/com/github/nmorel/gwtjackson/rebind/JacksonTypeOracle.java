@@ -20,6 +20,7 @@ import java.lang.annotation.Annotation;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.github.nmorel.gwtjackson.client.AsyncObjectMapper;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
 import com.github.nmorel.gwtjackson.client.ObjectReader;
@@ -55,6 +56,8 @@ public class JacksonTypeOracle {
 
     private final JClassType objectWriterType;
 
+    private final JClassType asyncObjectMapperType;
+
     private final JClassType keySerializerType;
 
     private final JClassType keyDeserializerType;
@@ -87,6 +90,7 @@ public class JacksonTypeOracle {
 
         this.objectReaderType = typeOracle.findType( ObjectReader.class.getCanonicalName() );
         this.objectWriterType = typeOracle.findType( ObjectWriter.class.getCanonicalName() );
+        this.asyncObjectMapperType = typeOracle.findType( AsyncObjectMapper.class.getCanonicalName() );
         this.keySerializerType = typeOracle.findType( KeySerializer.class.getCanonicalName() );
         this.keyDeserializerType = typeOracle.findType( KeyDeserializer.class.getCanonicalName() );
         this.jsonSerializerType = typeOracle.findType( JsonSerializer.class.getCanonicalName() );
@@ -134,6 +138,16 @@ public class JacksonTypeOracle {
         return type.isAssignableTo( objectWriterType );
     }
 
+    /**
+     * <p>isAsyncObjectMapper</p>
+     *
+     * @param type a {@link com.google.gwt.core.ext.typeinfo.JClassType} object.
+     * @return a boolean.
+     */
+    public boolean isAsyncObjectMapper( JClassType type ) {
+        return type.isAssignableTo( asyncObjectMapperType );
+    }
+
     /**
      * <p>isMap</p>
      *
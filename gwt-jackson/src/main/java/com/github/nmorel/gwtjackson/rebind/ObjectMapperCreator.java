@@ -20,15 +20,20 @@ import javax.lang.model.element.Modifier;
 import java.io.PrintWriter;
 
 import com.fasterxml.jackson.annotation.JsonRootName;
+import com.github.nmorel.gwtjackson.client.AbstractAsyncObjectMapper;
 import com.github.nmorel.gwtjackson.client.AbstractObjectMapper;
 import com.github.nmorel.gwtjackson.client.AbstractObjectReader;
 import com.github.nmorel.gwtjackson.client.AbstractObjectWriter;
+import com.github.nmorel.gwtjackson.client.AsyncObjectMapper;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
 import com.github.nmorel.gwtjackson.client.ObjectMapper;
 import com.github.nmorel.gwtjackson.rebind.exception.UnsupportedTypeException;
 import com.github.nmorel.gwtjackson.rebind.type.JDeserializerType;
 import com.github.nmorel.gwtjackson.rebind.type.JSerializerType;
+import com.google.gwt.core.client.Callback;
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
 import com.google.gwt.core.ext.GeneratorContext;
 import com.google.gwt.core.ext.TreeLogger;
 import com.google.gwt.core.ext.TreeLogger.Type;
@@ -45,6 +50,7 @@ import com.squareup.javapoet.TypeSpec;
 import static com.github.nmorel.gwtjackson.rebind.CreatorUtils.findFirstEncounteredAnnotationsOnAllHierarchy;
 import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.DEFAULT_WILDCARD;
 import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.parameterizedName;
+import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.rawName;
 import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.typeName;
 
 /**
@@ -61,6 +67,8 @@ public class ObjectMapperCreator extends AbstractCreator {
 
     private static final String OBJECT_WRITER_CLASS = "com.github.nmorel.gwtjackson.client.ObjectWriter";
 
+    private static final String ASYNC_OBJECT_MAPPER_CLASS = "com.github.nmorel.gwtjackson.client.AsyncObjectMapper";
+
     /**
      * <p>Constructor for ObjectMapperCreator.</p>
      *
@@ -82,7 +90,9 @@ public class ObjectMapperCreator extends AbstractCreator {
     }
 
     /**
-     * Creates the implementation of the interface denoted by interfaceClass and extending {@link ObjectMapper}
+     * Creates the implementation of the interface denoted by interfaceClass and extending {@link ObjectMapper}, {@link
+     * com.github.nmorel.gwtjackson.client.ObjectReader}, {@link com.github.nmorel.gwtjackson.client.ObjectWriter} or {@link
+     * AsyncObjectMapper}
      *
      * @param interfaceClass the interface to generate an implementation
      * @return the fully qualified name of the created class
@@ -111,6 +121,11 @@ public class ObjectMapperCreator extends AbstractCreator {
             // Extract the type of the object to map.
             JClassType mappedTypeClass = extractMappedType( interfaceClass );
 
+            if ( typeOracle.isAsyncObjectMapper( interfaceClass ) ) {
+                write( packageName, buildAsyncMapper( interfaceClass, mapperClassSimpleName, mappedTypeClass ), printWriter );
+                return qualifiedMapperClassName;
+            }
+
             boolean reader = typeOracle.isObjectReader( interfaceClass );
             boolean writer = typeOracle.isObjectWriter( interfaceClass );
             Class<?> abstractClass;
@@ -169,10 +184,12 @@ public class ObjectMapperCreator extends AbstractCreator {
                 return extractParameterizedType( OBJECT_READER_CLASS, t.isParameterized() );
             } else if ( t.getQualifiedSourceName().equals( OBJECT_WRITER_CLASS ) ) {
                 return extractParameterizedType( OBJECT_WRITER_CLASS, t.isParameterized() );
+            } else if ( t.getQualifiedSourceName().equals( ASYNC_OBJECT_MAPPER_CLASS ) ) {
+                return extractParameterizedType( ASYNC_OBJECT_MAPPER_CLASS, t.isParameterized() );
             }
         }
         logger.log( TreeLogger.Type.ERROR, "Expected  " + interfaceClass + " to extend one of the following interface : " +
-                OBJECT_MAPPER_CLASS + ", " + OBJECT_READER_CLASS + " or " + OBJECT_WRITER_CLASS );
+                OBJECT_MAPPER_CLASS + ", " + OBJECT_READER_CLASS + ", " + OBJECT_WRITER_CLASS + " or " + ASYNC_OBJECT_MAPPER_CLASS );
         throw new UnableToCompleteException();
     }
 
@@ -206,18 +223,75 @@ public class ObjectMapperCreator extends AbstractCreator {
      * @return the constructor method
      */
     private MethodSpec buildConstructor( JClassType mappedTypeClass ) {
+        return MethodSpec.constructorBuilder()
+                .addModifiers( Modifier.PUBLIC )
+                .addStatement( "super($S)", getRootName( mappedTypeClass ) )
+                .build();
+    }
+
+    /**
+     * Returns the root name of the type to map.
+     *
+     * @param mappedTypeClass the type to map
+     *
+     * @return the value of {@link JsonRootName} if present, the simple name of the type otherwise
+     */
+    private String getRootName( JClassType mappedTypeClass ) {
         Optional<JsonRootName> jsonRootName
                 = findFirstEncounteredAnnotationsOnAllHierarchy( configuration, mappedTypeClass, JsonRootName.class );
-        String rootName;
         if ( !jsonRootName.isPresent() || Strings.isNullOrEmpty( jsonRootName.get().value() ) ) {
-            rootName = mappedTypeClass.getSimpleSourceName();
+            return mappedTypeClass.getSimpleSourceName();
         } else {
-            rootName = jsonRootName.get().value();
+            return jsonRootName.get().value();
         }
+    }
 
-        return MethodSpec.constructorBuilder()
-                .addModifiers( Modifier.PUBLIC )
-                .addStatement( "super($S)", rootName )
+    /**
+     * Build the implementation of an {@link AsyncObjectMapper}. The mapper, and so all the serializers and deserializers it
+     * references, is only instantiated inside a split point named after the interface.
+     *
+     * @param interfaceClass the interface to implement
+     * @param mapperClassSimpleName the name of the class to generate
+     * @param mappedTypeClass the type to map
+     *
+     * @return the class
+     */
+    private TypeSpec buildAsyncMapper( JClassType interfaceClass, String mapperClassSimpleName, JClassType mappedTypeClass )
+            throws UnableToCompleteException {
+        TypeSpec mapper = TypeSpec.anonymousClassBuilder( "$S", getRootName( mappedTypeClass ) )
+                .superclass( parameterizedName( AbstractObjectMapper.class, mappedTypeClass ) )
+                .addMethod( buildNewDeserializerMethod( mappedTypeClass ) )
+                .addMethod( buildNewSerializerMethod( mappedTypeClass ) )
+                .build();
+
+        TypeSpec runAsyncCallback = TypeSpec.anonymousClassBuilder( "" )
+                .addSuperinterface( RunAsyncCallback.class )
+                .addMethod( MethodSpec.methodBuilder( "onFailure" )
+                        .addModifiers( Modifier.PUBLIC )
+                        .addAnnotation( Override.class )
+                        .addParameter( Throwable.class, "reason" )
+                        .addStatement( "callback.onFailure(reason)" )
+                        .build() )
+                .addMethod( MethodSpec.methodBuilder( "onSuccess" )
+                        .addModifiers( Modifier.PUBLIC )
+                        .addAnnotation( Override.class )
+                        .addStatement( "callback.onSuccess($L)", mapper )
+                        .build() )
+                .build();
+
+        MethodSpec loadMapper = MethodSpec.methodBuilder( "loadMapper" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .addParameter( ParameterizedTypeName.get( ClassName.get( Callback.class ), parameterizedName( ObjectMapper.class,
+                        mappedTypeClass ), ClassName.get( Throwable.class ) ), "callback", Modifier.FINAL )
+                .addStatement( "$T.runAsync($T.class, $L)", GWT.class, rawName( interfaceClass ), runAsyncCallback )
+                .build();
+
+        return TypeSpec.classBuilder( mapperClassSimpleName )
+                .addModifiers( Modifier.PUBLIC, Modifier.FINAL )
+                .addSuperinterface( typeName( interfaceClass ) )
+                .superclass( parameterizedName( AbstractAsyncObjectMapper.class, mappedTypeClass ) )
+                .addMethod( loadMapper )
                 .build();
     }
 
@@ -193,6 +193,8 @@ public final class RebindConfiguration {
 
     private final JsonAutoDetect.Visibility defaultCreatorVisibility;
 
+    private final boolean compactGeneration;
+
     /**
      * <p>Constructor for RebindConfiguration.</p>
      *
@@ -222,6 +224,7 @@ public final class RebindConfiguration {
         JsonAutoDetect.Visibility isGetterVisibility = JsonAutoDetect.Visibility.DEFAULT;
         JsonAutoDetect.Visibility setterVisibility = JsonAutoDetect.Visibility.DEFAULT;
         JsonAutoDetect.Visibility creatorVisibility = JsonAutoDetect.Visibility.DEFAULT;
+        boolean compact = false;
 
         for ( AbstractConfiguration configuration : configurations ) {
             for ( MapperType mapperType : MapperType.values() ) {
@@ -235,6 +238,7 @@ public final class RebindConfiguration {
             isGetterVisibility = configuration.getIsGetterVisibility();
             setterVisibility = configuration.getSetterVisibility();
             creatorVisibility = configuration.getCreatorVisibility();
+            compact = compact || configuration.isCompactGeneration();
         }
 
         this.allSupportedSerializationClass = allSupportedSerializationClassBuilder.build();
@@ -246,6 +250,7 @@ public final class RebindConfiguration {
         this.defaultIsGetterVisibility = isGetterVisibility;
         this.defaultSetterVisibility = setterVisibility;
         this.defaultCreatorVisibility = creatorVisibility;
+        this.compactGeneration = compact;
     }
 
     /**
@@ -670,4 +675,14 @@ public final class RebindConfiguration {
     public Visibility getDefaultCreatorVisibility() {
         return defaultCreatorVisibility;
     }
+
+    /**
+     * <p>isCompactGeneration</p>
+     *
+     * @return true if the bean serializers and deserializers are generated in compact mode
+     * @see AbstractConfiguration#compactGeneration(boolean)
+     */
+    public boolean isCompactGeneration() {
+        return compactGeneration;
+    }
 }
@@ -23,6 +23,7 @@ import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.github.nmorel.gwtjackson.client.annotation.JsonCanonical;
 import com.github.nmorel.gwtjackson.rebind.property.PropertyInfo;
 import com.google.gwt.core.ext.typeinfo.JAbstractMethod;
 import com.google.gwt.core.ext.typeinfo.JClassType;
@@ -89,7 +90,16 @@ public final class BeanInfo {
     /*#### Inclusion info ####*/
     private final Optional<Include> include;
 
-    BeanInfo( JClassType type, List<JClassType> parameterizedTypes, Optional<JClassType> builder, Optional<JAbstractMethod> creatorMethod, Map<String, JParameter> creatorParameters, boolean creatorDefaultConstructor, boolean creatorDelegation, Optional<BeanTypeInfo> typeInfo, Optional<PropertyInfo> valuePropertyInfo, Optional<PropertyInfo> anyGetterPropertyInfo, Optional<PropertyInfo> anySetterPropertyInfo, Set<String> ignoredFields, Visibility fieldVisibility, Visibility getterVisibility, Visibility isGetterVisibility, Visibility setterVisibility, Visibility creatorVisibility, boolean ignoreUnknown, List<String> propertyOrderList, boolean propertyOrderAlphabetic, Optional<BeanIdentityInfo> identityInfo, Optional<Include> include ) {
+    /*#### View info ####*/
+    private final Optional<Class<?>[]> views;
+
+    /*#### Serialization cache info ####*/
+    private final Optional<Integer> serializationCacheSize;
+
+    /*#### Canonical info ####*/
+    private final Optional<JsonCanonical> canonical;
+
+    BeanInfo( JClassType type, List<JClassType> parameterizedTypes, Optional<JClassType> builder, Optional<JAbstractMethod> creatorMethod, Map<String, JParameter> creatorParameters, boolean creatorDefaultConstructor, boolean creatorDelegation, Optional<BeanTypeInfo> typeInfo, Optional<PropertyInfo> valuePropertyInfo, Optional<PropertyInfo> anyGetterPropertyInfo, Optional<PropertyInfo> anySetterPropertyInfo, Set<String> ignoredFields, Visibility fieldVisibility, Visibility getterVisibility, Visibility isGetterVisibility, Visibility setterVisibility, Visibility creatorVisibility, boolean ignoreUnknown, List<String> propertyOrderList, boolean propertyOrderAlphabetic, Optional<BeanIdentityInfo> identityInfo, Optional<Include> include, Optional<Class<?>[]> views, Optional<Integer> serializationCacheSize, Optional<JsonCanonical> canonical ) {
 
         this.type = type;
         this.parameterizedTypes = ImmutableList.copyOf( parameterizedTypes );
@@ -116,6 +126,9 @@ public final class BeanInfo {
         this.propertyOrderAlphabetic = propertyOrderAlphabetic;
         this.identityInfo = identityInfo;
         this.include = include;
+        this.views = views;
+        this.serializationCacheSize = serializationCacheSize;
+        this.canonical = canonical;
     }
 
     /**
@@ -315,4 +328,31 @@ public final class BeanInfo {
     public Optional<Include> getInclude() {
         return include;
     }
+
+    /**
+     * <p>Getter for the field <code>views</code>.</p>
+     *
+     * @return a {@link com.google.gwt.thirdparty.guava.common.base.Optional} object.
+     */
+    public Optional<Class<?>[]> getViews() {
+        return views;
+    }
+
+    /**
+     * <p>Getter for the field <code>serializationCacheSize</code>.</p>
+     *
+     * @return a {@link com.google.gwt.thirdparty.guava.common.base.Optional} object.
+     */
+    public Optional<Integer> getSerializationCacheSize() {
+        return serializationCacheSize;
+    }
+
+    /**
+     * <p>Getter for the field <code>canonical</code>.</p>
+     *
+     * @return a {@link com.google.gwt.thirdparty.guava.common.base.Optional} object.
+     */
+    public Optional<JsonCanonical> getCanonical() {
+        return canonical;
+    }
 }
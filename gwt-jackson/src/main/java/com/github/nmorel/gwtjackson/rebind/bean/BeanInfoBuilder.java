@@ -24,6 +24,7 @@ import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.github.nmorel.gwtjackson.client.annotation.JsonCanonical;
 import com.github.nmorel.gwtjackson.rebind.property.PropertyInfo;
 import com.google.gwt.core.ext.typeinfo.JAbstractMethod;
 import com.google.gwt.core.ext.typeinfo.JClassType;
@@ -79,6 +80,12 @@ final class BeanInfoBuilder {
 
     private Optional<Include> include = Optional.absent();
 
+    private Optional<Class<?>[]> views = Optional.absent();
+
+    private Optional<Integer> serializationCacheSize = Optional.absent();
+
+    private Optional<JsonCanonical> canonical = Optional.absent();
+
     BeanInfoBuilder() {
     }
 
@@ -107,6 +114,9 @@ final class BeanInfoBuilder {
         this.propertyOrderAlphabetic = beanInfo.isPropertyOrderAlphabetic();
         this.identityInfo = beanInfo.getIdentityInfo();
         this.include = beanInfo.getInclude();
+        this.views = beanInfo.getViews();
+        this.serializationCacheSize = beanInfo.getSerializationCacheSize();
+        this.canonical = beanInfo.getCanonical();
     }
 
     void setType( JClassType type ) {
@@ -214,10 +224,22 @@ final class BeanInfoBuilder {
         return include;
     }
 
+    void setViews( Optional<Class<?>[]> views ) {
+        this.views = views;
+    }
+
+    void setSerializationCacheSize( Optional<Integer> serializationCacheSize ) {
+        this.serializationCacheSize = serializationCacheSize;
+    }
+
+    void setCanonical( Optional<JsonCanonical> canonical ) {
+        this.canonical = canonical;
+    }
+
     BeanInfo build() {
         return new BeanInfo( type, parameterizedTypes, builder, creatorMethod, creatorParameters, creatorDefaultConstructor,
                 creatorDelegation, typeInfo, valuePropertyInfo, anyGetterPropertyInfo, anySetterPropertyInfo, ignoredFields,
                 fieldVisibility, getterVisibility, isGetterVisibility, setterVisibility, creatorVisibility, ignoreUnknown,
-                propertyOrderList, propertyOrderAlphabetic, identityInfo, include );
+                propertyOrderList, propertyOrderAlphabetic, identityInfo, include, views, serializationCacheSize, canonical );
     }
 }
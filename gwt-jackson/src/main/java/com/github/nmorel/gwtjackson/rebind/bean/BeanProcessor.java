@@ -38,11 +38,14 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.annotation.JsonView;
 import com.fasterxml.jackson.annotation.ObjectIdGenerator;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators.IntSequenceGenerator;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators.PropertyGenerator;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators.UUIDGenerator;
+import com.github.nmorel.gwtjackson.client.annotation.JsonCachedSerialization;
+import com.github.nmorel.gwtjackson.client.annotation.JsonCanonical;
 import com.github.nmorel.gwtjackson.rebind.BeanJsonDeserializerCreator;
 import com.github.nmorel.gwtjackson.rebind.CreatorUtils;
 import com.github.nmorel.gwtjackson.rebind.JacksonTypeOracle;
@@ -131,6 +134,23 @@ public final class BeanProcessor {
             builder.setInclude( Optional.of( jsonInclude.get().value() ) );
         }
 
+        Optional<JsonView> jsonView = findFirstEncounteredAnnotationsOnAllHierarchy( configuration, beanType, JsonView.class );
+        if ( jsonView.isPresent() ) {
+            builder.setViews( Optional.<Class<?>[]>of( jsonView.get().value() ) );
+        }
+
+        Optional<JsonCachedSerialization> jsonCachedSerialization = findFirstEncounteredAnnotationsOnAllHierarchy( configuration, beanType,
+                JsonCachedSerialization.class );
+        if ( jsonCachedSerialization.isPresent() && jsonCachedSerialization.get().value() ) {
+            builder.setSerializationCacheSize( Optional.of( jsonCachedSerialization.get().maxSize() ) );
+        }
+
+        Optional<JsonCanonical> jsonCanonical = findFirstEncounteredAnnotationsOnAllHierarchy( configuration, beanType,
+                JsonCanonical.class );
+        if ( jsonCanonical.isPresent() && jsonCanonical.get().value() ) {
+            builder.setCanonical( jsonCanonical );
+        }
+
         builder.setIdentityInfo( processIdentity( logger, typeOracle, configuration, beanType ) );
         builder.setTypeInfo( processType( logger, typeOracle, configuration, beanType ) );
 
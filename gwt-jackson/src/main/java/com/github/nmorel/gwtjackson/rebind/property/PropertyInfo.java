@@ -69,13 +69,18 @@ public final class PropertyInfo {
 
     private final Optional<String[]> ignoredProperties;
 
+    private final Optional<Class<?>[]> views;
+
+    private final boolean deduplicate;
+
     PropertyInfo( String propertyName, JType type, boolean ignored, boolean required, boolean rawValue, boolean value, boolean
             anyGetter, boolean anySetter, boolean unwrapped, Optional<String> managedReference, Optional<String> backReference,
                   Optional<? extends
                           FieldAccessor> getterAccessor, Optional<? extends FieldAccessor> setterAccessor, Optional<BeanIdentityInfo>
             identityInfo,
                   Optional<BeanTypeInfo> typeInfo, Optional<JsonFormat> format, Optional<Include> include, Optional<Boolean>
-                          ignoreUnknown, Optional<String[]> ignoredProperties ) {
+                          ignoreUnknown, Optional<String[]> ignoredProperties, Optional<Class<?>[]> views,
+                  boolean deduplicate ) {
         this.propertyName = propertyName;
         this.type = type;
         this.ignored = ignored;
@@ -95,6 +100,8 @@ public final class PropertyInfo {
         this.include = include;
         this.ignoreUnknown = ignoreUnknown;
         this.ignoredProperties = ignoredProperties;
+        this.views = views;
+        this.deduplicate = deduplicate;
     }
 
     /**
@@ -267,4 +274,22 @@ public final class PropertyInfo {
     public Optional<String[]> getIgnoredProperties() {
         return ignoredProperties;
     }
+
+    /**
+     * <p>Getter for the field <code>views</code>.</p>
+     *
+     * @return a {@link com.google.gwt.thirdparty.guava.common.base.Optional} object.
+     */
+    public Optional<Class<?>[]> getViews() {
+        return views;
+    }
+
+    /**
+     * <p>isDeduplicate</p>
+     *
+     * @return a boolean.
+     */
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
 }
@@ -66,6 +66,10 @@ final class PropertyInfoBuilder {
 
     private Optional<String[]> ignoredProperties = Optional.absent();
 
+    private Optional<Class<?>[]> views = Optional.absent();
+
+    private boolean deduplicate = false;
+
     PropertyInfoBuilder( String propertyName, JType type ) {
         this.propertyName = propertyName;
         this.type = type;
@@ -215,9 +219,25 @@ final class PropertyInfoBuilder {
         this.ignoredProperties = ignoredProperties;
     }
 
+    Optional<Class<?>[]> getViews() {
+        return views;
+    }
+
+    void setViews( Optional<Class<?>[]> views ) {
+        this.views = views;
+    }
+
+    boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    void setDeduplicate( boolean deduplicate ) {
+        this.deduplicate = deduplicate;
+    }
+
     PropertyInfo build() {
         return new PropertyInfo( propertyName, type, ignored, required, rawValue, value, anyGetter, anySetter, unwrapped,
                 managedReference, backReference, getterAccessor, setterAccessor, identityInfo, typeInfo, format, include, ignoreUnknown,
-                ignoredProperties );
+                ignoredProperties, views, deduplicate );
     }
 }
@@ -43,6 +43,8 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.github.nmorel.gwtjackson.client.annotation.JsonDeduplicate;
 import com.github.nmorel.gwtjackson.rebind.JacksonTypeOracle;
 import com.github.nmorel.gwtjackson.rebind.RebindConfiguration;
 import com.github.nmorel.gwtjackson.rebind.bean.BeanInfo;
@@ -265,6 +267,16 @@ public final class PropertyProcessor {
             builder.setInclude( beanInfo.getInclude() );
         }
 
+        Optional<JsonView> jsonView = propertyAccessors.getAnnotation( JsonView.class );
+        if ( jsonView.isPresent() ) {
+            builder.setViews( Optional.<Class<?>[]>of( jsonView.get().value() ) );
+        } else {
+            builder.setViews( beanInfo.getViews() );
+        }
+
+        Optional<JsonDeduplicate> jsonDeduplicate = propertyAccessors.getAnnotation( JsonDeduplicate.class );
+        builder.setDeduplicate( jsonDeduplicate.isPresent() && jsonDeduplicate.get().value() );
+
         Optional<JsonIgnoreProperties> jsonIgnoreProperties = propertyAccessors.getAnnotation( JsonIgnoreProperties.class );
         if ( jsonIgnoreProperties.isPresent() ) {
             builder.setIgnoreUnknown( Optional.of( jsonIgnoreProperties.get().ignoreUnknown() ) );
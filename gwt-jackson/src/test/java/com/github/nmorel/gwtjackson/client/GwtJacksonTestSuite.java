@@ -39,11 +39,13 @@ import com.github.nmorel.gwtjackson.client.advanced.jsontype.PolymorphismIdClass
 import com.github.nmorel.gwtjackson.client.advanced.jsontype.PolymorphismIdMinimalClassAsWrapperArrayGwtTest;
 import com.github.nmorel.gwtjackson.client.advanced.jsontype.PolymorphismIdNameAsWrapperObjectGwtTest;
 import com.github.nmorel.gwtjackson.client.advanced.jsontype.PolymorphismNoTypeInfoGwtTest;
+import com.github.nmorel.gwtjackson.client.advanced.jsontype.SubtypeDispatchGwtTest;
 import com.github.nmorel.gwtjackson.client.advanced.jsontype.TypeNamesGwtTest;
 import com.github.nmorel.gwtjackson.client.advanced.jsontype.VisibleTypeIdGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonAnyGetterSetterGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonAutoDetectGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonCreatorGwtTest;
+import com.github.nmorel.gwtjackson.client.annotation.JsonDeduplicateGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonDeserializeBuilderGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonFormatGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonIgnoreGwtTest;
@@ -54,6 +56,7 @@ import com.github.nmorel.gwtjackson.client.annotation.JsonPropertyOrderGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonRawValueGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonRootNameGwtTest;
 import com.github.nmorel.gwtjackson.client.annotation.JsonUnwrappedGwtTest;
+import com.github.nmorel.gwtjackson.client.annotation.JsonViewGwtTest;
 import com.github.nmorel.gwtjackson.client.arrays.JsListTest;
 import com.github.nmorel.gwtjackson.client.deser.BooleanJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.CharacterJsonDeserializerTest;
@@ -62,8 +65,14 @@ import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.UUIDJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.VoidJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.array.ArrayJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.deser.array.BooleanArrayJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.array.ByteArray2dJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.array.ByteArrayJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.deser.array.DoubleArrayJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.deser.array.IntegerArray2dJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.deser.array.IntegerArrayJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.deser.array.LongArrayJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.collection.CollectionJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.collection.IterableJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.collection.ListJsonDeserializerTest;
@@ -97,16 +106,23 @@ import com.github.nmorel.gwtjackson.client.deser.number.FloatJsonDeserializerTes
 import com.github.nmorel.gwtjackson.client.deser.number.IntegerJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.number.LongJsonDeserializerTest;
 import com.github.nmorel.gwtjackson.client.deser.number.ShortJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.mapper.AsyncObjectMapperGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.DiffWriterGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.AllCollectionsObjectMapperTest;
 import com.github.nmorel.gwtjackson.client.mapper.AllMapsObjectMapperTest;
 import com.github.nmorel.gwtjackson.client.mapper.AutoDetectionGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.CachedSerializationGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.CanonicalDeserializationGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.CommonJsonMapperTest;
+import com.github.nmorel.gwtjackson.client.mapper.CompactGenerationGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.CustomIterableGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.DifferentTypeGetterGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.EnumMapperGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.ErrorGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.IgnoreStaticGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.JsonNodeGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.PropertyNamingGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.ReadForUpdatingGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.SimpleBeanObjectReaderTest;
 import com.github.nmorel.gwtjackson.client.mapper.SimpleBeanObjectWriterTest;
 import com.github.nmorel.gwtjackson.client.mixins.MixinDeserForClassGwtTest;
@@ -117,6 +133,7 @@ import com.github.nmorel.gwtjackson.client.mixins.MixinSerForMethodsGwtTest;
 import com.github.nmorel.gwtjackson.client.options.CharArrayOptionGwtTest;
 import com.github.nmorel.gwtjackson.client.options.DateOptionsGwtTest;
 import com.github.nmorel.gwtjackson.client.options.IndentGwtTest;
+import com.github.nmorel.gwtjackson.client.options.MetricsCollectorGwtTest;
 import com.github.nmorel.gwtjackson.client.options.SingleArrayOptionGwtTest;
 import com.github.nmorel.gwtjackson.client.options.WriteEmptyJsonArraysOptionGwtTest;
 import com.github.nmorel.gwtjackson.client.options.WriteNullMapValuesOptionGwtTest;
@@ -129,6 +146,7 @@ import com.github.nmorel.gwtjackson.client.ser.VoidJsonSerializerTest;
 import com.github.nmorel.gwtjackson.client.ser.array.ArrayJsonSerializerTest;
 import com.github.nmorel.gwtjackson.client.ser.array.ByteArray2dJsonSerializerTest;
 import com.github.nmorel.gwtjackson.client.ser.array.ByteArrayJsonSerializerTest;
+import com.github.nmorel.gwtjackson.client.ser.collection.BoxedCollectionJsonSerializerTest;
 import com.github.nmorel.gwtjackson.client.ser.collection.CollectionJsonSerializerTest;
 import com.github.nmorel.gwtjackson.client.ser.collection.IterableJsonSerializerTest;
 import com.github.nmorel.gwtjackson.client.ser.collection.ListJsonSerializerTest;
@@ -165,6 +183,7 @@ import com.github.nmorel.gwtjackson.client.ser.number.ShortJsonSerializerTest;
 import com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonReaderTest;
 import com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonWriterTest;
 import com.github.nmorel.gwtjackson.client.stream.impl.FastJsonWriterTest;
+import com.github.nmorel.gwtjackson.client.stream.impl.UncheckedJsonWriterTest;
 import com.github.nmorel.gwtjackson.client.stream.impl.NonBufferedJsonReaderTest;
 import com.google.gwt.junit.tools.GWTTestSuite;
 import junit.framework.Test;
@@ -183,6 +202,7 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( NonBufferedJsonReaderTest.class );
         suite.addTestSuite( DefaultJsonWriterTest.class );
         suite.addTestSuite( FastJsonWriterTest.class );
+        suite.addTestSuite( UncheckedJsonWriterTest.class );
 
         // Default json serializers
         suite.addTestSuite( ArrayJsonSerializerTest.class );
@@ -193,6 +213,7 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( BooleanJsonSerializerTest.class );
         suite.addTestSuite( ByteJsonSerializerTest.class );
         suite.addTestSuite( CharacterJsonSerializerTest.class );
+        suite.addTestSuite( BoxedCollectionJsonSerializerTest.class );
         suite.addTestSuite( CollectionJsonSerializerTest.class );
         suite.addTestSuite( DateJsonSerializerTest.class );
         suite.addTestSuite( DoubleJsonSerializerTest.class );
@@ -234,11 +255,17 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( ArrayJsonDeserializerTest.class );
         suite.addTestSuite( ByteArrayJsonDeserializerTest.class );
         suite.addTestSuite( ByteArray2dJsonDeserializerTest.class );
+        suite.addTestSuite( IntegerArrayJsonDeserializerTest.class );
+        suite.addTestSuite( IntegerArray2dJsonDeserializerTest.class );
+        suite.addTestSuite( LongArrayJsonDeserializerTest.class );
+        suite.addTestSuite( DoubleArrayJsonDeserializerTest.class );
+        suite.addTestSuite( BooleanArrayJsonDeserializerTest.class );
         suite.addTestSuite( BigDecimalJsonDeserializerTest.class );
         suite.addTestSuite( BigIntegerJsonDeserializerTest.class );
         suite.addTestSuite( BooleanJsonDeserializerTest.class );
         suite.addTestSuite( ByteJsonDeserializerTest.class );
         suite.addTestSuite( CharacterJsonDeserializerTest.class );
+        suite.addTestSuite( BoxedCollectionJsonDeserializerTest.class );
         suite.addTestSuite( CollectionJsonDeserializerTest.class );
         suite.addTestSuite( DateJsonDeserializerTest.class );
         suite.addTestSuite( DoubleJsonDeserializerTest.class );
@@ -289,6 +316,13 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( AutoDetectionGwtTest.class );
         suite.addTestSuite( EnumMapperGwtTest.class );
         suite.addTestSuite( DifferentTypeGetterGwtTest.class );
+        suite.addTestSuite( CompactGenerationGwtTest.class );
+        suite.addTestSuite( AsyncObjectMapperGwtTest.class );
+        suite.addTestSuite( DiffWriterGwtTest.class );
+        suite.addTestSuite( ReadForUpdatingGwtTest.class );
+        suite.addTestSuite( JsonNodeGwtTest.class );
+        suite.addTestSuite( CachedSerializationGwtTest.class );
+        suite.addTestSuite( CanonicalDeserializationGwtTest.class );
 
         // Annotations test
         suite.addTestSuite( JsonAutoDetectGwtTest.class );
@@ -304,6 +338,8 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( JsonUnwrappedGwtTest.class );
         suite.addTestSuite( JsonIncludeGwtTest.class );
         suite.addTestSuite( JsonDeserializeBuilderGwtTest.class );
+        suite.addTestSuite( JsonViewGwtTest.class );
+        suite.addTestSuite( JsonDeduplicateGwtTest.class );
 
         // Advanced use cases
         suite.addTestSuite( ProxyAndAnonymousClassSerializationGwtTest.class );
@@ -328,6 +364,7 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( TypeNamesGwtTest.class );
         suite.addTestSuite( VisibleTypeIdGwtTest.class );
         suite.addTestSuite( JsonTypeWithEnumGwtTest.class );
+        suite.addTestSuite( SubtypeDispatchGwtTest.class );
 
         // Identity
         suite.addTestSuite( ObjectIdGwtTest.class );
@@ -344,6 +381,7 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( WriteNullMapValuesOptionGwtTest.class );
         suite.addTestSuite( WriteEmptyJsonArraysOptionGwtTest.class );
         suite.addTestSuite( SingleArrayOptionGwtTest.class );
+        suite.addTestSuite( MetricsCollectorGwtTest.class );
 
         // Mix-in
         suite.addTestSuite( MixinDeserForClassGwtTest.class );
@@ -16,6 +16,12 @@
 
 package com.github.nmorel.gwtjackson.client.advanced.identity;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
 import com.github.nmorel.gwtjackson.client.ObjectMapper;
 import com.github.nmorel.gwtjackson.client.ObjectReader;
@@ -37,6 +43,28 @@ import com.google.gwt.core.client.GWT;
  */
 public class ObjectIdDeserializationGwtTest extends GwtJacksonTestCase {
 
+    @JsonIdentityInfo( generator = ObjectIdGenerators.IntSequenceGenerator.class, property = "@id" )
+    public static class CreatorNode {
+
+        private final String name;
+
+        public int count;
+
+        public CreatorNode self;
+
+        public List<CreatorNode> children;
+
+        @JsonCreator
+        public CreatorNode( @JsonProperty( "name" ) String name ) {
+            this.name = name;
+        }
+    }
+
+    public interface CreatorNodeReader extends ObjectReader<CreatorNode> {
+
+        static CreatorNodeReader INSTANCE = GWT.create( CreatorNodeReader.class );
+    }
+
     public interface IdentifiableMapper extends ObjectReader<Identifiable>, ObjectReaderTester<Identifiable> {
 
         static IdentifiableMapper INSTANCE = GWT.create( IdentifiableMapper.class );
@@ -83,6 +111,10 @@ public class ObjectIdDeserializationGwtTest extends GwtJacksonTestCase {
         tester.testSimpleDeserializationClass( IdentifiableMapper.INSTANCE );
     }
 
+    public void testManyIdsDeserializationClass() {
+        tester.testManyIdsDeserializationClass( IdentifiableMapper.INSTANCE );
+    }
+
     public void testSimpleUUIDForClassRoundTrip() {
         tester.testSimpleUUIDForClassRoundTrip( UUIDNodeMapper.INSTANCE );
     }
@@ -114,4 +146,18 @@ public class ObjectIdDeserializationGwtTest extends GwtJacksonTestCase {
     public void testFinalPropertyId() {
         tester.testFinalPropertyId( ListFinalPropertyIdMapper.INSTANCE );
     }
+
+    public void testReferenceReadBeforeCreatorParameter() {
+        // the properties before the name are read before the node is created and registered
+        CreatorNode result = CreatorNodeReader.INSTANCE.read( "{\"@id\":1,\"count\":3,\"self\":1," +
+                "\"children\":[{\"@id\":2,\"self\":2,\"name\":\"child\"},1],\"name\":\"root\"}" );
+        assertEquals( "root", result.name );
+        assertEquals( 3, result.count );
+        assertSame( result, result.self );
+        assertEquals( 2, result.children.size() );
+        CreatorNode child = result.children.get( 0 );
+        assertEquals( "child", child.name );
+        assertSame( child, child.self );
+        assertSame( result, result.children.get( 1 ) );
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.advanced.jsontype;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Tests the dispatch to the subtype (de)serializers generated for each declared subtype.
+ *
+ * @author Nicolas Morel
+ */
+public class SubtypeDispatchGwtTest extends GwtJacksonTestCase {
+
+    @JsonTypeInfo( use = Id.NAME, include = As.PROPERTY, property = "kind" )
+    @JsonSubTypes( {@Type( value = Circle.class, name = "circle" ), @Type( value = Square.class, name = "square" ), @Type( value =
+            ColoredSquare.class, name = "coloredSquare" )} )
+    @JsonPropertyOrder( alphabetic = true )
+    public static abstract class Shape {
+
+        public String name;
+    }
+
+    public static class Circle extends Shape {
+
+        public int radius;
+    }
+
+    public static class Square extends Shape {
+
+        public int side;
+    }
+
+    public static class ColoredSquare extends Square {
+
+        public String color;
+    }
+
+    public static class Drawing {
+
+        public List<Shape> shapes;
+    }
+
+    public interface ShapeMapper extends ObjectMapper<Shape> {
+
+        static ShapeMapper INSTANCE = GWT.create( ShapeMapper.class );
+    }
+
+    public interface DrawingMapper extends ObjectMapper<Drawing> {
+
+        static DrawingMapper INSTANCE = GWT.create( DrawingMapper.class );
+    }
+
+    public void testSerialize() {
+        Circle circle = new Circle();
+        circle.name = "c";
+        circle.radius = 2;
+        assertEquals( "{\"kind\":\"circle\",\"name\":\"c\",\"radius\":2}", ShapeMapper.INSTANCE.write( circle ) );
+
+        Square square = new Square();
+        square.name = "s";
+        square.side = 3;
+        assertEquals( "{\"kind\":\"square\",\"name\":\"s\",\"side\":3}", ShapeMapper.INSTANCE.write( square ) );
+
+        // the subtype of a subtype has its own case
+        ColoredSquare coloredSquare = new ColoredSquare();
+        coloredSquare.name = "cs";
+        coloredSquare.side = 4;
+        coloredSquare.color = "red";
+        assertEquals( "{\"kind\":\"coloredSquare\",\"color\":\"red\",\"name\":\"cs\",\"side\":4}", ShapeMapper.INSTANCE
+                .write( coloredSquare ) );
+    }
+
+    public void testDeserialize() {
+        Shape shape = ShapeMapper.INSTANCE.read( "{\"kind\":\"circle\",\"name\":\"c\",\"radius\":2}" );
+        assertEquals( Circle.class, shape.getClass() );
+        assertEquals( "c", shape.name );
+        assertEquals( 2, ((Circle) shape).radius );
+
+        // the type id is not the first property
+        shape = ShapeMapper.INSTANCE.read( "{\"name\":\"s\",\"side\":3,\"kind\":\"square\"}" );
+        assertEquals( Square.class, shape.getClass() );
+        assertEquals( "s", shape.name );
+        assertEquals( 3, ((Square) shape).side );
+
+        shape = ShapeMapper.INSTANCE.read( "{\"kind\":\"coloredSquare\",\"name\":\"cs\",\"side\":4,\"color\":\"red\"}" );
+        assertEquals( ColoredSquare.class, shape.getClass() );
+        assertEquals( 4, ((ColoredSquare) shape).side );
+        assertEquals( "red", ((ColoredSquare) shape).color );
+    }
+
+    public void testDeserializeUnknownTypeId() {
+        try {
+            ShapeMapper.INSTANCE.read( "{\"kind\":\"triangle\",\"name\":\"t\"}" );
+            fail( "JsonDeserializationException expected" );
+        } catch ( JsonDeserializationException e ) {
+            // expected
+        }
+    }
+
+    public void testRoundTripInCollection() {
+        Drawing drawing = new Drawing();
+        drawing.shapes = new ArrayList<Shape>();
+        Circle circle = new Circle();
+        circle.radius = 1;
+        drawing.shapes.add( circle );
+        ColoredSquare coloredSquare = new ColoredSquare();
+        coloredSquare.side = 2;
+        coloredSquare.color = "blue";
+        drawing.shapes.add( coloredSquare );
+
+        String json = DrawingMapper.INSTANCE.write( drawing );
+        assertEquals( "{\"shapes\":[{\"kind\":\"circle\",\"name\":null,\"radius\":1},{\"kind\":\"coloredSquare\",\"color\":\"blue\"," +
+                "\"name\":null,\"side\":2}]}", json );
+
+        Drawing result = DrawingMapper.INSTANCE.read( json );
+        assertEquals( 2, result.shapes.size() );
+        assertEquals( Circle.class, result.shapes.get( 0 ).getClass() );
+        assertEquals( 1, ((Circle) result.shapes.get( 0 )).radius );
+        assertEquals( ColoredSquare.class, result.shapes.get( 1 ).getClass() );
+        assertEquals( "blue", ((ColoredSquare) result.shapes.get( 1 )).color );
+    }
+}
@@ -27,6 +27,7 @@ import com.github.nmorel.gwtjackson.shared.annotations.JsonCreatorTester.BeanWit
 import com.github.nmorel.gwtjackson.shared.annotations.JsonCreatorTester.BeanWithBooleanConstructorDelegationAndTypeInfo;
 import com.github.nmorel.gwtjackson.shared.annotations.JsonCreatorTester.BeanWithBooleanFactoryDelegation;
 import com.github.nmorel.gwtjackson.shared.annotations.JsonCreatorTester.BeanWithConstructorAnnotated;
+import com.github.nmorel.gwtjackson.shared.annotations.JsonCreatorTester.BeanWithCreatorAndAnySetter;
 import com.github.nmorel.gwtjackson.shared.annotations.JsonCreatorTester.BeanWithDefaultConstructorPrivate;
 import com.github.nmorel.gwtjackson.shared.annotations.JsonCreatorTester.BeanWithFactoryMethod;
 import com.github.nmorel.gwtjackson.shared.annotations.JsonCreatorTester.BeanWithMapConstructorDelegationAndTypeInfo;
@@ -236,4 +237,16 @@ public class JsonCreatorGwtTest extends GwtJacksonTestCase {
         JsonCreatorTester.INSTANCE
                 .testDeserializeAbstractBeanWithFactoryMethod( AbstractBeanWithFactoryMethodMapper.INSTANCE );
     }
+
+    /* ################################ */
+
+    public interface BeanWithCreatorAndAnySetterReader extends ObjectReader<BeanWithCreatorAndAnySetter>,
+            ObjectReaderTester<BeanWithCreatorAndAnySetter> {
+
+        static BeanWithCreatorAndAnySetterReader INSTANCE = GWT.create( BeanWithCreatorAndAnySetterReader.class );
+    }
+
+    public void testDeserializeBeanWithCreatorAndAnySetter() {
+        JsonCreatorTester.INSTANCE.testDeserializeBeanWithCreatorAndAnySetter( BeanWithCreatorAndAnySetterReader.INSTANCE );
+    }
 }
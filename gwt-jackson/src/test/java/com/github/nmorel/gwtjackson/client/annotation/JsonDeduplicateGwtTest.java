@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.annotation;
+
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectReader;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class JsonDeduplicateGwtTest extends GwtJacksonTestCase {
+
+    public static class Bean {
+
+        @JsonDeduplicate
+        public String country;
+
+        public String name;
+    }
+
+    public interface BeanListReader extends ObjectReader<List<Bean>> {
+
+        static BeanListReader INSTANCE = GWT.create( BeanListReader.class );
+    }
+
+    private static final String INPUT = "[" +
+            "{\"country\":\"FR\",\"name\":\"John\"}," +
+            "{\"country\":\"FR\",\"name\":\"John\"}," +
+            "{\"country\":\"F\\u0052\",\"name\":\"Jo\\u0068n\"}" +
+            "]";
+
+    public void testDeduplicateProperty() {
+        JsonDeserializationContext ctx = JsonDeserializationContext.builder().build();
+        List<Bean> beans = BeanListReader.INSTANCE.read( INPUT, ctx );
+        assertEquals( 3, beans.size() );
+        for ( Bean bean : beans ) {
+            assertEquals( "FR", bean.country );
+            assertEquals( "John", bean.name );
+        }
+        // only the countries are looked up : the first one is cached, the two others are found
+        assertEquals( 1, ctx.getStringCache().getMissCount() );
+        assertEquals( 2, ctx.getStringCache().getHitCount() );
+    }
+
+    public void testDeduplicateAllStrings() {
+        JsonDeserializationContext ctx = JsonDeserializationContext.builder().deduplicateStrings( true ).build();
+        List<Bean> beans = BeanListReader.INSTANCE.read( INPUT, ctx );
+        assertEquals( 3, beans.size() );
+        for ( Bean bean : beans ) {
+            assertEquals( "FR", bean.country );
+            assertEquals( "John", bean.name );
+        }
+        // the property names are not looked up, the values of the first bean are cached and found for the two others
+        assertEquals( 2, ctx.getStringCache().getMissCount() );
+        assertEquals( 4, ctx.getStringCache().getHitCount() );
+    }
+}
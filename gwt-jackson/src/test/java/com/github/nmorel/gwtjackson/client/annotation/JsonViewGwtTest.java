@@ -0,0 +1,210 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.annotation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class JsonViewGwtTest extends GwtJacksonTestCase {
+
+    public static class PublicView {}
+
+    public static class InternalView extends PublicView {}
+
+    public static class OtherView {}
+
+    public static class Bean {
+
+        public int id;
+
+        @JsonView( PublicView.class )
+        public String name;
+
+        @JsonView( InternalView.class )
+        public String secret;
+
+        @JsonView( {OtherView.class, InternalView.class} )
+        public String other;
+    }
+
+    public interface BeanMapper extends ObjectMapper<Bean> {
+
+        static BeanMapper INSTANCE = GWT.create( BeanMapper.class );
+    }
+
+    public static class AnyBean {
+
+        public int id;
+
+        private Map<String, String> others = new LinkedHashMap<String, String>();
+
+        @JsonAnyGetter
+        @JsonView( InternalView.class )
+        public Map<String, String> getOthers() {
+            return others;
+        }
+
+        @JsonAnySetter
+        @JsonView( InternalView.class )
+        public void putOther( String key, String value ) {
+            others.put( key, value );
+        }
+    }
+
+    public interface AnyBeanMapper extends ObjectMapper<AnyBean> {
+
+        static AnyBeanMapper INSTANCE = GWT.create( AnyBeanMapper.class );
+    }
+
+    public static class CreatorBean {
+
+        private final int id;
+
+        private final String secret;
+
+        public String name;
+
+        @JsonCreator
+        public CreatorBean( @JsonProperty( "id" ) int id, @JsonProperty( "secret" ) @JsonView( InternalView.class ) String secret ) {
+            this.id = id;
+            this.secret = secret;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+    }
+
+    public interface CreatorBeanMapper extends ObjectMapper<CreatorBean> {
+
+        static CreatorBeanMapper INSTANCE = GWT.create( CreatorBeanMapper.class );
+    }
+
+    private Bean newBean() {
+        Bean bean = new Bean();
+        bean.id = 1;
+        bean.name = "name";
+        bean.secret = "secret";
+        bean.other = "other";
+        return bean;
+    }
+
+    public void testSerializeWithoutView() {
+        assertEquals( "{\"id\":1,\"name\":\"name\",\"secret\":\"secret\",\"other\":\"other\"}", BeanMapper.INSTANCE
+                .write( newBean() ) );
+    }
+
+    public void testSerializeWithView() {
+        assertEquals( "{\"id\":1,\"name\":\"name\"}", BeanMapper.INSTANCE
+                .write( newBean(), JsonSerializationContext.builder().activeView( PublicView.class ).build() ) );
+
+        // InternalView extends PublicView so it includes the properties of both views
+        assertEquals( "{\"id\":1,\"name\":\"name\",\"secret\":\"secret\",\"other\":\"other\"}", BeanMapper.INSTANCE
+                .write( newBean(), JsonSerializationContext.builder().activeView( InternalView.class ).build() ) );
+
+        assertEquals( "{\"id\":1,\"other\":\"other\"}", BeanMapper.INSTANCE
+                .write( newBean(), JsonSerializationContext.builder().activeView( OtherView.class ).build() ) );
+
+        // an unknown view only includes the properties without view
+        assertEquals( "{\"id\":1}", BeanMapper.INSTANCE
+                .write( newBean(), JsonSerializationContext.builder().activeView( String.class ).build() ) );
+    }
+
+    public void testDeserializeWithoutView() {
+        Bean bean = BeanMapper.INSTANCE.read( "{\"id\":1,\"name\":\"name\",\"secret\":\"secret\",\"other\":\"other\"}" );
+        assertEquals( 1, bean.id );
+        assertEquals( "name", bean.name );
+        assertEquals( "secret", bean.secret );
+        assertEquals( "other", bean.other );
+    }
+
+    public void testDeserializeWithView() {
+        Bean bean = BeanMapper.INSTANCE.read( "{\"id\":1,\"name\":\"name\",\"secret\":\"secret\",\"other\":\"other\"}",
+                JsonDeserializationContext.builder().activeView( PublicView.class ).build() );
+        assertEquals( 1, bean.id );
+        assertEquals( "name", bean.name );
+        assertNull( bean.secret );
+        assertNull( bean.other );
+
+        bean = BeanMapper.INSTANCE.read( "{\"id\":1,\"name\":\"name\",\"secret\":{\"complex\":[1,2]},\"other\":\"other\"}",
+                JsonDeserializationContext.builder().activeView( OtherView.class ).build() );
+        assertEquals( 1, bean.id );
+        assertNull( bean.name );
+        assertNull( bean.secret );
+        assertEquals( "other", bean.other );
+    }
+
+    public void testAnyGetterWithView() {
+        AnyBean bean = new AnyBean();
+        bean.id = 1;
+        bean.others.put( "key", "value" );
+
+        assertEquals( "{\"id\":1,\"key\":\"value\"}", AnyBeanMapper.INSTANCE.write( bean ) );
+        assertEquals( "{\"id\":1,\"key\":\"value\"}", AnyBeanMapper.INSTANCE
+                .write( bean, JsonSerializationContext.builder().activeView( InternalView.class ).build() ) );
+        assertEquals( "{\"id\":1}", AnyBeanMapper.INSTANCE
+                .write( bean, JsonSerializationContext.builder().activeView( PublicView.class ).build() ) );
+    }
+
+    public void testAnySetterWithView() {
+        AnyBean bean = AnyBeanMapper.INSTANCE.read( "{\"id\":1,\"key\":\"value\"}", JsonDeserializationContext.builder()
+                .activeView( InternalView.class ).build() );
+        assertEquals( 1, bean.id );
+        assertEquals( "value", bean.others.get( "key" ) );
+
+        bean = AnyBeanMapper.INSTANCE.read( "{\"id\":1,\"key\":{\"complex\":[1,2]}}", JsonDeserializationContext.builder()
+                .activeView( PublicView.class ).build() );
+        assertEquals( 1, bean.id );
+        assertTrue( bean.others.isEmpty() );
+    }
+
+    public void testCreatorParameterWithView() {
+        CreatorBean bean = CreatorBeanMapper.INSTANCE.read( "{\"secret\":\"secret\",\"name\":\"name\",\"id\":1}" );
+        assertEquals( 1, bean.getId() );
+        assertEquals( "secret", bean.getSecret() );
+        assertEquals( "name", bean.name );
+
+        bean = CreatorBeanMapper.INSTANCE.read( "{\"secret\":{\"complex\":[1,2]},\"name\":\"name\",\"id\":1}",
+                JsonDeserializationContext.builder().activeView( PublicView.class ).build() );
+        assertEquals( 1, bean.getId() );
+        assertNull( bean.getSecret() );
+        assertEquals( "name", bean.name );
+
+        bean = CreatorBeanMapper.INSTANCE.read( "{\"secret\":\"secret\",\"name\":\"name\",\"id\":1}",
+                JsonDeserializationContext.builder().activeView( InternalView.class ).build() );
+        assertEquals( 1, bean.getId() );
+        assertEquals( "secret", bean.getSecret() );
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.array;
+
+import java.util.Arrays;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.AbstractJsonDeserializerTest;
+
+/**
+ * Test double array deserialization.
+ */
+public class DoubleArrayJsonDeserializerTest extends AbstractJsonDeserializerTest<double[]> {
+
+    @Override
+    protected JsonDeserializer<double[]> createDeserializer() {
+        return PrimitiveDoubleArrayJsonDeserializer.getInstance();
+    }
+
+    @Override
+    public void testDeserializeValue() {
+        assertDeserialization( new double[]{0.5, -1.25, 0, 3, 1500}, "[0.5,-1.25,null,\"3\",1.5e3]" );
+        assertDeserialization( new double[0], "[]" );
+    }
+
+    public void testDeserializeValueLargerThanDefaultCapacity() {
+        double[] expected = new double[100];
+        StringBuilder builder = new StringBuilder( "[" );
+        for ( int i = 0; i < expected.length; i++ ) {
+            expected[i] = i + 0.5;
+            if ( i > 0 ) {
+                builder.append( ',' );
+            }
+            builder.append( i ).append( ".5" );
+        }
+        builder.append( ']' );
+        assertDeserialization( expected, builder.toString() );
+    }
+
+    protected void assertDeserialization( double[] expected, String value ) {
+        double[] deserialized = deserialize( value );
+        // GwtTestCase has not assert method for arrays
+        if ( !Arrays.equals( expected, deserialized ) ) {
+            fail( "expected: " + Arrays.toString( expected ) + ", actual: " + Arrays.toString( deserialized ) );
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.array;
+
+import java.util.Arrays;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.AbstractJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.deser.array.dd.PrimitiveIntegerArray2dJsonDeserializer;
+
+/**
+ * Test 2D int array deserialization.
+ */
+public class IntegerArray2dJsonDeserializerTest extends AbstractJsonDeserializerTest<int[][]> {
+
+    @Override
+    protected JsonDeserializer<int[][]> createDeserializer() {
+        return PrimitiveIntegerArray2dJsonDeserializer.getInstance();
+    }
+
+    @Override
+    public void testDeserializeValue() {
+        assertDeserialization( new int[][]{{0, 11}, {-22, 33}}, "[[0,11],[-22,33]]" );
+        assertDeserialization( new int[0][0], "[]" );
+    }
+
+    public void testDeserializeRaggedRows() {
+        // the rows shorter than the first one are padded, the longer rows are kept
+        assertDeserialization( new int[][]{{1, 2, 3}, {4, 0, 0}, {5, 6, 7, 8}}, "[[1,2,3],[4],[5,6,7,8]]" );
+        assertDeserialization( new int[][]{{1}, {2, 3}}, "[[1],[2,3]]" );
+    }
+
+    public void testDeserializeEmptyRows() {
+        assertDeserialization( new int[][]{{1, 2}, {0, 0}}, "[[1,2],[]]" );
+        assertDeserialization( new int[][]{{}, {1, 2}}, "[[],[1,2]]" );
+        assertDeserialization( new int[][]{{}, {}}, "[[],[]]" );
+    }
+
+    protected void assertDeserialization( int[][] expected, String value ) {
+        int[][] deserialized = deserialize( value );
+        // GwtTestCase has not assert method for arrays
+        if ( !Arrays.deepEquals( expected, deserialized ) ) {
+            fail( "expected: " + Arrays.deepToString( expected ) + ", actual: " + Arrays.deepToString( deserialized ) );
+        }
+    }
+
+}
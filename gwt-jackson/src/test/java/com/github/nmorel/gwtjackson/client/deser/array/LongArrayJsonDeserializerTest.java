@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.array;
+
+import java.util.Arrays;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.AbstractJsonDeserializerTest;
+
+/**
+ * Test long array deserialization.
+ */
+public class LongArrayJsonDeserializerTest extends AbstractJsonDeserializerTest<long[]> {
+
+    @Override
+    protected JsonDeserializer<long[]> createDeserializer() {
+        return PrimitiveLongArrayJsonDeserializer.getInstance();
+    }
+
+    @Override
+    public void testDeserializeValue() {
+        assertDeserialization( new long[]{Long.MAX_VALUE, Long.MIN_VALUE, 0, 3}, "[9223372036854775807,-9223372036854775808,null,\"3\"]" );
+        assertDeserialization( new long[0], "[]" );
+    }
+
+    public void testDeserializeValueLargerThanDefaultCapacity() {
+        long[] expected = new long[100];
+        StringBuilder builder = new StringBuilder( "[" );
+        for ( int i = 0; i < expected.length; i++ ) {
+            expected[i] = i * 10000000000L;
+            if ( i > 0 ) {
+                builder.append( ',' );
+            }
+            builder.append( i * 10000000000L );
+        }
+        builder.append( ']' );
+        assertDeserialization( expected, builder.toString() );
+    }
+
+    protected void assertDeserialization( long[] expected, String value ) {
+        long[] deserialized = deserialize( value );
+        // GwtTestCase has not assert method for arrays
+        if ( !Arrays.equals( expected, deserialized ) ) {
+            fail( "expected: " + Arrays.toString( expected ) + ", actual: " + Arrays.toString( deserialized ) );
+        }
+    }
+
+}
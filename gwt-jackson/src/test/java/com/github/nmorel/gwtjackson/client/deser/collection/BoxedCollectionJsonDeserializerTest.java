@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.deser.collection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.AbstractJsonDeserializerTest;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.DoubleJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.IntegerJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.LongJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.DoubleCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.IntegerCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BoxedCollectionJsonDeserializer.LongCollectionJsonDeserializer;
+
+/**
+ * @author Nicolas Morel
+ */
+public class BoxedCollectionJsonDeserializerTest extends AbstractJsonDeserializerTest<List<Integer>> {
+
+    @Override
+    protected JsonDeserializer<List<Integer>> createDeserializer() {
+        return IntegerCollectionJsonDeserializer.newInstance( ListJsonDeserializer.newInstance( IntegerJsonDeserializer.getInstance() ) );
+    }
+
+    @Override
+    public void testDeserializeValue() {
+        assertDeserialization( Arrays.asList( 1, -2, null, 34, Integer.MAX_VALUE ), "[1, -2, null, \"34\", 2147483647]" );
+        assertDeserialization( Collections.<Integer>emptyList(), "[]" );
+        assertDeserialization( JsonDeserializationContext.builder().acceptSingleValueAsArray( true ).build(), Arrays.asList( 5 ), "5" );
+    }
+
+    public void testDeserializeOtherTypes() {
+        JsonDeserializationContext ctx = JsonDeserializationContext.builder().build();
+
+        assertEquals( Arrays.asList( 15l, Long.MIN_VALUE ), LongCollectionJsonDeserializer.newInstance( ListJsonDeserializer
+                .newInstance( LongJsonDeserializer.getInstance() ) ).deserialize( ctx.newJsonReader( "[15,-9223372036854775808]" ), ctx ) );
+
+        // the sorted sets do not accept null values
+        TreeSet<Double> expected = new TreeSet<Double>( Arrays.asList( -0.25d, 1.5d ) );
+        assertEquals( expected, DoubleCollectionJsonDeserializer.newInstance( TreeSetJsonDeserializer.newInstance( DoubleJsonDeserializer
+                .getInstance() ) ).deserialize( ctx.newJsonReader( "[1.5,null,-0.25]" ), ctx ) );
+    }
+}
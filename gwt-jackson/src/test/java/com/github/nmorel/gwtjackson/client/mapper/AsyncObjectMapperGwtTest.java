@@ -0,0 +1,113 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import com.github.nmorel.gwtjackson.client.AsyncObjectMapper;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.google.gwt.core.client.Callback;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Tests the {@link AsyncObjectMapper} generated behind a split point.
+ *
+ * @author Nicolas Morel
+ */
+public class AsyncObjectMapperGwtTest extends GwtJacksonTestCase {
+
+    private static final int TIMEOUT = 10000;
+
+    public static class Bean {
+
+        public int intValue;
+
+        public String string;
+    }
+
+    public interface BeanAsyncMapper extends AsyncObjectMapper<Bean> {
+
+        static BeanAsyncMapper INSTANCE = GWT.create( BeanAsyncMapper.class );
+    }
+
+    private abstract static class TestCallback<T> implements Callback<T, Throwable> {
+
+        @Override
+        public void onFailure( Throwable reason ) {
+            fail( "Unexpected failure : " + reason );
+        }
+    }
+
+    public void testWrite() {
+        Bean bean = new Bean();
+        bean.intValue = 42;
+        bean.string = "text";
+
+        delayTestFinish( TIMEOUT );
+        BeanAsyncMapper.INSTANCE.write( bean, new TestCallback<String>() {
+            @Override
+            public void onSuccess( String result ) {
+                assertEquals( "{\"intValue\":42,\"string\":\"text\"}", result );
+                finishTest();
+            }
+        } );
+    }
+
+    public void testRead() {
+        delayTestFinish( TIMEOUT );
+        BeanAsyncMapper.INSTANCE.read( "{\"intValue\":42,\"string\":\"text\"}", new TestCallback<Bean>() {
+            @Override
+            public void onSuccess( Bean result ) {
+                assertEquals( 42, result.intValue );
+                assertEquals( "text", result.string );
+                finishTest();
+            }
+        } );
+    }
+
+    public void testSameMapper() {
+        delayTestFinish( TIMEOUT );
+        BeanAsyncMapper.INSTANCE.getMapper( new TestCallback<ObjectMapper<Bean>>() {
+            @Override
+            public void onSuccess( final ObjectMapper<Bean> first ) {
+                BeanAsyncMapper.INSTANCE.getMapper( new TestCallback<ObjectMapper<Bean>>() {
+                    @Override
+                    public void onSuccess( ObjectMapper<Bean> second ) {
+                        assertSame( first, second );
+                        finishTest();
+                    }
+                } );
+            }
+        } );
+    }
+
+    public void testReadError() {
+        delayTestFinish( TIMEOUT );
+        BeanAsyncMapper.INSTANCE.read( "{\"intValue\":", new Callback<Bean, Throwable>() {
+            @Override
+            public void onSuccess( Bean result ) {
+                fail( "The input is not valid" );
+            }
+
+            @Override
+            public void onFailure( Throwable reason ) {
+                assertTrue( reason instanceof JsonDeserializationException );
+                finishTest();
+            }
+        } );
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonMetricsCollector;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectWriter;
+import com.github.nmorel.gwtjackson.client.annotation.JsonCachedSerialization;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Tests the cache of the JSON written for the beans annotated with {@link JsonCachedSerialization}.
+ *
+ * @author Nicolas Morel
+ */
+public class CachedSerializationGwtTest extends GwtJacksonTestCase {
+
+    @JsonCachedSerialization( maxSize = 4 )
+    public static class Currency {
+
+        public String code;
+
+        public String symbol;
+
+        public Currency( String code, String symbol ) {
+            this.code = code;
+            this.symbol = symbol;
+        }
+    }
+
+    public static class Price {
+
+        public int amount;
+
+        public Currency currency;
+
+        public Price( int amount, Currency currency ) {
+            this.amount = amount;
+            this.currency = currency;
+        }
+    }
+
+    public interface PriceListWriter extends ObjectWriter<List<Price>> {
+
+        static PriceListWriter INSTANCE = GWT.create( PriceListWriter.class );
+    }
+
+    @JsonIdentityInfo( generator = ObjectIdGenerators.IntSequenceGenerator.class, property = "id" )
+    public static class Owner {
+
+        public String name;
+
+        public Owner( String name ) {
+            this.name = name;
+        }
+    }
+
+    @JsonCachedSerialization
+    public static class Tag {
+
+        public String name;
+
+        public Owner owner;
+
+        public Tag( String name, Owner owner ) {
+            this.name = name;
+            this.owner = owner;
+        }
+    }
+
+    public interface TagListWriter extends ObjectWriter<List<Tag>> {
+
+        static TagListWriter INSTANCE = GWT.create( TagListWriter.class );
+    }
+
+    public void testSameInstance() {
+        Currency euro = new Currency( "EUR", "€" );
+        Currency dollar = new Currency( "USD", "$" );
+        List<Price> prices = new ArrayList<Price>();
+        prices.add( new Price( 1, euro ) );
+        prices.add( new Price( 2, dollar ) );
+        prices.add( new Price( 3, euro ) );
+
+        String expected = "[{\"amount\":1,\"currency\":{\"code\":\"EUR\",\"symbol\":\"€\"}}," +
+                "{\"amount\":2,\"currency\":{\"code\":\"USD\",\"symbol\":\"$\"}}," +
+                "{\"amount\":3,\"currency\":{\"code\":\"EUR\",\"symbol\":\"€\"}}]";
+        assertEquals( expected, PriceListWriter.INSTANCE.write( prices ) );
+
+        // the instances are not supposed to change, it proves the second call only uses the cached JSON
+        euro.symbol = "E";
+        assertEquals( expected, PriceListWriter.INSTANCE.write( prices ) );
+
+        // a new instance is not in the cache
+        prices.set( 1, new Price( 2, new Currency( "USD", "US$" ) ) );
+        assertEquals( "[{\"amount\":1,\"currency\":{\"code\":\"EUR\",\"symbol\":\"€\"}}," +
+                "{\"amount\":2,\"currency\":{\"code\":\"USD\",\"symbol\":\"US$\"}}," +
+                "{\"amount\":3,\"currency\":{\"code\":\"EUR\",\"symbol\":\"€\"}}]", PriceListWriter.INSTANCE.write( prices ) );
+    }
+
+    public void testObjectId() {
+        Owner owner = new Owner( "John" );
+        Tag first = new Tag( "a", owner );
+        Tag second = new Tag( "b", owner );
+        List<Tag> tags = new ArrayList<Tag>();
+        tags.add( first );
+        tags.add( second );
+
+        assertEquals( "[{\"name\":\"a\",\"owner\":{\"id\":1,\"name\":\"John\"}},{\"name\":\"b\",\"owner\":1}]", TagListWriter
+                .INSTANCE.write( tags ) );
+
+        // the ids belong to the context so the JSON of the tags is not cached, the second tag would reference an undefined id
+        tags.set( 0, second );
+        tags.set( 1, first );
+        assertEquals( "[{\"name\":\"b\",\"owner\":{\"id\":1,\"name\":\"John\"}},{\"name\":\"a\",\"owner\":1}]", TagListWriter
+                .INSTANCE.write( tags ) );
+    }
+
+    public void testListener() {
+        Currency euro = new Currency( "EUR", "€" );
+        List<Price> prices = new ArrayList<Price>();
+        prices.add( new Price( 1, euro ) );
+        PriceListWriter.INSTANCE.write( prices );
+
+        // the listener is notified of every property so the cache is bypassed
+        euro.symbol = "E";
+        JsonMetricsCollector collector = new JsonMetricsCollector();
+        assertEquals( "[{\"amount\":1,\"currency\":{\"code\":\"EUR\",\"symbol\":\"E\"}}]", PriceListWriter.INSTANCE
+                .write( prices, JsonSerializationContext.builder().listener( collector ).build() ) );
+        assertEquals( 2, collector.getMetrics( Currency.class ).getSerializedProperties() );
+    }
+
+    public void testContextOptions() {
+        Currency euro = new Currency( "EUR", null );
+        List<Price> prices = new ArrayList<Price>();
+        prices.add( new Price( 1, euro ) );
+
+        assertEquals( "[{\"amount\":1,\"currency\":{\"code\":\"EUR\",\"symbol\":null}}]", PriceListWriter.INSTANCE.write( prices ) );
+        assertEquals( "[{\"amount\":1,\"currency\":{\"code\":\"EUR\"}}]", PriceListWriter.INSTANCE.write( prices,
+                JsonSerializationContext.builder().serializeNulls( false ).build() ) );
+        assertEquals( "[{\"amount\":1,\"currency\":{\"code\":\"EUR\",\"symbol\":null}}]", PriceListWriter.INSTANCE.write( prices ) );
+    }
+
+    public void testIndent() {
+        Currency euro = new Currency( "EUR", "€" );
+        List<Price> prices = new ArrayList<Price>();
+        prices.add( new Price( 1, euro ) );
+
+        PriceListWriter.INSTANCE.write( prices );
+        assertEquals( "[\n" +
+                "  {\n" +
+                "    \"amount\": 1,\n" +
+                "    \"currency\": {\n" +
+                "      \"code\": \"EUR\",\n" +
+                "      \"symbol\": \"€\"\n" +
+                "    }\n" +
+                "  }\n" +
+                "]", PriceListWriter.INSTANCE.write( prices, JsonSerializationContext.builder().indent( true ).build() ) );
+    }
+}
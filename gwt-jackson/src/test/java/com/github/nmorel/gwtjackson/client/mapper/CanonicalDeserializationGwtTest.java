@@ -0,0 +1,157 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.ObjectReader;
+import com.github.nmorel.gwtjackson.client.annotation.JsonCanonical;
+import com.github.nmorel.gwtjackson.client.annotation.JsonCanonical.Scope;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Tests the sharing of the instances of the beans annotated with {@link JsonCanonical}.
+ *
+ * @author Nicolas Morel
+ */
+public class CanonicalDeserializationGwtTest extends GwtJacksonTestCase {
+
+    @JsonCanonical( property = "code" )
+    public static class Currency {
+
+        private final String code;
+
+        private final String symbol;
+
+        @JsonCreator
+        public Currency( @JsonProperty( "code" ) String code, @JsonProperty( "symbol" ) String symbol ) {
+            this.code = code;
+            this.symbol = symbol;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    @JsonCanonical( property = "id", scope = Scope.GLOBAL )
+    public static class Country {
+
+        public int id;
+
+        public String name;
+    }
+
+    public static class Price {
+
+        public int amount;
+
+        public Currency currency;
+
+        public Country country;
+    }
+
+    public interface PriceListReader extends ObjectReader<List<Price>> {
+
+        static PriceListReader INSTANCE = GWT.create( PriceListReader.class );
+    }
+
+    public static class Route {
+
+        public Country from;
+
+        public Country to;
+    }
+
+    public interface RouteReader extends ObjectReader<Route> {
+
+        static RouteReader INSTANCE = GWT.create( RouteReader.class );
+    }
+
+    public void testKeyFirst() {
+        List<Price> prices = PriceListReader.INSTANCE.read( "[" +
+                "{\"amount\":1,\"currency\":{\"code\":\"EUR\",\"symbol\":\"€\"}}," +
+                "{\"amount\":2,\"currency\":{\"code\":\"USD\",\"symbol\":\"$\"}}," +
+                "{\"amount\":3,\"currency\":{\"code\":\"EUR\",\"symbol\":\"€\",\"unknown\":[1,{\"a\":\"}\"}]}}" +
+                "]" );
+
+        assertEquals( 3, prices.size() );
+        assertEquals( "EUR", prices.get( 0 ).currency.getCode() );
+        assertEquals( "€", prices.get( 0 ).currency.getSymbol() );
+        assertEquals( "USD", prices.get( 1 ).currency.getCode() );
+        assertSame( prices.get( 0 ).currency, prices.get( 2 ).currency );
+        assertNotSame( prices.get( 0 ).currency, prices.get( 1 ).currency );
+        assertEquals( 3, prices.get( 2 ).amount );
+    }
+
+    public void testKeyNotFirst() {
+        List<Price> prices = PriceListReader.INSTANCE.read( "[" +
+                "{\"amount\":1,\"currency\":{\"symbol\":\"€\",\"code\":\"EUR\"}}," +
+                "{\"amount\":2,\"currency\":{\"code\":\"EUR\",\"symbol\":\"€\"}}," +
+                "{\"amount\":3,\"currency\":{\"symbol\":\"€\",\"code\":\"EUR\"}}" +
+                "]" );
+
+        assertSame( prices.get( 0 ).currency, prices.get( 1 ).currency );
+        assertSame( prices.get( 0 ).currency, prices.get( 2 ).currency );
+    }
+
+    public void testKeyNotFirstOnProperty() {
+        List<Price> prices = PriceListReader.INSTANCE.read( "[" +
+                "{\"amount\":1,\"country\":{\"name\":\"Germany\",\"id\":276}}," +
+                "{\"amount\":2,\"country\":{\"name\":\"Germany\",\"id\":276,\"unknown\":true}}" +
+                "]" );
+
+        assertEquals( 276, prices.get( 0 ).country.id );
+        assertEquals( "Germany", prices.get( 0 ).country.name );
+        assertSame( prices.get( 0 ).country, prices.get( 1 ).country );
+    }
+
+    public void testContextScope() {
+        String input = "[{\"amount\":1,\"currency\":{\"code\":\"EUR\",\"symbol\":\"€\"}}]";
+        Currency first = PriceListReader.INSTANCE.read( input ).get( 0 ).currency;
+        Currency second = PriceListReader.INSTANCE.read( input ).get( 0 ).currency;
+
+        assertNotSame( first, second );
+    }
+
+    public void testGlobalScope() {
+        String input = "[{\"amount\":1,\"country\":{\"id\":250,\"name\":\"France\"}}]";
+        Country first = PriceListReader.INSTANCE.read( input ).get( 0 ).country;
+        Country second = PriceListReader.INSTANCE.read( input ).get( 0 ).country;
+
+        assertEquals( 250, first.id );
+        assertEquals( "France", first.name );
+        assertSame( first, second );
+    }
+
+    public void testGlobalScopeSharedByProperties() {
+        Route route = RouteReader.INSTANCE.read( "{\"from\":{\"id\":380,\"name\":\"Italy\"},\"to\":{\"id\":380,\"name\":\"Italy\"}}" );
+
+        assertEquals( 380, route.from.id );
+        assertSame( route.from, route.to );
+
+        String input = "[{\"amount\":1,\"country\":{\"id\":380,\"name\":\"Italy\"}}]";
+        assertSame( route.from, PriceListReader.INSTANCE.read( input ).get( 0 ).country );
+    }
+}
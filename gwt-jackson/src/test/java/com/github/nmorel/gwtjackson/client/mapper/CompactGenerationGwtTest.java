@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.github.nmorel.gwtjackson.client.annotation.JsonDeduplicate;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Tests the mappers generated with {@link com.github.nmorel.gwtjackson.client.AbstractConfiguration#compactGeneration(boolean)}.
+ *
+ * @author Nicolas Morel
+ */
+public class CompactGenerationGwtTest extends GwtJacksonTestCase {
+
+    public static class Views {
+
+        public static class Public {}
+
+        public static class Internal {}
+    }
+
+    @JsonPropertyOrder( {"intValue", "string", "list", "nullable", "privateField", "with \"quote\"", "internal"} )
+    public static class Bean {
+
+        public int intValue;
+
+        @JsonDeduplicate
+        public String string;
+
+        private List<String> list;
+
+        @JsonInclude( Include.NON_NULL )
+        public String nullable;
+
+        // accessed with jsni, it keeps its own class
+        @JsonProperty
+        private Boolean privateField;
+
+        // needs escaping, it keeps its own class
+        @JsonProperty( "with \"quote\"" )
+        public String quoted;
+
+        @JsonView( Views.Internal.class )
+        public Double internal;
+
+        public List<String> getList() {
+            return list;
+        }
+
+        public void setList( List<String> list ) {
+            this.list = list;
+        }
+    }
+
+    public interface BeanMapper extends ObjectMapper<Bean> {
+
+        static BeanMapper INSTANCE = GWT.create( BeanMapper.class );
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.github.nmorel.gwtjackson.GwtJacksonCompactTest";
+    }
+
+    public void testWrite() {
+        Bean bean = new Bean();
+        bean.intValue = 42;
+        bean.string = "text";
+        bean.list = Arrays.asList( "a", "b" );
+        bean.privateField = true;
+        bean.quoted = "quoted";
+        bean.internal = 1.5;
+
+        assertEquals( "{\"intValue\":42,\"string\":\"text\",\"list\":[\"a\",\"b\"],\"privateField\":true," +
+                "\"with \\\"quote\\\"\":\"quoted\",\"internal\":1.5}", BeanMapper.INSTANCE.write( bean ) );
+
+        bean.nullable = "notNull";
+        assertEquals( "{\"intValue\":42,\"string\":\"text\",\"list\":[\"a\",\"b\"],\"nullable\":\"notNull\",\"privateField\":true," +
+                "\"with \\\"quote\\\"\":\"quoted\"}", BeanMapper.INSTANCE.write( bean, JsonSerializationContext.builder()
+                .activeView( Views.Public.class ).build() ) );
+    }
+
+    public void testRead() {
+        String input = "{\"intValue\":42,\"string\":\"text\",\"list\":[\"a\",\"b\"],\"nullable\":\"notNull\",\"privateField\":true," +
+                "\"with \\\"quote\\\"\":\"quoted\",\"internal\":1.5}";
+
+        Bean bean = BeanMapper.INSTANCE.read( input );
+        assertEquals( 42, bean.intValue );
+        assertEquals( "text", bean.string );
+        assertEquals( Arrays.asList( "a", "b" ), bean.list );
+        assertEquals( "notNull", bean.nullable );
+        assertTrue( bean.privateField );
+        assertEquals( "quoted", bean.quoted );
+        assertEquals( Double.valueOf( 1.5 ), bean.internal );
+
+        bean = BeanMapper.INSTANCE.read( input, JsonDeserializationContext.builder().activeView( Views.Public.class ).build() );
+        assertEquals( 42, bean.intValue );
+        assertNull( bean.internal );
+    }
+}
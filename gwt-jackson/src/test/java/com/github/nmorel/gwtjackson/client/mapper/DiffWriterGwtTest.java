@@ -0,0 +1,202 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectDiffWriter;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Tests the JSON Merge Patch written by {@link ObjectDiffWriter#writeDiff(Object, Object)}.
+ *
+ * @author Nicolas Morel
+ */
+public class DiffWriterGwtTest extends GwtJacksonTestCase {
+
+    public static class Address {
+
+        public String street;
+
+        public String city;
+    }
+
+    @JsonTypeInfo( use = Id.NAME, include = As.PROPERTY, property = "type" )
+    @JsonSubTypes( {@JsonSubTypes.Type( Circle.class ), @JsonSubTypes.Type( Square.class )} )
+    public static abstract class Shape {}
+
+    @JsonTypeName( "circle" )
+    public static class Circle extends Shape {
+
+        public int radius;
+    }
+
+    @JsonTypeName( "square" )
+    public static class Square extends Shape {
+
+        public int side;
+    }
+
+    public static class Person {
+
+        public String name;
+
+        public int age;
+
+        public Address address;
+
+        public List<String> tags;
+
+        public int[] scores;
+
+        public Map<String, Integer> counters;
+
+        public Shape shape;
+
+        private Map<String, String> others = new LinkedHashMap<String, String>();
+
+        @JsonAnyGetter
+        public Map<String, String> any() {
+            return others;
+        }
+
+        @JsonAnySetter
+        public void set( String name, String value ) {
+            others.put( name, value );
+        }
+    }
+
+    public interface PersonMapper extends ObjectMapper<Person>, ObjectDiffWriter<Person> {
+
+        static PersonMapper INSTANCE = GWT.create( PersonMapper.class );
+    }
+
+    private Person newPerson() {
+        Person person = new Person();
+        person.name = "Nicolas";
+        person.age = 30;
+        person.address = new Address();
+        person.address.street = "Main street";
+        person.address.city = "Paris";
+        person.tags = new ArrayList<String>( Arrays.asList( "a", "b" ) );
+        person.scores = new int[]{1, 2};
+        person.counters = new LinkedHashMap<String, Integer>();
+        person.counters.put( "a", 1 );
+        person.counters.put( "b", 2 );
+        Circle circle = new Circle();
+        circle.radius = 2;
+        person.shape = circle;
+        person.others.put( "key1", "value1" );
+        return person;
+    }
+
+    public void testNoChange() {
+        assertEquals( "{}", PersonMapper.INSTANCE.writeDiff( newPerson(), newPerson() ) );
+    }
+
+    public void testChangedProperties() {
+        Person person = newPerson();
+        person.age = 31;
+        person.address.city = "Lyon";
+        assertEquals( "{\"age\":31,\"address\":{\"city\":\"Lyon\"}}", PersonMapper.INSTANCE.writeDiff( newPerson(), person ) );
+    }
+
+    public void testRemovedProperties() {
+        Person person = newPerson();
+        person.name = null;
+        person.address = null;
+        assertEquals( "{\"name\":null,\"address\":null}", PersonMapper.INSTANCE.writeDiff( newPerson(), person ) );
+    }
+
+    public void testAddedNestedBean() {
+        Person previous = newPerson();
+        previous.address = null;
+        Person person = newPerson();
+        person.address.street = null;
+        assertEquals( "{\"address\":{\"street\":null,\"city\":\"Paris\"}}", PersonMapper.INSTANCE.writeDiff( previous, person ) );
+    }
+
+    public void testReplacedCollectionsAndArrays() {
+        Person person = newPerson();
+        person.tags.add( "c" );
+        person.scores[1] = 3;
+        assertEquals( "{\"tags\":[\"a\",\"b\",\"c\"],\"scores\":[1,3]}", PersonMapper.INSTANCE.writeDiff( newPerson(), person ) );
+    }
+
+    public void testMapProperty() {
+        Person person = newPerson();
+        person.counters.remove( "a" );
+        person.counters.put( "b", 3 );
+        person.counters.put( "c", 4 );
+        assertEquals( "{\"counters\":{\"a\":null,\"b\":3,\"c\":4}}", PersonMapper.INSTANCE.writeDiff( newPerson(), person ) );
+    }
+
+    public void testChangedSubtypeProperty() {
+        Person person = newPerson();
+        ((Circle) person.shape).radius = 5;
+        assertEquals( "{\"shape\":{\"radius\":5}}", PersonMapper.INSTANCE.writeDiff( newPerson(), person ) );
+    }
+
+    public void testChangedSubtype() {
+        Person person = newPerson();
+        Square square = new Square();
+        square.side = 3;
+        person.shape = square;
+        assertEquals( "{\"shape\":{\"radius\":null,\"type\":\"square\",\"side\":3}}", PersonMapper.INSTANCE
+                .writeDiff( newPerson(), person ) );
+    }
+
+    public void testAnyGetter() {
+        Person person = newPerson();
+        person.others.remove( "key1" );
+        person.others.put( "key2", "value2" );
+        assertEquals( "{\"key1\":null,\"key2\":\"value2\"}", PersonMapper.INSTANCE.writeDiff( newPerson(), person ) );
+    }
+
+    public void testSnapshot() {
+        Person person = newPerson();
+        Person snapshot = PersonMapper.INSTANCE.read( PersonMapper.INSTANCE.write( person ) );
+        person.name = "Bob";
+        assertEquals( "{\"name\":\"Bob\"}", PersonMapper.INSTANCE.writeDiff( snapshot, person ) );
+    }
+
+    public void testNullPrevious() {
+        Person person = newPerson();
+        assertEquals( PersonMapper.INSTANCE.write( person ), PersonMapper.INSTANCE.writeDiff( null, person ) );
+    }
+
+    public void testWrapRootValue() {
+        Person person = newPerson();
+        person.age = 31;
+        assertEquals( "{\"Person\":{\"age\":31}}", PersonMapper.INSTANCE
+                .writeDiff( newPerson(), person, JsonSerializationContext.builder().wrapRootValue( true ).build() ) );
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.Arrays;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.github.nmorel.gwtjackson.client.ObjectTreeReader;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException;
+import com.github.nmorel.gwtjackson.client.tree.JsonNode;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Tests the untyped {@link JsonNode} and {@link ObjectTreeReader#readTree(String)}.
+ *
+ * @author Nicolas Morel
+ */
+public class JsonNodeGwtTest extends GwtJacksonTestCase {
+
+    public static class Event {
+
+        public String type;
+
+        public JsonNode attributes;
+    }
+
+    public interface EventMapper extends ObjectMapper<Event>, ObjectTreeReader {
+
+        static EventMapper INSTANCE = GWT.create( EventMapper.class );
+    }
+
+    public void testReadTree() {
+        JsonNode node = EventMapper.INSTANCE.readTree( "{ \"name\" : \"Nicolas\", \"age\" : 30, \"admin\" : true, " +
+                "\"tags\" : [ \"java\", \"gwt\", null ], \"address\" : { \"city\" : \"Paris\" } }" );
+
+        assertTrue( node.isObject() );
+        assertEquals( 5, node.size() );
+        assertEquals( Arrays.asList( "name", "age", "admin", "tags", "address" ), node.getNames() );
+
+        assertEquals( "Nicolas", node.get( "name" ).asString() );
+        assertEquals( 30, node.get( "age" ).asInt() );
+        assertEquals( 30, node.get( "age" ).asNumber() );
+        assertTrue( node.get( "admin" ).asBoolean() );
+        assertFalse( node.has( "unknown" ) );
+        assertNull( node.get( "unknown" ) );
+
+        JsonNode tags = node.get( "tags" );
+        assertTrue( tags.isArray() );
+        assertEquals( 3, tags.size() );
+        assertEquals( "gwt", tags.get( 1 ).asString() );
+        assertTrue( tags.get( 2 ).isNull() );
+        assertNull( tags.get( 3 ) );
+        assertEquals( "[ \"java\", \"gwt\", null ]", tags.toJson() );
+
+        assertEquals( JsonToken.STRING, node.get( "address" ).get( "city" ).getType() );
+        assertEquals( "{ \"city\" : \"Paris\" }", node.get( "address" ).toJson() );
+    }
+
+    public void testReadTreeEscapedStrings() {
+        JsonNode node = EventMapper.INSTANCE.readTree( "{\"a\\\"b\":\"line\\nbreak \\u00e9\"}" );
+
+        assertEquals( Arrays.asList( "a\"b" ), node.getNames() );
+        assertEquals( "line\nbreak \u00e9", node.get( "a\"b" ).asString() );
+    }
+
+    public void testReadTreeLenient() {
+        JsonNode node = EventMapper.INSTANCE.readTree( "{name:'Nicolas', // comment\n tags:['java']}" );
+
+        assertEquals( "Nicolas", node.get( "name" ).asString() );
+        assertEquals( "java", node.get( "tags" ).get( 0 ).asString() );
+    }
+
+    public void testReadTreeStrict() {
+        JsonDeserializationContext ctx = JsonDeserializationContext.builder().lenient( false ).build();
+
+        assertEquals( 10, EventMapper.INSTANCE.readTree( "{\"x\":10}", ctx ).get( "x" ).asInt() );
+        try {
+            EventMapper.INSTANCE.readTree( "{name:'Nicolas'}", ctx );
+            fail( "Expected an exception on a lenient input with a strict context" );
+        } catch ( JsonDeserializationException e ) {
+            // expected
+        }
+    }
+
+    public void testNumbers() {
+        JsonNode node = JsonNode.parse( "[0,-0.5,12E-2,1.5e+3,-12]" );
+
+        assertEquals( 5, node.size() );
+        assertEquals( 0.12, node.get( 2 ).asDouble(), 0 );
+        assertEquals( -12, node.get( 4 ).asInt() );
+    }
+
+    public void testMalformedNumbers() {
+        for ( String input : new String[]{"[1-2]", "[-]", "[1e]", "[1.]", "[01]", "[.5]", "[+1]"} ) {
+            try {
+                JsonNode.parse( input );
+                fail( "Expected an exception on " + input );
+            } catch ( MalformedJsonException e ) {
+                // expected
+            }
+        }
+    }
+
+    public void testProperty() {
+        Event event = EventMapper.INSTANCE.read( "{\"type\":\"click\",\"attributes\":{\"x\":10,\"y\":[1,2]}}" );
+
+        assertEquals( "click", event.type );
+        assertEquals( 10, event.attributes.get( "x" ).asInt() );
+        assertEquals( 2, event.attributes.get( "y" ).get( 1 ).asLong() );
+
+        assertEquals( "{\"type\":\"click\",\"attributes\":{\"x\":10,\"y\":[1,2]}}", EventMapper.INSTANCE.write( event ) );
+    }
+
+    public void testNullProperty() {
+        Event event = EventMapper.INSTANCE.read( "{\"type\":\"click\",\"attributes\":null}" );
+
+        assertNull( event.attributes );
+    }
+}
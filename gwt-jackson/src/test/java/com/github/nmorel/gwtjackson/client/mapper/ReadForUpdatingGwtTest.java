@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.github.nmorel.gwtjackson.client.ObjectUpdatingReader;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Tests the update of an existing object with {@link ObjectUpdatingReader#readForUpdating(String, Object)}.
+ *
+ * @author Nicolas Morel
+ */
+public class ReadForUpdatingGwtTest extends GwtJacksonTestCase {
+
+    public static class Address {
+
+        public String street;
+
+        public String city;
+    }
+
+    public static class Person {
+
+        public String name;
+
+        public int age;
+
+        public Address address;
+
+        public List<String> tags;
+
+        public Map<String, Integer> counters;
+    }
+
+    public static class RejectingList extends ArrayList<String> {
+
+        @Override
+        public boolean addAll( Collection<? extends String> c ) {
+            for ( String element : c ) {
+                if ( "forbidden".equals( element ) ) {
+                    throw new IllegalArgumentException( "forbidden element" );
+                }
+                add( element );
+            }
+            return !c.isEmpty();
+        }
+    }
+
+    public interface PersonMapper extends ObjectMapper<Person>, ObjectUpdatingReader<Person> {
+
+        static PersonMapper INSTANCE = GWT.create( PersonMapper.class );
+    }
+
+    private Person newPerson() {
+        Person person = new Person();
+        person.name = "Nicolas";
+        person.age = 30;
+        person.address = new Address();
+        person.address.street = "Main street";
+        person.address.city = "Paris";
+        person.tags = new ArrayList<String>();
+        person.tags.add( "a" );
+        person.counters = new HashMap<String, Integer>();
+        person.counters.put( "x", 1 );
+        return person;
+    }
+
+    public void testUpdateProperties() {
+        Person person = newPerson();
+        Address address = person.address;
+        List<String> tags = person.tags;
+
+        Person result = PersonMapper.INSTANCE.readForUpdating( "{\"age\":31,\"address\":{\"city\":\"Lyon\"},\"tags\":[\"b\",\"c\"]}",
+                person );
+
+        assertSame( person, result );
+        assertEquals( "Nicolas", person.name );
+        assertEquals( 31, person.age );
+        assertSame( address, person.address );
+        assertEquals( "Main street", person.address.street );
+        assertEquals( "Lyon", person.address.city );
+        assertNotSame( tags, person.tags );
+        assertEquals( 2, person.tags.size() );
+        assertEquals( "b", person.tags.get( 0 ) );
+        assertEquals( 1, person.counters.get( "x" ).intValue() );
+    }
+
+    public void testUpdateCollectionsInPlace() {
+        Person person = newPerson();
+        List<String> tags = person.tags;
+        Map<String, Integer> counters = person.counters;
+
+        PersonMapper.INSTANCE.readForUpdating( "{\"tags\":[\"b\",\"c\"],\"counters\":{\"y\":2}}", person, JsonDeserializationContext
+                .builder().updateCollectionsInPlace( true ).build() );
+
+        assertSame( tags, person.tags );
+        assertEquals( 2, person.tags.size() );
+        assertEquals( "c", person.tags.get( 1 ) );
+        assertSame( counters, person.counters );
+        assertEquals( 1, person.counters.size() );
+        assertEquals( 2, person.counters.get( "y" ).intValue() );
+    }
+
+    public void testInvalidCollectionKeepsExistingElements() {
+        Person person = newPerson();
+        List<String> tags = person.tags;
+
+        try {
+            PersonMapper.INSTANCE.readForUpdating( "{\"tags\":[\"b\",", person, JsonDeserializationContext.builder()
+                    .updateCollectionsInPlace( true ).build() );
+            fail( "Expected an exception on a truncated input" );
+        } catch ( JsonDeserializationException e ) {
+            // expected
+        }
+
+        assertSame( tags, person.tags );
+        assertEquals( 1, person.tags.size() );
+        assertEquals( "a", person.tags.get( 0 ) );
+    }
+
+    public void testUpdateUnmodifiableCollection() {
+        Person person = newPerson();
+        person.tags = Collections.unmodifiableList( person.tags );
+
+        PersonMapper.INSTANCE.readForUpdating( "{\"tags\":[\"b\"]}", person, JsonDeserializationContext.builder()
+                .updateCollectionsInPlace( true ).build() );
+
+        assertEquals( 1, person.tags.size() );
+        assertEquals( "b", person.tags.get( 0 ) );
+    }
+
+    public void testUpdateEmptyImmutableCollection() {
+        Person person = newPerson();
+        person.tags = Collections.emptyList();
+
+        PersonMapper.INSTANCE.readForUpdating( "{\"tags\":[\"b\"]}", person, JsonDeserializationContext.builder()
+                .updateCollectionsInPlace( true ).build() );
+
+        assertEquals( 1, person.tags.size() );
+        assertEquals( "b", person.tags.get( 0 ) );
+    }
+
+    public void testRejectedElementIsNotSwallowed() {
+        Person person = newPerson();
+        person.tags = new RejectingList();
+        person.tags.add( "a" );
+
+        try {
+            PersonMapper.INSTANCE.readForUpdating( "{\"tags\":[\"b\",\"forbidden\"]}", person, JsonDeserializationContext.builder()
+                    .updateCollectionsInPlace( true ).build() );
+            fail( "Expected an exception when the existing collection rejects an element" );
+        } catch ( JsonDeserializationException e ) {
+            // expected
+        }
+    }
+
+    public void testNullValues() {
+        Person person = newPerson();
+
+        PersonMapper.INSTANCE.readForUpdating( "{\"name\":null,\"address\":null}", person );
+
+        assertNull( person.name );
+        assertNull( person.address );
+        assertEquals( 30, person.age );
+    }
+
+    public void testMissingNestedBean() {
+        Person person = newPerson();
+        person.address = null;
+
+        PersonMapper.INSTANCE.readForUpdating( "{\"address\":{\"city\":\"Lyon\"}}", person );
+
+        assertNotNull( person.address );
+        assertNull( person.address.street );
+        assertEquals( "Lyon", person.address.city );
+    }
+
+    public void testNullInstance() {
+        Person person = PersonMapper.INSTANCE.readForUpdating( "{\"name\":\"Bob\"}", null );
+
+        assertEquals( "Bob", person.name );
+    }
+}
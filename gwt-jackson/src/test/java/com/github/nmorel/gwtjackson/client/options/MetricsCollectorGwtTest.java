@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.options;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonMetricsCollector;
+import com.github.nmorel.gwtjackson.client.JsonMetricsCollector.TypeMetrics;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class MetricsCollectorGwtTest extends GwtJacksonTestCase {
+
+    public interface BeanMapper extends ObjectMapper<Bean> {
+
+        static BeanMapper INSTANCE = GWT.create( BeanMapper.class );
+    }
+
+    public static class Bean {
+
+        public String name;
+
+        public List<Child> children;
+    }
+
+    public static class Child {
+
+        public int value;
+    }
+
+    /**
+     * Clock advancing by one at each call so the times are predictable
+     */
+    private static class CountingMetricsCollector extends JsonMetricsCollector {
+
+        private double time;
+
+        @Override
+        protected double now() {
+            return ++time;
+        }
+    }
+
+    public void testWriteAndRead() {
+        Bean bean = new Bean();
+        bean.name = "parent";
+        bean.children = new ArrayList<Child>();
+        bean.children.add( new Child() );
+        bean.children.add( new Child() );
+
+        CountingMetricsCollector collector = new CountingMetricsCollector();
+
+        String json = BeanMapper.INSTANCE.write( bean, JsonSerializationContext.builder().listener( collector ).build() );
+        assertEquals( "{\"name\":\"parent\",\"children\":[{\"value\":0},{\"value\":0}]}", json );
+
+        TypeMetrics beanMetrics = collector.getMetrics( Bean.class );
+        assertEquals( 1, beanMetrics.getWriteCount() );
+        assertEquals( json.length(), (int) beanMetrics.getWriteChars() );
+        assertEquals( 7d, beanMetrics.getWriteTime() );
+        assertEquals( 1, beanMetrics.getSerializedBeans() );
+        assertEquals( 2, beanMetrics.getSerializedProperties() );
+        assertEquals( 5d, beanMetrics.getSerializationTime() );
+
+        TypeMetrics childMetrics = collector.getMetrics( Child.class );
+        assertEquals( 0, childMetrics.getWriteCount() );
+        assertEquals( 2, childMetrics.getSerializedBeans() );
+        assertEquals( 2, childMetrics.getSerializedProperties() );
+        assertEquals( 2d, childMetrics.getSerializationTime() );
+
+        Bean result = BeanMapper.INSTANCE.read( json, JsonDeserializationContext.builder().listener( collector ).build() );
+        assertEquals( "parent", result.name );
+        assertEquals( 2, result.children.size() );
+
+        assertEquals( 1, beanMetrics.getReadCount() );
+        assertEquals( json.length(), (int) beanMetrics.getReadChars() );
+        assertEquals( 1, beanMetrics.getDeserializedBeans() );
+        assertEquals( 2, beanMetrics.getDeserializedProperties() );
+        assertEquals( 2, childMetrics.getDeserializedBeans() );
+        assertEquals( 2, childMetrics.getDeserializedProperties() );
+
+        String metrics = collector.toJson();
+        assertTrue( metrics.contains( "\"" + Bean.class.getName() + "\":{\"writeCount\":1," ) );
+        assertTrue( metrics.contains( "\"" + Child.class.getName() + "\":{\"serializedBeans\":2," ) );
+
+        collector.reset();
+        assertNull( collector.getMetrics( Bean.class ) );
+        assertEquals( "{}", collector.toJson() );
+    }
+
+    public void testNoListener() {
+        Bean bean = new Bean();
+        bean.name = "parent";
+        String json = BeanMapper.INSTANCE.write( bean );
+        assertEquals( "{\"name\":\"parent\",\"children\":null}", json );
+        assertEquals( "parent", BeanMapper.INSTANCE.read( json ).name );
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.ser.collection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.AbstractJsonSerializerTest;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.ByteCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.DoubleCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.FloatCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.IntegerCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.LongCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.ShortCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BoxedCollectionJsonSerializer.StringCollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+
+/**
+ * @author Nicolas Morel
+ */
+public class BoxedCollectionJsonSerializerTest extends AbstractJsonSerializerTest<List<Integer>> {
+
+    @Override
+    protected JsonSerializer<List<Integer>> createSerializer() {
+        return IntegerCollectionJsonSerializer.newInstance();
+    }
+
+    public void testSerializeValue() {
+        assertSerialization( "[1,-2,null,2147483647]", Arrays.asList( 1, -2, null, Integer.MAX_VALUE ) );
+        assertSerialization( "[]", Collections.<Integer>emptyList() );
+    }
+
+    public void testSerializeOtherTypes() {
+        assertEquals( "[15,-9223372036854775808]", write( LongCollectionJsonSerializer.<List<Long>>newInstance(), Arrays
+                .asList( 15l, Long.MIN_VALUE ) ) );
+        assertEquals( "[1.5,-0.25]", write( DoubleCollectionJsonSerializer.<List<Double>>newInstance(), Arrays.asList( 1.5d, -0.25d ) ) );
+        assertEquals( "[\"Hello\",\"World\"]", write( StringCollectionJsonSerializer.<LinkedHashSet<String>>newInstance(), new
+                LinkedHashSet<String>( Arrays.asList( "Hello", "World" ) ) ) );
+    }
+
+    public void testSerializeSmallNumbers() {
+        assertEquals( "[34,-32768,null]", write( ShortCollectionJsonSerializer.<List<Short>>newInstance(), Arrays
+                .asList( (short) 34, Short.MIN_VALUE, null ) ) );
+        assertEquals( "[-1,127,null]", write( ByteCollectionJsonSerializer.<List<Byte>>newInstance(), Arrays
+                .asList( (byte) -1, Byte.MAX_VALUE, null ) ) );
+        assertEquals( "[1.5,-0.25,0.1,null]", write( FloatCollectionJsonSerializer.<List<Float>>newInstance(), Arrays
+                .asList( 1.5f, -0.25f, 0.1f, null ) ) );
+    }
+
+    private <C> String write( JsonSerializer<C> serializer, C value ) {
+        JsonSerializationContext ctx = JsonSerializationContext.builder().build();
+        JsonWriter writer = ctx.newJsonWriter();
+        serializer.serialize( writer, value, ctx );
+        return writer.getOutput();
+    }
+}
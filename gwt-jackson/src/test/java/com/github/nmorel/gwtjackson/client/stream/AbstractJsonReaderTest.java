@@ -156,6 +156,47 @@ public abstract class AbstractJsonReaderTest extends GwtJacksonTestCase {
         assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
     }
 
+    public void testLenientSkipObjectWithBracketsInStrings() {
+        JsonReader reader = newJsonReader( "{\"a\": {\"b\": \"}]\\\"[{\", 'c': ['{', /* ] */ \"d\" // }\n, # ]\n [{}]]}, " +
+                "\"e\": 1}" );
+        reader.setLenient( true );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        reader.skipValue();
+        assertEquals( "e", reader.nextName() );
+        assertEquals( 1, reader.nextInt() );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testLenientSkipVeryLongArray() {
+        StringBuilder builder = new StringBuilder( "[[" );
+        for ( int i = 0; i < 1000; i++ ) {
+            builder.append( "{\"name\":\"value [" ).append( i ).append( "]\",\n\"values\":[" ).append( i ).append( "]}," );
+        }
+        builder.append( "null], true]" );
+        JsonReader reader = newJsonReader( builder.toString() );
+        reader.setLenient( true );
+        reader.beginArray();
+        reader.skipValue();
+        assertEquals( 1001, reader.getLineNumber() );
+        assertEquals( true, reader.nextBoolean() );
+        reader.endArray();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testLenientSkipUnterminatedArray() {
+        JsonReader reader = newJsonReader( "{\"a\": [1, [2, \"]\"]" );
+        reader.setLenient( true );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        try {
+            reader.skipValue();
+            fail();
+        } catch ( MalformedJsonException expected ) {
+        }
+    }
+
     public void testHelloWorld() {
         String json = "{\n" +
                 "   \"hello\": true,\n" +
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+
+/**
+ * The {@link UncheckedJsonWriter} does not validate the structure so only the output of well-formed sequences is tested.
+ *
+ * @author Nicolas Morel
+ */
+public class UncheckedJsonWriterTest extends GwtJacksonTestCase {
+
+    private JsonWriter newJsonWriter() {
+        return new UncheckedJsonWriter( new StringBuilder() );
+    }
+
+    public void testObjectsInArrays() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        jsonWriter.beginObject();
+        jsonWriter.name( "a" ).value( 5 );
+        jsonWriter.name( "b" ).value( false );
+        jsonWriter.endObject();
+        jsonWriter.beginObject();
+        jsonWriter.unescapeName( "c" ).value( 6 );
+        jsonWriter.name( "d" ).value( true );
+        jsonWriter.endObject();
+        jsonWriter.beginArray();
+        jsonWriter.endArray();
+        jsonWriter.beginObject();
+        jsonWriter.endObject();
+        jsonWriter.endArray();
+        assertEquals( "[{\"a\":5,\"b\":false},{\"c\":6,\"d\":true},[],{}]", jsonWriter.getOutput() );
+    }
+
+    public void testDeepNesting() {
+        JsonWriter jsonWriter = newJsonWriter();
+        StringBuilder expected = new StringBuilder();
+        for ( int i = 0; i < 100; i++ ) {
+            jsonWriter.beginArray();
+            jsonWriter.value( i );
+            expected.append( '[' ).append( i ).append( ',' );
+        }
+        jsonWriter.value( "end" );
+        expected.append( "\"end\"" );
+        for ( int i = 0; i < 100; i++ ) {
+            jsonWriter.endArray();
+            expected.append( ']' );
+        }
+        jsonWriter.close();
+        assertEquals( expected.toString(), jsonWriter.getOutput() );
+    }
+
+    public void testNumbers() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        jsonWriter.value( 1.5 );
+        jsonWriter.value( Double.NaN );
+        jsonWriter.value( -9223372036854775808L );
+        jsonWriter.value( new BigInteger( "123456789012345678901234567890" ) );
+        jsonWriter.value( new BigDecimal( "3.141592653589793238462643383" ) );
+        jsonWriter.value( Double.valueOf( Double.NEGATIVE_INFINITY ) );
+        jsonWriter.value( Integer.valueOf( 42 ) );
+        jsonWriter.endArray();
+        assertEquals( "[1.5,\"NaN\",-9223372036854775808,123456789012345678901234567890,3.141592653589793238462643383," +
+                "\"-Infinity\",42]", jsonWriter.getOutput() );
+    }
+
+    public void testStrings() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginObject();
+        jsonWriter.name( "a\"b" ).value( "c\nd" );
+        jsonWriter.name( "e" ).unescapeValue( "f" );
+        jsonWriter.name( "g" ).rawValue( "[1]" );
+        jsonWriter.endObject();
+        assertEquals( "{\"a\\\"b\":\"c\\nd\",\"e\":\"f\",\"g\":[1]}", jsonWriter.getOutput() );
+    }
+
+    public void testNulls() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginObject();
+        jsonWriter.name( "a" ).nullValue();
+        jsonWriter.name( "b" ).value( (String) null );
+        jsonWriter.name( "c" ).cancelName();
+        jsonWriter.endObject();
+        assertEquals( "{\"a\":null,\"b\":null}", jsonWriter.getOutput() );
+
+        jsonWriter = newJsonWriter();
+        jsonWriter.setSerializeNulls( false );
+        jsonWriter.beginObject();
+        jsonWriter.name( "a" ).nullValue();
+        jsonWriter.name( "b" ).value( 1 );
+        jsonWriter.name( "c" ).nullValue();
+        jsonWriter.endObject();
+        assertEquals( "{\"b\":1}", jsonWriter.getOutput() );
+    }
+
+    public void testPrettyPrint() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.setIndent( "   " );
+
+        jsonWriter.beginObject();
+        jsonWriter.name( "a" ).value( true );
+        jsonWriter.name( "e" ).nullValue();
+        jsonWriter.name( "f" ).beginArray();
+        jsonWriter.value( 6 );
+        jsonWriter.value( 7 );
+        jsonWriter.endArray();
+        jsonWriter.name( "g" ).beginObject();
+        jsonWriter.name( "h" ).value( 8 );
+        jsonWriter.endObject();
+        jsonWriter.name( "i" ).beginArray();
+        jsonWriter.endArray();
+        jsonWriter.endObject();
+
+        String expected = "{\n" + "   \"a\": true,\n" + "   \"e\": null,\n" + "   \"f\": [\n" + "      6,\n" + "      7\n" + "   ],\n" +
+                "   \"g\": {\n" + "      \"h\": 8\n" + "   },\n" + "   \"i\": []\n" + "}";
+        assertEquals( expected, jsonWriter.getOutput() );
+    }
+
+    public void testIncompleteDocument() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        try {
+            jsonWriter.close();
+            fail();
+        } catch ( JsonSerializationException expected ) {
+        }
+    }
+}
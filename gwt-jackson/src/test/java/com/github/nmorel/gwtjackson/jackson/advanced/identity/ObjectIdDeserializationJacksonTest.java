@@ -40,6 +40,11 @@ public class ObjectIdDeserializationJacksonTest extends AbstractJacksonTest {
         tester.testSimpleDeserializationClass( createMapper( Identifiable.class ) );
     }
 
+    @Test
+    public void testManyIdsDeserializationClass() {
+        tester.testManyIdsDeserializationClass( createMapper( Identifiable.class ) );
+    }
+
     @Test
     public void testSimpleUUIDForClassRoundTrip() {
         tester.testSimpleUUIDForClassRoundTrip( createMapper( UUIDNode.class ) );
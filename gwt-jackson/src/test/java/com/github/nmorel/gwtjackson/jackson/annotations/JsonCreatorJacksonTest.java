@@ -162,4 +162,10 @@ public class JsonCreatorJacksonTest extends AbstractJacksonTest {
         JsonCreatorTester.INSTANCE
                 .testDeserializeAbstractBeanWithFactoryMethod( createReader( JsonCreatorTester.AbstractBeanWithFactoryMethod.class ) );
     }
+
+    @Test
+    public void testDeserializeBeanWithCreatorAndAnySetter() {
+        JsonCreatorTester.INSTANCE
+                .testDeserializeBeanWithCreatorAndAnySetter( createReader( JsonCreatorTester.BeanWithCreatorAndAnySetter.class ) );
+    }
 }
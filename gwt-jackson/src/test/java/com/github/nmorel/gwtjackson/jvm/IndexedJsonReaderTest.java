@@ -0,0 +1,222 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.github.nmorel.gwtjackson.client.AbstractObjectMapper;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.ArrayListJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.ser.CollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.StringJsonSerializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Nicolas Morel
+ */
+public class IndexedJsonReaderTest {
+
+    private static final Charset UTF8 = Charset.forName( "UTF-8" );
+
+    private static final ForkJoinPool POOL = new ForkJoinPool( 4 );
+
+    private static final AbstractObjectMapper<List<String>> MAPPER = new AbstractObjectMapper<List<String>>( "list" ) {
+        @Override
+        protected JsonDeserializer<List<String>> newDeserializer() {
+            return (JsonDeserializer) ArrayListJsonDeserializer.newInstance( StringJsonDeserializer.getInstance() );
+        }
+
+        @Override
+        protected JsonSerializer<?> newSerializer() {
+            return CollectionJsonSerializer.newInstance( StringJsonSerializer.getInstance() );
+        }
+    };
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    private static IndexedJsonReader newReader( String input ) {
+        return new IndexedJsonReader( input.getBytes( UTF8 ) );
+    }
+
+    /**
+     * Reads all the tokens and their value.
+     */
+    private static String readTokens( JsonReader reader ) {
+        StringBuilder result = new StringBuilder();
+        while ( true ) {
+            JsonToken token = reader.peek();
+            result.append( token ).append( ' ' );
+            switch ( token ) {
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    break;
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    break;
+                case NAME:
+                    result.append( reader.nextName() ).append( ' ' );
+                    break;
+                case STRING:
+                case NUMBER:
+                    result.append( reader.nextString() ).append( ' ' );
+                    break;
+                case BOOLEAN:
+                    result.append( reader.nextBoolean() ).append( ' ' );
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    break;
+                default:
+                    return result.toString();
+            }
+        }
+    }
+
+    @Test
+    public void testReadTokens() {
+        IndexedJsonReader reader = newReader( "\uFEFF{\"name\" : \"héllo € 😀\", \"n\":[1, -25, 3.5e2, 12345678901234567890, true," +
+                "false, null], \"escaped\": \"a\\\"b\\\\c\\u00e9\\n\" }" );
+        reader.beginObject();
+        assertEquals( "name", reader.nextName() );
+        assertEquals( "héllo € 😀", reader.nextString() );
+        assertEquals( "n", reader.nextName() );
+        reader.beginArray();
+        assertEquals( 1, reader.nextInt() );
+        assertEquals( -25L, reader.nextLong() );
+        assertEquals( 350d, reader.nextDouble(), 0d );
+        assertEquals( "12345678901234567890", reader.nextNumber().toString() );
+        assertTrue( reader.nextBoolean() );
+        assertFalse( reader.nextBoolean() );
+        reader.nextNull();
+        assertFalse( reader.hasNext() );
+        reader.endArray();
+        assertEquals( "escaped", reader.nextName() );
+        assertEquals( "a\"b\\cé\n", reader.nextString() );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    @Test
+    public void testTopLevelValues() {
+        assertEquals( 42, newReader( " 42 " ).nextInt() );
+        assertEquals( "a", newReader( "\"a\"" ).nextString() );
+        assertTrue( newReader( "true" ).nextBoolean() );
+
+        IndexedJsonReader reader = newReader( "1 [2] {}" );
+        reader.setLenient( true );
+        assertEquals( "NUMBER 1 BEGIN_ARRAY NUMBER 2 END_ARRAY BEGIN_OBJECT END_OBJECT END_DOCUMENT ", readTokens( reader ) );
+    }
+
+    @Test
+    public void testSkipAndNextValue() {
+        IndexedJsonReader reader = newReader( "[{\"a\":[1,{\"b\":\"}\\\"\"}]},{\"c\" : [ true , 2.5 ]},3]" );
+        reader.beginArray();
+        reader.skipValue();
+        assertEquals( "{\"c\":[true,2.5]}", reader.nextValue() );
+        assertEquals( 3, reader.nextInt() );
+        reader.endArray();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    @Test
+    public void testMalformed() {
+        IndexedJsonReader reader = newReader( "{\"a\":1,\n \"b\" 2}" );
+        reader.beginObject();
+        reader.nextName();
+        reader.nextInt();
+        reader.nextName();
+        try {
+            reader.nextInt();
+            fail();
+        } catch ( MalformedJsonException e ) {
+            assertEquals( "Expected ':' at line 2 column 6", e.getMessage() );
+        }
+
+        // the values not seen by the index must still be rejected
+        String[] inputs = {"[1 2]", "[12x]", "[\"a\"1]", "[truex]", "{\"a\":1", "[\"a]", "[1,]", "{\"a\":1}}"};
+        for ( String input : inputs ) {
+            try {
+                readTokens( newReader( input ) );
+                fail( input );
+            } catch ( MalformedJsonException e ) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testParallelIndex() {
+        StringBuilder input = new StringBuilder( "[\n" );
+        for ( int i = 0; i < 5000; i++ ) {
+            if ( i > 0 ) {
+                input.append( ",\n" );
+            }
+            // the escaped quotes and backslashes must be resolved even when they are split between two chunks
+            input.append( "  {\"id\": " ).append( i ).append( ", \"text\": \"a,b]c}d\\\"e\\\\\\\\" ).append( i ).append( "\", \"ok\":" )
+                    .append( i % 2 == 0 ).append( ", \"v\": [1.5, null, \"é\"]}" );
+        }
+        input.append( "\n]" );
+        byte[] bytes = input.toString().getBytes( UTF8 );
+
+        String expected = readTokens( new Utf8JsonReader( ByteBuffer.wrap( bytes ) ) );
+        StructuralIndex sequential = StructuralIndex.build( bytes, 0, bytes.length, POOL, Integer.MAX_VALUE );
+        assertEquals( expected, readTokens( new IndexedJsonReader( bytes, sequential ) ) );
+
+        // chunks of various sizes, not aligned with the tokens
+        for ( int minChunkLength = 64; minChunkLength < 100000; minChunkLength = minChunkLength * 3 + 1 ) {
+            StructuralIndex parallel = StructuralIndex.build( bytes, 0, bytes.length, POOL, minChunkLength );
+            assertEquals( sequential.size(), parallel.size() );
+            assertEquals( expected, readTokens( new IndexedJsonReader( bytes, parallel ) ) );
+        }
+    }
+
+    @Test
+    public void testMapperRoundTrip() {
+        Utf8JsonMapper<List<String>> mapper = new Utf8JsonMapper<List<String>>( MAPPER );
+        List<String> values = new ArrayList<String>();
+        for ( int i = 0; i < 10000; i++ ) {
+            values.add( "value é中😀 \"" + i );
+        }
+
+        byte[] bytes = MAPPER.write( values ).getBytes( UTF8 );
+        assertEquals( values, mapper.readIndexed( bytes ) );
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.client.AbstractObjectMapper;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.ArrayListJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.ser.CollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.StringJsonSerializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Nicolas Morel
+ */
+public class MappedFileJsonReaderTest {
+
+    private static final AbstractObjectMapper<List<String>> LIST_MAPPER = new AbstractObjectMapper<List<String>>( "list" ) {
+        @Override
+        protected JsonDeserializer<List<String>> newDeserializer() {
+            return (JsonDeserializer) ArrayListJsonDeserializer.newInstance( StringJsonDeserializer.getInstance() );
+        }
+
+        @Override
+        protected JsonSerializer<?> newSerializer() {
+            return CollectionJsonSerializer.newInstance( StringJsonSerializer.getInstance() );
+        }
+    };
+
+    private static final AbstractObjectMapper<String> STRING_MAPPER = new AbstractObjectMapper<String>( "string" ) {
+        @Override
+        protected JsonDeserializer<String> newDeserializer() {
+            return StringJsonDeserializer.getInstance();
+        }
+
+        @Override
+        protected JsonSerializer<?> newSerializer() {
+            return StringJsonSerializer.getInstance();
+        }
+    };
+
+    private File file;
+
+    private List<String> values;
+
+    @Before
+    public void setUp() throws IOException {
+        values = new ArrayList<String>();
+        for ( int i = 0; i < 5000; i++ ) {
+            values.add( "élément 😀 " + i );
+        }
+        file = File.createTempFile( "gwt-jackson", ".json" );
+        FileOutputStream out = new FileOutputStream( file );
+        try {
+            new Utf8JsonMapper<List<String>>( LIST_MAPPER ).write( values, out );
+        } finally {
+            out.close();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testRead() {
+        assertEquals( values, new Utf8JsonMapper<List<String>>( LIST_MAPPER ).read( file ) );
+    }
+
+    @Test
+    public void testReadSmallWindows() throws IOException {
+        FileChannel channel = new RandomAccessFile( file, "r" ).getChannel();
+        try {
+            // windows smaller than the buffer and not aligned on the characters
+            MappedFileJsonReader reader = new MappedFileJsonReader( channel, 0, channel.size(), 7 );
+            assertEquals( values, LIST_MAPPER.read( reader, JsonDeserializationContext.builder().build() ) );
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void testReadRegion() throws IOException {
+        FileChannel channel = new RandomAccessFile( file, "r" ).getChannel();
+        try {
+            // the first element, without the opening bracket
+            int length = STRING_MAPPER.write( values.get( 0 ) ).getBytes( "UTF-8" ).length;
+            MappedFileJsonReader reader = new MappedFileJsonReader( channel, 1, length, MappedFileJsonReader.DEFAULT_WINDOW_SIZE );
+            assertEquals( values.get( 0 ), STRING_MAPPER.read( reader, JsonDeserializationContext.builder().build() ) );
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void testReadElements() {
+        JsonArrayIterator<String> iterator = new Utf8JsonMapper<String>( STRING_MAPPER ).readElements( file );
+        List<String> result = new ArrayList<String>();
+        while ( iterator.hasNext() ) {
+            result.add( iterator.next() );
+        }
+        assertEquals( values, result );
+        assertFalse( iterator.hasNext() );
+    }
+
+    @Test
+    public void testReadElementsNotAnArray() throws IOException {
+        FileOutputStream out = new FileOutputStream( file );
+        try {
+            new Utf8JsonMapper<String>( STRING_MAPPER ).write( "not an array", out );
+        } finally {
+            out.close();
+        }
+
+        try {
+            new Utf8JsonMapper<String>( STRING_MAPPER ).readElements( file, JsonDeserializationContext.builder().build() );
+            fail();
+        } catch ( JsonDeserializationException e ) {
+            // expected
+        }
+        assertEquals( "not an array", new Utf8JsonMapper<String>( STRING_MAPPER ).read( file ) );
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.IntegerJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.ArrayListJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.map.LinkedHashMapJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.map.key.StringKeyDeserializer;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Nicolas Morel
+ */
+public class ParallelArrayReaderTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool( 4 );
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    private static <T> ParallelArrayReader<T> newReader( JsonDeserializer<T> deserializer ) {
+        // small slices so even the small inputs are split
+        return new ParallelArrayReader<T>( deserializer, POOL, 1 );
+    }
+
+    @Test
+    public void testRecords() {
+        ParallelArrayReader<LinkedHashMap<String, String>> reader = newReader( LinkedHashMapJsonDeserializer.newInstance(
+                StringKeyDeserializer.getInstance(), StringJsonDeserializer.getInstance() ) );
+
+        List<Map<String, String>> expected = new ArrayList<Map<String, String>>();
+        StringBuilder input = new StringBuilder( "[\n" );
+        for ( int i = 0; i < 2000; i++ ) {
+            Map<String, String> record = new LinkedHashMap<String, String>();
+            record.put( "id", "" + i );
+            // the separators and the escaped quotes inside the strings must not split the elements
+            record.put( "text", "a,b]c}d\"e\\" + i );
+            expected.add( record );
+
+            if ( i > 0 ) {
+                input.append( ",\n" );
+            }
+            input.append( "  {\"id\":\"" ).append( i ).append( "\", \"text\":\"a,b]c}d\\\"e\\\\" ).append( i ).append( "\"}" );
+        }
+        input.append( "\n]" );
+
+        assertEquals( expected, reader.read( input.toString() ) );
+    }
+
+    @Test
+    public void testNestedArrays() {
+        ParallelArrayReader<ArrayList<Integer>> reader = newReader( ArrayListJsonDeserializer.newInstance( IntegerJsonDeserializer
+                .getInstance() ) );
+
+        List<List<Integer>> result = new ArrayList<List<Integer>>( reader.read( "[[1,2],[],[3],null,[4,5,6]]" ) );
+        assertEquals( Arrays.asList( Arrays.asList( 1, 2 ), Collections.emptyList(), Arrays.asList( 3 ), null, Arrays.asList( 4, 5,
+                6 ) ), result );
+    }
+
+    @Test
+    public void testSmallArrays() {
+        ParallelArrayReader<Integer> reader = newReader( IntegerJsonDeserializer.getInstance() );
+
+        assertEquals( Collections.emptyList(), reader.read( "[]" ) );
+        assertEquals( Collections.emptyList(), reader.read( " [ ] " ) );
+        assertEquals( Arrays.asList( 1 ), reader.read( " [ 1 ] " ) );
+        assertEquals( Arrays.asList( 1, 2, 3 ), reader.read( "[1,2,3]" ) );
+    }
+
+    @Test
+    public void testInvalidInput() {
+        ParallelArrayReader<Integer> reader = newReader( IntegerJsonDeserializer.getInstance() );
+
+        // rejected by the structural scan
+        try {
+            reader.read( "[1,2,3" );
+            fail();
+        } catch ( JsonDeserializationException e ) {
+            // expected
+        }
+
+        // a slice fails, the error comes from the sequential read
+        try {
+            reader.read( "[1,2,\"a\",4]" );
+            fail();
+        } catch ( JsonDeserializationException e ) {
+            // expected
+        }
+
+        // a slice contains more values than separators
+        try {
+            reader.read( "[1 2,3]" );
+            fail();
+        } catch ( JsonDeserializationException e ) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLenientInput() {
+        // the separators inside the single-quoted strings and the comments must not split the elements
+        ParallelArrayReader<String> reader = newReader( StringJsonDeserializer.getInstance() );
+        assertEquals( Arrays.asList( "a,b", "c" ), reader.read( "['a,b','c']" ) );
+        assertEquals( Arrays.asList( "a", "d" ), reader.read( "[\"a\", /* \"b\", */ \"d\" // ,\"e\"\n]" ) );
+        assertEquals( Arrays.asList( "a", "b" ), reader.read( "[\"a\";\"b\"]" ) );
+    }
+}
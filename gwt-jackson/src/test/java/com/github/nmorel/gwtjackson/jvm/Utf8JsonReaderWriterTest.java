@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.jvm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.client.AbstractObjectMapper;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.ArrayListJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.ser.CollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.StringJsonSerializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Nicolas Morel
+ */
+public class Utf8JsonReaderWriterTest {
+
+    private static final Charset UTF8 = Charset.forName( "UTF-8" );
+
+    private static final AbstractObjectMapper<List<String>> MAPPER = new AbstractObjectMapper<List<String>>( "list" ) {
+        @Override
+        protected JsonDeserializer<List<String>> newDeserializer() {
+            return (JsonDeserializer) ArrayListJsonDeserializer.newInstance( StringJsonDeserializer.getInstance() );
+        }
+
+        @Override
+        protected JsonSerializer<?> newSerializer() {
+            return CollectionJsonSerializer.newInstance( StringJsonSerializer.getInstance() );
+        }
+    };
+
+    private static Utf8JsonReader newReader( String input, int bufferSize ) {
+        return new Utf8JsonReader( new ByteArrayInputStream( input.getBytes( UTF8 ) ), new byte[bufferSize] );
+    }
+
+    @Test
+    public void testReadTokens() {
+        // small buffer so the tokens are split between several reads
+        Utf8JsonReader reader = newReader( "\uFEFF{\"name\" : \"héllo € 😀\", \"n\":[1, -25, 3.5e2, 12345678901234567890, true," +
+                "false, null], \"escaped\": \"a\\\"b\\\\c\\u00e9\\n\" }", 16 );
+        reader.beginObject();
+        assertEquals( "name", reader.nextName() );
+        assertEquals( "héllo € 😀", reader.nextString() );
+        assertEquals( "n", reader.nextName() );
+        reader.beginArray();
+        assertEquals( 1, reader.nextInt() );
+        assertEquals( -25L, reader.nextLong() );
+        assertEquals( 350d, reader.nextDouble(), 0d );
+        assertEquals( "12345678901234567890", reader.nextNumber().toString() );
+        assertTrue( reader.nextBoolean() );
+        assertFalse( reader.nextBoolean() );
+        reader.nextNull();
+        assertFalse( reader.hasNext() );
+        reader.endArray();
+        assertEquals( "escaped", reader.nextName() );
+        assertEquals( "a\"b\\cé\n", reader.nextString() );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    @Test
+    public void testSkipAndNextValue() {
+        Utf8JsonReader reader = newReader( "[{\"a\":[1,{\"b\":\"}\\\"\"}]},{\"c\" : [ true , 2.5 ]},3]", 16 );
+        reader.beginArray();
+        reader.skipValue();
+        assertEquals( "{\"c\":[true,2.5]}", reader.nextValue() );
+        assertEquals( 3, reader.nextInt() );
+        reader.endArray();
+    }
+
+    @Test
+    public void testMalformed() {
+        Utf8JsonReader reader = newReader( "{\"a\":1,\n \"b\" 2}", 16 );
+        reader.beginObject();
+        reader.nextName();
+        reader.nextInt();
+        reader.nextName();
+        try {
+            reader.nextInt();
+            fail();
+        } catch ( MalformedJsonException e ) {
+            assertEquals( "Expected ':' at line 2 column 6", e.getMessage() );
+        }
+    }
+
+    @Test
+    public void testWriteStrings() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8JsonWriter writer = new Utf8JsonWriter( out, new byte[16] );
+        writer.beginObject();
+        writer.name( "héllo" ).value( "€ 😀 \"quoted\"\n\u2028" );
+        writer.name( "n" ).value( -1234567890123L );
+        writer.name( "d" ).value( 2.5 );
+        writer.endObject();
+        writer.close();
+        assertEquals( "{\"héllo\":\"€ 😀 \\\"quoted\\\"\\n\\u2028\",\"n\":-1234567890123,\"d\":2.5}", new String( out
+                .toByteArray(), UTF8 ) );
+    }
+
+    @Test
+    public void testMapperRoundTrip() {
+        Utf8JsonMapper<List<String>> mapper = new Utf8JsonMapper<List<String>>( MAPPER );
+        List<String> values = new ArrayList<String>();
+        for ( int i = 0; i < 10000; i++ ) {
+            values.add( "value é中😀 " + i );
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.write( values, out );
+        byte[] bytes = out.toByteArray();
+        assertEquals( MAPPER.write( values ), new String( bytes, UTF8 ) );
+
+        assertEquals( values, mapper.read( new ByteArrayInputStream( bytes ) ) );
+        assertEquals( values, mapper.read( ByteBuffer.wrap( bytes ) ) );
+
+        ByteBuffer direct = ByteBuffer.allocateDirect( bytes.length );
+        direct.put( bytes ).flip();
+        assertEquals( values, mapper.read( direct ) );
+    }
+
+    @Test
+    public void testWriteIntoByteBuffer() {
+        Utf8JsonMapper<List<String>> mapper = new Utf8JsonMapper<List<String>>( MAPPER );
+        ByteBuffer buffer = ByteBuffer.allocate( 64 );
+        mapper.write( Arrays.asList( "a", "é" ), buffer, JsonSerializationContext.builder().build() );
+        buffer.flip();
+        assertEquals( Arrays.asList( "a", "é" ), mapper.read( buffer ) );
+    }
+}
@@ -277,6 +277,27 @@ public final class ObjectIdDeserializationTester extends AbstractTester {
         assertSame( result3, result2.first );
     }
 
+    public void testManyIdsDeserializationClass( ObjectReaderTester<Identifiable> reader ) {
+        int nb = 200;
+        StringBuilder input = new StringBuilder();
+        for ( int i = 1; i <= nb; i++ ) {
+            input.append( "{\"id\":" ).append( i ).append( ",\"value\":" ).append( i ).append( ",\"next\":" );
+        }
+        // the last one references the first one
+        input.append( 1 );
+        for ( int i = 1; i <= nb; i++ ) {
+            input.append( '}' );
+        }
+
+        Identifiable result = reader.read( input.toString() );
+        Identifiable current = result;
+        for ( int i = 1; i <= nb; i++ ) {
+            assertEquals( i, current.value );
+            current = current.next;
+        }
+        assertSame( result, current );
+    }
+
     /*
     /*****************************************************
     /* Unit tests, custom (property-based) id deserialization
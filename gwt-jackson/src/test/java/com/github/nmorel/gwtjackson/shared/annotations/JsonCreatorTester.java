@@ -19,8 +19,10 @@ package com.github.nmorel.gwtjackson.shared.annotations;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -368,6 +370,38 @@ public final class JsonCreatorTester extends AbstractTester {
         }
     }
 
+    @JsonIgnoreProperties( "ignored" )
+    public static class BeanWithCreatorAndAnySetter {
+
+        private final String a;
+
+        private Integer b;
+
+        private Map<String, Object> others = new LinkedHashMap<String, Object>();
+
+        @JsonCreator
+        public BeanWithCreatorAndAnySetter( @JsonProperty( "a" ) String a ) {
+            this.a = a;
+        }
+
+        public String getA() {
+            return a;
+        }
+
+        public Integer getB() {
+            return b;
+        }
+
+        public void setB( Integer b ) {
+            this.b = b;
+        }
+
+        @JsonAnySetter
+        public void setOther( String name, Object value ) {
+            others.put( name, value );
+        }
+    }
+
     public static final JsonCreatorTester INSTANCE = new JsonCreatorTester();
 
     private JsonCreatorTester() {
@@ -623,4 +657,15 @@ public final class JsonCreatorTester extends AbstractTester {
         assertEquals( "string A+148", result.getAB() );
     }
 
+    public void testDeserializeBeanWithCreatorAndAnySetter( ObjectReaderTester<BeanWithCreatorAndAnySetter> reader ) {
+        // properties before the creator's parameter are deserialized first and set once the bean is created
+        BeanWithCreatorAndAnySetter result = reader.read( "{\"b\":148,\"ignored\":{\"c\":[1,2]},\"unknown\":\"value\"," +
+                "\"a\":\"string A\",\"other\":true}" );
+        assertEquals( "string A", result.a );
+        assertEquals( 148, result.b.intValue() );
+        assertEquals( 2, result.others.size() );
+        assertEquals( "value", result.others.get( "unknown" ) );
+        assertEquals( Boolean.TRUE, result.others.get( "other" ) );
+    }
+
 }